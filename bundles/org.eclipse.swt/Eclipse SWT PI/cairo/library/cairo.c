@@ -87,6 +87,29 @@ JNIEXPORT void JNICALL Cairo_NATIVE(cairo_1clip)
 }
 #endif
 
+#ifndef NO_cairo_1clip_1extents
+JNIEXPORT void JNICALL Cairo_NATIVE(cairo_1clip_1extents)
+	(JNIEnv *env, jclass that, jlong arg0, jdoubleArray arg1, jdoubleArray arg2, jdoubleArray arg3, jdoubleArray arg4)
+{
+	jdouble *lparg1=NULL;
+	jdouble *lparg2=NULL;
+	jdouble *lparg3=NULL;
+	jdouble *lparg4=NULL;
+	Cairo_NATIVE_ENTER(env, that, cairo_1clip_1extents_FUNC);
+	if (arg1) if ((lparg1 = (*env)->GetDoubleArrayElements(env, arg1, NULL)) == NULL) goto fail;
+	if (arg2) if ((lparg2 = (*env)->GetDoubleArrayElements(env, arg2, NULL)) == NULL) goto fail;
+	if (arg3) if ((lparg3 = (*env)->GetDoubleArrayElements(env, arg3, NULL)) == NULL) goto fail;
+	if (arg4) if ((lparg4 = (*env)->GetDoubleArrayElements(env, arg4, NULL)) == NULL) goto fail;
+	cairo_clip_extents((cairo_t *)arg0, lparg1, lparg2, lparg3, lparg4);
+fail:
+	if (arg4 && lparg4) (*env)->ReleaseDoubleArrayElements(env, arg4, lparg4, 0);
+	if (arg3 && lparg3) (*env)->ReleaseDoubleArrayElements(env, arg3, lparg3, 0);
+	if (arg2 && lparg2) (*env)->ReleaseDoubleArrayElements(env, arg2, lparg2, 0);
+	if (arg1 && lparg1) (*env)->ReleaseDoubleArrayElements(env, arg1, lparg1, 0);
+	Cairo_NATIVE_EXIT(env, that, cairo_1clip_1extents_FUNC);
+}
+#endif
+
 #ifndef NO_cairo_1close_1path
 JNIEXPORT void JNICALL Cairo_NATIVE(cairo_1close_1path)
 	(JNIEnv *env, jclass that, jlong arg0)
@@ -163,6 +186,29 @@ JNIEXPORT void JNICALL Cairo_NATIVE(cairo_1fill)
 }
 #endif
 
+#ifndef NO_cairo_1fill_1extents
+JNIEXPORT void JNICALL Cairo_NATIVE(cairo_1fill_1extents)
+	(JNIEnv *env, jclass that, jlong arg0, jdoubleArray arg1, jdoubleArray arg2, jdoubleArray arg3, jdoubleArray arg4)
+{
+	jdouble *lparg1=NULL;
+	jdouble *lparg2=NULL;
+	jdouble *lparg3=NULL;
+	jdouble *lparg4=NULL;
+	Cairo_NATIVE_ENTER(env, that, cairo_1fill_1extents_FUNC);
+	if (arg1) if ((lparg1 = (*env)->GetDoubleArrayElements(env, arg1, NULL)) == NULL) goto fail;
+	if (arg2) if ((lparg2 = (*env)->GetDoubleArrayElements(env, arg2, NULL)) == NULL) goto fail;
+	if (arg3) if ((lparg3 = (*env)->GetDoubleArrayElements(env, arg3, NULL)) == NULL) goto fail;
+	if (arg4) if ((lparg4 = (*env)->GetDoubleArrayElements(env, arg4, NULL)) == NULL) goto fail;
+	cairo_fill_extents((cairo_t *)arg0, lparg1, lparg2, lparg3, lparg4);
+fail:
+	if (arg4 && lparg4) (*env)->ReleaseDoubleArrayElements(env, arg4, lparg4, 0);
+	if (arg3 && lparg3) (*env)->ReleaseDoubleArrayElements(env, arg3, lparg3, 0);
+	if (arg2 && lparg2) (*env)->ReleaseDoubleArrayElements(env, arg2, lparg2, 0);
+	if (arg1 && lparg1) (*env)->ReleaseDoubleArrayElements(env, arg1, lparg1, 0);
+	Cairo_NATIVE_EXIT(env, that, cairo_1fill_1extents_FUNC);
+}
+#endif
+
 #ifndef NO_cairo_1font_1options_1create
 JNIEXPORT jlong JNICALL Cairo_NATIVE(cairo_1font_1options_1create)
 	(JNIEnv *env, jclass that)
@@ -722,6 +768,18 @@ JNIEXPORT void JNICALL Cairo_NATIVE(cairo_1pdf_1surface_1set_1size)
 }
 #endif
 
+#ifndef NO_cairo_1pop_1group
+JNIEXPORT jlong JNICALL Cairo_NATIVE(cairo_1pop_1group)
+	(JNIEnv *env, jclass that, jlong arg0)
+{
+	jlong rc = 0;
+	Cairo_NATIVE_ENTER(env, that, cairo_1pop_1group_FUNC);
+	rc = (jlong)cairo_pop_group((cairo_t *)arg0);
+	Cairo_NATIVE_EXIT(env, that, cairo_1pop_1group_FUNC);
+	return rc;
+}
+#endif
+
 #ifndef NO_cairo_1pop_1group_1to_1source
 JNIEXPORT void JNICALL Cairo_NATIVE(cairo_1pop_1group_1to_1source)
 	(JNIEnv *env, jclass that, jlong arg0)
@@ -862,6 +920,22 @@ fail:
 }
 #endif
 
+#ifndef NO_cairo_1region_1create_1rectangles
+JNIEXPORT jlong JNICALL Cairo_NATIVE(cairo_1region_1create_1rectangles)
+	(JNIEnv *env, jclass that, jintArray arg0, jint arg1)
+{
+	jint *lparg0=NULL;
+	jlong rc = 0;
+	Cairo_NATIVE_ENTER(env, that, cairo_1region_1create_1rectangles_FUNC);
+	if (arg0) if ((lparg0 = (*env)->GetIntArrayElements(env, arg0, NULL)) == NULL) goto fail;
+	rc = (jlong)cairo_region_create_rectangles((const cairo_rectangle_int_t *)lparg0, (int)arg1);
+fail:
+	if (arg0 && lparg0) (*env)->ReleaseIntArrayElements(env, arg0, lparg0, JNI_ABORT);
+	Cairo_NATIVE_EXIT(env, that, cairo_1region_1create_1rectangles_FUNC);
+	return rc;
+}
+#endif
+
 #ifndef NO_cairo_1region_1destroy
 JNIEXPORT void JNICALL Cairo_NATIVE(cairo_1region_1destroy)
 	(JNIEnv *env, jclass that, jlong arg0)
@@ -1205,6 +1279,29 @@ JNIEXPORT void JNICALL Cairo_NATIVE(cairo_1stroke)
 }
 #endif
 
+#ifndef NO_cairo_1stroke_1extents
+JNIEXPORT void JNICALL Cairo_NATIVE(cairo_1stroke_1extents)
+	(JNIEnv *env, jclass that, jlong arg0, jdoubleArray arg1, jdoubleArray arg2, jdoubleArray arg3, jdoubleArray arg4)
+{
+	jdouble *lparg1=NULL;
+	jdouble *lparg2=NULL;
+	jdouble *lparg3=NULL;
+	jdouble *lparg4=NULL;
+	Cairo_NATIVE_ENTER(env, that, cairo_1stroke_1extents_FUNC);
+	if (arg1) if ((lparg1 = (*env)->GetDoubleArrayElements(env, arg1, NULL)) == NULL) goto fail;
+	if (arg2) if ((lparg2 = (*env)->GetDoubleArrayElements(env, arg2, NULL)) == NULL) goto fail;
+	if (arg3) if ((lparg3 = (*env)->GetDoubleArrayElements(env, arg3, NULL)) == NULL) goto fail;
+	if (arg4) if ((lparg4 = (*env)->GetDoubleArrayElements(env, arg4, NULL)) == NULL) goto fail;
+	cairo_stroke_extents((cairo_t *)arg0, lparg1, lparg2, lparg3, lparg4);
+fail:
+	if (arg4 && lparg4) (*env)->ReleaseDoubleArrayElements(env, arg4, lparg4, 0);
+	if (arg3 && lparg3) (*env)->ReleaseDoubleArrayElements(env, arg3, lparg3, 0);
+	if (arg2 && lparg2) (*env)->ReleaseDoubleArrayElements(env, arg2, lparg2, 0);
+	if (arg1 && lparg1) (*env)->ReleaseDoubleArrayElements(env, arg1, lparg1, 0);
+	Cairo_NATIVE_EXIT(env, that, cairo_1stroke_1extents_FUNC);
+}
+#endif
+
 #ifndef NO_cairo_1surface_1destroy
 JNIEXPORT void JNICALL Cairo_NATIVE(cairo_1surface_1destroy)
 	(JNIEnv *env, jclass that, jlong arg0)
@@ -35,6 +35,7 @@ typedef enum {
 	cairo_1arc_FUNC,
 	cairo_1arc_1negative_FUNC,
 	cairo_1clip_FUNC,
+	cairo_1clip_1extents_FUNC,
 	cairo_1close_1path_FUNC,
 	cairo_1copy_1path_FUNC,
 	cairo_1copy_1path_1flat_FUNC,
@@ -42,6 +43,7 @@ typedef enum {
 	cairo_1curve_1to_FUNC,
 	cairo_1destroy_FUNC,
 	cairo_1fill_FUNC,
+	cairo_1fill_1extents_FUNC,
 	cairo_1font_1options_1create_FUNC,
 	cairo_1font_1options_1destroy_FUNC,
 	cairo_1font_1options_1get_1antialias_FUNC,
@@ -87,6 +89,7 @@ typedef enum {
 	cairo_1pattern_1set_1filter_FUNC,
 	cairo_1pattern_1set_1matrix_FUNC,
 	cairo_1pdf_1surface_1set_1size_FUNC,
+	cairo_1pop_1group_FUNC,
 	cairo_1pop_1group_1to_1source_FUNC,
 	cairo_1ps_1surface_1set_1size_FUNC,
 	cairo_1push_1group_FUNC,
@@ -98,6 +101,7 @@ typedef enum {
 	cairo_1region_1copy_FUNC,
 	cairo_1region_1create_FUNC,
 	cairo_1region_1create_1rectangle_FUNC,
+	cairo_1region_1create_1rectangles_FUNC,
 	cairo_1region_1destroy_FUNC,
 	cairo_1region_1get_1extents_FUNC,
 	cairo_1region_1get_1rectangle_FUNC,
@@ -130,6 +134,7 @@ typedef enum {
 	cairo_1set_1tolerance_FUNC,
 	cairo_1show_1page_FUNC,
 	cairo_1stroke_FUNC,
+	cairo_1stroke_1extents_FUNC,
 	cairo_1surface_1destroy_FUNC,
 	cairo_1surface_1finish_FUNC,
 	cairo_1surface_1flush_FUNC,
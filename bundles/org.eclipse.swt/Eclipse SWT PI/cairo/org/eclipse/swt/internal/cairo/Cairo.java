@@ -95,6 +95,8 @@ public static final native void cairo_arc_negative(long cr, double xc, double yc
 /** @param cr cast=(cairo_t *) */
 public static final native void cairo_clip(long cr);
 /** @param cr cast=(cairo_t *) */
+public static final native void cairo_clip_extents(long cr, double[] x1, double[] y1, double[] x2, double[] y2);
+/** @param cr cast=(cairo_t *) */
 public static final native void cairo_close_path(long cr);
 /** @param cr cast=(cairo_t *) */
 public static final native long cairo_copy_path(long cr);
@@ -108,6 +110,8 @@ public static final native void cairo_curve_to(long cr, double x1, double y1, do
 public static final native void cairo_destroy(long cr);
 /** @param cr cast=(cairo_t *) */
 public static final native void cairo_fill(long cr);
+/** @param cr cast=(cairo_t *) */
+public static final native void cairo_fill_extents(long cr, double[] x1, double[] y1, double[] x2, double[] y2);
 public static final native long cairo_font_options_create();
 /** @param options cast=(cairo_font_options_t *) */
 public static final native void cairo_font_options_destroy(long options);
@@ -218,6 +222,10 @@ public static final native void cairo_push_group(long cairo);
  * @param cairo cast=(cairo_t *)
  */
 public static final native void cairo_pop_group_to_source(long cairo);
+/**
+ * @param cairo cast=(cairo_t *)
+ */
+public static final native long cairo_pop_group(long cairo);
 /**
  * @method flags=dynamic
  * @param surface cast=(cairo_surface_t *)
@@ -295,6 +303,8 @@ public static final native void cairo_set_tolerance(long cr, double tolerance);
 public static final native void cairo_show_page(long cr);
 /** @param cr cast=(cairo_t *) */
 public static final native void cairo_stroke(long cr);
+/** @param cr cast=(cairo_t *) */
+public static final native void cairo_stroke_extents(long cr, double[] x1, double[] y1, double[] x2, double[] y2);
 /** @param surface cast=(cairo_surface_t *) */
 public static final native void cairo_surface_destroy(long surface);
 /** @param surface cast=(cairo_surface_t *) */
@@ -374,6 +384,11 @@ public static final native void cairo_region_intersect(long source1, long source
  * @param rectangle cast=(const cairo_rectangle_int_t *)
  */
 public static final native long cairo_region_create_rectangle(cairo_rectangle_int_t rectangle);
+/**
+ * @param rects cast=(const cairo_rectangle_int_t *),flags=no_out
+ * @param count cast=(int)
+ */
+public static final native long cairo_region_create_rectangles(int[] rects, int count);
 /**
  * @param source1 cast=(cairo_region_t *)
  * @param source2 cast=(const cairo_region_t *)
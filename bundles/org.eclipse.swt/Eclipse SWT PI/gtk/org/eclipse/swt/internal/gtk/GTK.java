@@ -978,6 +978,11 @@ public class GTK extends OS {
 	 * @param iter cast=(GtkTreeIter *)
 	 */
 	public static final native void gtk_list_store_remove(long list_store, long iter);
+	/**
+	 * @param store cast=(GtkListStore *)
+	 * @param new_order cast=(gint *),flags=no_out
+	 */
+	public static final native void gtk_list_store_reorder(long store, int[] new_order);
 	/**
 	 * @param store cast=(GtkListStore *)
 	 * @param iter cast=(GtkTreeIter *)
@@ -1829,6 +1834,12 @@ public class GTK extends OS {
 	 * @param iter cast=(GtkTreeIter *)
 	 */
 	public static final native void gtk_tree_selection_select_iter(long selection, long iter);
+	/**
+	 * @param selection cast=(GtkTreeSelection *)
+	 * @param start_path cast=(GtkTreePath *)
+	 * @param end_path cast=(GtkTreePath *)
+	 */
+	public static final native void gtk_tree_selection_select_range(long selection, long start_path, long end_path);
 	/**
 	 * @param selection cast=(GtkTreeSelection *)
 	 * @param func cast=(GtkTreeSelectionFunc)
@@ -1853,6 +1864,12 @@ public class GTK extends OS {
 	 * @param iter cast=(GtkTreeIter *)
 	 */
 	public static final native void gtk_tree_selection_unselect_iter(long selection, long iter);
+	/**
+	 * @param selection cast=(GtkTreeSelection *)
+	 * @param start_path cast=(GtkTreePath *)
+	 * @param end_path cast=(GtkTreePath *)
+	 */
+	public static final native void gtk_tree_selection_unselect_range(long selection, long start_path, long end_path);
 
 	/* GtkTreeStore */
 	/**
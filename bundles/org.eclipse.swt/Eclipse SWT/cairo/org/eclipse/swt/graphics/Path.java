@@ -56,6 +56,21 @@ public class Path extends Resource {
 
 	boolean moved, closed = true;
 
+	/* Incremented on every change of the path */
+	int version;
+
+	/* Copies of the path that stay valid until the next change */
+	long copy;
+	PathData pathData;
+
+	/*
+	 * The pattern a GC paints the path with while its state does not change,
+	 * and its size in bytes
+	 */
+	Pattern cache;
+	Object[] cacheState;
+	long cacheSize;
+
 /**
  * Constructs a new empty Path.
  * <p>
@@ -227,6 +242,7 @@ public void addArc(float x, float y, float width, float height, float startAngle
 }
 
 void addArcInPixels(float x, float y, float width, float height, float startAngle, float arcAngle) {
+	changed();
 	moved = true;
 	if (width == height) {
 		float angle = -startAngle * (float)Math.PI / 180;
@@ -270,14 +286,51 @@ public void addPath(Path path) {
 	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
 	if (path == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
 	if (path.isDisposed()) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	changed();
 	moved = false;
-	long copy = Cairo.cairo_copy_path(path.handle);
-	if (copy == 0) SWT.error(SWT.ERROR_NO_HANDLES);
-	Cairo.cairo_append_path(handle, copy);
-	Cairo.cairo_path_destroy(copy);
+	Cairo.cairo_append_path(handle, path.copyPath());
 	closed = path.closed;
 }
 
+/**
+ * Adds to the receiver the polyline which is defined by the specified
+ * array of alternating x and y values. A new sub path is started at the
+ * first point and a line is added from each point to the next one. This
+ * is equivalent to calling <code>moveTo</code> with the first point and
+ * <code>lineTo</code> with each of the following points.
+ *
+ * @param pointArray an array of alternating x and y values which are the vertices of the polyline
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the point array is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @since 3.125
+ */
+public void addPolyline(float[] pointArray) {
+	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (pointArray == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	float[] points = new float[pointArray.length & ~1];
+	for (int i = 0; i < points.length; i++) {
+		points[i] = DPIUtil.autoScaleUp(pointArray[i]);
+	}
+	addPolylineInPixels(points);
+}
+
+void addPolylineInPixels(float[] pointArray) {
+	if (pointArray.length < 2) return;
+	changed();
+	Cairo.cairo_move_to(handle, pointArray[0], pointArray[1]);
+	for (int i = 2; i + 1 < pointArray.length; i += 2) {
+		Cairo.cairo_line_to(handle, pointArray[i], pointArray[i + 1]);
+	}
+	moved = true;
+	closed = pointArray.length < 4;
+}
+
 /**
  * Adds to the receiver the rectangle specified by x, y, width and height.
  *
@@ -300,6 +353,7 @@ public void addRectangle(float x, float y, float width, float height) {
 }
 
 void addRectangleInPixels(float x, float y, float width, float height) {
+	changed();
 	moved = false;
 	Cairo.cairo_rectangle(handle, x, y, width, height);
 	closed = true;
@@ -336,6 +390,7 @@ public void addString(String string, float x, float y, Font font) {
 	scaledFont.dispose(); // Dispose the scaled up font
 }
 void addStringInPixels(String string, float x, float y, Font font) {
+	changed();
 	moved = false;
 	GC.addCairoString(handle, string, x, y, font);
 	closed = true;
@@ -352,6 +407,7 @@ void addStringInPixels(String string, float x, float y, Font font) {
  */
 public void close() {
 	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	changed();
 	Cairo.cairo_close_path(handle);
 	moved = false;
 	closed = true;
@@ -394,10 +450,7 @@ boolean containsInPixels(float x, float y, GC gc, boolean outline) {
 	gc.checkGC(GC.LINE_CAP | GC.LINE_JOIN | GC.LINE_STYLE | GC.LINE_WIDTH);
 	boolean result = false;
 	long cairo = gc.data.cairo;
-	long copy = Cairo.cairo_copy_path(handle);
-	if (copy == 0) SWT.error(SWT.ERROR_NO_HANDLES);
-	Cairo.cairo_append_path(cairo, copy);
-	Cairo.cairo_path_destroy(copy);
+	Cairo.cairo_append_path(cairo, copyPath());
 	if (outline) {
 		result = Cairo.cairo_in_stroke(cairo, x, y) != 0;
 	} else {
@@ -432,6 +485,7 @@ public void cubicTo(float cx1, float cy1, float cx2, float cy2, float x, float y
 	cubicToInPixels(cx1, cy1, cx2, cy2, x, y);
 }
 void cubicToInPixels(float cx1, float cy1, float cx2, float cy2, float x, float y) {
+	changed();
 	if (!moved) {
 		double[] currentX = new double[1], currentY = new double[1];
 		Cairo.cairo_get_current_point(handle, currentX, currentY);
@@ -467,8 +521,7 @@ public void getBounds(float[] bounds) {
 	}
 }
 void getBoundsInPixels(float[] bounds) {
-	long copy = Cairo.cairo_copy_path(handle);
-	if (copy == 0) SWT.error(SWT.ERROR_NO_HANDLES);
+	long copy = copyPath();
 	cairo_path_t path = new cairo_path_t();
 	Cairo.memmove(path, copy, cairo_path_t.sizeof);
 	double minX = 0, minY = 0, maxX = 0, maxY = 0;
@@ -520,7 +573,6 @@ void getBoundsInPixels(float[] bounds) {
 	bounds[1] = (float)minY;
 	bounds[2] = (float)(maxX - minX);
 	bounds[3] = (float)(maxY - minY);
-	Cairo.cairo_path_destroy(copy);
 }
 
 /**
@@ -573,8 +625,15 @@ public PathData getPathData() {
 }
 
 PathData getPathDataInPixels() {
-	long copy = Cairo.cairo_copy_path(handle);
-	if (copy == 0) SWT.error(SWT.ERROR_NO_HANDLES);
+	if (pathData == null) pathData = createPathData();
+	PathData result = new PathData();
+	result.types = pathData.types.clone();
+	result.points = pathData.points.clone();
+	return result;
+}
+
+PathData createPathData() {
+	long copy = copyPath();
 	cairo_path_t path = new cairo_path_t();
 	Cairo.memmove(path, copy, cairo_path_t.sizeof);
 	byte[] types = new byte[path.num_data];
@@ -627,7 +686,6 @@ PathData getPathDataInPixels() {
 		System.arraycopy(pts, 0, newPts, 0, ptsIndex);
 		pts = newPts;
 	}
-	Cairo.cairo_path_destroy(copy);
 	PathData result = new PathData();
 	result.types = types;
 	result.points = pts;
@@ -652,6 +710,7 @@ public void lineTo(float x, float y) {
 	lineToInPixels(x, y);
 }
 void lineToInPixels(float x, float y) {
+	changed();
 	if (!moved) {
 		double[] currentX = new double[1], currentY = new double[1];
 		Cairo.cairo_get_current_point(handle, currentX, currentY);
@@ -688,6 +747,7 @@ void moveToInPixels(float x, float y) {
 	* is to detect that the app did not call cairo_move_to()
 	* before those calls and call it explicitly.
 	*/
+	changed();
 	moved = true;
 	Cairo.cairo_move_to(handle, x, y);
 	closed = true;
@@ -714,6 +774,7 @@ public void quadTo(float cx, float cy, float x, float y) {
 	quadToInPixels(cx, cy, x, y);
 }
 void quadToInPixels(float cx, float cy, float x, float y) {
+	changed();
 	double[] currentX = new double[1], currentY = new double[1];
 	Cairo.cairo_get_current_point(handle, currentX, currentY);
 	if (!moved) {
@@ -730,8 +791,42 @@ void quadToInPixels(float cx, float cy, float x, float y) {
 	closed = false;
 }
 
+/*
+ * Discards the copies of the path before it is changed.
+ */
+void changed() {
+	version++;
+	if (copy != 0) Cairo.cairo_path_destroy(copy);
+	copy = 0;
+	pathData = null;
+	flushCache();
+}
+
+/*
+ * Returns a Cairo copy of the path. The copy is owned by the
+ * receiver and must not be destroyed by the caller.
+ */
+long copyPath() {
+	if (copy == 0) {
+		copy = Cairo.cairo_copy_path(handle);
+		if (copy == 0) SWT.error(SWT.ERROR_NO_HANDLES);
+	}
+	return copy;
+}
+
+void flushCache() {
+	if (cache != null) {
+		cache.device.uncachePath(this);
+		cache.dispose();
+	}
+	cache = null;
+	cacheState = null;
+	cacheSize = 0;
+}
+
 @Override
 void destroy() {
+	changed();
 	Cairo.cairo_destroy(handle);
 	handle = 0;
 }
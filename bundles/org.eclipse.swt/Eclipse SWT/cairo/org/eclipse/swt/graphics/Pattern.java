@@ -54,6 +54,17 @@ public class Pattern extends Resource {
 
 	long surface;
 
+/*
+* Wraps a Cairo pattern that was created by SWT, for example the group
+* in which GC.drawDisplayList() rendered a display list. The pattern is
+* destroyed when the receiver is disposed.
+*/
+Pattern(Device device, long handle) {
+	super(device);
+	this.handle = handle;
+	init();
+}
+
 /**
  * Constructs a new Pattern given an image. Drawing with the resulting
  * pattern will cause the image to be tiled over the resulting area.
@@ -286,6 +286,8 @@ void destroy() {
  */
 @Override
 public void dispose() {
+	// Shared colors (see Device.getColor(RGBA)) stay valid for every holder.
+	if (shared) return;
 	// Does as below to maintain API contract with Resource. Does
 	// not use super.dispose() because that untracks the Color
 	// from the Device tracking, however init() is overridden
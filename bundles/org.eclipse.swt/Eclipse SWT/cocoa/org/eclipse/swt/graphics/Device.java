@@ -46,6 +46,9 @@ public abstract class Device implements Drawable {
 	/* System Font */
 	Font systemFont;
 
+	/* Shared fonts and colors */
+	final SharedResources sharedResources = new SharedResources (this);
+
 	NSMutableParagraphStyle paragraphStyle;
 
 	/* Device DPI */
@@ -286,6 +289,19 @@ void dispose_Object (Object object) {
 protected void destroy () {
 }
 
+/**
+ * Discards the sizes of strings that the receiver keeps to measure
+ * text faster. Subclasses call this method when the way text is
+ * measured changes without a change of font, for example when the
+ * resolution or the font rendering settings of the desktop change.
+ * On platforms where the receiver does not keep the sizes of
+ * strings, this method does nothing.
+ *
+ * @since 3.125
+ */
+protected void flushTextExtents () {
+}
+
 /**
  * Returns a rectangle describing the receiver's size and location.
  *
@@ -402,6 +418,64 @@ NSScreen getPrimaryScreen () {
 	return (screens != null) ? new NSScreen(screens.objectAtIndex(0)) : null;
 }
 
+/**
+ * Returns a color for the given RGBA value that is shared with the
+ * other callers of this method. Colors do not hold on to operating
+ * system resources, so the returned color does not need to be
+ * disposed and disposing it has no effect.
+ *
+ * @param rgba the RGBA values of the desired color
+ * @return a shared color
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the rgba argument is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the red, green, blue or alpha argument is not between 0 and 255</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #getFont(FontData)
+ *
+ * @since 3.125
+ */
+public Color getColor (RGBA rgba) {
+	checkDevice ();
+	if (rgba == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	return sharedResources.getColor (rgba);
+}
+
+/**
+ * Returns a font for the given font data that shares its operating
+ * system font with the other fonts returned by this method for the
+ * same font data. Every call returns a new font that must be disposed
+ * when it is no longer required; disposing it again has no effect.
+ * The operating system font is released when the last of the fonts
+ * that share it has been disposed, or when the receiver is disposed.
+ *
+ * @param fontData the font data of the desired font
+ * @return a shared font
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the fontData argument is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ * @exception SWTError <ul>
+ *    <li>ERROR_NO_HANDLES - if a font could not be created from the given font data</li>
+ * </ul>
+ *
+ * @see #getColor(RGBA)
+ *
+ * @since 3.125
+ */
+public Font getFont (FontData fontData) {
+	checkDevice ();
+	if (fontData == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	return sharedResources.getFont (fontData);
+}
+
 /**
  * Returns <code>FontData</code> objects which describe
  * the fonts that match the given arguments. If the
@@ -787,6 +861,8 @@ protected void release () {
 	if (paragraphStyle != null) paragraphStyle.release();
 	paragraphStyle = null;
 
+	sharedResources.dispose ();
+
 	if (systemFont != null) systemFont.dispose();
 	systemFont = null;
 
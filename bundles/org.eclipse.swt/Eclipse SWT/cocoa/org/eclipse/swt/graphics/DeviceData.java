@@ -23,4 +23,48 @@ public class DeviceData {
 	public boolean tracking;
 	public Error [] errors;
 	public Object [] objects;
+
+	/*
+	* Image cache fields - may not be honoured
+	* on some SWT platforms.
+	*/
+	/**
+	 * The maximum number of bytes used to keep the images of the device
+	 * at zoom levels other than the current one, so that they are not
+	 * created again when the zoom level changes back. The default limit
+	 * is used if the value is 0, and no images are kept if it is negative.
+	 *
+	 * @since 3.125
+	 */
+	public long imageCacheLimit;
+	/**
+	 * The number of bytes currently used to keep images at other zoom
+	 * levels. Only set by {@link Device#getDeviceData()}.
+	 *
+	 * @since 3.125
+	 */
+	public long imageCacheSize;
+	/**
+	 * The number of times that a kept image was used, that no image was
+	 * kept, and that an image was discarded to stay within the limit,
+	 * when the zoom level of an image changed. Only set by
+	 * {@link Device#getDeviceData()}.
+	 *
+	 * @since 3.125
+	 */
+	public int imageCacheHits, imageCacheMisses, imageCacheEvictions;
+
+	/*
+	* Text extent cache fields - may not be honoured
+	* on some SWT platforms.
+	*/
+	/**
+	 * The number of times that the extent of a string was found in the
+	 * cache of measured strings, and that it had to be measured, by
+	 * <code>GC.textExtent()</code> and <code>GC.stringExtent()</code>.
+	 * Only set by {@link Device#getDeviceData()}.
+	 *
+	 * @since 3.125
+	 */
+	public int textExtentCacheHits, textExtentCacheMisses;
 }
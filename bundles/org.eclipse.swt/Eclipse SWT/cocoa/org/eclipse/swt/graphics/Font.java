@@ -372,6 +372,26 @@ public boolean isDisposed() {
 	return handle == null;
 }
 
+/*
+ * Forgets the operating system font of a font returned by share()
+ * without destroying it, see Device.getFont(FontData).
+ */
+void releaseHandle() {
+	handle = null;
+	metrics = null;
+}
+
+/*
+ * Returns a new font that shares the operating system font of the
+ * receiver, see Device.getFont(FontData).
+ */
+Font share() {
+	Font font = new Font(device);
+	font.handle = handle;
+	font.extraTraits = extraTraits;
+	return font;
+}
+
 /**
  * Returns a string containing a concise, human-readable
  * description of the receiver.
@@ -1085,6 +1085,37 @@ public void drawArc(int x, int y, int width, int height, int startAngle, int arc
 	}
 }
 
+/**
+ * Draws the operations recorded in the given display list, starting
+ * from the current attributes of the receiver. The attributes that the
+ * display list changes are restored afterwards.
+ * <p>
+ * Where the platform supports it, the rendered display list is kept and
+ * drawing it again with the same transformation and attributes copies
+ * the rendering instead of drawing each operation.
+ * </p>
+ *
+ * @param list the display list to draw
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the list is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the list has been disposed</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see DisplayList
+ *
+ * @since 3.125
+ */
+public void drawDisplayList(DisplayList list) {
+	if (handle == null) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (list == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	if (list.isDisposed()) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	list.replay(this);
+}
+
 /**
  * Draws a rectangle, based on the specified arguments, which has
  * the appearance of the platform's <em>focus rectangle</em> if the
@@ -1188,6 +1219,55 @@ public void drawImage(Image image, int srcX, int srcY, int srcWidth, int srcHeig
 	drawImage(image, srcX, srcY, srcWidth, srcHeight, destX, destY, destWidth, destHeight, false);
 }
 
+/**
+ * Copies a rectangular area from the source tiled image into a (potentially
+ * different sized) rectangular area in the receiver, in the same way as
+ * <code>drawImage(Image, int, int, int, int, int, int, int, int)</code>.
+ * Only the tiles of the image that intersect the source rectangle are
+ * decoded and drawn.
+ *
+ * @param image the source tiled image
+ * @param srcX the x coordinate in the source image to copy from
+ * @param srcY the y coordinate in the source image to copy from
+ * @param srcWidth the width in points to copy from the source
+ * @param srcHeight the height in points to copy from the source
+ * @param destX the x coordinate in the destination to copy to
+ * @param destY the y coordinate in the destination to copy to
+ * @param destWidth the width in points of the destination rectangle
+ * @param destHeight the height in points of the destination rectangle
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the image is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the image has been disposed</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if any of the width or height arguments are negative.
+ *    <li>ERROR_INVALID_ARGUMENT - if the source rectangle is not contained within the bounds of the source image</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ * @exception SWTError <ul>
+ *    <li>ERROR_NO_HANDLES - if no handles are available to perform the operation</li>
+ * </ul>
+ *
+ * @see TiledImage
+ *
+ * @since 3.125
+ */
+public void drawTiledImage(TiledImage image, int srcX, int srcY, int srcWidth, int srcHeight, int destX, int destY, int destWidth, int destHeight) {
+	if (handle == null) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (srcWidth == 0 || srcHeight == 0 || destWidth == 0 || destHeight == 0) return;
+	if (srcX < 0 || srcY < 0 || srcWidth < 0 || srcHeight < 0 || destWidth < 0 || destHeight < 0) {
+		SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	}
+	if (image == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	if (image.isDisposed()) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	Rectangle bounds = image.getBounds();
+	if (srcX + srcWidth > bounds.width || srcY + srcHeight > bounds.height) {
+		SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	}
+	image.draw(this, srcX, srcY, srcWidth, srcHeight, destX, destY, destWidth, destHeight);
+}
+
 void drawImage(Image srcImage, int srcX, int srcY, int srcWidth, int srcHeight, int destX, int destY, int destWidth, int destHeight, boolean simple) {
 	NSImage imageHandle = srcImage.handle;
 	NSSize size = imageHandle.size();
@@ -1410,6 +1490,49 @@ public void drawPoint(int x, int y) {
 	}
 }
 
+/**
+ * Draws a pixel, using the foreground color, at each of the points
+ * which are defined by the specified array of integer coordinates.
+ * The array contains alternating x and y values. This is equivalent
+ * to calling <code>drawPoint()</code> for each point, but all the
+ * points are drawn in a single operation.
+ *
+ * @param pointArray an array of alternating x and y values
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the point array is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #drawPoint(int, int)
+ *
+ * @since 3.125
+ */
+public void drawPoints(int[] pointArray) {
+	if (handle == null) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (pointArray == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	int count = pointArray.length / 2;
+	if (count == 0) return;
+	NSAutoreleasePool pool = checkGC(FOREGROUND_FILL | CLIPPING | TRANSFORM);
+	try {
+		NSRect rect = new NSRect();
+		rect.width = 1;
+		rect.height = 1;
+		NSBezierPath path = data.path;
+		for (int i = 0, j = 0; i < count; i++, j += 2) {
+			rect.x = pointArray[j];
+			rect.y = pointArray[j + 1];
+			path.appendBezierPathWithRect(rect);
+		}
+		fillWinding(path);
+		path.removeAllPoints();
+	} finally {
+		uncheckGC(pool);
+	}
+}
+
 /**
  * Draws the closed polygon which is defined by the specified array
  * of integer coordinates, using the receiver's foreground color. The array
@@ -1625,6 +1748,66 @@ public void drawRoundRectangle(int x, int y, int width, int height, int arcWidth
 	}
 }
 
+/**
+ * Draws a line, using the foreground color, for each of the segments
+ * which are defined by the specified array of integer coordinates.
+ * The array contains the x and y coordinates of the first point
+ * followed by the x and y coordinates of the second point of each
+ * segment. This is equivalent to calling <code>drawLine()</code> for
+ * each segment, but all the segments are drawn in a single operation,
+ * so segments that overlap are only drawn once.
+ *
+ * @param segmentArray an array of x1, y1, x2 and y2 values for each segment
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the segment array is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #drawLine(int, int, int, int)
+ *
+ * @since 3.125
+ */
+public void drawSegments(int[] segmentArray) {
+	if (handle == null) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (segmentArray == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	int count = segmentArray.length / 4;
+	if (count == 0) return;
+	NSAutoreleasePool pool = checkGC(DRAW);
+	try {
+		NSBezierPath path = data.path;
+		NSPoint pt = new NSPoint();
+		for (int i = 0, j = 0; i < count; i++, j += 4) {
+			pt.x = segmentArray[j] + data.drawXOffset;
+			pt.y = segmentArray[j + 1] + data.drawYOffset;
+			path.moveToPoint(pt);
+			pt.x = segmentArray[j + 2] + data.drawXOffset;
+			pt.y = segmentArray[j + 3] + data.drawYOffset;
+			path.lineToPoint(pt);
+		}
+		Pattern pattern = data.foregroundPattern;
+		if (pattern != null) setPatternPhase(pattern);
+		if (pattern != null && pattern.gradient != null) {
+			strokePattern(path, pattern);
+		} else {
+			path.stroke();
+		}
+		path.removeAllPoints();
+	} finally {
+		uncheckGC(pool);
+	}
+	/* Like drawLine(), draw a point for the segments that have no length */
+	if (data.lineWidth <= 1) {
+		for (int i = 0, j = 0; i < count; i++, j += 4) {
+			if (segmentArray[j] == segmentArray[j + 2] && segmentArray[j + 1] == segmentArray[j + 3]) {
+				drawPoint(segmentArray[j], segmentArray[j + 1]);
+			}
+		}
+	}
+}
+
 /**
  * Draws the given string, using the receiver's current font and
  * foreground color. No tab expansion or carriage return processing
@@ -2302,6 +2485,78 @@ public void fillRectangle(Rectangle rect) {
 	fillRectangle(rect.x, rect.y, rect.width, rect.height);
 }
 
+/**
+ * Fills the interior of each of the rectangles which are defined by the
+ * specified array of integer coordinates, using the receiver's background
+ * color. The array contains the x, y, width and height values of each
+ * rectangle. This is equivalent to calling <code>fillRectangle()</code>
+ * for each rectangle, but all the rectangles are filled in a single
+ * operation.
+ *
+ * @param rectArray an array of x, y, width and height values for each rectangle
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the rectangle array is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #fillRectangle(int, int, int, int)
+ *
+ * @since 3.125
+ */
+public void fillRectangles(int[] rectArray) {
+	if (handle == null) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (rectArray == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	int count = rectArray.length / 4;
+	if (count == 0) return;
+	NSAutoreleasePool pool = checkGC(FILL);
+	try {
+		NSRect rect = new NSRect();
+		NSBezierPath path = data.path;
+		for (int i = 0, j = 0; i < count; i++, j += 4) {
+			int x = rectArray[j], y = rectArray[j + 1], width = rectArray[j + 2], height = rectArray[j + 3];
+			if (width < 0) {
+				x = x + width;
+				width = -width;
+			}
+			if (height < 0) {
+				y = y + height;
+				height = -height;
+			}
+			rect.x = x;
+			rect.y = y;
+			rect.width = width;
+			rect.height = height;
+			path.appendBezierPathWithRect(rect);
+		}
+		Pattern pattern = data.backgroundPattern;
+		if (pattern != null) setPatternPhase(pattern);
+		if (pattern != null && pattern.gradient != null) {
+			path.setWindingRule(OS.NSNonZeroWindingRule);
+			fillPattern(path, pattern);
+			path.setWindingRule(data.fillRule == SWT.FILL_WINDING ? OS.NSNonZeroWindingRule : OS.NSEvenOddWindingRule);
+		} else {
+			fillWinding(path);
+		}
+		path.removeAllPoints();
+	} finally {
+		uncheckGC(pool);
+	}
+}
+
+/*
+* Fills the path with the winding fill rule, so that overlapping
+* rectangles are filled like separate rectangles instead of cancelling
+* each other out with the even-odd rule of the GC.
+*/
+void fillWinding(NSBezierPath path) {
+	path.setWindingRule(OS.NSNonZeroWindingRule);
+	path.fill();
+	path.setWindingRule(data.fillRule == SWT.FILL_WINDING ? OS.NSNonZeroWindingRule : OS.NSEvenOddWindingRule);
+}
+
 /**
  * Fills the interior of the round-cornered rectangle specified by
  * the arguments, using the receiver's background color.
@@ -577,6 +577,46 @@ public Image(Device device, ImageData data) {
 	}
 }
 
+/**
+ * Constructs an instance of this class from the given
+ * <code>PreparedImage</code>.
+ * <p>
+ * The pixels of a prepared image are already converted to the format
+ * of the platform, which makes this constructor cheaper than creating
+ * the image from the <code>ImageData</code> directly.
+ * </p><p>
+ * You must dispose the image when it is no longer required.
+ * </p>
+ *
+ * @param device the device on which to create the image
+ * @param prepared the prepared image to create the image from (must not be null)
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if device is null and there is no current device</li>
+ *    <li>ERROR_NULL_ARGUMENT - if the prepared image is null</li>
+ * </ul>
+ * @exception SWTError <ul>
+ *    <li>ERROR_NO_HANDLES if a handle could not be obtained for image creation</li>
+ * </ul>
+ *
+ * @see PreparedImage
+ * @see #dispose()
+ *
+ * @since 3.125
+ */
+public Image(Device device, PreparedImage prepared) {
+	super(device);
+	if (prepared == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	NSAutoreleasePool pool = null;
+	if (!NSThread.isMainThread()) pool = (NSAutoreleasePool) new NSAutoreleasePool().alloc().init();
+	try {
+		init(prepared.imageData);
+		init();
+	} finally {
+		if (pool != null) pool.release();
+	}
+}
+
 /**
  * Constructs an instance of this class, whose type is
  * <code>SWT.ICON</code>, from the two given <code>ImageData</code>
@@ -1385,6 +1425,15 @@ void init(int width, int height) {
 	if (alphaInfo_100 == null) alphaInfo_100 = new AlphaInfo();
 }
 
+/*
+* The image data is not scaled, the representations at other zoom levels
+* are created on demand, and the pixels are converted when the image is
+* created.
+*/
+static void prepare(Device device, PreparedImage prepared) {
+	prepared.imageData = prepared.source;
+}
+
 void init(ImageData image) {
 	if (image == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
 
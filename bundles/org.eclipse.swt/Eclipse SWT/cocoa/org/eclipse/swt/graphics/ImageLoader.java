@@ -16,6 +16,7 @@ package org.eclipse.swt.graphics;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.image.*;
@@ -106,6 +107,22 @@ public class ImageLoader {
 	 */
 	public int compression;
 
+	/**
+	 * The size, in pixels, that the images being loaded will be
+	 * displayed at, or 0 to load them at full size. The default is 0.
+	 * <p>
+	 * Decoders that can produce a reduced image cheaply use this hint to
+	 * return the smallest reduction that is still at least this wide and
+	 * high. Currently JPEG images are decoded at 1/2, 1/4 or 1/8 of their
+	 * size, which takes a fraction of the time and memory of a full decode.
+	 * Other formats ignore the hint. Unlike the fields above, the hint is
+	 * not reset by <code>load</code>.
+	 * </p>
+	 *
+	 * @since 3.125
+	 */
+	public int targetWidth, targetHeight;
+
 	/*
 	 * the set of ImageLoader event listeners, created on demand
 	 */
@@ -192,6 +209,104 @@ public ImageData[] load(String filename) {
 	return null;
 }
 
+/**
+ * Reads the headers of the image in the specified input stream and
+ * returns the size and depth of the image, the number of images and
+ * the file format, without decoding the pixels. Only the formats
+ * listed in the class comment are recognized. GIF and TIFF files do
+ * not store the number of images, the stream is read up to the last
+ * image for them, skipping over the pixel data.
+ *
+ * @param stream the input stream to read the image headers from
+ * @return an <code>ImageInfo</code> describing the image
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the stream is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the stream</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image stream contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image stream contains an unrecognized format</li>
+ * </ul>
+ *
+ * @since 3.125
+ */
+public static ImageInfo probe(InputStream stream) {
+	if (stream == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	return FileFormat.probe(stream);
+}
+
+/**
+ * Reads the headers of the image in the file with the specified
+ * name and returns the size and depth of the image, the number of
+ * images and the file format, without decoding the pixels.
+ *
+ * @param filename the name of the file to read the image headers from
+ * @return an <code>ImageInfo</code> describing the image
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the file name is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the file</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image file contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image file contains an unrecognized format</li>
+ * </ul>
+ *
+ * @see #probe(InputStream)
+ *
+ * @since 3.125
+ */
+public static ImageInfo probe(String filename) {
+	if (filename == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	return FileFormat.probe(filename);
+}
+
+/**
+ * Loads the images in the files with the specified names in the
+ * background and returns a future for each file, in the order of
+ * the list. The futures complete with the array of
+ * <code>ImageData</code> objects that SWT's own decoders return
+ * for the file, or exceptionally with the <code>SWTException</code>
+ * they throw.
+ * <p>
+ * The files are read and decoded on tasks submitted to the given
+ * executor. No more files are decoded at the same time than there
+ * are processors, whatever the size of the list.
+ * A file that is listed more than once is loaded once and its names
+ * share the same future. Files whose future is cancelled before they
+ * are reached are not loaded.
+ * </p><p>
+ * The futures complete on the threads of the executor, so the
+ * image data can be prepared further before it reaches the user
+ * interface thread, for example by
+ * <code>future.thenApply(data -&gt; new PreparedImage(device, data[0]))</code>.
+ * No listeners are notified of the images as they are loaded.
+ * </p><p>
+ * Only the image data is returned. The values that <code>load</code>
+ * stores in the fields of the loader, such as the logical screen size
+ * and the repeat count of a GIF, are not available; they can be read
+ * with <code>probe(String)</code> and <code>AnimatedImageReader</code>.
+ * </p>
+ *
+ * @param filenames the names of the files to load the images from
+ * @param executor the executor to run the loading tasks on
+ * @return a list of futures, one for each file name
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the list, one of the file names or the executor is null</li>
+ * </ul>
+ *
+ * @see #load(String)
+ * @see #probe(String)
+ * @see AnimatedImageReader
+ *
+ * @since 3.125
+ */
+public static List<CompletableFuture<ImageData[]>> loadAll(List<String> filenames, Executor executor) {
+	return ImageBatchLoader.loadAll(filenames, executor);
+}
+
 /**
  * Saves the image data in this ImageLoader to the specified stream.
  * The format parameter can have one of the following values:
@@ -314,6 +314,47 @@ public void addPath(Path path) {
 	}
 }
 
+/**
+ * Adds to the receiver the polyline which is defined by the specified
+ * array of alternating x and y values. A new sub path is started at the
+ * first point and a line is added from each point to the next one. This
+ * is equivalent to calling <code>moveTo</code> with the first point and
+ * <code>lineTo</code> with each of the following points.
+ *
+ * @param pointArray an array of alternating x and y values which are the vertices of the polyline
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the point array is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @since 3.125
+ */
+public void addPolyline(float[] pointArray) {
+	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (pointArray == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	int length = pointArray.length & ~1;
+	if (length == 0) return;
+	NSAutoreleasePool pool = null;
+	if (!NSThread.isMainThread()) pool = (NSAutoreleasePool) new NSAutoreleasePool().alloc().init();
+	try {
+		NSPoint pt = new NSPoint();
+		pt.x = pointArray[0];
+		pt.y = pointArray[1];
+		handle.moveToPoint(pt);
+		for (int i = 2; i < length; i += 2) {
+			pt.x = pointArray[i];
+			pt.y = pointArray[i + 1];
+			handle.lineToPoint(pt);
+		}
+		closed = length == 2;
+	} finally {
+		if (pool != null) pool.release();
+	}
+}
+
 /**
  * Adds to the receiver the rectangle specified by x, y, width and height.
  *
@@ -13,6 +13,9 @@
  *******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import java.util.*;
+import java.util.function.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.*;
@@ -1821,6 +1824,53 @@ public int [] getSelectionIndices () {
 	return result;
 }
 
+/**
+ * Returns the ranges of the items which are currently selected in
+ * the receiver. Each range is stored as a pair of consecutive elements:
+ * the zero-relative index of the first selected item of the range,
+ * followed by the index after the last selected item of the range.
+ * The ranges are in ascending order and do not overlap. The array is
+ * empty if no items are selected.
+ * <p>
+ * For large selections of adjacent items this is considerably more
+ * compact than {@link #getSelectionIndices()}.
+ * </p>
+ *
+ * @return the array of selected ranges
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #select(int, int)
+ * @see #getSelectionIndices()
+ *
+ * @since 3.125
+ */
+public int [] getSelectionRanges () {
+	checkWidget ();
+	int [] indices = getSelectionIndices ();
+	int length = indices.length;
+	if (length == 0) return indices;
+	int count = 1;
+	for (int i=1; i<length; i++) {
+		if (indices [i] != indices [i - 1] + 1) count++;
+	}
+	int [] result = new int [count * 2];
+	int start = indices [0], j = 0;
+	for (int i=1; i<length; i++) {
+		if (indices [i] != indices [i - 1] + 1) {
+			result [j++] = start;
+			result [j++] = indices [i - 1] + 1;
+			start = indices [i];
+		}
+	}
+	result [j++] = start;
+	result [j] = indices [length - 1] + 1;
+	return result;
+}
+
 /**
  * Returns the column which shows the sort indicator for
  * the receiver. The value may be null if no column shows
@@ -3309,6 +3359,111 @@ public void showSelection () {
 	}
 }
 
+void reorder (Integer [] order) {
+	int count = order.length;
+	int [] newIndex = new int [count];
+	boolean changed = false;
+	for (int i=0; i<count; i++) {
+		newIndex [order [i]] = i;
+		if (order [i] != i) changed = true;
+	}
+	if (!changed) return;
+	int [] selection = getSelectionIndices ();
+	for (int i=0; i<selection.length; i++) selection [i] = newIndex [selection [i]];
+	TableItem [] oldItems = new TableItem [count];
+	for (int i=0; i<count; i++) oldItems [i] = _getItem (i);
+	for (int i=0; i<count; i++) items [i] = oldItems [order [i]];
+	((NSTableView)view).reloadData ();
+	select (selection, selection.length, true);
+}
+
+/**
+ * Sorts the items of the receiver using the given comparator. The sort
+ * is stable, so items that compare as equal keep their relative order.
+ * The items are moved in place: they are not disposed or re-created,
+ * and the selection stays with the items that were selected.
+ * <p>
+ * The comparator is called on the user-interface thread and may query
+ * the items. Note that for a table created with the <code>SWT.VIRTUAL</code>
+ * style, querying an item may cause an <code>SWT.SetData</code> event to
+ * be sent for it. To sort very large tables, consider
+ * {@link #sort(Function, Comparator)}, which queries every item only once.
+ * </p>
+ *
+ * @param comparator the comparator that defines the new order of the items
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the comparator is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setSortColumn(TableColumn)
+ * @see #setSortDirection(int)
+ *
+ * @since 3.125
+ */
+public void sort (Comparator<? super TableItem> comparator) {
+	checkWidget ();
+	if (comparator == null) error (SWT.ERROR_NULL_ARGUMENT);
+	int count = getItemCount ();
+	if (count < 2) return;
+	TableItem [] sortItems = new TableItem [count];
+	Integer [] order = new Integer [count];
+	for (int i=0; i<count; i++) {
+		sortItems [i] = _getItem (i);
+		order [i] = i;
+	}
+	Arrays.sort (order, (a, b) -> comparator.compare (sortItems [a], sortItems [b]));
+	reorder (order);
+}
+
+/**
+ * Sorts the items of the receiver by the keys that are extracted from
+ * them. The sort is stable, so items with equal keys keep their relative
+ * order. The items are moved in place: they are not disposed or re-created,
+ * and the selection stays with the items that were selected.
+ * <p>
+ * The key extractor is called exactly once for every item, on the
+ * user-interface thread. The comparator must not access any widget, as
+ * it may be called from other threads to sort large tables in parallel.
+ * </p>
+ *
+ * @param <K> the type of the sort keys
+ * @param keyExtractor the function that returns the sort key of an item
+ * @param comparator the comparator that defines the order of the keys
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the key extractor or the comparator is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setSortColumn(TableColumn)
+ * @see #setSortDirection(int)
+ *
+ * @since 3.125
+ */
+public <K> void sort (Function<? super TableItem, ? extends K> keyExtractor, Comparator<? super K> comparator) {
+	checkWidget ();
+	if (keyExtractor == null || comparator == null) error (SWT.ERROR_NULL_ARGUMENT);
+	int count = getItemCount ();
+	if (count < 2) return;
+	java.util.List<K> sortKeys = new ArrayList<> (count);
+	Integer [] order = new Integer [count];
+	for (int i=0; i<count; i++) {
+		sortKeys.add (keyExtractor.apply (_getItem (i)));
+		order [i] = i;
+	}
+	/* Arrays.parallelSort() only forks for arrays that are large enough to benefit */
+	Arrays.parallelSort (order, (a, b) -> comparator.compare (sortKeys.get (a), sortKeys.get (b)));
+	reorder (order);
+}
+
 @Override
 void selectRowIndexes_byExtendingSelection (long id, long sel, long indexes, boolean extend) {
 	if (preventSelect && !ignoreSelect) return;
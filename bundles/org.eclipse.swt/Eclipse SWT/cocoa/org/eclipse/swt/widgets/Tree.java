@@ -91,7 +91,7 @@ public class Tree extends Composite {
 	boolean ignoreExpand, ignoreSelect, ignoreRedraw, reloadPending, drawExpansion, didSelect, preventSelect, dragDetected;
 	Rectangle imageBounds;
 	TreeItem insertItem;
-	boolean insertBefore;
+	boolean insertBefore, lazyItems;
 	double [] headerBackground, headerForeground;
 
 	/* Used to control drop feedback when DND.FEEDBACK_EXPAND and DND.FEEDBACK_SCROLL is set/not set */
@@ -1803,6 +1803,27 @@ public TreeItem [] getItems () {
 	return result;
 }
 
+/**
+ * Returns <code>true</code> if the children of collapsed items of a
+ * tree created with the <code>SWT.VIRTUAL</code> style are only kept
+ * as a count until the item is expanded, and <code>false</code> otherwise.
+ *
+ * @return the lazy items state
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setLazyItems(boolean)
+ *
+ * @since 3.125
+ */
+public boolean getLazyItems () {
+	checkWidget ();
+	return lazyItems;
+}
+
 /**
  * Returns <code>true</code> if the receiver's lines are visible,
  * and <code>false</code> otherwise. Note that some platforms draw
@@ -2628,6 +2649,49 @@ void reskinChildren (int flags) {
 	super.reskinChildren (flags);
 }
 
+/**
+ * Runs the given runnable as a single batch of changes to the items of
+ * the receiver. Creating, removing and changing many items, for example
+ * to rebuild a tree with many thousands of nodes, is much faster in a batch,
+ * because the receiver is updated once when the runnable returns instead
+ * of once for every item.
+ * <p>
+ * The runnable should only create, dispose and change items. The selection,
+ * the expanded items and the scroll position are restored when the runnable
+ * returns, and selected items that were disposed are no longer selected.
+ * Methods that depend on the visible state of the receiver, such as
+ * <code>showItem()</code>, <code>getTopItem()</code>, <code>getItem(Point)</code>
+ * or <code>getSelection()</code>, should not be called by the runnable,
+ * as the result is not defined on all platforms.
+ * </p><p>
+ * Batches may be nested; only the outermost batch updates the receiver.
+ * </p>
+ *
+ * @param runnable the code that changes the items of the receiver
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the runnable is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setRedraw(boolean)
+ *
+ * @since 3.125
+ */
+public void runBatch (Runnable runnable) {
+	checkWidget ();
+	if (runnable == null) error (SWT.ERROR_NULL_ARGUMENT);
+	setRedraw (false);
+	try {
+		runnable.run ();
+	} finally {
+		if (!isDisposed ()) setRedraw (true);
+	}
+}
+
 @Override
 void setImage (long id, long sel, long arg0) {
 	OS.object_setInstanceVariable(id, Display.SWT_IMAGE, arg0);
@@ -3189,6 +3253,40 @@ void setItemHeight (Image image, NSFont font, boolean set) {
 	}
 }
 
+/**
+ * Sets whether the children of collapsed items are materialized lazily.
+ * <p>
+ * When enabled on a tree created with the <code>SWT.VIRTUAL</code> style,
+ * {@link TreeItem#setItemCount(int)} on a collapsed item only records the
+ * number of children. The child items are created when the item is expanded
+ * or when they are explicitly requested, for example by
+ * {@link TreeItem#getItems()}. When an item is collapsed, its child items
+ * are disposed and replaced by their count again, so that memory use scales
+ * with the part of the tree that is actually expanded. Child items are
+ * requested again using <code>SWT.SetData</code> the next time they are needed.
+ * </p><p>
+ * <b>Note:</b> This is a hint that has no effect on trees that do not have
+ * the <code>SWT.VIRTUAL</code> style, and may be ignored on platforms where
+ * the native tree does not keep a row for every item.
+ * </p>
+ *
+ * @param lazy the new lazy items state
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see SWT#VIRTUAL
+ * @see SWT#SetData
+ *
+ * @since 3.125
+ */
+public void setLazyItems (boolean lazy) {
+	checkWidget ();
+	lazyItems = lazy;
+}
+
 /**
  * Marks the receiver's lines as visible if the argument is <code>true</code>,
  * and marks it invisible otherwise. Note that some platforms draw
@@ -0,0 +1,403 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.io.*;
+import java.util.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.image.*;
+
+/**
+ * Instances of this class read the frames of an animated GIF one at a
+ * time. Unlike <code>ImageLoader.load()</code>, which decodes every frame
+ * before it returns, a frame is only decoded when it is asked for, so
+ * that long animations can be shown without holding all their frames.
+ * <p>
+ * When compositing is requested, the reader applies the disposal method,
+ * the position and the transparent pixel of each frame itself, and
+ * returns every frame as a 24-bit image with alpha data of the size of
+ * the logical screen, ready to be drawn. Otherwise, the frames are
+ * returned as they are stored in the file, like
+ * <code>ImageLoader.load()</code> returns them.
+ * </p><p>
+ * Animations are usually played more than once. The compressed data
+ * is kept, so that the reader can be rewound with <code>rewind()</code>,
+ * and the frames that were returned are kept as long as they fit in a
+ * fixed amount of memory, so that animations are played again without
+ * decoding them, however many frames they have. When the frames do not
+ * fit, those returned least recently are released first.
+ * </p><p>
+ * The frames that are returned are shared with the cache of the reader
+ * and must not be modified.
+ * </p>
+ *
+ * @see ImageLoader#load(InputStream)
+ *
+ * @since 3.125
+ */
+public class AnimatedImageReader implements Iterator<ImageData>, Closeable {
+	boolean composite;
+	RecordingInputStream source;
+	GIFFileFormat decoder;
+	ImageLoader loader;
+	int width, height, repeatCount;
+
+	/* The index of the next frame to return, the number of frames read from the decoder and the total number of frames, once known */
+	int index, decoded, frameCount = -1;
+
+	/* The frame read from the decoder but not returned yet */
+	ImageData pending;
+
+	/* The frames returned most recently and the number of bytes they hold */
+	LinkedHashMap<Integer, ImageData> frames = new LinkedHashMap<> (16, 0.75f, true);
+	long cacheSize;
+
+	/* The composited screen, the area of the last frame and the pixels under it when it is to be restored */
+	ImageData canvas;
+	int lastX, lastY, lastWidth, lastHeight, lastDisposal;
+	byte[] savedData, savedAlpha;
+
+	/* The maximum number of bytes held by the frames kept */
+	static final long CACHE_LIMIT = 64 * 1024 * 1024;
+
+/*
+* Records the bytes read from a stream, so that they can be read again
+* when the reader is rewound.
+*/
+static class RecordingInputStream extends FilterInputStream {
+	byte[] bytes = new byte[4096];
+	int count;
+
+	RecordingInputStream (InputStream in) {
+		super (in);
+	}
+
+	void record (byte[] buffer, int offset, int length) {
+		if (count + length > bytes.length) bytes = Arrays.copyOf (bytes, Math.max (bytes.length * 2, count + length));
+		System.arraycopy (buffer, offset, bytes, count, length);
+		count += length;
+	}
+
+	@Override
+	public int read () throws IOException {
+		int b = in.read ();
+		if (b != -1) record (new byte[] {(byte) b}, 0, 1);
+		return b;
+	}
+
+	@Override
+	public int read (byte[] buffer, int offset, int length) throws IOException {
+		int result = in.read (buffer, offset, length);
+		if (result > 0) record (buffer, offset, result);
+		return result;
+	}
+
+	@Override
+	public long skip (long n) throws IOException {
+		return read (new byte[(int) Math.min (n, 4096)]);
+	}
+
+	@Override
+	public boolean markSupported () {
+		return false;
+	}
+
+	/* Answer a stream that reads the recorded bytes and then continues with the rest of the stream */
+	InputStream replay () {
+		return new SequenceInputStream (new ByteArrayInputStream (bytes, 0, count), this);
+	}
+}
+
+/**
+ * Constructs a new reader for the animated GIF in the specified
+ * input stream. The header of the GIF is read immediately, the
+ * frames are read when they are asked for. The stream is closed
+ * when the reader is closed.
+ *
+ * @param stream the input stream to read the GIF from
+ * @param composite <code>true</code> to return composited frames of
+ *    the size of the logical screen, <code>false</code> to return the
+ *    frames as they are stored in the file
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the stream is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the stream</li>
+ *    <li>ERROR_INVALID_IMAGE - if the stream does not contain a valid GIF</li>
+ * </ul>
+ */
+public AnimatedImageReader (InputStream stream, boolean composite) {
+	if (stream == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	this.composite = composite;
+	source = new RecordingInputStream (stream);
+	try {
+		start (source);
+		/* The repeat count is stored before the first frame */
+		pending = read ();
+	} catch (SWTException e) {
+		close ();
+		throw e;
+	}
+	width = loader.logicalScreenWidth;
+	height = loader.logicalScreenHeight;
+	repeatCount = loader.repeatCount;
+}
+
+/**
+ * Constructs a new reader for the animated GIF in the file with
+ * the specified name.
+ *
+ * @param filename the name of the file to read the GIF from
+ * @param composite <code>true</code> to return composited frames of
+ *    the size of the logical screen, <code>false</code> to return the
+ *    frames as they are stored in the file
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the file name is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the file</li>
+ *    <li>ERROR_INVALID_IMAGE - if the file does not contain a valid GIF</li>
+ * </ul>
+ */
+public AnimatedImageReader (String filename, boolean composite) {
+	this (open (filename), composite);
+}
+
+static InputStream open (String filename) {
+	if (filename == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	try {
+		return new FileInputStream (filename);
+	} catch (IOException e) {
+		SWT.error (SWT.ERROR_IO, e);
+		return null;
+	}
+}
+
+void start (InputStream stream) {
+	loader = new ImageLoader ();
+	decoder = new GIFFileFormat ();
+	decoder.startReading (stream, loader);
+	decoded = 0;
+	pending = null;
+	canvas = null;
+}
+
+/**
+ * Returns the width of the logical screen of the animation.
+ *
+ * @return the width of the logical screen
+ */
+public int getWidth () {
+	return width;
+}
+
+/**
+ * Returns the height of the logical screen of the animation.
+ *
+ * @return the height of the logical screen
+ */
+public int getHeight () {
+	return height;
+}
+
+/**
+ * Returns the number of times the animation should be repeated,
+ * where 0 means forever, like <code>ImageLoader.repeatCount</code>.
+ *
+ * @return the repeat count of the animation
+ */
+public int getRepeatCount () {
+	return repeatCount;
+}
+
+/**
+ * Returns <code>true</code> if there is another frame to read,
+ * decoding it if needed.
+ *
+ * @return <code>true</code> if there is another frame
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the stream</li>
+ *    <li>ERROR_INVALID_IMAGE - if the stream contains invalid data</li>
+ * </ul>
+ */
+@Override
+public boolean hasNext () {
+	if (decoder == null) return false;
+	if (frames.containsKey (index)) return true;
+	if (frameCount != -1 && index >= frameCount) return false;
+	/* Frames returned from the cache have not been read, catch up with them */
+	if (decoded > index) start (source.replay ());
+	while (decoded < index) {
+		if (pending == null && (pending = read ()) == null) return false;
+		if (composite) draw (pending);
+		pending = null;
+		decoded++;
+	}
+	if (pending == null) pending = read ();
+	return pending != null;
+}
+
+/**
+ * Returns the next frame of the animation. The delay time of the
+ * frame is in the <code>delayTime</code> field of the image data.
+ *
+ * @return the next frame
+ *
+ * @exception NoSuchElementException if there are no more frames
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the stream</li>
+ *    <li>ERROR_INVALID_IMAGE - if the stream contains invalid data</li>
+ * </ul>
+ */
+@Override
+public ImageData next () {
+	ImageData frame = frames.get (index);
+	if (frame == null) {
+		if (!hasNext ()) throw new NoSuchElementException ();
+		frame = pending;
+		pending = null;
+		decoded++;
+		if (composite) {
+			draw (frame);
+			int delayTime = frame.delayTime;
+			frame = (ImageData) canvas.clone ();
+			frame.delayTime = delayTime;
+		}
+		frames.put (index, frame);
+		cacheSize += getSize (frame);
+		/* The frame that was just returned is always kept */
+		Iterator<ImageData> iterator = frames.values ().iterator ();
+		while (cacheSize > CACHE_LIMIT && frames.size () > 1) {
+			cacheSize -= getSize (iterator.next ());
+			iterator.remove ();
+		}
+	}
+	index++;
+	return frame;
+}
+
+/**
+ * Starts the animation again with its first frame.
+ */
+public void rewind () {
+	index = 0;
+}
+
+/**
+ * Closes the stream of the reader and releases the frames it holds.
+ */
+@Override
+public void close () {
+	if (decoder == null) return;
+	decoder = null;
+	pending = null;
+	canvas = null;
+	frames.clear ();
+	cacheSize = 0;
+	try {
+		source.close ();
+	} catch (IOException e) {
+	}
+}
+
+ImageData read () {
+	ImageData frame = null;
+	try {
+		frame = decoder.readNextImage ();
+	} catch (SWTException e) {
+		throw e;
+	} catch (Exception e) {
+		if (e instanceof IOException) {
+			SWT.error (SWT.ERROR_IO, e);
+		} else {
+			SWT.error (SWT.ERROR_INVALID_IMAGE, e);
+		}
+	}
+	if (frame == null) frameCount = decoded;
+	return frame;
+}
+
+static long getSize (ImageData frame) {
+	long size = frame.data.length;
+	if (frame.alphaData != null) size += frame.alphaData.length;
+	if (frame.maskData != null) size += frame.maskData.length;
+	return size;
+}
+
+/*
+* Disposes of the previous frame as it asks for and draws the given frame
+* on the canvas.
+*/
+void draw (ImageData frame) {
+	if (canvas == null) {
+		canvas = new ImageData (width, height, 24, new PaletteData (0xFF0000, 0xFF00, 0xFF));
+		canvas.alphaData = new byte[width * height];
+		canvas.type = SWT.IMAGE_GIF;
+		lastDisposal = SWT.DM_UNSPECIFIED;
+	}
+	int bytesPerLine = canvas.bytesPerLine;
+	byte[] data = canvas.data, alphaData = canvas.alphaData;
+	switch (lastDisposal) {
+		case SWT.DM_FILL_BACKGROUND:
+			/* Like browsers, clear to transparent rather than to the background color */
+			for (int y = lastY; y < lastY + lastHeight; y++) {
+				Arrays.fill (data, y * bytesPerLine + lastX * 3, y * bytesPerLine + (lastX + lastWidth) * 3, (byte) 0);
+				Arrays.fill (alphaData, y * width + lastX, y * width + lastX + lastWidth, (byte) 0);
+			}
+			break;
+		case SWT.DM_FILL_PREVIOUS:
+			for (int y = 0; y < lastHeight; y++) {
+				System.arraycopy (savedData, y * lastWidth * 3, data, (lastY + y) * bytesPerLine + lastX * 3, lastWidth * 3);
+				System.arraycopy (savedAlpha, y * lastWidth, alphaData, (lastY + y) * width + lastX, lastWidth);
+			}
+			break;
+	}
+	lastX = Math.max (0, Math.min (width, frame.x));
+	lastY = Math.max (0, Math.min (height, frame.y));
+	lastWidth = Math.min (width, frame.x + frame.width) - lastX;
+	lastHeight = Math.min (height, frame.y + frame.height) - lastY;
+	if (lastWidth <= 0 || lastHeight <= 0) lastWidth = lastHeight = 0;
+	lastDisposal = frame.disposalMethod;
+	if (lastDisposal == SWT.DM_FILL_PREVIOUS) {
+		int size = lastWidth * lastHeight;
+		if (savedAlpha == null || savedAlpha.length < size) {
+			savedData = new byte[size * 3];
+			savedAlpha = new byte[size];
+		}
+		for (int y = 0; y < lastHeight; y++) {
+			System.arraycopy (data, (lastY + y) * bytesPerLine + lastX * 3, savedData, y * lastWidth * 3, lastWidth * 3);
+			System.arraycopy (alphaData, (lastY + y) * width + lastX, savedAlpha, y * lastWidth, lastWidth);
+		}
+	}
+	RGB[] rgbs = frame.palette.getRGBs ();
+	int[] pixels = new int[lastWidth];
+	for (int y = 0; y < lastHeight; y++) {
+		frame.getPixels (lastX - frame.x, lastY + y - frame.y, lastWidth, pixels, 0);
+		int dataIndex = (lastY + y) * bytesPerLine + lastX * 3, alphaIndex = (lastY + y) * width + lastX;
+		for (int x = 0; x < lastWidth; x++, dataIndex += 3, alphaIndex++) {
+			int pixel = pixels[x];
+			if (pixel == frame.transparentPixel || pixel >= rgbs.length) continue;
+			RGB rgb = rgbs[pixel];
+			data[dataIndex] = (byte) rgb.red;
+			data[dataIndex + 1] = (byte) rgb.green;
+			data[dataIndex + 2] = (byte) rgb.blue;
+			alphaData[alphaIndex] = (byte) 0xFF;
+		}
+	}
+}
+}
@@ -0,0 +1,794 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.*;
+
+/**
+ * Instances of this class record a sequence of drawing operations
+ * that can be drawn many times with <code>GC.drawDisplayList()</code>.
+ * <p>
+ * The drawing methods of a display list have the same meaning as the
+ * methods of <code>GC</code> with the same name. Recording an operation
+ * is cheap: the arguments are stored in a compact buffer, and nothing is
+ * drawn until the display list is drawn on a GC. The list starts from the
+ * attributes of the GC it is drawn on, and the attributes of the GC are
+ * restored afterwards.
+ * </p><p>
+ * Display lists are meant for the static layers of custom drawn
+ * controls, such as the grid and axes of a chart. Where the platform
+ * supports it, the rendered list is kept by the receiver, so that drawing
+ * an unchanged list again costs a single copy instead of one call per
+ * operation. The rendering is discarded when the list is changed.
+ * </p><p>
+ * Application code must explicitly invoke the <code>DisplayList.dispose()</code>
+ * method to release the operating system resources managed by each instance
+ * when those instances are no longer required. The colors, fonts and images
+ * used by a display list are not copied and must stay alive while the list
+ * is drawn.
+ * </p>
+ *
+ * @see GC#drawDisplayList(DisplayList)
+ *
+ * @since 3.125
+ */
+public class DisplayList extends Resource {
+	int [] ops = new int [64];
+	int opCount;
+	Object [] objects = new Object [8];
+	int objectCount;
+
+	/*
+	* The rendering of the list, the transformation and the attributes of
+	* the GC it was rendered with. Only used on platforms where the rendered
+	* list can be kept.
+	*/
+	Pattern cache;
+	double [] cacheMatrix;
+	Object [] cacheState;
+
+	static final int FOREGROUND = 1;
+	static final int BACKGROUND = 2;
+	static final int FONT = 3;
+	static final int LINE_WIDTH = 4;
+	static final int LINE_STYLE = 5;
+	static final int ALPHA = 6;
+	static final int LINE = 7;
+	static final int POINT = 8;
+	static final int RECTANGLE = 9;
+	static final int FILL_RECTANGLE = 10;
+	static final int OVAL = 11;
+	static final int FILL_OVAL = 12;
+	static final int POLYLINE = 13;
+	static final int POLYGON = 14;
+	static final int FILL_POLYGON = 15;
+	static final int STRING = 16;
+	static final int TEXT = 17;
+	static final int IMAGE = 18;
+
+/**
+ * Constructs a new empty display list.
+ * <p>
+ * You must dispose the display list when it is no longer required.
+ * </p>
+ *
+ * @param device the device on which to allocate the display list
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the device is null and there is no current device</li>
+ * </ul>
+ *
+ * @see #dispose()
+ */
+public DisplayList (Device device) {
+	super (device);
+	init ();
+}
+
+void add (int op, int... args) {
+	int length = opCount + 1 + args.length;
+	if (length > ops.length) {
+		ops = Arrays.copyOf (ops, Math.max (length, ops.length * 2));
+	}
+	ops [opCount++] = op;
+	System.arraycopy (args, 0, ops, opCount, args.length);
+	opCount += args.length;
+	flushCache ();
+}
+
+int addObject (Object object) {
+	if (objectCount == objects.length) {
+		objects = Arrays.copyOf (objects, objectCount * 2);
+	}
+	objects [objectCount] = object;
+	return objectCount++;
+}
+
+void checkResource (Resource resource) {
+	if (resource == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	if (resource.isDisposed ()) SWT.error (SWT.ERROR_INVALID_ARGUMENT);
+}
+
+@Override
+void destroy () {
+	flushCache ();
+	ops = null;
+	objects = null;
+	opCount = objectCount = 0;
+}
+
+/**
+ * Records drawing a line, using the foreground color, between the
+ * points (<code>x1</code>, <code>y1</code>) and (<code>x2</code>, <code>y2</code>).
+ *
+ * @param x1 the first point's x coordinate
+ * @param y1 the first point's y coordinate
+ * @param x2 the second point's x coordinate
+ * @param y2 the second point's y coordinate
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#drawLine(int, int, int, int)
+ */
+public void drawLine (int x1, int y1, int x2, int y2) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	add (LINE, x1, y1, x2, y2);
+}
+
+/**
+ * Records drawing the outline of an oval, using the foreground color,
+ * within the specified rectangular area.
+ *
+ * @param x the x coordinate of the upper left corner of the oval to be drawn
+ * @param y the y coordinate of the upper left corner of the oval to be drawn
+ * @param width the width of the oval to be drawn
+ * @param height the height of the oval to be drawn
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#drawOval(int, int, int, int)
+ */
+public void drawOval (int x, int y, int width, int height) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	add (OVAL, x, y, width, height);
+}
+
+/**
+ * Records drawing a pixel, using the foreground color, at the specified point.
+ *
+ * @param x the point's x coordinate
+ * @param y the point's y coordinate
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#drawPoint(int, int)
+ */
+public void drawPoint (int x, int y) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	add (POINT, x, y);
+}
+
+/**
+ * Records drawing the closed polygon which is defined by the specified
+ * array of integer coordinates, using the foreground color. The array
+ * is copied.
+ *
+ * @param pointArray an array of alternating x and y values which are the vertices of the polygon
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT if pointArray is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#drawPolygon(int[])
+ */
+public void drawPolygon (int [] pointArray) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	if (pointArray == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	add (POLYGON, addObject (pointArray.clone ()));
+}
+
+/**
+ * Records drawing the polyline which is defined by the specified array
+ * of integer coordinates, using the foreground color. The array is copied.
+ *
+ * @param pointArray an array of alternating x and y values which are the corners of the polyline
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the point array is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#drawPolyline(int[])
+ */
+public void drawPolyline (int [] pointArray) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	if (pointArray == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	add (POLYLINE, addObject (pointArray.clone ()));
+}
+
+/**
+ * Records drawing the outline of the rectangle specified by the arguments,
+ * using the foreground color.
+ *
+ * @param x the x coordinate of the rectangle to be drawn
+ * @param y the y coordinate of the rectangle to be drawn
+ * @param width the width of the rectangle to be drawn
+ * @param height the height of the rectangle to be drawn
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#drawRectangle(int, int, int, int)
+ */
+public void drawRectangle (int x, int y, int width, int height) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	add (RECTANGLE, x, y, width, height);
+}
+
+/**
+ * Records drawing the given image at the specified coordinates.
+ *
+ * @param image the image to draw
+ * @param x the x coordinate of where to draw
+ * @param y the y coordinate of where to draw
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the image is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the image has been disposed</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#drawImage(Image, int, int)
+ */
+public void drawImage (Image image, int x, int y) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	checkResource (image);
+	add (IMAGE, addObject (image), x, y);
+}
+
+/**
+ * Records drawing the given string, using the font and foreground color,
+ * with the specified transparency. No tab expansion or carriage return
+ * processing is performed.
+ *
+ * @param string the string to be drawn
+ * @param x the x coordinate of the top left corner of the rectangular area where the string is to be drawn
+ * @param y the y coordinate of the top left corner of the rectangular area where the string is to be drawn
+ * @param isTransparent if <code>true</code> the background will be transparent, otherwise it will be opaque
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the string is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#drawString(String, int, int, boolean)
+ */
+public void drawString (String string, int x, int y, boolean isTransparent) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	if (string == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	add (STRING, addObject (string), x, y, isTransparent ? 1 : 0);
+}
+
+/**
+ * Records drawing the given string, using the font and foreground color.
+ * Tab expansion, line delimiter and mnemonic processing are performed
+ * according to the specified flags.
+ *
+ * @param string the string to be drawn
+ * @param x the x coordinate of the top left corner of the rectangular area where the text is to be drawn
+ * @param y the y coordinate of the top left corner of the rectangular area where the text is to be drawn
+ * @param flags the flags specifying how to process the text
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the string is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#drawText(String, int, int, int)
+ */
+public void drawText (String string, int x, int y, int flags) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	if (string == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	add (TEXT, addObject (string), x, y, flags);
+}
+
+/**
+ * Records filling the interior of an oval, within the specified rectangular
+ * area, with the background color.
+ *
+ * @param x the x coordinate of the upper left corner of the oval to be filled
+ * @param y the y coordinate of the upper left corner of the oval to be filled
+ * @param width the width of the oval to be filled
+ * @param height the height of the oval to be filled
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#fillOval(int, int, int, int)
+ */
+public void fillOval (int x, int y, int width, int height) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	add (FILL_OVAL, x, y, width, height);
+}
+
+/**
+ * Records filling the interior of the closed polygon which is defined by
+ * the specified array of integer coordinates, using the background color.
+ * The array is copied.
+ *
+ * @param pointArray an array of alternating x and y values which are the vertices of the polygon
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT if pointArray is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#fillPolygon(int[])
+ */
+public void fillPolygon (int [] pointArray) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	if (pointArray == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	add (FILL_POLYGON, addObject (pointArray.clone ()));
+}
+
+/**
+ * Records filling the interior of the rectangle specified by the arguments,
+ * using the background color.
+ *
+ * @param x the x coordinate of the rectangle to be filled
+ * @param y the y coordinate of the rectangle to be filled
+ * @param width the width of the rectangle to be filled
+ * @param height the height of the rectangle to be filled
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#fillRectangle(int, int, int, int)
+ */
+public void fillRectangle (int x, int y, int width, int height) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	add (FILL_RECTANGLE, x, y, width, height);
+}
+
+void flushCache () {
+	if (cache != null) cache.dispose ();
+	cache = null;
+	cacheMatrix = null;
+	cacheState = null;
+}
+
+/*
+* Returns the bounds, in points, of everything the list draws on the given
+* GC, or null if the list draws nothing. Lines are grown by the line width
+* and text is measured with the font that is current when it is drawn.
+*/
+Rectangle getBounds (GC gc) {
+	Font font = gc.getFont (), gcFont = font;
+	int lineWidth = Math.max (1, gc.getLineWidth ());
+	int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+	int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+	try {
+		int i = 0;
+		while (i < opCount) {
+			int op = ops [i++], x1, y1, x2, y2, pad = 0;
+			int [] points = null;
+			switch (op) {
+				case FOREGROUND: case BACKGROUND: case LINE_STYLE: case ALPHA:
+					i++;
+					continue;
+				case FONT:
+					font = (Font) objects [ops [i++]];
+					continue;
+				case LINE_WIDTH:
+					lineWidth = Math.max (1, ops [i++]);
+					continue;
+				case LINE:
+					x1 = Math.min (ops [i], ops [i + 2]);
+					y1 = Math.min (ops [i + 1], ops [i + 3]);
+					x2 = Math.max (ops [i], ops [i + 2]);
+					y2 = Math.max (ops [i + 1], ops [i + 3]);
+					pad = lineWidth;
+					i += 4;
+					break;
+				case POINT:
+					x1 = x2 = ops [i++];
+					y1 = y2 = ops [i++];
+					pad = 1;
+					break;
+				case RECTANGLE: case OVAL: case FILL_RECTANGLE: case FILL_OVAL:
+					x1 = Math.min (ops [i], ops [i] + ops [i + 2]);
+					y1 = Math.min (ops [i + 1], ops [i + 1] + ops [i + 3]);
+					x2 = Math.max (ops [i], ops [i] + ops [i + 2]);
+					y2 = Math.max (ops [i + 1], ops [i + 1] + ops [i + 3]);
+					pad = op == RECTANGLE || op == OVAL ? lineWidth : 1;
+					i += 4;
+					break;
+				case POLYLINE: case POLYGON: case FILL_POLYGON:
+					points = (int []) objects [ops [i++]];
+					if (points.length < 2) continue;
+					x1 = x2 = points [0];
+					y1 = y2 = points [1];
+					for (int j = 2; j + 1 < points.length; j += 2) {
+						x1 = Math.min (x1, points [j]);
+						x2 = Math.max (x2, points [j]);
+						y1 = Math.min (y1, points [j + 1]);
+						y2 = Math.max (y2, points [j + 1]);
+					}
+					pad = op == FILL_POLYGON ? 1 : lineWidth;
+					break;
+				case STRING: case TEXT: {
+					String string = (String) objects [ops [i]];
+					gc.setFont (font);
+					Point extent = op == STRING ? gc.stringExtent (string) : gc.textExtent (string, ops [i + 3]);
+					x1 = ops [i + 1];
+					y1 = ops [i + 2];
+					x2 = x1 + extent.x;
+					y2 = y1 + extent.y;
+					pad = 1;
+					i += 4;
+					break;
+				}
+				case IMAGE: {
+					Rectangle rect = ((Image) objects [ops [i]]).getBounds ();
+					x1 = ops [i + 1];
+					y1 = ops [i + 2];
+					x2 = x1 + rect.width;
+					y2 = y1 + rect.height;
+					i += 3;
+					break;
+				}
+				default:
+					SWT.error (SWT.ERROR_UNSPECIFIED);
+					return null;
+			}
+			minX = Math.min (minX, x1 - pad);
+			minY = Math.min (minY, y1 - pad);
+			maxX = Math.max (maxX, x2 + pad);
+			maxY = Math.max (maxY, y2 + pad);
+		}
+	} finally {
+		if (font != gcFont) gc.setFont (gcFont);
+	}
+	if (minX > maxX) return null;
+	return new Rectangle (minX, minY, maxX - minX, maxY - minY);
+}
+
+/*
+* Returns the attributes of the GC and the zoom that the list depends on.
+* A rendering of the list can only be reused if these have not changed.
+* Compare the states with Arrays.deepEquals(), the line dash is an array.
+*/
+Object [] getState (GC gc) {
+	return new Object [] {
+		gc.getForeground ().getRGBA (),
+		gc.getBackground ().getRGBA (),
+		gc.getForegroundPattern (),
+		gc.getBackgroundPattern (),
+		gc.getFont (),
+		gc.getLineWidth (),
+		gc.getLineStyle (),
+		gc.getLineCap (),
+		gc.getLineJoin (),
+		gc.getLineDash (),
+		gc.getFillRule (),
+		gc.getXORMode (),
+		gc.getAlpha (),
+		gc.getAntialias (),
+		gc.getTextAntialias (),
+		gc.getInterpolation (),
+		DPIUtil.getDeviceZoom (),
+	};
+}
+
+/**
+ * Returns <code>true</code> if the display list has been disposed,
+ * and <code>false</code> otherwise.
+ * <p>
+ * This method gets the dispose state for the display list.
+ * When a display list has been disposed, it is an error to
+ * invoke any other method (except {@link #dispose()}) using the display list.
+ *
+ * @return <code>true</code> when the display list is disposed, and <code>false</code> otherwise
+ */
+@Override
+public boolean isDisposed () {
+	return ops == null;
+}
+
+/**
+ * Returns <code>true</code> if the receiver has no recorded
+ * operations, and <code>false</code> otherwise.
+ *
+ * @return <code>true</code> if the receiver is empty
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ */
+public boolean isEmpty () {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	return opCount == 0;
+}
+
+/*
+* Draws the recorded operations on the given GC, one call per operation,
+* and restores the attributes of the GC that the list changed.
+*/
+void replay (GC gc) {
+	Color foreground = null, background = null;
+	Font font = null;
+	int lineWidth = -1, lineStyle = -1, alpha = -1;
+	try {
+		int i = 0;
+		while (i < opCount) {
+			switch (ops [i++]) {
+				case FOREGROUND:
+					if (foreground == null) foreground = gc.getForeground ();
+					gc.setForeground ((Color) objects [ops [i++]]);
+					break;
+				case BACKGROUND:
+					if (background == null) background = gc.getBackground ();
+					gc.setBackground ((Color) objects [ops [i++]]);
+					break;
+				case FONT:
+					if (font == null) font = gc.getFont ();
+					gc.setFont ((Font) objects [ops [i++]]);
+					break;
+				case LINE_WIDTH:
+					if (lineWidth == -1) lineWidth = gc.getLineWidth ();
+					gc.setLineWidth (ops [i++]);
+					break;
+				case LINE_STYLE:
+					if (lineStyle == -1) lineStyle = gc.getLineStyle ();
+					gc.setLineStyle (ops [i++]);
+					break;
+				case ALPHA:
+					if (alpha == -1) alpha = gc.getAlpha ();
+					gc.setAlpha (ops [i++]);
+					break;
+				case LINE:
+					gc.drawLine (ops [i], ops [i + 1], ops [i + 2], ops [i + 3]);
+					i += 4;
+					break;
+				case POINT:
+					gc.drawPoint (ops [i], ops [i + 1]);
+					i += 2;
+					break;
+				case RECTANGLE:
+					gc.drawRectangle (ops [i], ops [i + 1], ops [i + 2], ops [i + 3]);
+					i += 4;
+					break;
+				case FILL_RECTANGLE:
+					gc.fillRectangle (ops [i], ops [i + 1], ops [i + 2], ops [i + 3]);
+					i += 4;
+					break;
+				case OVAL:
+					gc.drawOval (ops [i], ops [i + 1], ops [i + 2], ops [i + 3]);
+					i += 4;
+					break;
+				case FILL_OVAL:
+					gc.fillOval (ops [i], ops [i + 1], ops [i + 2], ops [i + 3]);
+					i += 4;
+					break;
+				case POLYLINE:
+					gc.drawPolyline ((int []) objects [ops [i++]]);
+					break;
+				case POLYGON:
+					gc.drawPolygon ((int []) objects [ops [i++]]);
+					break;
+				case FILL_POLYGON:
+					gc.fillPolygon ((int []) objects [ops [i++]]);
+					break;
+				case STRING:
+					gc.drawString ((String) objects [ops [i]], ops [i + 1], ops [i + 2], ops [i + 3] != 0);
+					i += 4;
+					break;
+				case TEXT:
+					gc.drawText ((String) objects [ops [i]], ops [i + 1], ops [i + 2], ops [i + 3]);
+					i += 4;
+					break;
+				case IMAGE:
+					gc.drawImage ((Image) objects [ops [i]], ops [i + 1], ops [i + 2]);
+					i += 3;
+					break;
+				default:
+					SWT.error (SWT.ERROR_UNSPECIFIED);
+			}
+		}
+	} finally {
+		if (foreground != null) gc.setForeground (foreground);
+		if (background != null) gc.setBackground (background);
+		if (font != null) gc.setFont (font);
+		if (lineWidth != -1) gc.setLineWidth (lineWidth);
+		if (lineStyle != -1) gc.setLineStyle (lineStyle);
+		if (alpha != -1) gc.setAlpha (alpha);
+	}
+}
+
+/**
+ * Removes all the recorded operations from the receiver, so that
+ * it can be recorded again.
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ */
+public void reset () {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	Arrays.fill (objects, 0, objectCount, null);
+	opCount = objectCount = 0;
+	flushCache ();
+}
+
+/**
+ * Records setting the alpha value used by the following operations.
+ *
+ * @param alpha the alpha value
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#setAlpha(int)
+ */
+public void setAlpha (int alpha) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	add (ALPHA, alpha);
+}
+
+/**
+ * Records setting the background color used by the following operations.
+ *
+ * @param color the new background color
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the color is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the color has been disposed</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#setBackground(Color)
+ */
+public void setBackground (Color color) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	checkResource (color);
+	add (BACKGROUND, addObject (color));
+}
+
+/**
+ * Records setting the font used by the following text operations.
+ *
+ * @param font the new font
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the font is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the font has been disposed</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#setFont(Font)
+ */
+public void setFont (Font font) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	checkResource (font);
+	add (FONT, addObject (font));
+}
+
+/**
+ * Records setting the foreground color used by the following operations.
+ *
+ * @param color the new foreground color
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the color is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the color has been disposed</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#setForeground(Color)
+ */
+public void setForeground (Color color) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	checkResource (color);
+	add (FOREGROUND, addObject (color));
+}
+
+/**
+ * Records setting the line style used by the following operations.
+ *
+ * @param lineStyle the style to be used for drawing lines
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT - if the style is not valid</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#setLineStyle(int)
+ */
+public void setLineStyle (int lineStyle) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	switch (lineStyle) {
+		case SWT.LINE_SOLID:
+		case SWT.LINE_DASH:
+		case SWT.LINE_DOT:
+		case SWT.LINE_DASHDOT:
+		case SWT.LINE_DASHDOTDOT:
+			break;
+		default:
+			SWT.error (SWT.ERROR_INVALID_ARGUMENT);
+	}
+	add (LINE_STYLE, lineStyle);
+}
+
+/**
+ * Records setting the line width used by the following operations.
+ *
+ * @param lineWidth the width of a line
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see GC#setLineWidth(int)
+ */
+public void setLineWidth (int lineWidth) {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	add (LINE_WIDTH, lineWidth);
+}
+
+/**
+ * Returns a string containing a concise, human-readable
+ * description of the receiver.
+ *
+ * @return a string representation of the receiver
+ */
+@Override
+public String toString () {
+	if (isDisposed ()) return "DisplayList {*DISPOSED*}";
+	return "DisplayList {" + opCount + "}";
+}
+}
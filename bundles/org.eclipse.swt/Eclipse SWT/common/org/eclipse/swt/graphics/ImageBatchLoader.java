@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.image.*;
+
+/**
+ * Internal class that loads the image files of
+ * <code>ImageLoader.loadAll()</code> in the background.
+ */
+final class ImageBatchLoader {
+	/* The files that are not loaded yet and their futures */
+	final Queue<Map.Entry<String, CompletableFuture<ImageData[]>>> pending;
+
+ImageBatchLoader(Collection<Map.Entry<String, CompletableFuture<ImageData[]>>> files) {
+	pending = new ConcurrentLinkedQueue<>(files);
+}
+
+static List<CompletableFuture<ImageData[]>> loadAll(List<String> filenames, Executor executor) {
+	if (filenames == null || executor == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	Map<String, CompletableFuture<ImageData[]>> files = new LinkedHashMap<>();
+	List<CompletableFuture<ImageData[]>> futures = new ArrayList<>(filenames.size());
+	for (String filename : filenames) {
+		if (filename == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+		/* A file that is listed more than once is loaded once */
+		String path = new File(filename).getAbsolutePath();
+		futures.add(files.computeIfAbsent(path, key -> new CompletableFuture<>()));
+	}
+	/*
+	* A fixed number of tasks take the files one after the other, so that
+	* no more files are read and decoded at the same time than there are
+	* processors, however many tasks the executor can run.
+	*/
+	ImageBatchLoader loader = new ImageBatchLoader(files.entrySet());
+	int tasks = Math.min(files.size(), Runtime.getRuntime().availableProcessors());
+	for (int i = 0; i < tasks; i++) {
+		try {
+			executor.execute(loader::run);
+		} catch (RejectedExecutionException e) {
+			/* The files are left to the tasks that did start */
+			if (i == 0) loader.fail(e);
+			break;
+		}
+	}
+	return futures;
+}
+
+static ImageData[] load(String filename) {
+	try (InputStream stream = new BufferedInputStream(new FileInputStream(filename))) {
+		return FileFormat.load(stream, new ImageLoader());
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+	return null;
+}
+
+void fail(Throwable exception) {
+	Map.Entry<String, CompletableFuture<ImageData[]>> entry;
+	while ((entry = pending.poll()) != null) {
+		entry.getValue().completeExceptionally(exception);
+	}
+}
+
+void run() {
+	Map.Entry<String, CompletableFuture<ImageData[]>> entry;
+	while ((entry = pending.poll()) != null) {
+		CompletableFuture<ImageData[]> future = entry.getValue();
+		/* Files whose future was cancelled are not loaded */
+		if (future.isDone()) continue;
+		try {
+			future.complete(load(entry.getKey()));
+		} catch (Throwable e) {
+			future.completeExceptionally(e);
+		}
+	}
+}
+
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+
+/**
+ * Instances of this class describe an image file without its pixels:
+ * the size and depth of the image, the number of images in the file
+ * and the file format. They are returned by
+ * <code>ImageLoader.probe</code>, which only reads the headers of the
+ * file.
+ * <p>
+ * Application code does <em>not</em> need to explicitly release the
+ * resources managed by each instance when those instances are no longer
+ * required, and thus no <code>dispose()</code> method is provided.
+ * </p>
+ *
+ * @see ImageLoader#probe(java.io.InputStream)
+ * @see <a href="http://www.eclipse.org/swt/">Sample code and further information</a>
+ *
+ * @since 3.125
+ */
+public final class ImageInfo {
+
+	/**
+	 * the width of the image, in pixels. For a GIF file this is
+	 * the width of the logical screen the images are drawn on
+	 */
+	public int width;
+
+	/**
+	 * the height of the image, in pixels. For a GIF file this is
+	 * the height of the logical screen the images are drawn on
+	 */
+	public int height;
+
+	/**
+	 * the color depth of the first image, in bits per pixel, as
+	 * the image data loaded by SWT's own decoders would have it
+	 */
+	public int depth;
+
+	/**
+	 * the number of images in the file: the frames of a GIF, the
+	 * icons of an ICO and the pages of a TIFF file, and 1 for the
+	 * other formats
+	 */
+	public int imageCount;
+
+	/**
+	 * the type of file the image was read from, one of the
+	 * <code>SWT.IMAGE_*</code> constants as in <code>ImageData.type</code>
+	 */
+	public int type;
+
+/**
+ * Constructs a new instance of this class given the values to
+ * store in its fields.
+ *
+ * @param width the width of the image
+ * @param height the height of the image
+ * @param depth the color depth of the image
+ * @param imageCount the number of images in the file
+ * @param type the type of file
+ */
+public ImageInfo(int width, int height, int depth, int imageCount, int type) {
+	this.width = width;
+	this.height = height;
+	this.depth = depth;
+	this.imageCount = imageCount;
+	this.type = type;
+}
+
+/**
+ * Returns a string containing a concise, human-readable
+ * description of the receiver.
+ *
+ * @return a string representation of the image info
+ */
+@Override
+public String toString () {
+	return "ImageInfo {width=" + width + " height=" + height + " depth=" + depth + " imageCount=" + imageCount + " type=" + type + "}"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+}
+
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.*;
+
+/**
+ * Instances of this class hold image data that has been converted to
+ * the pixel format of the platform, so that an <code>Image</code> can be
+ * created from it with <code>new Image(Device, PreparedImage)</code>
+ * without converting the pixels again.
+ * <p>
+ * Unlike images, prepared images do not own operating system resources
+ * and can be created in any thread. This allows the expensive part of
+ * creating an image, that is scaling the image data to the zoom of the
+ * device, converting the pixels and applying the transparency, to be done
+ * in a background thread, and only the creation of the operating system
+ * image in the user-interface thread.
+ * </p><p>
+ * The amount of work that is done in advance depends on the platform.
+ * When the zoom of the device changes before the image is created, or
+ * when the image data can only be scaled in the user-interface thread,
+ * the remaining work is done when the image is created.
+ * </p>
+ *
+ * @see Image#Image(Device, PreparedImage)
+ *
+ * @since 3.125
+ */
+public final class PreparedImage {
+	final ImageData source;
+	final int zoom;
+
+	/*
+	* The image data scaled to the zoom, or null when it has to be scaled
+	* when the image is created, and the pixels converted to the format of
+	* the platform, or null when the platform converts the pixels when the
+	* image is created. Both are set by Image.prepare().
+	*/
+	ImageData imageData;
+	byte [] pixels;
+	int format, type, transparentPixel = -1;
+
+/**
+ * Constructs a new prepared image from the given image data.
+ * <p>
+ * This constructor can be called from any thread. The image data must
+ * not be modified while the image is prepared.
+ * </p>
+ *
+ * @param device the device on which the image will be created, or null
+ * @param data the image data to prepare (must not be null)
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the image data is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_UNSUPPORTED_DEPTH - if the depth of the ImageData is not supported</li>
+ * </ul>
+ */
+public PreparedImage (Device device, ImageData data) {
+	if (data == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	source = data;
+	zoom = DPIUtil.getDeviceZoom ();
+	Image.prepare (device, this);
+}
+
+PreparedImage (ImageData imageData, int zoom) {
+	this.source = this.imageData = imageData;
+	this.zoom = zoom;
+}
+
+/**
+ * Returns the bounds of the image that will be created from the receiver,
+ * in the same units as <code>Image.getBounds()</code>.
+ *
+ * @return the bounds of the image
+ */
+public Rectangle getBounds () {
+	return new Rectangle (0, 0, source.width, source.height);
+}
+
+}
@@ -86,6 +86,12 @@ public abstract class Resource {
 	 */
 	Device device;
 
+	/**
+	 * true if the resource was returned by <code>Device.getFont()</code>
+	 * or <code>Device.getColor()</code>, see <code>SharedResources</code>
+	 */
+	boolean shared;
+
 	/**
 	 * Used to report not disposed SWT resources, null by default
 	 */
@@ -132,6 +138,11 @@ void destroy() {
 public void dispose() {
 	if (device == null) return;
 	if (device.isDisposed()) return;
+	if (shared) {
+		device.sharedResources.release(this);
+		device = null;
+		return;
+	}
 	destroy();
 	if (device.tracking) device.dispose_Object(this);
 	device = null;
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+
+/**
+ * Instances of this class hold the fonts and colors that are shared
+ * through <code>Device.getFont(FontData)</code> and
+ * <code>Device.getColor(RGBA)</code>.
+ * <p>
+ * Shared fonts are reference counted: every call to <code>getFont</code>
+ * returns a new font that shares the operating system font of the other
+ * fonts with the same font data. Disposing one of those fonts releases
+ * its reference once, and the operating system font is only destroyed
+ * when the last reference is released. Colors do not own operating system
+ * resources, so shared colors are interned in a bounded table and are
+ * never disposed.
+ * </p>
+ */
+final class SharedResources {
+	final Device device;
+	final Map<String, FontEntry> fonts = new HashMap<> ();
+	/* The fonts returned by getFont() that have not been disposed yet */
+	final Map<Font, FontEntry> sharedFonts = new IdentityHashMap<> ();
+	final LinkedHashMap<RGBA, Color> colors = new LinkedHashMap<> (16, 0.75f, true);
+
+	/* The maximum number of interned colors */
+	static final int COLOR_LIMIT = 1024;
+
+	static final class FontEntry {
+		final String key;
+		/* The font that owns the operating system font, never returned */
+		final Font font;
+		int count;
+
+		FontEntry (String key, Font font) {
+			this.key = key;
+			this.font = font;
+		}
+	}
+
+SharedResources (Device device) {
+	this.device = device;
+}
+
+synchronized Font getFont (FontData fontData) {
+	/*
+	* Key the table by the string form of the font data, which is an
+	* immutable copy of all the fields that are used to create the font.
+	*/
+	String key = fontData.toString ();
+	FontEntry entry = fonts.get (key);
+	if (entry == null) {
+		entry = new FontEntry (key, new Font (device, fontData));
+		fonts.put (key, entry);
+	}
+	Font font = entry.font.share ();
+	font.shared = true;
+	sharedFonts.put (font, entry);
+	entry.count++;
+	return font;
+}
+
+synchronized Color getColor (RGBA rgba) {
+	Color color = colors.get (rgba);
+	if (color == null) {
+		color = new Color (device, rgba);
+		color.shared = true;
+		colors.put (new RGBA (rgba.rgb.red, rgba.rgb.green, rgba.rgb.blue, rgba.alpha), color);
+		if (colors.size () > COLOR_LIMIT) {
+			Iterator<Color> iterator = colors.values ().iterator ();
+			iterator.next ();
+			iterator.remove ();
+		}
+	}
+	return color;
+}
+
+/**
+ * Releases the reference of a font returned by <code>getFont()</code>
+ * and destroys the operating system font when it was the last one.
+ * Only the first call for each font has an effect.
+ */
+void release (Resource resource) {
+	Font owner = null;
+	synchronized (this) {
+		FontEntry entry = sharedFonts.remove (resource);
+		if (entry == null) return;
+		((Font) resource).releaseHandle ();
+		if (--entry.count == 0) {
+			fonts.remove (entry.key);
+			owner = entry.font;
+		}
+	}
+	if (owner != null) owner.dispose ();
+}
+
+/**
+ * Disposes all the shared fonts regardless of their reference counts.
+ * Called when the device is released.
+ */
+void dispose () {
+	Font [] owners, shared;
+	synchronized (this) {
+		owners = new Font [fonts.size ()];
+		int i = 0;
+		for (FontEntry entry : fonts.values ()) owners [i++] = entry.font;
+		shared = sharedFonts.keySet ().toArray (new Font [sharedFonts.size ()]);
+		fonts.clear ();
+		sharedFonts.clear ();
+		colors.clear ();
+	}
+	for (Font font : shared) font.releaseHandle ();
+	for (Font font : owners) font.dispose ();
+}
+
+}
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.*;
+import org.eclipse.swt.internal.image.*;
+
+/**
+ * Instances of this class are images that are too large to be decoded
+ * at once, such as scanned documents or maps. They are drawn with
+ * <code>GC.drawTiledImage()</code>.
+ * <p>
+ * The image is divided into square tiles, which are decoded from the
+ * file when they are first drawn. Only the tiles that were drawn most
+ * recently are kept. When the image is drawn smaller than its size,
+ * tiles reduced to a half, a quarter, an eighth ... of the size are used,
+ * whose pixels are the averages of blocks of pixels of the image, so that
+ * the drawn image is not kept at full size.
+ * </p><p>
+ * Uncompressed Windows bitmaps, TIFF files and non-interlaced PNG files
+ * are read a region at a time. Only the first page of a TIFF file is
+ * used. Rows of PNG files can only be decoded from the top of the image,
+ * so the rows above a region are decoded again for it. Files in other
+ * formats, such as JPEG, GIF and interlaced PNG, are decoded once and
+ * kept as image data, but are still drawn a tile at a time, which avoids
+ * the limits of the platform on the size of images.
+ * </p><p>
+ * Application code must explicitly invoke the <code>TiledImage.dispose()</code>
+ * method to release the operating system resources managed by each instance
+ * when those instances are no longer required.
+ * </p>
+ *
+ * @see GC#drawTiledImage(TiledImage, int, int, int, int, int, int, int, int)
+ *
+ * @since 3.125
+ */
+public class TiledImage extends Resource {
+	RegionDecoder decoder;
+	int maxLevel;
+
+	/* The decoded tiles, least recently drawn first */
+	LinkedHashMap<Long, Image> tiles = new LinkedHashMap<> (16, 0.75f, true);
+
+	/* The size of a tile in pixels */
+	static final int TILE_SIZE = 256;
+
+	/* The maximum number of decoded tiles */
+	static final int CACHE_SIZE = 64;
+
+/**
+ * Constructs an instance of this class for the image in the file
+ * with the specified name.
+ * <p>
+ * You must dispose the image when it is no longer required.
+ * </p>
+ *
+ * @param device the device on which to create the image
+ * @param filename the name of the file to load the image from
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if device is null and there is no current device</li>
+ *    <li>ERROR_NULL_ARGUMENT - if the file name is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the file</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image file contains invalid data </li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image file contains an unrecognized format</li>
+ * </ul>
+ *
+ * @see #dispose()
+ */
+public TiledImage (Device device, String filename) {
+	super (device);
+	if (filename == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	decoder = RegionDecoder.open (filename);
+	while ((TILE_SIZE << maxLevel) < Math.max (decoder.width, decoder.height)) maxLevel++;
+	init ();
+}
+
+@Override
+void destroy () {
+	for (Image tile : tiles.values ()) tile.dispose ();
+	tiles = null;
+	decoder.close ();
+	decoder = null;
+}
+
+/*
+* Draws the given region of the receiver, using the tiles of the level
+* whose pixels are closest to, but not smaller than, the pixels of the
+* destination.
+*/
+void draw (GC gc, int srcX, int srcY, int srcWidth, int srcHeight, int destX, int destY, int destWidth, int destHeight) {
+	double scale = Math.min ((double) destWidth / srcWidth, (double) destHeight / srcHeight) * DPIUtil.getDeviceZoom () / 100;
+	int level = 0;
+	while (level < maxLevel && scale * (2 << level) <= 1) level++;
+	int step = 1 << level, size = TILE_SIZE << level;
+	for (int ty = srcY / size; ty * size < srcY + srcHeight; ty++) {
+		int y0 = Math.max (srcY, ty * size), y1 = Math.min (srcY + srcHeight, (ty + 1) * size);
+		/* Round the edges of each tile, not its size, so that the tiles meet without gaps */
+		int dy0 = destY + (int) Math.round ((double) (y0 - srcY) * destHeight / srcHeight);
+		int dy1 = destY + (int) Math.round ((double) (y1 - srcY) * destHeight / srcHeight);
+		if (dy0 == dy1) continue;
+		for (int tx = srcX / size; tx * size < srcX + srcWidth; tx++) {
+			int x0 = Math.max (srcX, tx * size), x1 = Math.min (srcX + srcWidth, (tx + 1) * size);
+			int dx0 = destX + (int) Math.round ((double) (x0 - srcX) * destWidth / srcWidth);
+			int dx1 = destX + (int) Math.round ((double) (x1 - srcX) * destWidth / srcWidth);
+			if (dx0 == dx1) continue;
+			Image tile = getTile (level, tx, ty);
+			/* The pixels of the tile, converted to the points of its bounds at the current zoom */
+			Rectangle bounds = tile.getBounds ();
+			int width = (Math.min (size, decoder.width - tx * size) + step - 1) / step;
+			int height = (Math.min (size, decoder.height - ty * size) + step - 1) / step;
+			int sx0 = (x0 - tx * size) / step * bounds.width / width;
+			int sx1 = Math.min (bounds.width, ((x1 - tx * size + step - 1) / step * bounds.width + width - 1) / width);
+			int sy0 = (y0 - ty * size) / step * bounds.height / height;
+			int sy1 = Math.min (bounds.height, ((y1 - ty * size + step - 1) / step * bounds.height + height - 1) / height);
+			gc.drawImage (tile, sx0, sy0, sx1 - sx0, sy1 - sy0, dx0, dy0, dx1 - dx0, dy1 - dy0);
+		}
+	}
+}
+
+Image getTile (int level, int tx, int ty) {
+	Long key = ((long) level << 48) | ((long) ty << 24) | tx;
+	Image tile = tiles.get (key);
+	if (tile == null) {
+		int size = TILE_SIZE << level;
+		int x = tx * size, y = ty * size;
+		ImageData data = decoder.decode (x, y, Math.min (size, decoder.width - x), Math.min (size, decoder.height - y), 1 << level);
+		/*
+		* The level already has the pixels of the destination at the current
+		* zoom, so the tile holds the decoded pixels at every zoom instead of
+		* scaling them up.
+		*/
+		tile = new Image (device, (ImageDataProvider) zoom -> data);
+		tiles.put (key, tile);
+		if (tiles.size () > CACHE_SIZE) {
+			Iterator<Image> iterator = tiles.values ().iterator ();
+			iterator.next ().dispose ();
+			iterator.remove ();
+		}
+	}
+	return tile;
+}
+
+/**
+ * Returns the bounds of the receiver. The rectangle will always
+ * have x and y values of 0, and the width and height of the
+ * image.
+ *
+ * @return a rectangle specifying the image's bounds
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ */
+public Rectangle getBounds () {
+	if (isDisposed ()) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	return new Rectangle (0, 0, decoder.width, decoder.height);
+}
+
+/**
+ * Returns <code>true</code> if the image has been disposed,
+ * and <code>false</code> otherwise.
+ * <p>
+ * This method gets the dispose state for the image.
+ * When an image has been disposed, it is an error to
+ * invoke any other method (except {@link #dispose()}) using the image.
+ *
+ * @return <code>true</code> when the image is disposed and <code>false</code> otherwise
+ */
+@Override
+public boolean isDisposed () {
+	return decoder == null;
+}
+
+/**
+ * Returns a string containing a concise, human-readable
+ * description of the receiver.
+ *
+ * @return a string representation of the receiver
+ */
+@Override
+public String toString () {
+	if (isDisposed ()) return "TiledImage {*DISPOSED*}";
+	return "TiledImage {" + decoder.width + "x" + decoder.height + "}";
+}
+}
@@ -272,6 +272,14 @@ public static Rectangle autoScaleBounds (Rectangle rect, int targetZoom, int cur
 	return returnRect;
 }
 
+/**
+ * Returns <code>true</code> if auto-scaling image data has to create images,
+ * which is the case for the smooth scaling method.
+ */
+public static boolean autoScaleNeedsDevice () {
+	return deviceZoom != 100 && autoScaleMethod == AutoScaleMethod.SMOOTH;
+}
+
 /**
  * Auto-scale up ImageData
  */
@@ -49,6 +49,12 @@ abstract boolean isFileFormat(LEDataInputStream stream);
 
 abstract ImageData[] loadFromByteStream();
 
+/**
+ * Read the headers of the image in the input stream and return its
+ * size, depth, number of images and type without decoding the pixels.
+ */
+abstract ImageInfo probeFromByteStream() throws IOException;
+
 /**
  * Read the specified input stream, and return the
  * device independent image array represented by the stream.
@@ -72,8 +78,66 @@ public ImageData[] loadFromStream(LEDataInputStream stream) {
  * return the device independent image array represented by the stream.
  */
 public static ImageData[] load(InputStream is, ImageLoader loader) {
-	FileFormat fileFormat = null;
 	LEDataInputStream stream = new LEDataInputStream(is);
+	FileFormat fileFormat = getFileFormat(stream);
+	fileFormat.loader = loader;
+	return fileFormat.loadFromStream(stream);
+}
+
+/**
+ * Read the headers of the image in the specified input stream and
+ * return its size, depth, number of images and type.
+ */
+public static ImageInfo probe(InputStream is) {
+	LEDataInputStream stream = new LEDataInputStream(is);
+	FileFormat fileFormat = getFileFormat(stream);
+	fileFormat.loader = new ImageLoader();
+	try {
+		fileFormat.inputStream = stream;
+		return fileFormat.probeFromByteStream();
+	} catch (Exception e) {
+		if (e instanceof IOException) {
+			SWT.error(SWT.ERROR_IO, e);
+		} else {
+			SWT.error(SWT.ERROR_INVALID_IMAGE, e);
+		}
+		return null;
+	}
+}
+
+/**
+ * Read the headers of the image in the file with the specified name and
+ * return its size, depth, number of images and type.
+ */
+public static ImageInfo probe(String filename) {
+	/*
+	* The directories of a TIFF file can be stored in any order, so they are
+	* read from the file itself rather than from a stream, which would have
+	* to keep every byte it passes to seek back to them.
+	*/
+	try (RandomAccessFile file = new RandomAccessFile(filename, "r")) { //$NON-NLS-1$
+		ImageInfo info = TIFFFileFormat.probe(file);
+		if (info != null) return info;
+	} catch (Exception e) {
+		if (e instanceof IOException) {
+			SWT.error(SWT.ERROR_IO, e);
+		} else {
+			SWT.error(SWT.ERROR_INVALID_IMAGE, e);
+		}
+	}
+	try (InputStream stream = new BufferedInputStream(new FileInputStream(filename))) {
+		return probe(stream);
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+	return null;
+}
+
+/**
+ * Return the file format of the image in the specified input stream.
+ */
+static FileFormat getFileFormat(LEDataInputStream stream) {
+	FileFormat fileFormat = null;
 	for (int i = 1; i < FORMATS.length; i++) {
 		if (FORMATS[i] != null) {
 			try {
@@ -86,8 +150,7 @@ public static ImageData[] load(InputStream is, ImageLoader loader) {
 		}
 	}
 	if (fileFormat == null) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
-	fileFormat.loader = loader;
-	return fileFormat.loadFromStream(stream);
+	return fileFormat;
 }
 
 /**
@@ -25,6 +25,8 @@ public final class GIFFileFormat extends FileFormat {
 	int delayTime = 0;
 	int transparentPixel = -1;
 	int repeatCount = 1;
+	PaletteData globalPalette;
+	int nextID, frameCount;
 
 	static final int GIF_APPLICATION_EXTENSION_BLOCK_ID = 0xFF;
 	static final int GIF_GRAPHICS_CONTROL_BLOCK_ID = 0xF9;
@@ -68,6 +70,134 @@ public final class GIFFileFormat extends FileFormat {
 	 */
 	@Override
 	ImageData[] loadFromByteStream() {
+		readHeader();
+		ImageData[] images = new ImageData[0];
+		ImageData image;
+		while ((image = readNextImage()) != null) {
+			if (loader.hasListeners()) {
+				loader.notifyListeners(new ImageLoaderEvent(loader, image, 3, true));
+			}
+			ImageData[] oldImages = images;
+			images = new ImageData[oldImages.length + 1];
+			System.arraycopy(oldImages, 0, images, 0, oldImages.length);
+			images[images.length - 1] = image;
+		}
+		return images;
+	}
+
+	/**
+	 * Read the header and walk the blocks of the GIF, skipping the
+	 * palettes and the image data, to count the images.
+	 */
+	@Override
+	ImageInfo probeFromByteStream() throws IOException {
+		readHeader();
+		int width = screenWidth, height = screenHeight, depth = 0, count = 0;
+		int id = nextID;
+		while (id != GIF_TRAILER_ID && id != -1) {
+			if (id == GIF_IMAGE_BLOCK_ID) {
+				byte[] block = new byte[9];
+				inputStream.read(block);
+				byte bitField = block[8];
+				int imageDepth = defaultDepth;
+				if ((bitField & 0x80) != 0) {
+					// Local palette.
+					imageDepth = (bitField & 0x7) + 1;
+					inputStream.skipNBytes(3 << imageDepth);
+				}
+				if (count == 0) {
+					depth = supportedDepth(imageDepth);
+					if (width == 0 || height == 0) {
+						width = (block[4] & 0xFF) | ((block[5] & 0xFF) << 8);
+						height = (block[6] & 0xFF) | ((block[7] & 0xFF) << 8);
+					}
+				}
+				// Skip the initial code size and the data sub-blocks.
+				inputStream.read();
+				int size;
+				while ((size = inputStream.read()) > 0) {
+					inputStream.skipNBytes(size);
+				}
+				count++;
+			} else if (id == GIF_EXTENSION_BLOCK_ID) {
+				readExtension();
+			} else {
+				if (count > 0) break;
+				SWT.error(SWT.ERROR_INVALID_IMAGE);
+			}
+			id = readID(); // block terminator (0)
+			if (id == 0) id = readID(); // next block ID (unless we just read it)
+		}
+		if (count == 0) SWT.error(SWT.ERROR_INVALID_IMAGE);
+		return new ImageInfo(width, height, depth, count, SWT.IMAGE_GIF);
+	}
+
+	/**
+	 * Promote depth to next highest supported value.
+	 */
+	static int supportedDepth(int depth) {
+		if (depth == 1 || depth == 4 || depth == 8) return depth;
+		return depth < 4 ? 4 : 8;
+	}
+
+	/**
+	 * Prepare to read the images of the GIF in the given stream
+	 * one at a time with readNextImage(). The header and the
+	 * global palette are read, and the logical screen size and
+	 * background pixel are stored in the loader.
+	 */
+	public void startReading(InputStream stream, ImageLoader loader) {
+		inputStream = new LEDataInputStream(stream);
+		this.loader = loader;
+		try {
+			readHeader();
+		} catch (Exception e) {
+			SWT.error(e instanceof IOException ? SWT.ERROR_IO : SWT.ERROR_INVALID_IMAGE, e);
+		}
+	}
+
+	/**
+	 * Read the next image of a GIF opened with startReading().
+	 * Return null when there are no more images.
+	 */
+	public ImageData readNextImage() {
+		/* The stream is read only up to the images that are asked for */
+		int id = nextID;
+		while (id != GIF_TRAILER_ID && id != -1) {
+			ImageData image = null;
+			if (id == GIF_IMAGE_BLOCK_ID) {
+				image = readImageBlock(globalPalette);
+			} else if (id == GIF_EXTENSION_BLOCK_ID) {
+				/* Read the extension block. Currently, only the
+				 * interesting parts of certain extensions are kept,
+				 * and the rest is discarded. In future, if we want
+				 * to keep extensions, they should be grouped with
+				 * the image data before which they appear.
+				 */
+				readExtension();
+			} else {
+				/* The GIF is not to spec, but try to salvage it
+				 * if we read at least one image. */
+				if (frameCount > 0) break;
+				SWT.error(SWT.ERROR_INVALID_IMAGE);
+			}
+			id = readID(); // block terminator (0)
+			if (id == 0) id = readID(); // next block ID (unless we just read it)
+			if (image != null) {
+				nextID = id;
+				frameCount++;
+				return image;
+			}
+		}
+		nextID = -1;
+		return null;
+	}
+
+	/**
+	 * Read the header, the logical screen descriptor and the
+	 * global palette, and the identifier of the first block.
+	 */
+	void readHeader() {
 		byte[] signature = new byte[3];
 		byte[] versionBytes = new byte[3];
 		byte[] block = new byte[7];
@@ -103,37 +233,8 @@ public final class GIFFileFormat extends FileFormat {
 			defaultDepth = bitsPerPixel;
 		}
 		loader.backgroundPixel = backgroundPixel;
-
-		ImageData[] images = new ImageData[0];
-		int id = readID();
-		while (id != GIF_TRAILER_ID && id != -1) {
-			if (id == GIF_IMAGE_BLOCK_ID) {
-				ImageData image = readImageBlock(palette);
-				if (loader.hasListeners()) {
-					loader.notifyListeners(new ImageLoaderEvent(loader, image, 3, true));
-				}
-				ImageData[] oldImages = images;
-				images = new ImageData[oldImages.length + 1];
-				System.arraycopy(oldImages, 0, images, 0, oldImages.length);
-				images[images.length - 1] = image;
-			} else if (id == GIF_EXTENSION_BLOCK_ID) {
-				/* Read the extension block. Currently, only the
-				 * interesting parts of certain extensions are kept,
-				 * and the rest is discarded. In future, if we want
-				 * to keep extensions, they should be grouped with
-				 * the image data before which they appear.
-				 */
-				readExtension();
-			} else {
-				/* The GIF is not to spec, but try to salvage it
-				 * if we read at least one image. */
-				if (images.length > 0) break;
-				SWT.error(SWT.ERROR_INVALID_IMAGE);
-			}
-			id = readID(); // block terminator (0)
-			if (id == 0) id = readID(); // next block ID (unless we just read it)
-		}
-		return images;
+		globalPalette = palette;
+		nextID = readID();
 	}
 
 	/**
@@ -350,13 +451,7 @@ public final class GIFFileFormat extends FileFormat {
 		if (transparentPixel > 1 << depth) {
 			transparentPixel = -1;
 		}
-		// Promote depth to next highest supported value.
-		if (!(depth == 1 || depth == 4 || depth == 8)) {
-			if (depth < 4)
-				depth = 4;
-			else
-				depth = 8;
-		}
+		depth = supportedDepth(depth);
 		if (palette == null) {
 			palette = grayRamp(1 << depth);
 		}
@@ -526,7 +621,7 @@ public final class GIFFileFormat extends FileFormat {
 
 			/* Step 9: Write the actual data for each frame. */
 			try {
-				outputStream.write(depth); // Minimum LZW Code size
+				outputStream.write(Math.max(depth, 2)); // Minimum LZW Code size
 			} catch (IOException e) {
 				SWT.error(SWT.ERROR_IO, e);
 			}
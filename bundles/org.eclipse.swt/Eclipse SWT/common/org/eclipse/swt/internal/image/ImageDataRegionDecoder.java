@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Decodes regions from image data that has been decoded completely.
+ */
+final class ImageDataRegionDecoder extends RegionDecoder {
+	ImageData image, mask;
+
+ImageDataRegionDecoder(ImageData image) {
+	this.image = image;
+	if (image.maskData != null) mask = image.getTransparencyMask();
+	width = image.width;
+	height = image.height;
+}
+
+@Override
+public ImageData decode(int x, int y, int width, int height, int step) {
+	Reduction reduction = new Reduction(width, height, step, image);
+	for (int i = 0; i < height; i++) {
+		reduction.add(image, mask, x, y + i);
+	}
+	return reduction.result;
+}
+
+@Override
+public void close() {
+	image = mask = null;
+}
+}
@@ -18,6 +18,8 @@
 package org.eclipse.swt.internal.image;
 
 import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
@@ -173,6 +175,7 @@ public class JPEGDecoder {
 	static final int DECOMPRESS_DATA = 0;
 	static final int DECOMPRESS_SMOOTH_DATA = 1;
 	static final int DECOMPRESS_ONEPASS = 2;
+	static final int DECOMPRESS_PLANES = 3;
 
 	static final int CONSUME_DATA = 0;
 	static final int DUMMY_CONSUME_DATA = 1;
@@ -336,6 +339,9 @@ public class JPEGDecoder {
 
 		short[] workspace;
 
+		/* Component sample planes already decoded by decode_restart_intervals */
+		byte[][][] planes;
+
 		void start_input_pass (jpeg_decompress_struct cinfo) {
 			cinfo.input_iMCU_row = 0;
 			start_iMCU_row(cinfo);
@@ -1674,6 +1680,11 @@ public class JPEGDecoder {
 		byte[] h_expand = new byte[MAX_COMPONENTS];
 		byte[] v_expand = new byte[MAX_COMPONENTS];
 
+		/* True when the chroma of a 2h2v YCbCr image is upsampled while it is
+		 * color converted, without going through color_buf.
+		 */
+		boolean fused_h2v2;
+
 		void start_pass (jpeg_decompress_struct cinfo) {
 			jpeg_upsampler upsample = cinfo.upsample;
 
@@ -1803,20 +1814,18 @@ public class JPEGDecoder {
 				compptr = cinfo.comp_info[ci];
 				/* Select the proper IDCT routine for this component's scaling */
 				switch (compptr.DCT_scaled_size) {
-//					#ifdef IDCT_SCALING_SUPPORTED
-//					case 1:
+					case 1:
 //						method_ptr = jpeg_idct_1x1;
-//						method = JDCT_ISLOW;	/* jidctred uses islow-style table */
-//						break;
-//					case 2:
+						method = JDCT_ISLOW;	/* jidctred uses islow-style table */
+						break;
+					case 2:
 //						method_ptr = jpeg_idct_2x2;
-//						method = JDCT_ISLOW;	/* jidctred uses islow-style table */
-//						break;
-//					case 4:
+						method = JDCT_ISLOW;	/* jidctred uses islow-style table */
+						break;
+					case 4:
 //						method_ptr = jpeg_idct_4x4;
-//						method = JDCT_ISLOW;	/* jidctred uses islow-style table */
-//						break;
-//					#endif
+						method = JDCT_ISLOW;	/* jidctred uses islow-style table */
+						break;
 					case DCTSIZE:
 						switch (cinfo.dct_method) {
 //							#ifdef DCT_ISLOW_SUPPORTED
@@ -1825,12 +1834,10 @@ public class JPEGDecoder {
 								method = JDCT_ISLOW;
 								break;
 //							#endif
-//							#ifdef DCT_IFAST_SUPPORTED
-//							case JDCT_IFAST:
+							case JDCT_IFAST:
 //								method_ptr = jpeg_idct_ifast;
-//								method = JDCT_IFAST;
-//								break;
-//							#endif
+								method = JDCT_IFAST;
+								break;
 //							#ifdef DCT_FLOAT_SUPPORTED
 //							case JDCT_FLOAT:
 //								method_ptr = jpeg_idct_float;
@@ -1876,36 +1883,21 @@ public class JPEGDecoder {
 						}
 						break;
 //						#endif
-//						#ifdef DCT_IFAST_SUPPORTED
-//						case JDCT_IFAST:
-//						{
-//							/* For AA&N IDCT method, multipliers are equal to quantization
-//							 * coefficients scaled by scalefactor[row]*scalefactor[col], where
-//							 *	 scalefactor[0] = 1
-//							 *	 scalefactor[k] = cos(k*PI/16) * sqrt(2)		for k=1..7
-//							 * For integer operation, the multiplier table is to be scaled by
-//							 * IFAST_SCALE_BITS.
-//							 */
-//							int[] ifmtbl = compptr.dct_table;
-//							short aanscales[] = {
-//								/* precomputed values scaled up by 14 bits */
-//								16384, 22725, 21407, 19266, 16384, 12873,	8867,	4520,
-//								22725, 31521, 29692, 26722, 22725, 17855, 12299,	6270,
-//								21407, 29692, 27969, 25172, 21407, 16819, 11585,	5906,
-//								19266, 26722, 25172, 22654, 19266, 15137, 10426,	5315,
-//								16384, 22725, 21407, 19266, 16384, 12873,	8867,	4520,
-//								12873, 17855, 16819, 15137, 12873, 10114,	6967,	3552,
-//								8867, 12299, 11585, 10426,	8867,	6967,	4799,	2446,
-//								4520,	6270,	5906,	5315,	4520,	3552,	2446,	1247
-//							};
-//							SHIFT_TEMPS
-//
-//							for (i = 0; i < DCTSIZE2; i++) {
-//								ifmtbl[i] = DESCALE(MULTIPLY16V16( qtbl.quantval[i], aanscales[i]), CONST_BITS-IFAST_SCALE_BITS);
-//							}
-//						}
-//						break;
-//						#endif
+						case JDCT_IFAST:
+						{
+							/* For AA&N IDCT method, multipliers are equal to quantization
+							 * coefficients scaled by scalefactor[row]*scalefactor[col], where
+							 *	 scalefactor[0] = 1
+							 *	 scalefactor[k] = cos(k*PI/16) * sqrt(2)		for k=1..7
+							 * For integer operation, the multiplier table is to be scaled by
+							 * IFAST_SCALE_BITS.
+							 */
+							int[] ifmtbl = compptr.dct_table;
+							for (i = 0; i < DCTSIZE2; i++) {
+								ifmtbl[i] = (qtbl.quantval[i] * aanscales[i] + (1 << (14-IFAST_SCALE_BITS-1))) >> (14-IFAST_SCALE_BITS);
+							}
+						}
+						break;
 //						#ifdef DCT_FLOAT_SUPPORTED
 //						case JDCT_FLOAT:
 //						{
@@ -2250,6 +2242,12 @@ public class JPEGDecoder {
 		int[] workspace = new int[DCTSIZE2];
 		int[] row_ctr = new int[1];
 
+		/* When set, the color converters write the scanlines straight into
+		 * this image buffer instead of the rows passed to jpeg_read_scanlines.
+		 */
+		byte[] output_data;
+		int output_stride;
+
 		/*
 		 * Links to decompression subobjects (methods, private variables of modules)
 		 */
@@ -2378,87 +2376,72 @@ static void jpeg_create_decompress(jpeg_decompress_struct cinfo) {
 static void jpeg_calc_output_dimensions (jpeg_decompress_struct cinfo)
 /* Do computations that are needed before master selection phase */
 {
-//#ifdef IDCT_SCALING_SUPPORTED
-//	int ci;
-//	jpeg_component_info compptr;
-//#endif
+	int ci;
+	jpeg_component_info compptr;
 
 	/* Prevent application from calling me at wrong times */
 	if (cinfo.global_state != DSTATE_READY)
 		error();
 //		ERREXIT1(cinfo, JERR_BAD_STATE, cinfo.global_state);
 
-//#ifdef IDCT_SCALING_SUPPORTED
-//
-//	/* Compute actual output image dimensions and DCT scaling choices. */
-//	if (cinfo.scale_num * 8 <= cinfo.scale_denom) {
-//		/* Provide 1/8 scaling */
-//		cinfo.output_width = (int)
-//			jdiv_round_up(cinfo.image_width, 8L);
-//		cinfo.output_height = (int)
-//			jdiv_round_up(cinfo.image_height, 8L);
-//		cinfo.min_DCT_scaled_size = 1;
-//	} else if (cinfo.scale_num * 4 <= cinfo.scale_denom) {
-//		/* Provide 1/4 scaling */
-//		cinfo.output_width = (int)
-//			jdiv_round_up(cinfo.image_width, 4L);
-//		cinfo.output_height = (int)
-//			jdiv_round_up(cinfo.image_height, 4L);
-//		cinfo.min_DCT_scaled_size = 2;
-//	} else if (cinfo.scale_num * 2 <= cinfo.scale_denom) {
-//		/* Provide 1/2 scaling */
-//		cinfo.output_width = (int)
-//			jdiv_round_up(cinfo.image_width, 2L);
-//		cinfo.output_height = (int)
-//			jdiv_round_up(cinfo.image_height, 2L);
-//		cinfo.min_DCT_scaled_size = 4;
-//	} else {
-//		/* Provide 1/1 scaling */
-//		cinfo.output_width = cinfo.image_width;
-//		cinfo.output_height = cinfo.image_height;
-//		cinfo.min_DCT_scaled_size = DCTSIZE;
-//	}
-//	/* In selecting the actual DCT scaling for each component, we try to
-//	 * scale up the chroma components via IDCT scaling rather than upsampling.
-//	 * This saves time if the upsampler gets to use 1:1 scaling.
-//	 * Note this code assumes that the supported DCT scalings are powers of 2.
-//	 */
-//	for (ci = 0; ci < cinfo.num_components; ci++) {
-//		compptr = cinfo.comp_info[ci];
-//		int ssize = cinfo.min_DCT_scaled_size;
-//		while (ssize < DCTSIZE &&
-//			(compptr.h_samp_factor * ssize * 2 <= cinfo.max_h_samp_factor * cinfo.min_DCT_scaled_size) &&
-//			(compptr.v_samp_factor * ssize * 2 <= cinfo.max_v_samp_factor * cinfo.min_DCT_scaled_size))
-//		{
-//			ssize = ssize * 2;
-//		}
-//		compptr.DCT_scaled_size = ssize;
-//	}
-//
-//	/* Recompute downsampled dimensions of components;
-//	 * application needs to know these if using raw downsampled data.
-//	 */
-//	for (ci = 0; ci < cinfo.num_components; ci++) {
-//		compptr = cinfo.comp_info[ci];
-//		/* Size in samples, after IDCT scaling */
-//		compptr.downsampled_width = (int)
-//			jdiv_round_up((long) cinfo.image_width * (long) (compptr.h_samp_factor * compptr.DCT_scaled_size),
-//				(cinfo.max_h_samp_factor * DCTSIZE));
-//		compptr.downsampled_height = (int)
-//			jdiv_round_up((long) cinfo.image_height * (long) (compptr.v_samp_factor * compptr.DCT_scaled_size),
-//				(cinfo.max_v_samp_factor * DCTSIZE));
-//	}
-//
-//#else /* !IDCT_SCALING_SUPPORTED */
-
-	/* Hardwire it to "no scaling" */
-	cinfo.output_width = cinfo.image_width;
-	cinfo.output_height = cinfo.image_height;
-	/* jdinput.c has already initialized DCT_scaled_size to DCTSIZE,
-	 * and has computed unscaled downsampled_width and downsampled_height.
+	/* Compute actual output image dimensions and DCT scaling choices. */
+	if (cinfo.scale_num * 8 <= cinfo.scale_denom) {
+		/* Provide 1/8 scaling */
+		cinfo.output_width = (int)
+			jdiv_round_up(cinfo.image_width, 8L);
+		cinfo.output_height = (int)
+			jdiv_round_up(cinfo.image_height, 8L);
+		cinfo.min_DCT_scaled_size = 1;
+	} else if (cinfo.scale_num * 4 <= cinfo.scale_denom) {
+		/* Provide 1/4 scaling */
+		cinfo.output_width = (int)
+			jdiv_round_up(cinfo.image_width, 4L);
+		cinfo.output_height = (int)
+			jdiv_round_up(cinfo.image_height, 4L);
+		cinfo.min_DCT_scaled_size = 2;
+	} else if (cinfo.scale_num * 2 <= cinfo.scale_denom) {
+		/* Provide 1/2 scaling */
+		cinfo.output_width = (int)
+			jdiv_round_up(cinfo.image_width, 2L);
+		cinfo.output_height = (int)
+			jdiv_round_up(cinfo.image_height, 2L);
+		cinfo.min_DCT_scaled_size = 4;
+	} else {
+		/* Provide 1/1 scaling */
+		cinfo.output_width = cinfo.image_width;
+		cinfo.output_height = cinfo.image_height;
+		cinfo.min_DCT_scaled_size = DCTSIZE;
+	}
+	/* In selecting the actual DCT scaling for each component, we try to
+	 * scale up the chroma components via IDCT scaling rather than upsampling.
+	 * This saves time if the upsampler gets to use 1:1 scaling.
+	 * Note this code assumes that the supported DCT scalings are powers of 2.
 	 */
+	for (ci = 0; ci < cinfo.num_components; ci++) {
+		compptr = cinfo.comp_info[ci];
+		int ssize = cinfo.min_DCT_scaled_size;
+		while (ssize < DCTSIZE &&
+			(compptr.h_samp_factor * ssize * 2 <= cinfo.max_h_samp_factor * cinfo.min_DCT_scaled_size) &&
+			(compptr.v_samp_factor * ssize * 2 <= cinfo.max_v_samp_factor * cinfo.min_DCT_scaled_size))
+		{
+			ssize = ssize * 2;
+		}
+		compptr.DCT_scaled_size = ssize;
+	}
 
-//#endif /* IDCT_SCALING_SUPPORTED */
+	/* Recompute downsampled dimensions of components;
+	 * application needs to know these if using raw downsampled data.
+	 */
+	for (ci = 0; ci < cinfo.num_components; ci++) {
+		compptr = cinfo.comp_info[ci];
+		/* Size in samples, after IDCT scaling */
+		compptr.downsampled_width = (int)
+			jdiv_round_up((long) cinfo.image_width * (long) (compptr.h_samp_factor * compptr.DCT_scaled_size),
+				(cinfo.max_h_samp_factor * DCTSIZE));
+		compptr.downsampled_height = (int)
+			jdiv_round_up((long) cinfo.image_height * (long) (compptr.v_samp_factor * compptr.DCT_scaled_size),
+				(cinfo.max_v_samp_factor * DCTSIZE));
+	}
 
 	/* Report number of components in selected colorspace. */
 	/* Probably this should be in the color conversion module... */
@@ -2886,6 +2869,18 @@ static void jinit_upsampler (jpeg_decompress_struct cinfo) {
 						 [(int) jround_up(cinfo.output_width, cinfo.max_h_samp_factor)];
 		}
 	}
+
+	/* The common 2h2v YCbCr layout skips the chroma buffers and upsamples
+	 * while converting, the chroma rows are used in place like full size ones.
+	 */
+	if (cinfo.cconvert.color_convert == YCC_RGB_CONVERT && cinfo.num_components == 3 &&
+		upsample.methods[0] == FULLSIZE_UPSAMPLE &&
+		upsample.methods[1] == H2V2_FANCY_UPSAMPLE && upsample.methods[2] == H2V2_FANCY_UPSAMPLE)
+	{
+		upsample.fused_h2v2 = true;
+		upsample.methods[1] = upsample.methods[2] = FULLSIZE_UPSAMPLE;
+		upsample.color_buf[1] = upsample.color_buf[2] = null;
+	}
 }
 
 static void jinit_phuff_decoder (jpeg_decompress_struct cinfo) {
@@ -3184,6 +3179,456 @@ static void jpeg_idct_islow (jpeg_decompress_struct cinfo, jpeg_component_info c
 	}
 }
 
+static void inverse_DCT (jpeg_decompress_struct cinfo, jpeg_component_info compptr,
+	short[] coef_block,
+	byte[][] output_buf, int output_buf_offset, int output_col)
+{
+	switch (compptr.DCT_scaled_size) {
+		case 1:
+			jpeg_idct_1x1(cinfo, compptr, coef_block, output_buf, output_buf_offset, output_col);
+			break;
+		case 2:
+			jpeg_idct_2x2(cinfo, compptr, coef_block, output_buf, output_buf_offset, output_col);
+			break;
+		case 4:
+			jpeg_idct_4x4(cinfo, compptr, coef_block, output_buf, output_buf_offset, output_col);
+			break;
+		default:
+			if (cinfo.dct_method == JDCT_IFAST) {
+				jpeg_idct_ifast(cinfo, compptr, coef_block, output_buf, output_buf_offset, output_col);
+			} else {
+				jpeg_idct_islow(cinfo, compptr, coef_block, output_buf, output_buf_offset, output_col);
+			}
+			break;
+	}
+}
+
+static final short[] aanscales = {
+	/* precomputed values scaled up by 14 bits */
+	16384, 22725, 21407, 19266, 16384, 12873,	8867,	4520,
+	22725, 31521, 29692, 26722, 22725, 17855, 12299,	6270,
+	21407, 29692, 27969, 25172, 21407, 16819, 11585,	5906,
+	19266, 26722, 25172, 22654, 19266, 15137, 10426,	5315,
+	16384, 22725, 21407, 19266, 16384, 12873,	8867,	4520,
+	12873, 17855, 16819, 15137, 12873, 10114,	6967,	3552,
+	8867, 12299, 11585, 10426,	8867,	6967,	4799,	2446,
+	4520,	6270,	5906,	5315,	4520,	3552,	2446,	1247
+};
+
+/*
+ * Fast, not so accurate integer inverse DCT (jidctfst.c), using the Arai,
+ * Agui and Nakajima (AA&N) algorithm. The quantization multipliers built in
+ * start_pass already include the AA&N scale factors, so only 5 multiplies
+ * are needed per 1-D transform. The constants are scaled by 8 bits and the
+ * descaling is done without rounding, which costs some accuracy at high
+ * quality settings.
+ */
+static void jpeg_idct_ifast (jpeg_decompress_struct cinfo, jpeg_component_info compptr,
+	short[] coef_block,
+	byte[][] output_buf, int output_buf_offset, int output_col)
+{
+	int tmp0, tmp1, tmp2, tmp3, tmp4, tmp5, tmp6, tmp7;
+	int tmp10, tmp11, tmp12, tmp13;
+	int z5, z10, z11, z12, z13;
+	short[] inptr = coef_block;
+	int[] quantptr = compptr.dct_table;
+	int[] wsptr = cinfo.workspace;	/* buffers data between passes */
+	byte[] outptr;
+	byte[] range_limit = cinfo.sample_range_limit;
+	int range_limit_offset = cinfo.sample_range_limit_offset + CENTERJSAMPLE;
+	int ctr;
+
+	/* Pass 1: process columns from input, store into work array. */
+	int inptr_offset = 0, quantptr_offset = 0, wsptr_offset = 0;
+	for (ctr = DCTSIZE; ctr > 0; ctr--, inptr_offset++, quantptr_offset++, wsptr_offset++) {
+		if (inptr[DCTSIZE*1+inptr_offset] == 0 && inptr[DCTSIZE*2+inptr_offset] == 0 &&
+			inptr[DCTSIZE*3+inptr_offset] == 0 && inptr[DCTSIZE*4+inptr_offset] == 0 &&
+			inptr[DCTSIZE*5+inptr_offset] == 0 && inptr[DCTSIZE*6+inptr_offset] == 0 &&
+			inptr[DCTSIZE*7+inptr_offset] == 0)
+		{
+			/* AC terms all zero */
+			int dcval = inptr[DCTSIZE*0+inptr_offset] * quantptr[DCTSIZE*0+quantptr_offset];
+
+			wsptr[DCTSIZE*0+wsptr_offset] = dcval;
+			wsptr[DCTSIZE*1+wsptr_offset] = dcval;
+			wsptr[DCTSIZE*2+wsptr_offset] = dcval;
+			wsptr[DCTSIZE*3+wsptr_offset] = dcval;
+			wsptr[DCTSIZE*4+wsptr_offset] = dcval;
+			wsptr[DCTSIZE*5+wsptr_offset] = dcval;
+			wsptr[DCTSIZE*6+wsptr_offset] = dcval;
+			wsptr[DCTSIZE*7+wsptr_offset] = dcval;
+			continue;
+		}
+
+		/* Even part */
+
+		tmp0 = inptr[DCTSIZE*0+inptr_offset] * quantptr[DCTSIZE*0+quantptr_offset];
+		tmp1 = inptr[DCTSIZE*2+inptr_offset] * quantptr[DCTSIZE*2+quantptr_offset];
+		tmp2 = inptr[DCTSIZE*4+inptr_offset] * quantptr[DCTSIZE*4+quantptr_offset];
+		tmp3 = inptr[DCTSIZE*6+inptr_offset] * quantptr[DCTSIZE*6+quantptr_offset];
+
+		tmp10 = tmp0 + tmp2;	/* phase 3 */
+		tmp11 = tmp0 - tmp2;
+
+		tmp13 = tmp1 + tmp3;	/* phases 5-3 */
+		tmp12 = (((tmp1 - tmp3) * 362/*FIX_1_414213562*/) >> 8) - tmp13; /* 2*c4 */
+
+		tmp0 = tmp10 + tmp13;	/* phase 2 */
+		tmp3 = tmp10 - tmp13;
+		tmp1 = tmp11 + tmp12;
+		tmp2 = tmp11 - tmp12;
+
+		/* Odd part */
+
+		tmp4 = inptr[DCTSIZE*1+inptr_offset] * quantptr[DCTSIZE*1+quantptr_offset];
+		tmp5 = inptr[DCTSIZE*3+inptr_offset] * quantptr[DCTSIZE*3+quantptr_offset];
+		tmp6 = inptr[DCTSIZE*5+inptr_offset] * quantptr[DCTSIZE*5+quantptr_offset];
+		tmp7 = inptr[DCTSIZE*7+inptr_offset] * quantptr[DCTSIZE*7+quantptr_offset];
+
+		z13 = tmp6 + tmp5;		/* phase 6 */
+		z10 = tmp6 - tmp5;
+		z11 = tmp4 + tmp7;
+		z12 = tmp4 - tmp7;
+
+		tmp7 = z11 + z13;		/* phase 5 */
+		tmp11 = ((z11 - z13) * 362/*FIX_1_414213562*/) >> 8; /* 2*c4 */
+
+		z5 = ((z10 + z12) * 473/*FIX_1_847759065*/) >> 8; /* 2*c2 */
+		tmp10 = ((z12 * 277/*FIX_1_082392200*/) >> 8) - z5; /* 2*(c2-c6) */
+		tmp12 = ((z10 * - 669/*FIX_2_613125930*/) >> 8) + z5; /* -2*(c2+c6) */
+
+		tmp6 = tmp12 - tmp7;	/* phase 2 */
+		tmp5 = tmp11 - tmp6;
+		tmp4 = tmp10 + tmp5;
+
+		wsptr[DCTSIZE*0+wsptr_offset] = tmp0 + tmp7;
+		wsptr[DCTSIZE*7+wsptr_offset] = tmp0 - tmp7;
+		wsptr[DCTSIZE*1+wsptr_offset] = tmp1 + tmp6;
+		wsptr[DCTSIZE*6+wsptr_offset] = tmp1 - tmp6;
+		wsptr[DCTSIZE*2+wsptr_offset] = tmp2 + tmp5;
+		wsptr[DCTSIZE*5+wsptr_offset] = tmp2 - tmp5;
+		wsptr[DCTSIZE*4+wsptr_offset] = tmp3 + tmp4;
+		wsptr[DCTSIZE*3+wsptr_offset] = tmp3 - tmp4;
+	}
+
+	/* Pass 2: process rows from work array, store into output array. */
+	/* Note that we must descale the results by a factor of 8 == 2**3, */
+	/* and also undo the PASS1_BITS scaling. */
+
+	wsptr_offset = 0;
+	for (ctr = 0; ctr < DCTSIZE; ctr++, wsptr_offset += DCTSIZE) {
+		outptr = output_buf[ctr+output_buf_offset];
+		int outptr_offset = output_col;
+
+		if (wsptr[1+wsptr_offset] == 0 && wsptr[2+wsptr_offset] == 0 && wsptr[3+wsptr_offset] == 0 && wsptr[4+wsptr_offset] == 0 &&
+			wsptr[5+wsptr_offset] == 0 && wsptr[6+wsptr_offset] == 0 && wsptr[7+wsptr_offset] == 0)
+		{
+			/* AC terms all zero */
+			byte dcval = range_limit[range_limit_offset + ((wsptr[0+wsptr_offset] >> (PASS1_BITS+3)) & RANGE_MASK)];
+
+			outptr[0+outptr_offset] = dcval;
+			outptr[1+outptr_offset] = dcval;
+			outptr[2+outptr_offset] = dcval;
+			outptr[3+outptr_offset] = dcval;
+			outptr[4+outptr_offset] = dcval;
+			outptr[5+outptr_offset] = dcval;
+			outptr[6+outptr_offset] = dcval;
+			outptr[7+outptr_offset] = dcval;
+			continue;
+		}
+
+		/* Even part */
+
+		tmp10 = wsptr[0+wsptr_offset] + wsptr[4+wsptr_offset];
+		tmp11 = wsptr[0+wsptr_offset] - wsptr[4+wsptr_offset];
+
+		tmp13 = wsptr[2+wsptr_offset] + wsptr[6+wsptr_offset];
+		tmp12 = (((wsptr[2+wsptr_offset] - wsptr[6+wsptr_offset]) * 362/*FIX_1_414213562*/) >> 8) - tmp13;
+
+		tmp0 = tmp10 + tmp13;
+		tmp3 = tmp10 - tmp13;
+		tmp1 = tmp11 + tmp12;
+		tmp2 = tmp11 - tmp12;
+
+		/* Odd part */
+
+		z13 = wsptr[5+wsptr_offset] + wsptr[3+wsptr_offset];
+		z10 = wsptr[5+wsptr_offset] - wsptr[3+wsptr_offset];
+		z11 = wsptr[1+wsptr_offset] + wsptr[7+wsptr_offset];
+		z12 = wsptr[1+wsptr_offset] - wsptr[7+wsptr_offset];
+
+		tmp7 = z11 + z13;
+		tmp11 = ((z11 - z13) * 362/*FIX_1_414213562*/) >> 8;
+
+		z5 = ((z10 + z12) * 473/*FIX_1_847759065*/) >> 8;
+		tmp10 = ((z12 * 277/*FIX_1_082392200*/) >> 8) - z5;
+		tmp12 = ((z10 * - 669/*FIX_2_613125930*/) >> 8) + z5;
+
+		tmp6 = tmp12 - tmp7;
+		tmp5 = tmp11 - tmp6;
+		tmp4 = tmp10 + tmp5;
+
+		/* Final output stage: scale down by a factor of 8 and range-limit */
+
+		outptr[0+outptr_offset] = range_limit[range_limit_offset + (((tmp0 + tmp7) >> (PASS1_BITS+3)) & RANGE_MASK)];
+		outptr[7+outptr_offset] = range_limit[range_limit_offset + (((tmp0 - tmp7) >> (PASS1_BITS+3)) & RANGE_MASK)];
+		outptr[1+outptr_offset] = range_limit[range_limit_offset + (((tmp1 + tmp6) >> (PASS1_BITS+3)) & RANGE_MASK)];
+		outptr[6+outptr_offset] = range_limit[range_limit_offset + (((tmp1 - tmp6) >> (PASS1_BITS+3)) & RANGE_MASK)];
+		outptr[2+outptr_offset] = range_limit[range_limit_offset + (((tmp2 + tmp5) >> (PASS1_BITS+3)) & RANGE_MASK)];
+		outptr[5+outptr_offset] = range_limit[range_limit_offset + (((tmp2 - tmp5) >> (PASS1_BITS+3)) & RANGE_MASK)];
+		outptr[4+outptr_offset] = range_limit[range_limit_offset + (((tmp3 + tmp4) >> (PASS1_BITS+3)) & RANGE_MASK)];
+		outptr[3+outptr_offset] = range_limit[range_limit_offset + (((tmp3 - tmp4) >> (PASS1_BITS+3)) & RANGE_MASK)];
+	}
+}
+
+/*
+ * Reduced-size inverse DCTs (jidctred.c): produce 4x4, 2x2 or 1x1 pixels
+ * from an 8x8 DCT block. Each 8-to-8 1-D step of the LL&M algorithm used by
+ * jpeg_idct_islow is replaced with an 8-to-4 step that produces the averages
+ * of two adjacent outputs, or an 8-to-2 step producing the averages of four
+ * outputs. The 1x1 case is just the DC coefficient divided by 8.
+ */
+static void jpeg_idct_4x4 (jpeg_decompress_struct cinfo, jpeg_component_info compptr,
+	short[] coef_block,
+	byte[][] output_buf, int output_buf_offset, int output_col)
+{
+	int tmp0, tmp2, tmp10, tmp12;
+	int z1, z2, z3, z4;
+	short[] inptr = coef_block;
+	int[] quantptr = compptr.dct_table;
+	int[] wsptr = cinfo.workspace;	/* buffers data between passes */
+	byte[] outptr;
+	byte[] range_limit = cinfo.sample_range_limit;
+	int range_limit_offset = cinfo.sample_range_limit_offset + CENTERJSAMPLE;
+	int ctr;
+
+	/* Pass 1: process columns from input, store into work array. */
+	int inptr_offset = 0, quantptr_offset = 0, wsptr_offset = 0;
+	for (ctr = DCTSIZE; ctr > 0; ctr--, inptr_offset++, quantptr_offset++, wsptr_offset++) {
+		/* Don't bother to process column 4, because second pass won't use it */
+		if (ctr == DCTSIZE-4)
+			continue;
+		if (inptr[DCTSIZE*1+inptr_offset] == 0 && inptr[DCTSIZE*2+inptr_offset] == 0 &&
+			inptr[DCTSIZE*3+inptr_offset] == 0 && inptr[DCTSIZE*5+inptr_offset] == 0 &&
+			inptr[DCTSIZE*6+inptr_offset] == 0 && inptr[DCTSIZE*7+inptr_offset] == 0)
+		{
+			/* AC terms all zero; we need not examine term 4 for 4x4 output */
+			int dcval = ((inptr[DCTSIZE*0+inptr_offset]) * quantptr[DCTSIZE*0+quantptr_offset]) << PASS1_BITS;
+
+			wsptr[DCTSIZE*0+wsptr_offset] = dcval;
+			wsptr[DCTSIZE*1+wsptr_offset] = dcval;
+			wsptr[DCTSIZE*2+wsptr_offset] = dcval;
+			wsptr[DCTSIZE*3+wsptr_offset] = dcval;
+			continue;
+		}
+
+		/* Even part */
+
+		tmp0 = ((inptr[DCTSIZE*0+inptr_offset]) * quantptr[DCTSIZE*0+quantptr_offset]);
+		tmp0 <<= (CONST_BITS+1);
+
+		z2 = ((inptr[DCTSIZE*2+inptr_offset]) * quantptr[DCTSIZE*2+quantptr_offset]);
+		z3 = ((inptr[DCTSIZE*6+inptr_offset]) * quantptr[DCTSIZE*6+quantptr_offset]);
+
+		tmp2 = (z2 * 15137/*FIX_1_847759065*/) + (z3 * - 6270/*FIX_0_765366865*/);
+
+		tmp10 = tmp0 + tmp2;
+		tmp12 = tmp0 - tmp2;
+
+		/* Odd part */
+
+		z1 = ((inptr[DCTSIZE*7+inptr_offset]) * quantptr[DCTSIZE*7+quantptr_offset]);
+		z2 = ((inptr[DCTSIZE*5+inptr_offset]) * quantptr[DCTSIZE*5+quantptr_offset]);
+		z3 = ((inptr[DCTSIZE*3+inptr_offset]) * quantptr[DCTSIZE*3+quantptr_offset]);
+		z4 = ((inptr[DCTSIZE*1+inptr_offset]) * quantptr[DCTSIZE*1+quantptr_offset]);
+
+		tmp0 = (z1 * - 1730/*FIX_0_211164243*/) /* sqrt(2) * (c3-c1) */
+			+ (z2 * 11893/*FIX_1_451774981*/) /* sqrt(2) * (c3+c7) */
+			+ (z3 * - 17799/*FIX_2_172734803*/) /* sqrt(2) * (-c1-c5) */
+			+ (z4 * 8697/*FIX_1_061594337*/); /* sqrt(2) * (c5+c7) */
+
+		tmp2 = (z1 * - 4176/*FIX_0_509795579*/) /* sqrt(2) * (c7-c5) */
+			+ (z2 * - 4926/*FIX_0_601344887*/) /* sqrt(2) * (c5-c1) */
+			+ (z3 * 7373/*FIX_0_899976223*/) /* sqrt(2) * (c3-c7) */
+			+ (z4 * 20995/*FIX_2_562915447*/); /* sqrt(2) * (c1+c3) */
+
+		/* Final output stage */
+
+		wsptr[DCTSIZE*0+wsptr_offset] = (((tmp10 + tmp2) + (1 << ((CONST_BITS-PASS1_BITS+1)-1))) >> (CONST_BITS-PASS1_BITS+1));
+		wsptr[DCTSIZE*3+wsptr_offset] = (((tmp10 - tmp2) + (1 << ((CONST_BITS-PASS1_BITS+1)-1))) >> (CONST_BITS-PASS1_BITS+1));
+		wsptr[DCTSIZE*1+wsptr_offset] = (((tmp12 + tmp0) + (1 << ((CONST_BITS-PASS1_BITS+1)-1))) >> (CONST_BITS-PASS1_BITS+1));
+		wsptr[DCTSIZE*2+wsptr_offset] = (((tmp12 - tmp0) + (1 << ((CONST_BITS-PASS1_BITS+1)-1))) >> (CONST_BITS-PASS1_BITS+1));
+	}
+
+	/* Pass 2: process 4 rows from work array, store into output array. */
+
+	wsptr_offset = 0;
+	for (ctr = 0; ctr < 4; ctr++, wsptr_offset += DCTSIZE) {
+		outptr = output_buf[ctr+output_buf_offset];
+		int outptr_offset = output_col;
+
+		if (wsptr[1+wsptr_offset] == 0 && wsptr[2+wsptr_offset] == 0 && wsptr[3+wsptr_offset] == 0 &&
+			wsptr[5+wsptr_offset] == 0 && wsptr[6+wsptr_offset] == 0 && wsptr[7+wsptr_offset] == 0)
+		{
+			/* AC terms all zero */
+			byte dcval = range_limit[range_limit_offset + ((((wsptr[0+wsptr_offset]) + (1 << ((PASS1_BITS+3)-1))) >> PASS1_BITS+3)
+					& RANGE_MASK)];
+
+			outptr[0+outptr_offset] = dcval;
+			outptr[1+outptr_offset] = dcval;
+			outptr[2+outptr_offset] = dcval;
+			outptr[3+outptr_offset] = dcval;
+			continue;
+		}
+
+		/* Even part */
+
+		tmp0 = wsptr[0+wsptr_offset] << (CONST_BITS+1);
+
+		tmp2 = (wsptr[2+wsptr_offset] * 15137/*FIX_1_847759065*/) + (wsptr[6+wsptr_offset] * - 6270/*FIX_0_765366865*/);
+
+		tmp10 = tmp0 + tmp2;
+		tmp12 = tmp0 - tmp2;
+
+		/* Odd part */
+
+		z1 = wsptr[7+wsptr_offset];
+		z2 = wsptr[5+wsptr_offset];
+		z3 = wsptr[3+wsptr_offset];
+		z4 = wsptr[1+wsptr_offset];
+
+		tmp0 = (z1 * - 1730/*FIX_0_211164243*/) /* sqrt(2) * (c3-c1) */
+			+ (z2 * 11893/*FIX_1_451774981*/) /* sqrt(2) * (c3+c7) */
+			+ (z3 * - 17799/*FIX_2_172734803*/) /* sqrt(2) * (-c1-c5) */
+			+ (z4 * 8697/*FIX_1_061594337*/); /* sqrt(2) * (c5+c7) */
+
+		tmp2 = (z1 * - 4176/*FIX_0_509795579*/) /* sqrt(2) * (c7-c5) */
+			+ (z2 * - 4926/*FIX_0_601344887*/) /* sqrt(2) * (c5-c1) */
+			+ (z3 * 7373/*FIX_0_899976223*/) /* sqrt(2) * (c3-c7) */
+			+ (z4 * 20995/*FIX_2_562915447*/); /* sqrt(2) * (c1+c3) */
+
+		/* Final output stage */
+
+		outptr[0+outptr_offset] = range_limit[range_limit_offset + ((((tmp10 + tmp2) + (1 << ((CONST_BITS+PASS1_BITS+3+1)-1))) >>
+					CONST_BITS+PASS1_BITS+3+1)
+				& RANGE_MASK)];
+		outptr[3+outptr_offset] = range_limit[range_limit_offset + ((((tmp10 - tmp2) + (1 << ((CONST_BITS+PASS1_BITS+3+1)-1))) >>
+					CONST_BITS+PASS1_BITS+3+1)
+				& RANGE_MASK)];
+		outptr[1+outptr_offset] = range_limit[range_limit_offset + ((((tmp12 + tmp0) + (1 << ((CONST_BITS+PASS1_BITS+3+1)-1))) >>
+					CONST_BITS+PASS1_BITS+3+1)
+				& RANGE_MASK)];
+		outptr[2+outptr_offset] = range_limit[range_limit_offset + ((((tmp12 - tmp0) + (1 << ((CONST_BITS+PASS1_BITS+3+1)-1))) >>
+					CONST_BITS+PASS1_BITS+3+1)
+				& RANGE_MASK)];
+	}
+}
+
+static void jpeg_idct_2x2 (jpeg_decompress_struct cinfo, jpeg_component_info compptr,
+	short[] coef_block,
+	byte[][] output_buf, int output_buf_offset, int output_col)
+{
+	int tmp0, tmp10, z1;
+	short[] inptr = coef_block;
+	int[] quantptr = compptr.dct_table;
+	int[] wsptr = cinfo.workspace;	/* buffers data between passes */
+	byte[] outptr;
+	byte[] range_limit = cinfo.sample_range_limit;
+	int range_limit_offset = cinfo.sample_range_limit_offset + CENTERJSAMPLE;
+	int ctr;
+
+	/* Pass 1: process columns from input, store into work array. */
+	int inptr_offset = 0, quantptr_offset = 0, wsptr_offset = 0;
+	for (ctr = DCTSIZE; ctr > 0; ctr--, inptr_offset++, quantptr_offset++, wsptr_offset++) {
+		/* Don't bother to process columns 2,4,6 */
+		if (ctr == DCTSIZE-2 || ctr == DCTSIZE-4 || ctr == DCTSIZE-6)
+			continue;
+		if (inptr[DCTSIZE*1+inptr_offset] == 0 && inptr[DCTSIZE*3+inptr_offset] == 0 &&
+			inptr[DCTSIZE*5+inptr_offset] == 0 && inptr[DCTSIZE*7+inptr_offset] == 0)
+		{
+			/* AC terms all zero; we need not examine terms 2,4,6 for 2x2 output */
+			int dcval = ((inptr[DCTSIZE*0+inptr_offset]) * quantptr[DCTSIZE*0+quantptr_offset]) << PASS1_BITS;
+
+			wsptr[DCTSIZE*0+wsptr_offset] = dcval;
+			wsptr[DCTSIZE*1+wsptr_offset] = dcval;
+			continue;
+		}
+
+		/* Even part */
+
+		z1 = ((inptr[DCTSIZE*0+inptr_offset]) * quantptr[DCTSIZE*0+quantptr_offset]);
+		tmp10 = z1 << (CONST_BITS+2);
+
+		/* Odd part */
+
+		z1 = ((inptr[DCTSIZE*7+inptr_offset]) * quantptr[DCTSIZE*7+quantptr_offset]);
+		tmp0 = (z1 * - 5906/*FIX_0_720959822*/); /* sqrt(2) * (c7-c5+c3-c1) */
+		z1 = ((inptr[DCTSIZE*5+inptr_offset]) * quantptr[DCTSIZE*5+quantptr_offset]);
+		tmp0 += (z1 * 6967/*FIX_0_850430095*/); /* sqrt(2) * (-c1+c3+c5+c7) */
+		z1 = ((inptr[DCTSIZE*3+inptr_offset]) * quantptr[DCTSIZE*3+quantptr_offset]);
+		tmp0 += (z1 * - 10426/*FIX_1_272758580*/); /* sqrt(2) * (-c1+c3-c5-c7) */
+		z1 = ((inptr[DCTSIZE*1+inptr_offset]) * quantptr[DCTSIZE*1+quantptr_offset]);
+		tmp0 += (z1 * 29692/*FIX_3_624509785*/); /* sqrt(2) * (c1+c3+c5+c7) */
+
+		/* Final output stage */
+
+		wsptr[DCTSIZE*0+wsptr_offset] = (((tmp10 + tmp0) + (1 << ((CONST_BITS-PASS1_BITS+2)-1))) >> (CONST_BITS-PASS1_BITS+2));
+		wsptr[DCTSIZE*1+wsptr_offset] = (((tmp10 - tmp0) + (1 << ((CONST_BITS-PASS1_BITS+2)-1))) >> (CONST_BITS-PASS1_BITS+2));
+	}
+
+	/* Pass 2: process 2 rows from work array, store into output array. */
+
+	wsptr_offset = 0;
+	for (ctr = 0; ctr < 2; ctr++, wsptr_offset += DCTSIZE) {
+		outptr = output_buf[ctr+output_buf_offset];
+		int outptr_offset = output_col;
+
+		if (wsptr[1+wsptr_offset] == 0 && wsptr[3+wsptr_offset] == 0 && wsptr[5+wsptr_offset] == 0 && wsptr[7+wsptr_offset] == 0) {
+			/* AC terms all zero */
+			byte dcval = range_limit[range_limit_offset + ((((wsptr[0+wsptr_offset]) + (1 << ((PASS1_BITS+3)-1))) >> PASS1_BITS+3)
+					& RANGE_MASK)];
+
+			outptr[0+outptr_offset] = dcval;
+			outptr[1+outptr_offset] = dcval;
+			continue;
+		}
+
+		/* Even part */
+
+		tmp10 = wsptr[0+wsptr_offset] << (CONST_BITS+2);
+
+		/* Odd part */
+
+		tmp0 = (wsptr[7+wsptr_offset] * - 5906/*FIX_0_720959822*/) /* sqrt(2) * (c7-c5+c3-c1) */
+			+ (wsptr[5+wsptr_offset] * 6967/*FIX_0_850430095*/) /* sqrt(2) * (-c1+c3+c5+c7) */
+			+ (wsptr[3+wsptr_offset] * - 10426/*FIX_1_272758580*/) /* sqrt(2) * (-c1+c3-c5-c7) */
+			+ (wsptr[1+wsptr_offset] * 29692/*FIX_3_624509785*/); /* sqrt(2) * (c1+c3+c5+c7) */
+
+		/* Final output stage */
+
+		outptr[0+outptr_offset] = range_limit[range_limit_offset + ((((tmp10 + tmp0) + (1 << ((CONST_BITS+PASS1_BITS+3+2)-1))) >>
+					CONST_BITS+PASS1_BITS+3+2)
+				& RANGE_MASK)];
+		outptr[1+outptr_offset] = range_limit[range_limit_offset + ((((tmp10 - tmp0) + (1 << ((CONST_BITS+PASS1_BITS+3+2)-1))) >>
+					CONST_BITS+PASS1_BITS+3+2)
+				& RANGE_MASK)];
+	}
+}
+
+static void jpeg_idct_1x1 (jpeg_decompress_struct cinfo, jpeg_component_info compptr,
+	short[] coef_block,
+	byte[][] output_buf, int output_buf_offset, int output_col)
+{
+	/* We hardly need an inverse DCT routine for this: just take the
+	 * average pixel value, which is one-eighth of the DC coefficient.
+	 */
+	int dcval = coef_block[0] * compptr.dct_table[0];
+	dcval = (dcval + (1 << (3-1))) >> 3;
+	byte[] range_limit = cinfo.sample_range_limit;
+	int range_limit_offset = cinfo.sample_range_limit_offset + CENTERJSAMPLE;
+	output_buf[output_buf_offset][output_col] = range_limit[range_limit_offset + (dcval & RANGE_MASK)];
+}
+
 static void upsample (jpeg_decompress_struct cinfo,
 	byte[][][] input_buf, int[] input_buf_offset, int[] in_row_group_ctr,
 	int in_row_groups_avail,
@@ -3805,7 +4250,7 @@ static int decompress_onepass (jpeg_decompress_struct cinfo, byte[][][] output_b
 					if (cinfo.input_iMCU_row < last_iMCU_row ||	yoffset+yindex < compptr.last_row_height) {
 						output_col = start_col;
 						for (xindex = 0; xindex < useful_width; xindex++) {
-							jpeg_idct_islow(cinfo, compptr, coef.MCU_buffer[blkn+xindex], output_ptr, output_ptr_offset, output_col);
+							inverse_DCT(cinfo, compptr, coef.MCU_buffer[blkn+xindex], output_ptr, output_ptr_offset, output_col);
 							output_col += compptr.DCT_scaled_size;
 						}
 					}
@@ -4024,7 +4469,7 @@ static int decompress_smooth_data (jpeg_decompress_struct cinfo, byte[][][] outp
 					workspace[2] = (short) pred;
 				}
 				/* OK, do the IDCT */
-				jpeg_idct_islow(cinfo, compptr, workspace, output_ptr, output_ptr_offset, output_col);
+				inverse_DCT(cinfo, compptr, workspace, output_ptr, output_ptr_offset, output_col);
 				/* Advance for next column */
 				DC1 = DC2; DC2 = DC3;
 				DC4 = DC5; DC5 = DC6;
@@ -4088,7 +4533,7 @@ static int decompress_data (jpeg_decompress_struct cinfo, byte[][][] output_buf,
 			int buffer_ptr_offset = 0;
 			output_col = 0;
 			for (block_num = 0; block_num < compptr.width_in_blocks; block_num++) {
-				jpeg_idct_islow(cinfo, compptr, buffer_ptr[buffer_ptr_offset], output_ptr, output_ptr_offset, output_col);
+				inverse_DCT(cinfo, compptr, buffer_ptr[buffer_ptr_offset], output_ptr, output_ptr_offset, output_col);
 
 				buffer_ptr_offset++;
 				output_col += compptr.DCT_scaled_size;
@@ -4102,6 +4547,182 @@ static int decompress_data (jpeg_decompress_struct cinfo, byte[][][] output_buf,
 	return JPEG_SCAN_COMPLETED;
 }
 
+static int decompress_planes (jpeg_decompress_struct cinfo, byte[][][] output_buf, int[] output_buf_offset) {
+	jpeg_d_coef_controller coef = cinfo.coef;
+	int last_iMCU_row = cinfo.total_iMCU_rows - 1;
+	int ci, row, rows;
+	jpeg_component_info compptr;
+
+	/* The IDCT has been done already, just copy one iMCU row of samples. */
+	for (ci = 0; ci < cinfo.num_components; ci++) {
+		compptr = cinfo.comp_info[ci];
+		if (! compptr.component_needed)
+			continue;
+		byte[][] plane = coef.planes[ci];
+		int plane_offset = cinfo.output_iMCU_row * compptr.v_samp_factor * compptr.DCT_scaled_size;
+		/* Count non-dummy sample rows in this iMCU row. */
+		if (cinfo.output_iMCU_row < last_iMCU_row)
+			rows = compptr.v_samp_factor;
+		else {
+			rows = (compptr.height_in_blocks % compptr.v_samp_factor);
+			if (rows == 0) rows = compptr.v_samp_factor;
+		}
+		rows *= compptr.DCT_scaled_size;
+		for (row = 0; row < rows; row++) {
+			System.arraycopy(plane[plane_offset + row], 0, output_buf[ci][output_buf_offset[ci] + row], 0, plane[0].length);
+		}
+	}
+
+	/* Completed the iMCU row, advance counters for next one */
+	cinfo.output_iMCU_row++;
+	if (++(cinfo.input_iMCU_row) < cinfo.total_iMCU_rows) {
+		coef.start_iMCU_row(cinfo);
+		return JPEG_ROW_COMPLETED;
+	}
+	/* Completed the scan */
+	finish_input_pass (cinfo);
+	return JPEG_SCAN_COMPLETED;
+}
+
+/*
+ * When the scan has restart markers, its intervals can be decoded
+ * independently of each other. The rest of the stream is read, the
+ * markers are located and groups of intervals are decoded and inverse
+ * transformed in parallel into planes holding the samples of each
+ * component. The output pass then only upsamples and color converts.
+ * Returns false without consuming any data when the scan cannot be
+ * decoded this way.
+ */
+static boolean decode_restart_intervals (jpeg_decompress_struct cinfo) {
+	int threads = ForkJoinPool.getCommonPoolParallelism();
+	if (threads < 2 || cinfo.restart_interval == 0 || cinfo.progressive_mode || cinfo.buffered_image) return false;
+	if (cinfo.coef.decompress_data != DECOMPRESS_ONEPASS || cinfo.comps_in_scan != cinfo.num_components) return false;
+	int total_MCUs = cinfo.MCUs_per_row * cinfo.MCU_rows_in_scan;
+	int intervals = (total_MCUs + cinfo.restart_interval - 1) / cinfo.restart_interval;
+	if (intervals < 2) return false;
+
+	/* Read the rest of the stream, the decoder continues from this buffer */
+	byte[] data;
+	try {
+		byte[] rest = cinfo.inputStream.readAllBytes();
+		int remaining = cinfo.bytes_in_buffer - cinfo.bytes_offset;
+		data = new byte[remaining + rest.length];
+		System.arraycopy(cinfo.buffer, cinfo.bytes_offset, data, 0, remaining);
+		System.arraycopy(rest, 0, data, remaining, rest.length);
+	} catch (IOException e) {
+		error(SWT.ERROR_IO);
+		return false;
+	}
+	cinfo.buffer = data;
+	cinfo.bytes_offset = 0;
+	cinfo.bytes_in_buffer = data.length;
+
+	/* Locate the start of every interval and the marker ending the scan */
+	int[] starts = new int[intervals + 1];
+	int count = 1, end = data.length;
+	for (int i = 0; i + 1 < data.length; i++) {
+		if ((data[i] & 0xFF) != 0xFF) continue;
+		int c = data[i + 1] & 0xFF;
+		if (c == 0 || c == 0xFF) continue;
+		if (c < M_RST0 || c > M_RST7) {
+			end = i;
+			break;
+		}
+		if (count == intervals || c != M_RST0 + ((count - 1) & 7)) return false;
+		starts[count++] = i + 2;
+	}
+	/* Leave damaged data to the resynchronization of the sequential decoder */
+	if (count != intervals) return false;
+	starts[intervals] = end;
+
+	byte[][][] planes = new byte[cinfo.num_components][][];
+	for (int ci = 0; ci < cinfo.num_components; ci++) {
+		jpeg_component_info compptr = cinfo.comp_info[ci];
+		if (compptr.component_needed) {
+			planes[ci] = new byte[cinfo.total_iMCU_rows * compptr.v_samp_factor * compptr.DCT_scaled_size][compptr.width_in_blocks * compptr.DCT_scaled_size];
+		}
+	}
+	int groups = Math.min(intervals, threads * 4);
+	CompletableFuture<?>[] tasks = new CompletableFuture<?>[groups];
+	for (int i = 0; i < groups; i++) {
+		int first = intervals * i / groups, last = intervals * (i + 1) / groups;
+		/* Each group gets its own copy of its data followed by an end marker */
+		int length = starts[last] - starts[first];
+		byte[] buffer = new byte[length + 2];
+		System.arraycopy(data, starts[first], buffer, 0, length);
+		buffer[length] = (byte)0xFF;
+		buffer[length + 1] = (byte)M_EOI;
+		tasks[i] = CompletableFuture.runAsync(() -> decode_intervals(cinfo, planes, buffer, first, Math.min(total_MCUs, last * cinfo.restart_interval)));
+	}
+	try {
+		CompletableFuture.allOf(tasks).join();
+	} catch (CompletionException e) {
+		if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+		throw e;
+	}
+
+	/* Continue after the scan, the output pass reads from the planes */
+	cinfo.bytes_offset = end;
+	cinfo.unread_marker = 0;
+	cinfo.coef.planes = planes;
+	cinfo.coef.decompress_data = DECOMPRESS_PLANES;
+	return true;
+}
+
+static void decode_intervals (jpeg_decompress_struct cinfo, byte[][][] planes, byte[] buffer, int first_interval, int end_MCU) {
+	/* The worker shares the tables of the scan but has its own input and state */
+	jpeg_decompress_struct worker = new jpeg_decompress_struct();
+	huff_entropy_decoder source = (huff_entropy_decoder) cinfo.entropy;
+	huff_entropy_decoder entropy = new huff_entropy_decoder();
+	entropy.dc_cur_tbls = source.dc_cur_tbls;
+	entropy.ac_cur_tbls = source.ac_cur_tbls;
+	entropy.dc_needed = source.dc_needed;
+	entropy.ac_needed = source.ac_needed;
+	entropy.restarts_to_go = cinfo.restart_interval;
+	worker.entropy = entropy;
+	worker.marker = new jpeg_marker_reader();
+	worker.marker.next_restart_num = first_interval & 7;
+	worker.inputStream = new ByteArrayInputStream(new byte[0]);
+	worker.buffer = buffer;
+	worker.bytes_in_buffer = buffer.length;
+	worker.restart_interval = cinfo.restart_interval;
+	worker.comps_in_scan = cinfo.comps_in_scan;
+	worker.blocks_in_MCU = cinfo.blocks_in_MCU;
+	worker.MCU_membership = cinfo.MCU_membership;
+	worker.sample_range_limit = cinfo.sample_range_limit;
+	worker.sample_range_limit_offset = cinfo.sample_range_limit_offset;
+	worker.dct_method = cinfo.dct_method;
+
+	short[][] MCU_buffer = new short[cinfo.blocks_in_MCU][DCTSIZE2];
+	for (int MCU_num = first_interval * cinfo.restart_interval; MCU_num < end_MCU; MCU_num++) {
+		for (int i = 0; i < cinfo.blocks_in_MCU; i++) {
+			Arrays.fill(MCU_buffer[i], (short)0);
+		}
+		entropy.decode_mcu(worker, MCU_buffer);
+		int MCU_row = MCU_num / cinfo.MCUs_per_row, MCU_col = MCU_num % cinfo.MCUs_per_row;
+		/* Do the IDCT thing, skipping dummy blocks at the right and bottom edges */
+		int blkn = 0;
+		for (int ci = 0; ci < cinfo.comps_in_scan; ci++) {
+			jpeg_component_info compptr = cinfo.cur_comp_info[ci];
+			if (! compptr.component_needed) {
+				blkn += compptr.MCU_blocks;
+				continue;
+			}
+			byte[][] plane = planes[compptr.component_index];
+			for (int yindex = 0; yindex < compptr.MCU_height; yindex++) {
+				int block_row = MCU_row * compptr.MCU_height + yindex;
+				for (int xindex = 0; xindex < compptr.MCU_width; xindex++) {
+					int block_col = MCU_col * compptr.MCU_width + xindex;
+					if (block_row < compptr.height_in_blocks && block_col < compptr.width_in_blocks) {
+						inverse_DCT(worker, compptr, MCU_buffer[blkn + xindex], plane, block_row * compptr.DCT_scaled_size, block_col * compptr.DCT_scaled_size);
+					}
+				}
+				blkn += compptr.MCU_width;
+			}
+		}
+	}
+}
+
 static void post_process_data (jpeg_decompress_struct cinfo,
 				byte[][][] input_buf, int[] input_buf_offset, int[] in_row_group_ctr,
 				int in_row_groups_avail,
@@ -4200,6 +4821,9 @@ static void process_data_context_main (jpeg_decompress_struct cinfo,
 			case DECOMPRESS_ONEPASS:
 				result = decompress_onepass(cinfo, main.xbuffer[main.whichptr], main.xbuffer_offset[main.whichptr]);
 				break;
+			case DECOMPRESS_PLANES:
+				result = decompress_planes(cinfo, main.xbuffer[main.whichptr], main.xbuffer_offset[main.whichptr]);
+				break;
 			default: result = 0;
 		}
 		if (result == 0)
@@ -4270,6 +4894,9 @@ static void process_data_simple_main (jpeg_decompress_struct cinfo, byte[][] out
 			case DECOMPRESS_ONEPASS:
 				result = decompress_onepass(cinfo, main.buffer, main.buffer_offset);
 				break;
+			case DECOMPRESS_PLANES:
+				result = decompress_planes(cinfo, main.buffer, main.buffer_offset);
+				break;
 			default: result = 0;
 		}
 		if (result == 0)
@@ -4776,7 +5403,9 @@ static void sep_upsample (jpeg_decompress_struct cinfo, byte[][][] input_buf, in
 	if (num_rows > out_rows_avail)
 		num_rows = out_rows_avail;
 
-	switch (cinfo.cconvert.color_convert) {
+	if (upsample.fused_h2v2) {
+		h2v2_fancy_ycc_rgb_convert (cinfo, upsample.color_buf, upsample.color_buf_offset, upsample.next_row_out, output_buf, out_row_ctr[0], num_rows);
+	} else switch (cinfo.cconvert.color_convert) {
 		case NULL_CONVERT: null_convert (cinfo, upsample.color_buf, upsample.color_buf_offset, upsample.next_row_out, output_buf, out_row_ctr[0], num_rows); break;
 		case GRAYSCALE_CONVERT: grayscale_convert (cinfo, upsample.color_buf, upsample.color_buf_offset, upsample.next_row_out, output_buf, out_row_ctr[0], num_rows); break;
 		case YCC_RGB_CONVERT: ycc_rgb_convert (cinfo, upsample.color_buf, upsample.color_buf_offset, upsample.next_row_out, output_buf, out_row_ctr[0], num_rows); break;
@@ -4987,9 +5616,15 @@ static void null_convert (jpeg_decompress_struct cinfo,
 	int ci;
 
 	while (--num_rows >= 0) {
+		int outrow_offset = 0;
+		if (cinfo.output_data != null) {
+			outptr = cinfo.output_data;
+			outrow_offset = (cinfo.output_scanline + output_buf_offset) * cinfo.output_stride;
+		} else {
+			outptr = output_buf[output_buf_offset];
+		}
 		for (ci = 0; ci < num_components; ci++) {
 			inptr = input_buf[ci][input_row+input_buf_offset[0]];
-			outptr = output_buf[output_buf_offset];
 			/* BGR instead of RGB */
 			int offset = 0;
 			switch (ci) {
@@ -4997,7 +5632,7 @@ static void null_convert (jpeg_decompress_struct cinfo,
 				case 1: offset = RGB_GREEN; break;
 				case 0: offset = RGB_RED; break;
 			}
-			int outptr_offset = offset, inptr_offset = 0;
+			int outptr_offset = outrow_offset + offset, inptr_offset = 0;
 			for (count = num_cols; count > 0; count--) {
 				outptr[outptr_offset] = inptr[inptr_offset++];	/* needn't bother with GETJSAMPLE() here */
 				outptr_offset += num_components;
@@ -5012,6 +5647,13 @@ static void grayscale_convert (jpeg_decompress_struct cinfo,
 	byte[][][] input_buf, int[] input_buf_offset, int input_row,
 	byte[][] output_buf, int output_buf_offset, int num_rows)
 {
+	if (cinfo.output_data != null) {
+		for (int row = 0; row < num_rows; row++) {
+			System.arraycopy(input_buf[0][input_row+input_buf_offset[0]+row], 0, cinfo.output_data,
+				(cinfo.output_scanline + output_buf_offset + row) * cinfo.output_stride, cinfo.output_width);
+		}
+		return;
+	}
 	jcopy_sample_rows(input_buf[0], input_row+input_buf_offset[0], output_buf, output_buf_offset,
 				num_rows, cinfo.output_width);
 }
@@ -5026,8 +5668,14 @@ static void gray_rgb_convert (jpeg_decompress_struct cinfo,
 
 	while (--num_rows >= 0) {
 		inptr = input_buf[0][input_row+++input_buf_offset[0]];
-		outptr = output_buf[output_buf_offset++];
 		int outptr_offset = 0;
+		if (cinfo.output_data != null) {
+			outptr = cinfo.output_data;
+			outptr_offset = (cinfo.output_scanline + output_buf_offset) * cinfo.output_stride;
+		} else {
+			outptr = output_buf[output_buf_offset];
+		}
+		output_buf_offset++;
 		for (col = 0; col < num_cols; col++) {
 			/* We can dispense with GETJSAMPLE() here */
 			outptr[RGB_RED+outptr_offset] = outptr[RGB_GREEN+outptr_offset] = outptr[RGB_BLUE+outptr_offset] = inptr[col];
@@ -5060,8 +5708,14 @@ static void ycc_rgb_convert (jpeg_decompress_struct cinfo,
 		inptr1 = input_buf[1][input_row+input_buf_offset[1]];
 		inptr2 = input_buf[2][input_row+input_buf_offset[2]];
 		input_row++;
-		outptr = output_buf[output_buf_offset++];
 		int outptr_offset = 0;
+		if (cinfo.output_data != null) {
+			outptr = cinfo.output_data;
+			outptr_offset = (cinfo.output_scanline + output_buf_offset) * cinfo.output_stride;
+		} else {
+			outptr = output_buf[output_buf_offset];
+		}
+		output_buf_offset++;
 		for (col = 0; col < num_cols; col++) {
 			y = (inptr0[col] & 0xFF);
 			cb = (inptr1[col] & 0xFF);
@@ -5075,6 +5729,87 @@ static void ycc_rgb_convert (jpeg_decompress_struct cinfo,
 	}
 }
 
+static void h2v2_fancy_ycc_rgb_convert (jpeg_decompress_struct cinfo,
+	byte[][][] input_buf, int[] input_buf_offset, int input_row,
+	byte[][] output_buf, int output_buf_offset, int num_rows)
+{
+	/* Same arithmetic as h2v2_fancy_upsample followed by ycc_rgb_convert,
+	 * but the chroma samples of a pixel pair are computed as they are needed.
+	 */
+	jpeg_color_deconverter cconvert = cinfo.cconvert;
+	byte[] outptr;
+	byte[] inptr0, cbptr0, cbptr1, crptr0, crptr1;
+	int num_cols = cinfo.output_width;
+	int last_col = cinfo.comp_info[1].downsampled_width - 1;
+	byte[] range_limit = cinfo.sample_range_limit;
+	int range_limit_offset = cinfo.sample_range_limit_offset;
+	int[] Crrtab = cconvert.Cr_r_tab;
+	int[] Cbbtab = cconvert.Cb_b_tab;
+	int[] Crgtab = cconvert.Cr_g_tab;
+	int[] Cbgtab = cconvert.Cb_g_tab;
+
+	while (--num_rows >= 0) {
+		/* the nearest chroma row, and the next nearest above or below it */
+		int inrow = input_row >> 1;
+		int nextrow = (input_row & 1) == 0 ? inrow - 1 : inrow + 1;
+		inptr0 = input_buf[0][input_row+input_buf_offset[0]];
+		cbptr0 = input_buf[1][inrow+input_buf_offset[1]];
+		cbptr1 = input_buf[1][nextrow+input_buf_offset[1]];
+		crptr0 = input_buf[2][inrow+input_buf_offset[2]];
+		crptr1 = input_buf[2][nextrow+input_buf_offset[2]];
+		input_row++;
+		int outptr_offset = 0;
+		if (cinfo.output_data != null) {
+			outptr = cinfo.output_data;
+			outptr_offset = (cinfo.output_scanline + output_buf_offset) * cinfo.output_stride;
+		} else {
+			outptr = output_buf[output_buf_offset];
+		}
+		output_buf_offset++;
+
+		int cbthis = (cbptr0[0] & 0xFF) * 3 + (cbptr1[0] & 0xFF), cblast = cbthis;
+		int crthis = (crptr0[0] & 0xFF) * 3 + (crptr1[0] & 0xFF), crlast = crthis;
+		int cb, cr, y, col = 0;
+		for (int i = 1; i <= last_col; i++) {
+			int cbnext = (cbptr0[i] & 0xFF) * 3 + (cbptr1[i] & 0xFF);
+			int crnext = (crptr0[i] & 0xFF) * 3 + (crptr1[i] & 0xFF);
+			/* 3/4 * nearer pixel + 1/4 * further pixel in each dimension */
+			cb = (cbthis * 3 + cblast + 8) >> 4;
+			cr = (crthis * 3 + crlast + 8) >> 4;
+			y = (inptr0[col] & 0xFF) + range_limit_offset;
+			outptr[outptr_offset + RGB_RED] = range_limit[y + Crrtab[cr]];
+			outptr[outptr_offset + RGB_GREEN] = range_limit[y + ((Cbgtab[cb] + Crgtab[cr]) >> SCALEBITS)];
+			outptr[outptr_offset + RGB_BLUE] = range_limit[y + Cbbtab[cb]];
+			cb = (cbthis * 3 + cbnext + 7) >> 4;
+			cr = (crthis * 3 + crnext + 7) >> 4;
+			y = (inptr0[col + 1] & 0xFF) + range_limit_offset;
+			outptr[outptr_offset + RGB_PIXELSIZE + RGB_RED] = range_limit[y + Crrtab[cr]];
+			outptr[outptr_offset + RGB_PIXELSIZE + RGB_GREEN] = range_limit[y + ((Cbgtab[cb] + Crgtab[cr]) >> SCALEBITS)];
+			outptr[outptr_offset + RGB_PIXELSIZE + RGB_BLUE] = range_limit[y + Cbbtab[cb]];
+			outptr_offset += 2 * RGB_PIXELSIZE;
+			col += 2;
+			cblast = cbthis; cbthis = cbnext;
+			crlast = crthis; crthis = crnext;
+		}
+
+		/* Special case for last column */
+		cb = (cbthis * 3 + cblast + 8) >> 4;
+		cr = (crthis * 3 + crlast + 8) >> 4;
+		y = (inptr0[col] & 0xFF) + range_limit_offset;
+		outptr[outptr_offset + RGB_RED] = range_limit[y + Crrtab[cr]];
+		outptr[outptr_offset + RGB_GREEN] = range_limit[y + ((Cbgtab[cb] + Crgtab[cr]) >> SCALEBITS)];
+		outptr[outptr_offset + RGB_BLUE] = range_limit[y + Cbbtab[cb]];
+		if (col + 1 < num_cols) {
+			cb = (cbthis * 4 + 7) >> 4;
+			cr = (crthis * 4 + 7) >> 4;
+			y = (inptr0[col + 1] & 0xFF) + range_limit_offset;
+			outptr[outptr_offset + RGB_PIXELSIZE + RGB_RED] = range_limit[y + Crrtab[cr]];
+			outptr[outptr_offset + RGB_PIXELSIZE + RGB_GREEN] = range_limit[y + ((Cbgtab[cb] + Crgtab[cr]) >> SCALEBITS)];
+			outptr[outptr_offset + RGB_PIXELSIZE + RGB_BLUE] = range_limit[y + Cbbtab[cb]];
+		}
+	}
+}
+
 static boolean process_APPn(int n, jpeg_decompress_struct cinfo) {
 	if (n == 0 || n == 14) {
 		return get_interesting_appn(cinfo);
@@ -6314,6 +7049,19 @@ static ImageData[] loadFromByteStream(InputStream inputStream, ImageLoader loade
 	cinfo.inputStream = inputStream;
 	jpeg_create_decompress(cinfo);
 	jpeg_read_header(cinfo, true);
+	if (loader.targetWidth > 0 || loader.targetHeight > 0) {
+		/* Use the smallest DCT scaling that still covers the requested size */
+		int denom = 8;
+		while (denom > 1 && (jdiv_round_up(cinfo.image_width, denom) < loader.targetWidth ||
+				jdiv_round_up(cinfo.image_height, denom) < loader.targetHeight)) {
+			denom /= 2;
+		}
+		cinfo.scale_denom = denom;
+	}
+	/* The AA&N integer IDCT is faster but slightly less accurate */
+	if (System.getProperty("org.eclipse.swt.internal.image.JPEGDecoder.fastIDCT") != null) {
+		cinfo.dct_method = JDCT_IFAST;
+	}
 	cinfo.buffered_image = cinfo.progressive_mode && loader.hasListeners();
 	jpeg_start_decompress(cinfo);
 	PaletteData palette = null;
@@ -6333,8 +7081,10 @@ static ImageData[] loadFromByteStream(InputStream inputStream, ImageLoader loade
 	}
 	int scanlinePad = 4;
 	int row_stride = (((cinfo.output_width * cinfo.out_color_components * 8 + 7) / 8) + (scanlinePad - 1)) / scanlinePad * scanlinePad;
-	byte[][] buffer = new byte[1][row_stride];
 	byte[] data = new byte[row_stride * cinfo.output_height];
+	/* The scanlines are color converted straight into the image data */
+	cinfo.output_data = data;
+	cinfo.output_stride = row_stride;
 	ImageData imageData = ImageData.internal_new(
 			cinfo.output_width, cinfo.output_height, palette.isDirect ? 24 : 8, palette, scanlinePad, data,
 			0, null, null, -1, -1, SWT.IMAGE_JPEG, 0, 0, 0, 0);
@@ -6344,18 +7094,17 @@ static ImageData[] loadFromByteStream(InputStream inputStream, ImageLoader loade
 			int incrementCount = cinfo.input_scan_number - 1;
 			jpeg_start_output(cinfo, cinfo.input_scan_number);
 			while (cinfo.output_scanline < cinfo.output_height) {
-				int offset = row_stride * cinfo.output_scanline;
-				jpeg_read_scanlines(cinfo, buffer, 1);
-				System.arraycopy(buffer[0], 0, data, offset, row_stride);
+				jpeg_read_scanlines(cinfo, null, cinfo.output_height - cinfo.output_scanline);
 			}
 			jpeg_finish_output(cinfo);
 			loader.notifyListeners(new ImageLoaderEvent(loader, (ImageData)imageData.clone(), incrementCount, done = jpeg_input_complete(cinfo)));
 		} while (!done);
 	} else {
+		if (System.getProperty("org.eclipse.swt.internal.image.JPEGDecoder.sequential") == null) {
+			decode_restart_intervals(cinfo);
+		}
 		while (cinfo.output_scanline < cinfo.output_height) {
-			int offset = row_stride * cinfo.output_scanline;
-			jpeg_read_scanlines(cinfo, buffer, 1);
-			System.arraycopy(buffer[0], 0, data, offset, row_stride);
+			jpeg_read_scanlines(cinfo, null, cinfo.output_height - cinfo.output_scanline);
 		}
 	}
 	jpeg_finish_decompress(cinfo);
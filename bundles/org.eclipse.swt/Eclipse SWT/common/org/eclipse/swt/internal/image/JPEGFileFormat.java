@@ -1519,6 +1519,25 @@ ImageData createImageData() {
 		0,
 		0);
 }
+@Override
+ImageInfo probeFromByteStream() {
+	JPEGStartOfImage soi = new JPEGStartOfImage(inputStream);
+	if (!soi.verify()) SWT.error(SWT.ERROR_INVALID_IMAGE);
+	/* Skip the markers preceding the frame header */
+	while (true) {
+		JPEGSegment jpegSegment = seekUnspecifiedMarker(inputStream);
+		if (jpegSegment == null) SWT.error(SWT.ERROR_INVALID_IMAGE);
+		if (new JPEGFrameHeader(jpegSegment.reference).verify()) break;
+		int marker = jpegSegment.getSegmentMarker();
+		if (marker == SOI || marker == EOI || marker == SOS) SWT.error(SWT.ERROR_INVALID_IMAGE);
+		skipSegmentFrom(inputStream);
+	}
+	JPEGFrameHeader frameHeader = new JPEGFrameHeader(inputStream);
+	if (!frameHeader.verify()) SWT.error(SWT.ERROR_INVALID_IMAGE);
+	/* The decoder converts color images to RGB */
+	int depth = frameHeader.getNumberOfImageComponents() == 1 ? 8 : 24;
+	return new ImageInfo(frameHeader.getSamplesPerLine(), frameHeader.getNumberOfLines(), depth, 1, SWT.IMAGE_JPEG);
+}
 int nextBit() {
 	if (currentBitCount != 0) {
 		currentBitCount--;
@@ -14,94 +14,117 @@
 package org.eclipse.swt.internal.image;
 
 
+import java.util.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 
 final class LZWCodec {
-	int bitsPerPixel, blockSize, blockIndex, currentByte, bitsLeft,
+	int bitsPerPixel, blockSize, blockIndex, bitBuffer, bitsLeft,
 		codeSize, clearCode, endCode, newCodes, topSlot, currentSlot,
-		imageWidth, imageHeight, imageX, imageY, pass, line, codeMask;
-	byte[] block, lineArray;
-	int[] stack, suffix, prefix;
-	LZWNode[] nodeStack;
+		imageWidth, imageHeight, pass, line;
+	byte[] block, rowData;
+	int[] stringStart, stringLength, hashTable, successor;
 	LEDataInputStream inputStream;
 	LEDataOutputStream outputStream;
 	ImageData image;
 	ImageLoader loader;
 	boolean interlaced;
-	static final int[] MASK_TABLE = new int[] {
-		0x1, 0x3, 0x7, 0xF, 0x1F, 0x3F, 0x7F,
-		0xFF, 0x1FF, 0x3FF, 0x7FF, 0xFFF
-	};
+
+	static final int MAX_CODES = 4096;
+	/* The encoder's hash table is kept at most a quarter full */
+	static final int HASH_BITS = 14;
+	static final int HASH_SIZE = 1 << HASH_BITS;
 
 /**
  * Decode the input.
  */
 void decode() {
-	int code;
-	int oc = 0;
-	int fc = 0;
-	byte[] buf = new byte[imageWidth];
-	int stackIndex = 0;
-	int bufIndex = 0;
-	int c;
-	while ((c = nextCode()) != endCode) {
+	int[] stringStart = this.stringStart, stringLength = this.stringLength;
+	byte[] block = this.block;
+	int bitBuffer = 0, bitsLeft = 0, blockIndex = 0, blockSize = 0;
+	int codeSize = this.codeSize, currentSlot = this.currentSlot, topSlot = this.topSlot;
+	/*
+	* The pixels are decoded in the order they are stored, and the string
+	* of every code in the table is a run of pixels that was output before.
+	*/
+	int capacity = imageWidth * imageHeight;
+	byte[] pixels = new byte[capacity];
+	int pos = 0, rowEnd = imageWidth;
+	int oc = 0, ocPos = 0;
+	/* Decoding starts as if the data began with a clear code */
+	boolean first = true;
+	while (true) {
+		/* Read the next code, the image ends early if the data runs out */
+		while (bitsLeft < codeSize) {
+			if (blockIndex >= blockSize) {
+				blockSize = readBlock();
+				blockIndex = 0;
+				if (blockSize == 0) break;
+			}
+			blockIndex++;
+			bitBuffer |= (block[blockIndex] & 0xFF) << bitsLeft;
+			bitsLeft += 8;
+		}
+		if (bitsLeft < codeSize) break;
+		int c = bitBuffer & ((1 << codeSize) - 1);
+		bitBuffer >>>= codeSize;
+		bitsLeft -= codeSize;
+		if (c == endCode) break;
 		if (c == clearCode) {
 			codeSize = bitsPerPixel + 1;
-			codeMask = MASK_TABLE[bitsPerPixel];
 			currentSlot = newCodes;
 			topSlot = 1 << codeSize;
-			while ((c = nextCode()) == clearCode) {}
-			if (c != endCode) {
-				oc = fc = c;
-				buf[bufIndex] = (byte)c;
-				bufIndex++;
-				if (bufIndex == imageWidth) {
-					nextPutPixels(buf);
-					bufIndex = 0;
-				}
-			}
+			first = true;
+			continue;
+		}
+		int cPos = pos;
+		if (c < newCodes) {
+			if (pos < capacity) pixels[pos++] = (byte)c;
 		} else {
-			code = c;
-			if (code >= currentSlot) {
-				code = oc;
-				stack[stackIndex] = fc;
-				stackIndex++;
+			/* A code that is not in the table yet is the previous string followed by its first pixel */
+			boolean known = c < currentSlot;
+			int count = Math.min(known ? stringLength[c] : stringLength[oc], capacity - pos);
+			int from = known ? stringStart[c] : ocPos;
+			if (count < 16) {
+				for (int i = 0; i < count; i++) {
+					pixels[pos + i] = pixels[from + i];
+				}
+			} else {
+				System.arraycopy(pixels, from, pixels, pos, count);
 			}
-			while (code >= newCodes) {
-				stack[stackIndex] = suffix[code];
-				stackIndex++;
-				code = prefix[code];
+			pos += count;
+			if (!known && pos < capacity) {
+				pixels[pos++] = pixels[ocPos];
 			}
-			stack[stackIndex] = code;
-			stackIndex++;
+		}
+		if (first) {
+			first = false;
+			oc = c;
+			ocPos = cPos;
+		} else {
 			if (currentSlot < topSlot) {
-				fc = code;
-				suffix[currentSlot] = fc;
-				prefix[currentSlot] = oc;
+				/* The new string is the previous one followed by the first pixel of this one */
+				stringStart[currentSlot] = ocPos;
+				stringLength[currentSlot] = Math.min(stringLength[oc] + 1, capacity);
 				currentSlot++;
 				oc = c;
+				ocPos = cPos;
 			}
 			if (currentSlot >= topSlot) {
 				if (codeSize < 12) {
-					codeMask = MASK_TABLE[codeSize];
 					codeSize++;
 					topSlot = topSlot + topSlot;
 				}
 			}
-			while (stackIndex > 0) {
-				stackIndex--;
-				buf[bufIndex] = (byte)stack[stackIndex];
-				bufIndex++;
-				if (bufIndex == imageWidth) {
-					nextPutPixels(buf);
-					bufIndex = 0;
-				}
-			}
+		}
+		while (pos >= rowEnd) {
+			nextPutPixels(pixels, rowEnd - imageWidth);
+			rowEnd += imageWidth;
 		}
 	}
-	if (bufIndex != 0 && line < imageHeight) {
-		nextPutPixels(buf);
+	if (pos > rowEnd - imageWidth) {
+		nextPutPixels(pixels, rowEnd - imageWidth);
 	}
 }
 /**
@@ -122,16 +145,68 @@ public void decode(LEDataInputStream inputStream, ImageLoader loader, ImageData
  */
 void encode() {
 	nextPutCode(clearCode);
-	int lastPrefix = encodeLoop();
-	nextPutCode(lastPrefix);
+	int[] hashTable = this.hashTable, successor = this.successor;
+	int currentPrefix = -1;
+	for (int y = 0; y < imageHeight; y++) {
+		byte[] pixels = rowData;
+		int offset = 0;
+		if (image.depth == 8) {
+			pixels = image.data;
+			offset = y * image.bytesPerLine;
+		} else {
+			image.getPixels(0, y, imageWidth, rowData, 0);
+		}
+		for (int x = 0; x < imageWidth; x++) {
+			int pixel = pixels[offset + x] & 0xFF;
+			if (currentPrefix == -1) {
+				currentPrefix = pixel;
+				continue;
+			}
+			/*
+			* Look up the string of the prefix followed by the pixel, trying
+			* the string that was last added for the prefix before the table.
+			*/
+			int last = successor[currentPrefix];
+			if (last != 0 && last >>> 12 == pixel) {
+				currentPrefix = last & 0xFFF;
+				continue;
+			}
+			int key = (pixel << 12) | currentPrefix;
+			int hash = (key * 0x9E3779B1) >>> (32 - HASH_BITS);
+			int entry;
+			while ((entry = hashTable[hash]) != 0 && entry >>> 12 != key) {
+				hash = (hash + 1) & (HASH_SIZE - 1);
+			}
+			if (entry != 0) {
+				currentPrefix = entry & 0xFFF;
+				continue;
+			}
+			nextPutCode(currentPrefix);
+			hashTable[hash] = key << 12 | currentSlot;
+			successor[currentPrefix] = pixel << 12 | currentSlot;
+			currentSlot++;
+			if (currentSlot < MAX_CODES) {
+				if (currentSlot > topSlot) {
+					codeSize++;
+					topSlot *= 2;
+				}
+			} else {
+				nextPutCode(clearCode);
+				Arrays.fill(hashTable, 0);
+				Arrays.fill(successor, 0);
+				codeSize = bitsPerPixel + 1;
+				currentSlot = newCodes;
+				topSlot = 1 << codeSize;
+			}
+			currentPrefix = pixel;
+		}
+	}
+	if (currentPrefix != -1) nextPutCode(currentPrefix);
 	nextPutCode(endCode);
 
-	// Write out last partial block
-	if (bitsLeft == 8) {
-		block[0] = (byte)(blockIndex - 1); // Nothing in last byte
-	} else {
-		block[0] = (byte)(blockIndex); // Last byte has data
-	}
+	// Write out the last partial byte and block
+	if (bitsLeft > 0) nextPutByte(bitBuffer);
+	block[0] = (byte)(blockIndex - 1);
 	writeBlock();
 
 	// Write out empty block to indicate the end (if needed)
@@ -150,80 +225,13 @@ public void encode(LEDataOutputStream byteStream, ImageData image) {
 	initializeForEncoding();
 	encode();
 }
-/**
- * Encoding loop broken out to allow early return.
- */
-int encodeLoop() {
-	int pixel = nextPixel();
-	boolean found;
-	LZWNode node;
-	while (true) {
-		int currentPrefix = pixel;
-		node = nodeStack[currentPrefix];
-		found = true;
-		pixel = nextPixel();
-		if (pixel < 0)
-			return currentPrefix;
-		while (found && (node.children != null)) {
-			node = node.children;
-			while (found && (node.suffix != pixel)) {
-				if (pixel < node.suffix) {
-					if (node.left == null) {
-						node.left = new LZWNode();
-						found = false;
-					}
-					node = node.left;
-				} else {
-					if (node.right == null) {
-						node.right = new LZWNode();
-						found = false;
-					}
-					node = node.right;
-				}
-			}
-			if (found) {
-				currentPrefix = node.code;
-				pixel = nextPixel();
-				if (pixel < 0)
-					return currentPrefix;
-			}
-		}
-		if (found) {
-			node.children = new LZWNode();
-			node = node.children;
-		}
-		node.children = null;
-		node.left = null;
-		node.right = null;
-		node.code = currentSlot;
-		node.prefix = currentPrefix;
-		node.suffix = pixel;
-		nextPutCode(currentPrefix);
-		currentSlot++;
-		// Off by one?
-		if (currentSlot < 4096) {
-			if (currentSlot > topSlot) {
-				codeSize++;
-				codeMask = MASK_TABLE[codeSize - 1];
-				topSlot *= 2;
-			}
-		} else {
-			nextPutCode(clearCode);
-			for (LZWNode lzwnode : nodeStack) {
-				lzwnode.children = null;
-			}
-			codeSize = bitsPerPixel + 1;
-			codeMask = MASK_TABLE[codeSize - 1];
-			currentSlot = newCodes;
-			topSlot = 1 << codeSize;
-		}
-	}
-}
 /**
  * Initialize the receiver for decoding the given
  * byte array.
  */
 void initializeForDecoding() {
+	/* Codes are at most 12 bits wide */
+	if (bitsPerPixel > 11) SWT.error(SWT.ERROR_INVALID_IMAGE);
 	pass = 1;
 	line = 0;
 	codeSize = bitsPerPixel + 1;
@@ -231,13 +239,9 @@ void initializeForDecoding() {
 	clearCode = 1 << bitsPerPixel;
 	endCode = clearCode + 1;
 	newCodes = currentSlot = endCode + 1;
-	currentByte = -1;
-	blockSize = bitsLeft = 0;
-	blockIndex = 0;
-	codeMask = MASK_TABLE[codeSize - 1];
-	stack = new int[4096];
-	suffix = new int[4096];
-	prefix = new int[4096];
+	stringStart = new int[MAX_CODES];
+	stringLength = new int[MAX_CODES];
+	Arrays.fill(stringLength, 1);
 	block = new byte[256];
 	imageWidth = image.width;
 	imageHeight = image.height;
@@ -248,166 +252,95 @@ void initializeForDecoding() {
  */
 void initializeForEncoding() {
 	interlaced = false;
-	bitsPerPixel = image.depth;
+	/* GIF does not allow a minimum code size of 1 */
+	bitsPerPixel = Math.max(image.depth, 2);
 	codeSize = bitsPerPixel + 1;
 	topSlot = 1 << codeSize;
 	clearCode = 1 << bitsPerPixel;
 	endCode = clearCode + 1;
 	newCodes = currentSlot = endCode + 1;
-	bitsLeft = 8;
-	currentByte = 0;
+	bitBuffer = bitsLeft = 0;
 	blockIndex = 1;
 	blockSize = 255;
 	block = new byte[blockSize];
 	block[0] = (byte)(blockSize - 1);
-	nodeStack = new LZWNode[1 << bitsPerPixel];
-	for (int i = 0; i < nodeStack.length; i++) {
-		LZWNode node = new LZWNode();
-		node.code = i + 1;
-		node.prefix = -1;
-		node.suffix = i + 1;
-		nodeStack[i] = node;
-	}
+	hashTable = new int[HASH_SIZE];
+	successor = new int[MAX_CODES];
 	imageWidth = image.width;
 	imageHeight = image.height;
-	imageY = -1;
-	lineArray = new byte[imageWidth];
-	imageX = imageWidth + 1; // Force a read
+	rowData = new byte[imageWidth];
 }
 /**
- * Answer the next code from the input byte array.
- */
-int nextCode() {
-	int code;
-	if (bitsLeft == 0) {
-		if (blockIndex >= blockSize) {
-			blockSize = readBlock();
-			blockIndex = 0;
-			if (blockSize == 0) return endCode;
-		}
-		blockIndex++;
-		currentByte = block[blockIndex] & 0xFF;
-		bitsLeft = 8;
-		code = currentByte;
-	} else {
-		int shift = bitsLeft - 8;
-		if (shift < 0)
-			code = currentByte >> (0 - shift);
-		else
-			code = currentByte << shift;
-	}
-	while (codeSize > bitsLeft) {
-		if (blockIndex >= blockSize) {
-			blockSize = readBlock();
-			blockIndex = 0;
-			if (blockSize == 0) return endCode;
-		}
-		blockIndex++;
-		currentByte = block[blockIndex] & 0xFF;
-		code += currentByte << bitsLeft;
-		bitsLeft += 8;
-	}
-	bitsLeft -= codeSize;
-	return code & codeMask;
-}
-/**
- * Answer the next pixel to encode in the image
- */
-int nextPixel() {
-	imageX++;
-	if (imageX > imageWidth) {
-		imageY++;
-		if (imageY >= imageHeight) {
-			return -1;
-		} else {
-			nextPixels(lineArray, imageWidth);
-		}
-		imageX = 1;
-	}
-	return this.lineArray[imageX - 1] & 0xFF;
-}
-/**
- * Copy a row of pixel values from the image.
+ * Output aCode to the output stream.
  */
-void nextPixels(byte[] buf, int lineWidth) {
-	if (image.depth == 8) {
-		System.arraycopy(image.data, imageY * image.bytesPerLine, buf, 0, lineWidth);
-	} else {
-		image.getPixels(0, imageY, lineWidth, buf, 0);
+void nextPutCode(int aCode) {
+	bitBuffer |= aCode << bitsLeft;
+	bitsLeft += codeSize;
+	while (bitsLeft >= 8) {
+		nextPutByte(bitBuffer);
+		bitBuffer >>>= 8;
+		bitsLeft -= 8;
 	}
 }
 /**
- * Output aCode to the output stream.
+ * Output the low byte of the value, writing out the block
+ * when it is full.
  */
-void nextPutCode(int aCode) {
-	int codeToDo = aCode;
-	int codeBitsToDo = codeSize;
-	// Fill in the remainder of the current byte with the
-	// *high-order* bits of the code.
-	int c = codeToDo & MASK_TABLE[bitsLeft - 1];
-	currentByte = currentByte | (c << (8 - bitsLeft));
-	block[blockIndex] = (byte)currentByte;
-	codeBitsToDo -= bitsLeft;
-	if (codeBitsToDo < 1) {
-		// The whole code fit in the first byte, so we are done.
-		bitsLeft -= codeSize;
-		if (bitsLeft == 0) {
-			// We used the whole last byte, so get ready
-			// for the next one.
-			bitsLeft = 8;
-			blockIndex++;
-			if (blockIndex >= blockSize) {
-				writeBlock();
-				blockIndex = 1;
-			}
-			currentByte = 0;
-		}
-		return;
-	}
-	codeToDo = codeToDo >> bitsLeft;
-
-	// Fill in any remaining whole bytes (i.e. not the last one!)
+void nextPutByte(int value) {
+	block[blockIndex] = (byte)value;
 	blockIndex++;
 	if (blockIndex >= blockSize) {
 		writeBlock();
 		blockIndex = 1;
 	}
-	while (codeBitsToDo >= 8) {
-		currentByte = codeToDo & 0xFF;
-		block[blockIndex] = (byte)currentByte;
-		codeToDo = codeToDo >> 8;
-		codeBitsToDo -= 8;
-		blockIndex++;
-		if (blockIndex >= blockSize) {
-			writeBlock();
-			blockIndex = 1;
-		}
-	}
-	// Fill the *low-order* bits of the last byte with the remainder
-	bitsLeft = 8 - codeBitsToDo;
-	currentByte = codeToDo;
-	block[blockIndex] = (byte)currentByte;
 }
 /**
  * Copy a row of pixel values to the image.
  */
-void nextPutPixels(byte[] buf) {
-	if (image.depth == 8) {
-		// Slight optimization for depth = 8.
-		int start = line * image.bytesPerLine;
-		System.arraycopy(buf, 0, image.data, start, imageWidth);
-	} else {
-		image.setPixels(0, line, imageWidth, buf, 0);
+void nextPutPixels(byte[] buf, int offset) {
+	if (line >= imageHeight) return;
+	int bytesPerLine = image.bytesPerLine;
+	byte[] data = image.data;
+	int start = line * bytesPerLine;
+	switch (image.depth) {
+		case 8:
+			System.arraycopy(buf, offset, data, start, imageWidth);
+			break;
+		case 4: {
+			int index = start, x = offset, end = offset + imageWidth;
+			for (; x + 1 < end; x += 2) {
+				data[index++] = (byte)((buf[x] & 0x0F) << 4 | (buf[x + 1] & 0x0F));
+			}
+			if (x < end) data[index] = (byte)((buf[x] & 0x0F) << 4);
+			break;
+		}
+		case 1: {
+			int index = start, x = offset, end = offset + imageWidth;
+			for (; x + 7 < end; x += 8) {
+				data[index++] = (byte)((buf[x] & 1) << 7 | (buf[x + 1] & 1) << 6 | (buf[x + 2] & 1) << 5 | (buf[x + 3] & 1) << 4
+					| (buf[x + 4] & 1) << 3 | (buf[x + 5] & 1) << 2 | (buf[x + 6] & 1) << 1 | (buf[x + 7] & 1));
+			}
+			if (x < end) {
+				int value = 0;
+				for (int shift = 7; x < end; x++, shift--) {
+					value |= (buf[x] & 1) << shift;
+				}
+				data[index] = (byte)value;
+			}
+			break;
+		}
+		default:
+			image.setPixels(0, line, imageWidth, buf, offset);
 	}
 	if (interlaced) {
 		if (pass == 1) {
-			copyRow(buf, 7);
+			copyRow(7);
 			line += 8;
 		} else if (pass == 2) {
-			copyRow(buf, 3);
+			copyRow(3);
 			line += 8;
 		} else if (pass == 3) {
-			copyRow(buf, 1);
+			copyRow(1);
 			line += 4;
 		} else if (pass == 4) {
 			line += 2;
@@ -437,10 +370,13 @@ void nextPutPixels(byte[] buf) {
  * Copy duplicate rows of pixel values to the image.
  * This is to fill in rows if the image is interlaced.
  */
-void copyRow(byte[] buf, int copies) {
+void copyRow(int copies) {
+	int bytesPerLine = image.bytesPerLine;
+	byte[] data = image.data;
+	int start = line * bytesPerLine;
 	for (int i = 1; i <= copies; i++) {
 		if (line + i < imageHeight) {
-			image.setPixels(0, line + i, imageWidth, buf, 0);
+			System.arraycopy(data, start, data, start + i * bytesPerLine, bytesPerLine);
 		}
 	}
 }
@@ -111,6 +111,16 @@ ImageData[] loadFromByteStream() {
 			0)
 	};
 }
+@Override
+ImageInfo probeFromByteStream() throws IOException {
+	loadFileHeader();
+	byte[] infoHeader = new byte[BMPHeaderFixedSize];
+	inputStream.read(infoHeader);
+	int width = (infoHeader[4] & 0xFF) | ((infoHeader[5] & 0xFF) << 8);
+	int height = (infoHeader[6] & 0xFF) | ((infoHeader[7] & 0xFF) << 8);
+	int bitCount = (infoHeader[10] & 0xFF) | ((infoHeader[11] & 0xFF) << 8);
+	return new ImageInfo(width, height, bitCount, 1, SWT.IMAGE_OS2_BMP);
+}
 PaletteData loadPalette(byte[] infoHeader) {
 	if (bitCount <= 8) {
 		int numColors = 1 << bitCount;
@@ -15,6 +15,7 @@ package org.eclipse.swt.internal.image;
 
 
 import java.io.*;
+import java.util.*;
 import java.util.zip.*;
 
 import org.eclipse.swt.*;
@@ -32,6 +33,15 @@ public final class PNGFileFormat extends FileFormat {
 	byte headerByte2;
 	int adler;
 
+	/*
+	* Inflaters and inflate buffers are kept for the next image,
+	* icon sets load many small images one after the other.
+	*/
+	static final int POOL_SIZE = 4;
+	static final int BUFFER_SIZE = 32768;
+	static final ArrayDeque<Inflater> inflaters = new ArrayDeque<>();
+	static final ArrayDeque<byte[]> buffers = new ArrayDeque<>();
+
 /**
  * Skip over signature data. This has already been
  * verified in isFileFormat().
@@ -86,12 +96,26 @@ ImageData[] loadFromByteStream() {
 		return null;
 	}
 }
+@Override
+ImageInfo probeFromByteStream() throws IOException {
+	readSignature();
+	PngChunkReader chunkReader = new PngChunkReader(inputStream);
+	headerChunk = chunkReader.getIhdrChunk();
+	int width = headerChunk.getWidth(), height = headerChunk.getHeight();
+	if (width <= 0 || height <= 0) SWT.error(SWT.ERROR_INVALID_IMAGE);
+	return new ImageInfo(width, height, headerChunk.getSwtBitsPerPixel(), 1, SWT.IMAGE_PNG);
+}
 /**
  * Read and handle the next chunk of data from the
  * PNG file.
  */
 void readNextChunk(PngChunkReader chunkReader) throws IOException {
-	PngChunk chunk = chunkReader.readNextChunk();
+	readChunk(chunkReader.readNextChunk(), chunkReader);
+}
+/**
+ * Handle a chunk of data read from the PNG file.
+ */
+void readChunk(PngChunk chunk, PngChunkReader chunkReader) throws IOException {
 	switch (chunk.getChunkType()) {
 		case PngChunk.CHUNK_IEND:
 			break;
@@ -312,28 +336,68 @@ void setImageDataValues(byte[] data, ImageData imageData) {
  */
 @SuppressWarnings("resource")
 void readPixelData(PngIdatChunk chunk, PngChunkReader chunkReader) throws IOException {
-	InputStream stream = new PngInputStream(chunk, chunkReader);
+	PngInputStream pngStream = new PngInputStream(chunk, chunkReader);
+	InputStream stream;
 	//TEMPORARY CODE
 	boolean use3_2 = System.getProperty("org.eclipse.swt.internal.image.PNGFileFormat_3.2") != null;
-	InputStream inflaterStream = use3_2 ? null : new BufferedInputStream(new InflaterInputStream(stream));
-	if (inflaterStream != null) {
-		stream = inflaterStream;
-	} else {
-		stream = new PngDecodingDataStream(stream);
+	Inflater inflater = use3_2 ? null : getInflater();
+	try {
+		if (inflater == null) {
+			stream = new PngDecodingDataStream(pngStream);
+		} else if (headerChunk.getInterlaceMethod() == PngIhdrChunk.INTERLACE_METHOD_NONE) {
+			inflateNonInterlacedImage(pngStream, inflater);
+			return;
+		} else {
+			stream = new BufferedInputStream(new InflaterInputStream(pngStream, inflater));
+		}
+		int interlaceMethod = headerChunk.getInterlaceMethod();
+		if (interlaceMethod == PngIhdrChunk.INTERLACE_METHOD_NONE) {
+			readNonInterlacedImage(stream);
+		} else {
+			readInterlacedImage(stream);
+		}
+		/*
+		* InflaterInputStream does not consume all bytes in the stream
+		* when it is closed. This may leave unread IDAT chunks. The fix
+		* is to read all available bytes before closing it.
+		*/
+		while (stream.available() > 0) stream.read();
+		stream.close();
+	} finally {
+		if (inflater != null) releaseInflater(inflater);
 	}
-	int interlaceMethod = headerChunk.getInterlaceMethod();
-	if (interlaceMethod == PngIhdrChunk.INTERLACE_METHOD_NONE) {
-		readNonInterlacedImage(stream);
-	} else {
-		readInterlacedImage(stream);
+}
+static Inflater getInflater() {
+	synchronized (inflaters) {
+		Inflater inflater = inflaters.poll();
+		if (inflater != null) return inflater;
+	}
+	return new Inflater();
+}
+static void releaseInflater(Inflater inflater) {
+	inflater.reset();
+	synchronized (inflaters) {
+		if (inflaters.size() < POOL_SIZE) {
+			inflaters.push(inflater);
+			return;
+		}
+	}
+	inflater.end();
+}
+static byte[] getBuffer(int minimumSize) {
+	if (minimumSize <= BUFFER_SIZE) {
+		synchronized (buffers) {
+			byte[] buffer = buffers.poll();
+			if (buffer != null) return buffer;
+		}
+	}
+	return new byte[Math.max(minimumSize, BUFFER_SIZE)];
+}
+static void releaseBuffer(byte[] buffer) {
+	if (buffer.length != BUFFER_SIZE) return;
+	synchronized (buffers) {
+		if (buffers.size() < POOL_SIZE) buffers.push(buffer);
 	}
-	/*
-	* InflaterInputStream does not consume all bytes in the stream
-	* when it is closed. This may leave unread IDAT chunks. The fix
-	* is to read all available bytes before closing it.
-	*/
-	while (stream.available() > 0) stream.read();
-	stream.close();
 }
 /**
  * Answer the number of bytes in a word-aligned row of pixel data.
@@ -496,6 +560,139 @@ void readNonInterlacedImage(InputStream inputStream) throws IOException {
 	}
 	setImageDataValues(data, imageData);
 }
+/**
+ * Inflate the pixel data of a non-interlaced image straight
+ * from the IDAT chunks and unfilter each row into the image
+ * data. Rows that SWT can use as they are, are unfiltered in
+ * place. Rows with 16-bit depths or alpha are unfiltered into
+ * a row buffer and converted to the SWT pixels and alpha
+ * values in the same pass.
+ * Update the imageData to reflect the new data.
+ */
+void inflateNonInterlacedImage(PngInputStream stream, Inflater inflater) throws IOException {
+	int width = imageData.width;
+	int height = imageData.height;
+	int bytesPerRow = getBytesPerRow();
+	int rowLength = bytesPerRow + 1;
+	int colorType = headerChunk.getColorType();
+	boolean convert = headerChunk.getBitDepth() > 8 ||
+		colorType == PngIhdrChunk.COLOR_TYPE_GRAYSCALE_WITH_ALPHA ||
+		colorType == PngIhdrChunk.COLOR_TYPE_RGB_WITH_ALPHA;
+	byte[] pixels = data;
+	int bytesPerLine = getAlignedBytesPerRow();
+	byte[] alphaData = null;
+	byte[] currentRow = null, lastRow = new byte[bytesPerRow];
+	if (convert) {
+		bytesPerLine = imageData.bytesPerLine;
+		pixels = new byte[bytesPerLine * height];
+		if (colorType == PngIhdrChunk.COLOR_TYPE_GRAYSCALE_WITH_ALPHA || colorType == PngIhdrChunk.COLOR_TYPE_RGB_WITH_ALPHA) {
+			alphaData = new byte[width * height];
+		}
+		currentRow = new byte[bytesPerRow];
+	}
+	byte[] buffer = getBuffer(rowLength);
+	try {
+		int offset = 0, length = 0;
+		for (int row = 0; row < height; row++) {
+			if (length - offset < rowLength) {
+				System.arraycopy(buffer, offset, buffer, 0, length - offset);
+				length -= offset;
+				offset = 0;
+				while (length < rowLength) {
+					int count = inflater.inflate(buffer, length, buffer.length - length);
+					if (count == 0) {
+						if (inflater.finished() || inflater.needsDictionary()) throw new IOException();
+						if (inflater.needsInput() && !stream.setInput(inflater)) throw new IOException();
+					}
+					length += count;
+				}
+			}
+			int filterType = buffer[offset];
+			if (convert) {
+				filterRow(buffer, offset + 1, currentRow, 0, lastRow, 0, bytesPerRow, filterType);
+				convertRow(currentRow, pixels, row * bytesPerLine, alphaData, row * width);
+				byte[] temp = lastRow;
+				lastRow = currentRow;
+				currentRow = temp;
+			} else {
+				int dataOffset = row * bytesPerLine;
+				if (row == 0) {
+					filterRow(buffer, offset + 1, pixels, dataOffset, lastRow, 0, bytesPerRow, filterType);
+				} else {
+					filterRow(buffer, offset + 1, pixels, dataOffset, pixels, dataOffset - bytesPerLine, bytesPerRow, filterType);
+				}
+			}
+			offset += rowLength;
+		}
+		/* Consume the rest of the compressed data and its IDAT chunks */
+		while (!inflater.finished() && !inflater.needsDictionary()) {
+			if (inflater.needsInput()) {
+				if (!stream.setInput(inflater)) break;
+			} else {
+				inflater.inflate(buffer);
+			}
+		}
+	} catch (DataFormatException e) {
+		throw new IOException(e);
+	} finally {
+		releaseBuffer(buffer);
+	}
+	if (convert) {
+		imageData.data = pixels;
+		imageData.alphaData = alphaData;
+	} else {
+		setPixelData(pixels, imageData);
+	}
+}
+/**
+ * Convert an unfiltered row of an image with 16-bit depth or
+ * alpha to the 8-bit pixels and alpha values used by SWT.
+ * 16-bit values are reduced by dropping their low byte, like
+ * compress16BitDepthTo8BitDepth().
+ */
+void convertRow(byte[] row, byte[] pixels, int pixelOffset, byte[] alphaData, int alphaOffset) {
+	int width = imageData.width;
+	int step = headerChunk.getBitDepth() > 8 ? 2 : 1;
+	int index = 0;
+	switch (headerChunk.getColorType()) {
+		case PngIhdrChunk.COLOR_TYPE_GRAYSCALE:
+			for (int x = 0; x < width; x++) {
+				pixels[pixelOffset++] = row[index];
+				index += step;
+			}
+			break;
+		case PngIhdrChunk.COLOR_TYPE_GRAYSCALE_WITH_ALPHA:
+			for (int x = 0; x < width; x++) {
+				byte grey = row[index];
+				pixels[pixelOffset] = grey;
+				pixels[pixelOffset + 1] = grey;
+				pixels[pixelOffset + 2] = grey;
+				alphaData[alphaOffset++] = row[index + step];
+				pixelOffset += 3;
+				index += 2 * step;
+			}
+			break;
+		case PngIhdrChunk.COLOR_TYPE_RGB:
+			for (int x = 0; x < width; x++) {
+				pixels[pixelOffset] = row[index];
+				pixels[pixelOffset + 1] = row[index + step];
+				pixels[pixelOffset + 2] = row[index + 2 * step];
+				pixelOffset += 3;
+				index += 3 * step;
+			}
+			break;
+		case PngIhdrChunk.COLOR_TYPE_RGB_WITH_ALPHA:
+			for (int x = 0; x < width; x++) {
+				pixels[pixelOffset] = row[index];
+				pixels[pixelOffset + 1] = row[index + step];
+				pixels[pixelOffset + 2] = row[index + 2 * step];
+				alphaData[alphaOffset++] = row[index + 3 * step];
+				pixelOffset += 3;
+				index += 4 * step;
+			}
+			break;
+	}
+}
 /**
  * SWT does not support 16-bit depth color formats.
  * Convert the 16-bit data to 8-bit data.
@@ -593,5 +790,55 @@ void filterRow(byte[] row, byte[] previousRow, int filterType) {
 			break;
 	}
 }
+/**
+ * Unfilter a row of the given length read from source into
+ * row. The unfiltered previous row is used by the filter types
+ * that predict from the row above.
+ */
+void filterRow(byte[] source, int sourceOffset, byte[] row, int rowOffset, byte[] previousRow, int previousRowOffset, int length, int filterType) {
+	int byteOffset = headerChunk.getFilterByteOffset();
+	int left = Math.min(byteOffset, length);
+	switch (filterType) {
+		case PngIhdrChunk.FILTER_SUB:
+			System.arraycopy(source, sourceOffset, row, rowOffset, left);
+			for (int i = left; i < length; i++) {
+				row[rowOffset + i] = (byte)(source[sourceOffset + i] + row[rowOffset + i - byteOffset]);
+			}
+			break;
+		case PngIhdrChunk.FILTER_UP:
+			for (int i = 0; i < length; i++) {
+				row[rowOffset + i] = (byte)(source[sourceOffset + i] + previousRow[previousRowOffset + i]);
+			}
+			break;
+		case PngIhdrChunk.FILTER_AVERAGE:
+			for (int i = 0; i < left; i++) {
+				row[rowOffset + i] = (byte)(source[sourceOffset + i] + ((previousRow[previousRowOffset + i] & 0xFF) >> 1));
+			}
+			for (int i = left; i < length; i++) {
+				int average = ((row[rowOffset + i - byteOffset] & 0xFF) + (previousRow[previousRowOffset + i] & 0xFF)) >> 1;
+				row[rowOffset + i] = (byte)(source[sourceOffset + i] + average);
+			}
+			break;
+		case PngIhdrChunk.FILTER_PAETH:
+			for (int i = 0; i < left; i++) {
+				row[rowOffset + i] = (byte)(source[sourceOffset + i] + previousRow[previousRowOffset + i]);
+			}
+			for (int i = left; i < length; i++) {
+				int a = row[rowOffset + i - byteOffset] & 0xFF;
+				int b = previousRow[previousRowOffset + i] & 0xFF;
+				int c = previousRow[previousRowOffset + i - byteOffset] & 0xFF;
+				int pa = Math.abs(b - c);
+				int pb = Math.abs(a - c);
+				int pc = Math.abs(a + b - c - c);
+				int predictor = (pa <= pb && pa <= pc) ? a : (pb <= pc) ? b : c;
+				row[rowOffset + i] = (byte)(source[sourceOffset + i] + predictor);
+			}
+			break;
+		case PngIhdrChunk.FILTER_NONE:
+		default:
+			System.arraycopy(source, sourceOffset, row, rowOffset, length);
+			break;
+	}
+}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import java.io.*;
+import java.util.zip.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Decodes regions of non-interlaced PNG files by inflating the rows of
+ * the image one after the other, keeping only the rows of the region.
+ * <p>
+ * The compressed data can only be read from the start, so the rows
+ * above a region are inflated again for each region. To read each row
+ * only once per row of tiles, the last band of rows is decoded across
+ * the whole width of the image and kept, unless it is larger than
+ * <code>BAND_LIMIT</code> bytes.
+ * </p>
+ */
+final class PNGRegionDecoder extends RegionDecoder {
+	String filename;
+
+	/* The last decoded band of rows, reduced by its step */
+	ImageData band;
+	int bandY, bandHeight, bandStep;
+
+	static final int BAND_LIMIT = 16 * 1024 * 1024;
+
+/*
+* Returns null when the file is not a PNG file, or is interlaced.
+*/
+static PNGRegionDecoder load(String filename) throws IOException {
+	try (InputStream stream = new BufferedInputStream(new FileInputStream(filename))) {
+		PNGFileFormat format = new PNGFileFormat();
+		format.inputStream = new LEDataInputStream(stream);
+		if (!format.isFileFormat(format.inputStream)) return null;
+		format.readSignature();
+		PngIhdrChunk headerChunk = new PngChunkReader(format.inputStream).getIhdrChunk();
+		if (headerChunk.getInterlaceMethod() != PngIhdrChunk.INTERLACE_METHOD_NONE) return null;
+		PNGRegionDecoder decoder = new PNGRegionDecoder();
+		decoder.filename = filename;
+		decoder.width = headerChunk.getWidth();
+		decoder.height = headerChunk.getHeight();
+		if (decoder.width <= 0 || decoder.height <= 0) SWT.error(SWT.ERROR_INVALID_IMAGE);
+		return decoder;
+	}
+}
+
+@Override
+public ImageData decode(int x, int y, int width, int height, int step) {
+	if (x % step != 0 || (long) scaledSize(this.width, step) * scaledSize(height, step) * 4 > BAND_LIMIT) {
+		return decodeRows(x, y, width, height, step);
+	}
+	if (band == null || bandY != y || bandHeight != height || bandStep != step) {
+		/* The previous band can be collected while the next one is decoded */
+		band = null;
+		band = decodeRows(0, y, this.width, height, step);
+		bandY = y;
+		bandHeight = height;
+		bandStep = step;
+	}
+	/* Copy the columns of the region from the band */
+	int destX = x / step, destWidth = scaledSize(width, step), destHeight = band.height;
+	ImageData result = new ImageData(destWidth, destHeight, band.depth, band.palette);
+	result.transparentPixel = band.transparentPixel;
+	result.alpha = band.alpha;
+	if (band.alphaData != null) result.alphaData = new byte[destWidth * destHeight];
+	int[] pixels = new int[destWidth];
+	for (int i = 0; i < destHeight; i++) {
+		band.getPixels(destX, i, destWidth, pixels, 0);
+		result.setPixels(0, i, destWidth, pixels, 0);
+		if (band.alphaData != null) System.arraycopy(band.alphaData, i * band.width + destX, result.alphaData, i * destWidth, destWidth);
+	}
+	return result;
+}
+
+/*
+* Inflates the rows of the image down to the last row of the region and
+* passes the rows of the region to a reduction.
+*/
+ImageData decodeRows(int x, int y, int width, int height, int step) {
+	Inflater inflater = null;
+	try (InputStream stream = new BufferedInputStream(new FileInputStream(filename))) {
+		PNGFileFormat format = new PNGFileFormat();
+		format.inputStream = new LEDataInputStream(stream);
+		format.readSignature();
+		PngChunkReader chunkReader = new PngChunkReader(format.inputStream);
+		PngIhdrChunk headerChunk = format.headerChunk = chunkReader.getIhdrChunk();
+		int bytesPerRow = format.getBytesPerRow(), alignedBytesPerRow = format.getAlignedBytesPerRow();
+		/* The image data holds one row at a time */
+		format.imageData = ImageData.internal_new(
+			this.width,
+			1,
+			headerChunk.getSwtBitsPerPixel(),
+			new PaletteData(0, 0, 0),
+			4,
+			new byte[alignedBytesPerRow],
+			0,
+			null,
+			null,
+			-1,
+			-1,
+			SWT.IMAGE_PNG,
+			0,
+			0,
+			0,
+			0);
+		if (headerChunk.usesDirectColor()) {
+			format.imageData.palette = headerChunk.getPaletteData();
+		}
+		PngChunk chunk;
+		while ((chunk = chunkReader.readNextChunk()).getChunkType() != PngChunk.CHUNK_IDAT) {
+			if (chunk.getChunkType() == PngChunk.CHUNK_IEND) SWT.error(SWT.ERROR_INVALID_IMAGE);
+			format.readChunk(chunk, chunkReader);
+		}
+		int colorType = headerChunk.getColorType();
+		if (format.alphaPalette != null || colorType == PngIhdrChunk.COLOR_TYPE_GRAYSCALE_WITH_ALPHA || colorType == PngIhdrChunk.COLOR_TYPE_RGB_WITH_ALPHA) {
+			format.imageData.alphaData = new byte[this.width];
+		}
+		Reduction reduction = new Reduction(width, height, step, format.imageData);
+		inflater = PNGFileFormat.getInflater();
+		DataInputStream input = new DataInputStream(new InflaterInputStream(new PngInputStream((PngIdatChunk) chunk, chunkReader), inflater, PNGFileFormat.BUFFER_SIZE));
+		byte[] source = new byte[bytesPerRow + 1];
+		byte[] currentRow = new byte[bytesPerRow], lastRow = new byte[bytesPerRow];
+		byte[] data = new byte[alignedBytesPerRow];
+		for (int row = 0; row < y + height; row++) {
+			input.readFully(source);
+			format.filterRow(source, 1, currentRow, 0, lastRow, 0, bytesPerRow, source[0]);
+			if (row >= y) {
+				System.arraycopy(currentRow, 0, data, 0, bytesPerRow);
+				format.setImageDataValues(data, format.imageData);
+				reduction.add(format.imageData, null, x, 0);
+			}
+			byte[] temp = lastRow;
+			lastRow = currentRow;
+			currentRow = temp;
+		}
+		return reduction.result;
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+		return null;
+	} finally {
+		if (inflater != null) PNGFileFormat.releaseInflater(inflater);
+	}
+}
+
+@Override
+public void close() {
+	band = null;
+}
+}
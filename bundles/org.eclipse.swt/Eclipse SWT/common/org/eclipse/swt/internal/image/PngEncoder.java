@@ -14,6 +14,8 @@
 package org.eclipse.swt.internal.image;
 
 import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.zip.*;
 
 import org.eclipse.swt.*;
@@ -33,8 +35,22 @@ final class PngEncoder extends Object {
 	static final int BEST_COMPRESSION = 9;
 	static final int DEFAULT_COMPRESSION = -1;
 
-	ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
-	PngChunk chunk;
+	static final int FILTER_NONE = 0;
+	static final int FILTER_SUB = 1;
+	static final int FILTER_UP = 2;
+	static final int FILTER_AVERAGE = 3;
+	static final int FILTER_PAETH = 4;
+
+	/* The maximum size of the data of an IDAT chunk */
+	static final int IDAT_SIZE = 65536;
+
+	/* The size of the blocks of filtered rows that are compressed in parallel */
+	static final int BLOCK_SIZE = 131072;
+
+	/* The size of the window of the deflate algorithm */
+	static final int WINDOW_SIZE = 32768;
+
+	OutputStream out;
 
 	ImageLoader loader;
 	ImageData data;
@@ -92,33 +108,41 @@ void writeInt(ByteArrayOutputStream baos, int theInt) {
 
 }
 
-void writeChunk(byte[] tag, byte[] buffer) {
+void writeChunk(byte[] tag, byte[] buffer) throws IOException {
 
-	int bufferLength = (buffer != null) ? buffer.length : 0;
+	writeChunk(tag, buffer, 0, (buffer != null) ? buffer.length : 0);
 
-	chunk = new PngChunk(bufferLength);
+}
 
-	writeInt(bytes, bufferLength);
-	bytes.write(tag, 0, 4);
-	chunk.setType(tag);
-	if (bufferLength != 0) {
-		bytes.write(buffer, 0, bufferLength);
-		chunk.setData(buffer);
-	}
-	else {
-		chunk.setCRC(chunk.computeCRC());
+void writeChunk(byte[] tag, byte[] buffer, int offset, int length) throws IOException {
+
+	byte[] header = new byte[8];
+	header[0] = (byte) (length >> 24);
+	header[1] = (byte) (length >> 16);
+	header[2] = (byte) (length >> 8);
+	header[3] = (byte) length;
+	System.arraycopy(tag, 0, header, 4, 4);
+	out.write(header);
+
+	CRC32 crc = new CRC32();
+	crc.update(tag);
+	if (length != 0) {
+		out.write(buffer, offset, length);
+		crc.update(buffer, offset, length);
 	}
-	writeInt(bytes, chunk.getCRC());
+
+	int value = (int) crc.getValue();
+	out.write(new byte[] {(byte) (value >> 24), (byte) (value >> 16), (byte) (value >> 8), (byte) value});
 
 }
 
-void writeSignature() {
+void writeSignature() throws IOException {
 
-	bytes.write(SIGNATURE, 0, 8);
+	out.write(SIGNATURE, 0, 8);
 
 }
 
-void writeHeader() {
+void writeHeader() throws IOException {
 
 	ByteArrayOutputStream baos = new ByteArrayOutputStream(13);
 
@@ -134,7 +158,7 @@ void writeHeader() {
 
 }
 
-void writePalette() {
+void writePalette() throws IOException {
 
 	RGB[] RGBs = data.palette.getRGBs();
 
@@ -154,7 +178,7 @@ void writePalette() {
 
 }
 
-void writeTransparency() {
+void writeTransparency() throws IOException {
 
 	ByteArrayOutputStream baos = new ByteArrayOutputStream();
 
@@ -233,105 +257,313 @@ void writeTransparency() {
 
 }
 
-void writeImageData() throws IOException {
+int getLevel() {
 
-	ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
-	OutputStream os = null;
 	switch (loader.compression) {
-	case 0:
-		os = new DeflaterOutputStream(baos, new Deflater(NO_COMPRESSION));
-		break;
-	case 1:
-		os = new DeflaterOutputStream(baos, new Deflater(BEST_SPEED));
-		break;
-	case 3:
-		os = new DeflaterOutputStream(baos, new Deflater(BEST_COMPRESSION));
-		break;
-	default:
-		os = new DeflaterOutputStream(baos, new Deflater(DEFAULT_COMPRESSION));
-		break;
+		case 0: return NO_COMPRESSION;
+		case 1: return BEST_SPEED;
+		case 3: return BEST_COMPRESSION;
+		default: return DEFAULT_COMPRESSION;
 	}
 
-	if (colorType == 3) {
+}
+
+int getBytesPerPixel() {
 
-		byte[] lineData = new byte[width];
+	switch (colorType) {
+		case 6: return 4;
+		case 2: return 3;
+		default: return 1;
+	}
+
+}
+
+/*
+* Returns the index of the byte of a 24 or 32 bit pixel that the
+* mask selects, or -1 if the mask is not a whole byte.
+*/
+int getByteIndex(int mask) {
+
+	for (int i = 0; i < data.depth / 8; i++) {
+		if (mask == 0xFF << (data.depth - 8 - i * 8)) return i;
+	}
+	return -1;
 
-		for (int y = 0; y < height; y++) {
+}
+
+/*
+* Converts the pixels of the row to the bytes of the PNG color type.
+*/
+void getRow(int y, byte[] row, int[] lineData, byte[] alphaData) {
+
+	if (colorType == 3) {
+
+		data.getPixels(0, y, width, row, 0);
+		return;
 
-			int filter = 0;
-			os.write(filter);
+	}
 
-			data.getPixels(0, y, width, lineData, 0);
+	PaletteData palette = data.palette;
+	int step = colorType == 6 ? 4 : 3;
+	int r = -1, g = -1, b = -1;
+	if (data.depth == 24 || data.depth == 32) {
+		r = getByteIndex(palette.redMask);
+		g = getByteIndex(palette.greenMask);
+		b = getByteIndex(palette.blueMask);
+	}
 
-			os.write(lineData);
+	if (r != -1 && g != -1 && b != -1) {
 
+		/* Copy the color bytes directly */
+		byte[] pixels = data.data;
+		int pixelSize = data.depth / 8;
+		for (int x = 0, index = y * data.bytesPerLine, offset = 0; x < width; x++, index += pixelSize, offset += step) {
+			row[offset] = pixels[index + r];
+			row[offset + 1] = pixels[index + g];
+			row[offset + 2] = pixels[index + b];
 		}
 
 	}
 
 	else {
 
-		int[] lineData = new int[width];
-		byte[] alphaData = null;
-		if (colorType == 6) {
-			alphaData = new byte[width];
+		int redMask = palette.redMask;
+		int redShift = palette.redShift;
+		int greenMask = palette.greenMask;
+		int greenShift = palette.greenShift;
+		int blueShift = palette.blueShift;
+		int blueMask = palette.blueMask;
+
+		data.getPixels(0, y, width, lineData, 0);
+
+		for (int x = 0, offset = 0; x < width; x++, offset += step) {
+
+			int pixel = lineData[x];
+
+			int red = pixel & redMask;
+			row[offset] = (byte) ((redShift < 0) ? red >>> -redShift : red << redShift);
+			int green = pixel & greenMask;
+			row[offset + 1] = (byte) ((greenShift < 0) ? green >>> -greenShift : green << greenShift);
+			int blue = pixel & blueMask;
+			row[offset + 2] = (byte) ((blueShift < 0) ? blue >>> -blueShift : blue << blueShift);
+
 		}
 
-		int redMask = data.palette.redMask;
-		int redShift = data.palette.redShift;
-		int greenMask = data.palette.greenMask;
-		int greenShift = data.palette.greenShift;
-		int blueShift = data.palette.blueShift;
-		int blueMask = data.palette.blueMask;
+	}
+
+	if (colorType == 6) {
+
+		data.getAlphas(0, y, width, alphaData, 0);
+		for (int x = 0, offset = 3; x < width; x++, offset += 4) {
+			row[offset] = alphaData[x];
+		}
+
+	}
 
-		byte[] lineBytes = new byte[width * (colorType == 6 ? 4 : 3)];
+}
 
-		for (int y = 0; y < height; y++) {
+/*
+* Writes the filter type byte and the filtered bytes of the row to the
+* output, and returns the number of bytes written. Palette images are
+* not filtered, as recommended by the PNG specification. For the other
+* color types each filter is tried and the one whose output has the
+* smallest sum of absolute values, taken as signed bytes, is used.
+*/
+static int filterRow(byte[] row, byte[] previous, int bpp, boolean adaptive, byte[] output, int offset) {
+
+	int length = row.length;
+	int filter = FILTER_NONE;
+
+	if (adaptive) {
+
+		long none = 0, sub = 0, up = 0, average = 0, paeth = 0;
+		for (int i = 0; i < length; i++) {
+			int x = row[i] & 0xFF;
+			int a = i >= bpp ? row[i - bpp] & 0xFF : 0;
+			int b = previous[i] & 0xFF;
+			int c = i >= bpp ? previous[i - bpp] & 0xFF : 0;
+			none += Math.abs((byte) x);
+			sub += Math.abs((byte) (x - a));
+			up += Math.abs((byte) (x - b));
+			average += Math.abs((byte) (x - ((a + b) >> 1)));
+			paeth += Math.abs((byte) (x - paethPredictor(a, b, c)));
+		}
 
-			int filter = 0;
-			os.write(filter);
+		long min = none;
+		if (sub < min) { min = sub; filter = FILTER_SUB; }
+		if (up < min) { min = up; filter = FILTER_UP; }
+		if (average < min) { min = average; filter = FILTER_AVERAGE; }
+		if (paeth < min) { filter = FILTER_PAETH; }
 
-			data.getPixels(0, y, width, lineData, 0);
+	}
 
-			if (colorType == 6) {
-				data.getAlphas(0, y, width, alphaData, 0);
+	output[offset++] = (byte) filter;
+	switch (filter) {
+		case FILTER_NONE:
+			System.arraycopy(row, 0, output, offset, length);
+			break;
+		case FILTER_SUB:
+			for (int i = 0; i < length; i++) {
+				output[offset + i] = (byte) (row[i] - (i >= bpp ? row[i - bpp] : 0));
+			}
+			break;
+		case FILTER_UP:
+			for (int i = 0; i < length; i++) {
+				output[offset + i] = (byte) (row[i] - previous[i]);
 			}
+			break;
+		case FILTER_AVERAGE:
+			for (int i = 0; i < length; i++) {
+				int a = i >= bpp ? row[i - bpp] & 0xFF : 0;
+				output[offset + i] = (byte) (row[i] - ((a + (previous[i] & 0xFF)) >> 1));
+			}
+			break;
+		case FILTER_PAETH:
+			for (int i = 0; i < length; i++) {
+				int a = i >= bpp ? row[i - bpp] & 0xFF : 0;
+				int c = i >= bpp ? previous[i - bpp] & 0xFF : 0;
+				output[offset + i] = (byte) (row[i] - paethPredictor(a, previous[i] & 0xFF, c));
+			}
+			break;
+	}
+	return length + 1;
 
-			int offset = 0;
-			for (int x = 0; x < lineData.length; x++) {
+}
 
-				int pixel = lineData[x];
+static int paethPredictor(int a, int b, int c) {
 
-				int r = pixel & redMask;
-				lineBytes[offset++] = (byte) ((redShift < 0) ? r >>> -redShift
-						: r << redShift);
-				int g = pixel & greenMask;
-				lineBytes[offset++] = (byte) ((greenShift < 0) ? g >>> -greenShift
-						: g << greenShift);
-				int b = pixel & blueMask;
-				lineBytes[offset++] = (byte) ((blueShift < 0) ? b >>> -blueShift
-						: b << blueShift);
+	int p = a + b - c;
+	int pa = Math.abs(p - a);
+	int pb = Math.abs(p - b);
+	int pc = Math.abs(p - c);
+	if (pa <= pb && pa <= pc) return a;
+	if (pb <= pc) return b;
+	return c;
 
-				if (colorType == 6) {
-					lineBytes[offset++] = alphaData[x];
-				}
+}
 
-			}
+/*
+* Returns the filtered bytes of the rows from start to end.
+*/
+byte[] filterRows(int start, int end) {
+
+	int bpp = getBytesPerPixel();
+	byte[] row = new byte[width * bpp];
+	byte[] previous = new byte[row.length];
+	int[] lineData = new int[width];
+	byte[] alphaData = new byte[width];
+	if (start > 0) getRow(start - 1, previous, lineData, alphaData);
+
+	byte[] filtered = new byte[(end - start) * (row.length + 1)];
+	for (int y = start, offset = 0; y < end; y++) {
+		getRow(y, row, lineData, alphaData);
+		offset += filterRow(row, previous, bpp, colorType != 3, filtered, offset);
+		byte[] temp = previous;
+		previous = row;
+		row = temp;
+	}
+	return filtered;
+
+}
+
+/*
+* Compresses a block of filtered rows as raw deflate data. All blocks
+* but the last end with a sync flush, so that the compressed blocks can
+* be joined. The end of the previous block is used as the dictionary,
+* which keeps the compression close to compressing the rows at once.
+*/
+static byte[] deflateBlock(byte[] block, byte[] previous, int level, boolean last) {
+
+	Deflater deflater = new Deflater(level, true);
+	try {
+		if (previous != null) {
+			int length = Math.min(previous.length, WINDOW_SIZE);
+			deflater.setDictionary(previous, previous.length - length, length);
+		}
+		deflater.setInput(block);
+		if (last) deflater.finish();
+		ByteArrayOutputStream baos = new ByteArrayOutputStream(block.length / 2 + 64);
+		byte[] buffer = new byte[16384];
+		int count;
+		do {
+			count = deflater.deflate(buffer, 0, buffer.length, last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+			baos.write(buffer, 0, count);
+		} while (last ? !deflater.finished() : count == buffer.length);
+		return baos.toByteArray();
+	} finally {
+		deflater.end();
+	}
+
+}
+
+void writeImageData() throws IOException {
+
+	IdatOutputStream idat = new IdatOutputStream();
+	int rowLength = width * getBytesPerPixel() + 1;
+	int rowsPerBlock = Math.max(1, BLOCK_SIZE / rowLength);
+	int blockCount = (height + rowsPerBlock - 1) / rowsPerBlock;
+	int threads = ForkJoinPool.getCommonPoolParallelism();
 
-			os.write(lineBytes);
+	if (blockCount < 4 || threads < 2) {
 
+		Deflater deflater = new Deflater(getLevel());
+		try (OutputStream os = new DeflaterOutputStream(idat, deflater, 16384)) {
+			for (int y = 0; y < height; y += rowsPerBlock) {
+				os.write(filterRows(y, Math.min(height, y + rowsPerBlock)));
+			}
+		} finally {
+			deflater.end();
 		}
+		return;
 
 	}
 
-	os.flush();
-	os.close();
+	/*
+	* Filter and compress the blocks in parallel, keeping a bounded number
+	* of blocks in progress, and write them in order. The zlib header and
+	* the checksum are written here around the joined raw deflate data.
+	*/
+	int level = getLevel();
+	int flags = level == NO_COMPRESSION || level == BEST_SPEED ? 0 : level == BEST_COMPRESSION ? 3 : 2;
+	int header = 0x7800 | flags << 6;
+	header += 31 - header % 31;
+	idat.write(header >> 8);
+	idat.write(header & 0xFF);
+
+	List<CompletableFuture<byte[]>> filtered = new ArrayList<>(blockCount);
+	List<CompletableFuture<byte[]>> compressed = new ArrayList<>(blockCount);
+	Adler32 adler = new Adler32();
+	int submitted = 0;
+	try {
+		for (int i = 0; i < blockCount; i++) {
+			for (; submitted < Math.min(blockCount, i + threads * 2); submitted++) {
+				int start = submitted * rowsPerBlock, end = Math.min(height, start + rowsPerBlock);
+				boolean last = submitted == blockCount - 1;
+				CompletableFuture<byte[]> block = CompletableFuture.supplyAsync(() -> filterRows(start, end));
+				if (submitted == 0) {
+					compressed.add(block.thenApplyAsync(rows -> deflateBlock(rows, null, level, last)));
+				} else {
+					compressed.add(block.thenCombineAsync(filtered.get(submitted - 1), (rows, previous) -> deflateBlock(rows, previous, level, last)));
+				}
+				filtered.add(block);
+			}
+			adler.update(filtered.get(i).join());
+			idat.write(compressed.get(i).join());
+			if (i > 0) filtered.set(i - 1, null);
+			compressed.set(i, null);
+		}
+	} catch (CompletionException e) {
+		if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+		throw e;
+	}
 
-	writeChunk(TAG_IDAT, baos.toByteArray());
+	int checksum = (int) adler.getValue();
+	idat.write(new byte[] {(byte) (checksum >> 24), (byte) (checksum >> 16), (byte) (checksum >> 8), (byte) checksum});
+	idat.close();
 
 }
 
-void writeEnd() {
+void writeEnd() throws IOException {
 
 	writeChunk(TAG_IEND, null);
 
@@ -339,6 +571,8 @@ void writeEnd() {
 
 public void encode(LEDataOutputStream outputStream) {
 
+	out = new BufferedOutputStream(outputStream, 8192);
+
 	try {
 
 		writeSignature();
@@ -360,7 +594,7 @@ public void encode(LEDataOutputStream outputStream) {
 		writeImageData();
 		writeEnd();
 
-		outputStream.write(bytes.toByteArray());
+		out.flush();
 
 	}
 
@@ -372,4 +606,50 @@ public void encode(LEDataOutputStream outputStream) {
 
 }
 
+/*
+* Writes the compressed image data as IDAT chunks while it is produced.
+*/
+final class IdatOutputStream extends OutputStream {
+
+	byte[] buffer = new byte[IDAT_SIZE];
+	int count;
+
+	@Override
+	public void write(int b) throws IOException {
+
+		if (count == buffer.length) flushChunk();
+		buffer[count++] = (byte) b;
+
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+
+		while (len > 0) {
+			if (count == buffer.length) flushChunk();
+			int length = Math.min(len, buffer.length - count);
+			System.arraycopy(b, off, buffer, count, length);
+			count += length;
+			off += length;
+			len -= length;
+		}
+
+	}
+
+	@Override
+	public void close() throws IOException {
+
+		if (count > 0) flushChunk();
+
+	}
+
+	void flushChunk() throws IOException {
+
+		writeChunk(TAG_IDAT, buffer, 0, count);
+		count = 0;
+
+	}
+
+}
+
 }
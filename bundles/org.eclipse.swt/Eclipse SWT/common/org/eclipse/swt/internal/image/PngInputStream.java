@@ -14,6 +14,7 @@
 package org.eclipse.swt.internal.image;
 
 import java.io.*;
+import java.util.zip.*;
 
 public class PngInputStream extends InputStream {
 	PngChunkReader reader;
@@ -41,6 +42,20 @@ private boolean checkChunk() throws IOException {
 	return true;
 }
 
+/**
+ * Give the remaining data of the current IDAT chunk to the
+ * inflater without copying it, moving on to the next IDAT
+ * chunk when the current one has been used up. Answer false
+ * when there is no more data.
+ */
+boolean setInput(Inflater inflater) throws IOException {
+	if (chunk == null) throw new IOException();
+	if (offset == length && !checkChunk()) return false;
+	inflater.setInput(chunk.reference, DATA_OFFSET + offset, length - offset);
+	offset = length;
+	return true;
+}
+
 @Override
 public void close() throws IOException {
 	chunk = null;
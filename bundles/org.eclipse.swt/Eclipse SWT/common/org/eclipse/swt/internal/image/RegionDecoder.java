@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import java.io.*;
+import java.util.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Decodes rectangular regions of an image file, optionally reduced by
+ * averaging blocks of pixels, without holding the pixels of the whole
+ * image when the file format allows it.
+ */
+public abstract class RegionDecoder {
+	/** The size of the image in pixels */
+	public int width, height;
+
+/**
+ * Opens the specified file for decoding regions. Uncompressed Windows
+ * bitmaps, TIFF files and non-interlaced PNG files are read a region at
+ * a time. Files in other formats are decoded once and kept in memory.
+ */
+public static RegionDecoder open(String filename) {
+	if (filename == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	try {
+		RegionDecoder decoder = WinBMPRegionDecoder.load(filename);
+		if (decoder == null) decoder = TIFFRegionDecoder.load(filename);
+		if (decoder == null) decoder = PNGRegionDecoder.load(filename);
+		if (decoder != null) return decoder;
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+	return new ImageDataRegionDecoder(new ImageData(filename));
+}
+
+/**
+ * Returns the pixels of the given region of the image. The region must
+ * be inside the image. Each pixel of the result is the average of a
+ * block of <code>step</code> by <code>step</code> pixels of the region.
+ */
+public abstract ImageData decode(int x, int y, int width, int height, int step);
+
+/**
+ * Releases the file and the memory held by the receiver.
+ */
+public void close() {
+}
+
+static int scaledSize(int size, int step) {
+	return (size + step - 1) / step;
+}
+
+/**
+ * Collects the rows of a region, from top to bottom, into the pixels of
+ * the result. When the step is 1, the pixels are copied and the result
+ * has the depth and palette of the image. Otherwise each pixel of the
+ * result is the average of a block of step by step pixels, weighted by
+ * their alpha, and the result is a direct 24 bit image.
+ */
+static final class Reduction {
+	final ImageData result;
+	final int width, height, step;
+	final boolean hasAlpha;
+	final int[] pixels;
+	final byte[] alphas;
+	int[] colors;
+	long[] sums;
+	int row;
+
+Reduction(int width, int height, int step, ImageData image) {
+	this.width = width;
+	this.height = height;
+	this.step = step;
+	int destWidth = scaledSize(width, step), destHeight = scaledSize(height, step);
+	hasAlpha = image.alphaData != null || image.maskData != null || (step > 1 && (image.transparentPixel != -1 || image.alpha != -1));
+	if (step == 1) {
+		result = new ImageData(destWidth, destHeight, image.depth, image.palette);
+		result.transparentPixel = image.transparentPixel;
+		result.alpha = image.alpha;
+	} else {
+		result = new ImageData(destWidth, destHeight, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		sums = new long[destWidth * 5];
+		PaletteData palette = image.palette;
+		if (!palette.isDirect) {
+			colors = new int[palette.colors.length];
+			for (int i = 0; i < colors.length; i++) {
+				RGB rgb = palette.colors[i];
+				colors[i] = rgb.red << 16 | rgb.green << 8 | rgb.blue;
+			}
+		}
+	}
+	if (hasAlpha) result.alphaData = new byte[destWidth * destHeight];
+	pixels = new int[width];
+	alphas = new byte[width];
+}
+
+/*
+* Adds the next row of the region, which starts at column x of row y of
+* the given image. The mask holds the transparency of images that have
+* a transparency mask.
+*/
+void add(ImageData image, ImageData mask, int x, int y) {
+	image.getPixels(x, y, width, pixels, 0);
+	if (hasAlpha) {
+		if (image.alphaData != null) {
+			System.arraycopy(image.alphaData, y * image.width + x, alphas, 0, width);
+		} else if (mask != null) {
+			for (int i = 0; i < width; i++) alphas[i] = (byte) (mask.getPixel(x + i, y) == 0 ? 0 : 0xFF);
+		} else {
+			byte alpha = (byte) (image.alpha != -1 ? image.alpha : 0xFF);
+			for (int i = 0; i < width; i++) alphas[i] = pixels[i] == image.transparentPixel ? 0 : alpha;
+		}
+	}
+	if (step == 1) {
+		result.setPixels(0, row, width, pixels, 0);
+		if (hasAlpha) System.arraycopy(alphas, 0, result.alphaData, row * width, width);
+		row++;
+		return;
+	}
+	PaletteData palette = image.palette;
+	for (int i = 0; i < width; i++) {
+		int pixel = pixels[i], rgb;
+		if (colors != null) {
+			rgb = pixel < colors.length ? colors[pixel] : 0;
+		} else {
+			int r = pixel & palette.redMask;
+			r = (palette.redShift < 0) ? r >>> -palette.redShift : r << palette.redShift;
+			int g = pixel & palette.greenMask;
+			g = (palette.greenShift < 0) ? g >>> -palette.greenShift : g << palette.greenShift;
+			int b = pixel & palette.blueMask;
+			b = (palette.blueShift < 0) ? b >>> -palette.blueShift : b << palette.blueShift;
+			rgb = r << 16 | g << 8 | b;
+		}
+		int alpha = hasAlpha ? alphas[i] & 0xFF : 0xFF;
+		int index = i / step * 5;
+		sums[index] += alpha;
+		sums[index + 1] += ((rgb >> 16) & 0xFF) * alpha;
+		sums[index + 2] += ((rgb >> 8) & 0xFF) * alpha;
+		sums[index + 3] += (rgb & 0xFF) * alpha;
+		sums[index + 4]++;
+	}
+	row++;
+	if (row % step == 0 || row == height) flush();
+}
+
+/*
+* Stores the averages of the blocks that were completed by the last row
+* into the next row of the result.
+*/
+void flush() {
+	int destWidth = result.width, destY = (row - 1) / step;
+	for (int i = 0; i < destWidth; i++) {
+		int index = i * 5;
+		long alpha = sums[index], count = sums[index + 4];
+		int pixel = 0;
+		if (alpha != 0) {
+			pixel = (int) ((sums[index + 1] + alpha / 2) / alpha) << 16 | (int) ((sums[index + 2] + alpha / 2) / alpha) << 8 | (int) ((sums[index + 3] + alpha / 2) / alpha);
+		}
+		result.setPixel(i, destY, pixel);
+		if (hasAlpha) result.alphaData[destY * destWidth + i] = (byte) ((alpha + count / 2) / count);
+	}
+	Arrays.fill(sums, 0);
+}
+}
+}
@@ -17,6 +17,8 @@ package org.eclipse.swt.internal.image;
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 import java.io.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
 
 final class TIFFDirectory {
 
@@ -25,6 +27,9 @@ final class TIFFDirectory {
 	ImageLoader loader;
 	int depth;
 
+	/* The offsets and sizes of the strips and tiles are not read when only the image is described */
+	boolean describeOnly;
+
 	/* Directory fields */
 	int subfileType;
 	int imageWidth;
@@ -38,6 +43,11 @@ final class TIFFDirectory {
 	int[] stripByteCounts;
 	int t4Options;
 	int colorMapOffset;
+	int predictor;
+	int tileWidth;
+	int tileLength;
+	int[] tileOffsets;
+	int[] tileByteCounts;
 
 	/* Encoder fields */
 	ImageData image;
@@ -66,7 +76,12 @@ final class TIFFDirectory {
 	static final short TAG_ResolutionUnit = 296;
 	static final short TAG_Software = 305;
 	static final short TAG_DateTime = 306;
+	static final short TAG_Predictor = 317;
 	static final short TAG_ColorMap = 320;
+	static final short TAG_TileWidth = 322;
+	static final short TAG_TileLength = 323;
+	static final short TAG_TileOffsets = 324;
+	static final short TAG_TileByteCounts = 325;
 
 	static final int TYPE_BYTE = 1;
 	static final int TYPE_ASCII = 2;
@@ -84,7 +99,13 @@ final class TIFFDirectory {
 	/* Different compression schemes */
 	static final int COMPRESSION_NONE = 1;
 	static final int COMPRESSION_CCITT_3_1 = 2;
+	static final int COMPRESSION_LZW = 5;
+	static final int COMPRESSION_DEFLATE = 8;
 	static final int COMPRESSION_PACKBITS = 32773;
+	static final int COMPRESSION_DEFLATE_OLD = 32946;
+
+	static final int PREDICTOR_NONE = 1;
+	static final int PREDICTOR_HORIZONTAL = 2;
 
 	static final int IFD_ENTRY_SIZE = 12;
 
@@ -99,20 +120,24 @@ public TIFFDirectory(ImageData image) {
 }
 
 /* PackBits decoder */
-int decodePackBits(byte[] src, byte[] dest, int offsetDest) {
+int decodePackBits(byte[] src, byte[] dest, int offsetDest, int length) {
+	int end = offsetDest + length;
 	int destIndex = offsetDest;
 	int srcIndex = 0;
-	while (srcIndex < src.length) {
+	while (srcIndex < src.length && destIndex < end) {
 		byte n = src[srcIndex];
 		if (n >= 0) {
 			/* Copy next n+1 bytes literally */
-			System.arraycopy(src, ++srcIndex, dest, destIndex, n + 1);
+			int count = Math.min(Math.min(n + 1, src.length - srcIndex - 1), end - destIndex);
+			System.arraycopy(src, ++srcIndex, dest, destIndex, count);
 			srcIndex += n + 1;
-			destIndex += n + 1;
+			destIndex += count;
 		} else if (n >= -127) {
 			/* Copy next byte -n+1 times */
-			byte value = src[++srcIndex];
-			for (int j = 0; j < -n + 1; j++) {
+			if (++srcIndex == src.length) break;
+			byte value = src[srcIndex];
+			int count = Math.min(-n + 1, end - destIndex);
+			for (int j = 0; j < count; j++) {
 				dest[destIndex++] = value;
 			}
 			srcIndex++;
@@ -154,31 +179,234 @@ void getEntryValue(int type, byte[] buffer, int index, int[] values) throws IOEx
 
 void decodePixels(ImageData image) throws IOException {
 	/* Each row is byte aligned */
-	byte[] imageData = new byte[(imageWidth * depth + 7) / 8 * imageLength];
+	int bytesPerRow = (imageWidth * depth + 7) / 8;
+	byte[] imageData = new byte[bytesPerRow * imageLength];
 	image.data = imageData;
-	int destIndex = 0;
-	int length = stripOffsets.length;
+	checkSegments();
+	boolean tiled = tileOffsets != null;
+	int[] offsets = tiled ? tileOffsets : stripOffsets;
+	int[] byteCounts = tiled ? tileByteCounts : stripByteCounts;
+	int length = offsets.length;
+	int threads = ForkJoinPool.getCommonPoolParallelism();
+	/*
+	* Strips and tiles are compressed independently of each other. When no
+	* listener expects them in order, they are read first and decompressed
+	* in parallel, each one into its own rows of the image.
+	*/
+	if (threads < 2 || length < 2 || compression == COMPRESSION_NONE || loader.hasListeners() ||
+		System.getProperty("org.eclipse.swt.internal.image.TIFFDirectory.sequential") != null) {
+		for (int i = 0; i < length; i++) {
+			decodeSegment(i, readSegment(offsets[i], byteCounts[i]), imageData, bytesPerRow);
+			if (loader.hasListeners()) {
+				loader.notifyListeners(new ImageLoaderEvent(loader, image, i, i == length - 1));
+			}
+		}
+		return;
+	}
+	byte[][] segments = new byte[length][];
 	for (int i = 0; i < length; i++) {
-		/* Read a strip */
-		byte[] data = new byte[stripByteCounts[i]];
-		file.seek(stripOffsets[i]);
-		file.read(data);
-		if (compression == COMPRESSION_NONE) {
-			System.arraycopy(data, 0, imageData, destIndex, data.length);
-			destIndex += data.length;
-		} else if (compression == COMPRESSION_PACKBITS) {
-			destIndex += decodePackBits(data, imageData, destIndex);
-		} else if (compression == COMPRESSION_CCITT_3_1 || compression == 3) {
+		segments[i] = readSegment(offsets[i], byteCounts[i]);
+	}
+	int groups = Math.min(length, threads * 4);
+	CompletableFuture<?>[] tasks = new CompletableFuture<?>[groups];
+	for (int i = 0; i < groups; i++) {
+		int first = length * i / groups, last = length * (i + 1) / groups;
+		tasks[i] = CompletableFuture.runAsync(() -> {
+			for (int j = first; j < last; j++) {
+				decodeSegment(j, segments[j], imageData, bytesPerRow);
+			}
+		});
+	}
+	try {
+		CompletableFuture.allOf(tasks).join();
+	} catch (CompletionException e) {
+		if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+		throw e;
+	}
+}
+
+/*
+* Check that the strips or tiles of the image can be decoded.
+*/
+void checkSegments() {
+	boolean tiled = tileOffsets != null;
+	int[] offsets = tiled ? tileOffsets : stripOffsets;
+	int[] byteCounts = tiled ? tileByteCounts : stripByteCounts;
+	if (offsets == null || byteCounts == null || byteCounts.length < offsets.length) SWT.error(SWT.ERROR_INVALID_IMAGE);
+	if (!tiled && rowsPerStrip <= 0) SWT.error(SWT.ERROR_INVALID_IMAGE);
+	if (tiled && (tileWidth <= 0 || tileLength <= 0 || tileWidth * depth % 8 != 0)) SWT.error(SWT.ERROR_INVALID_IMAGE);
+	switch (compression) {
+		case COMPRESSION_NONE:
+		case COMPRESSION_CCITT_3_1:
+		case 3:
+		case COMPRESSION_LZW:
+		case COMPRESSION_DEFLATE:
+		case COMPRESSION_PACKBITS:
+		case COMPRESSION_DEFLATE_OLD:
+			break;
+		default:
+			/* CCITT T.6, JPEG and other compressions are not implemented */
+			SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
+	}
+	if (predictor == PREDICTOR_HORIZONTAL) {
+		for (int i = 0; i < samplesPerPixel; i++) {
+			/* SWT has no sample sizes other than 8 bits where differencing applies */
+			if (bitsPerSample[i] != 8) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
+		}
+	} else if (predictor != PREDICTOR_NONE) {
+		SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
+	}
+}
+
+/*
+* Decode the given region of the image into the reduction, one row after
+* the other. Only the strips and tiles that hold pixels of the region are
+* read, and only the rows of one of them, or of one row of tiles, are kept
+* at a time. Rows of uncompressed strips are read directly from the file.
+*/
+void decodeRegion(ImageData image, int x, int y, int width, int height, RegionDecoder.Reduction reduction) throws IOException {
+	int bytesPerRow = (imageWidth * depth + 7) / 8;
+	if (tileOffsets == null && compression == COMPRESSION_NONE && predictor == PREDICTOR_NONE) {
+		int start = x * depth / 8, end = ((x + width) * depth + 7) / 8;
+		int shift = x - start * 8 / depth;
+		byte[] bytes = new byte[end - start];
+		ImageData row = new ImageData(bytes.length * 8 / depth, 1, depth, image.palette, 1, bytes);
+		for (int i = y; i < y + height; i++) {
+			int strip = i / rowsPerStrip;
+			if (strip >= stripOffsets.length) SWT.error(SWT.ERROR_INVALID_IMAGE);
+			file.seek(stripOffsets[strip] + (i % rowsPerStrip) * bytesPerRow + start);
+			file.read(bytes);
+			reduction.add(row, null, shift, 0);
+		}
+		return;
+	}
+	if (tileOffsets == null) {
+		for (int strip = y / rowsPerStrip; strip * rowsPerStrip < y + height; strip++) {
+			if (strip >= stripOffsets.length) SWT.error(SWT.ERROR_INVALID_IMAGE);
+			int first = strip * rowsPerStrip, nRows = Math.min(rowsPerStrip, imageLength - first);
+			byte[] rows = new byte[bytesPerRow * nRows];
+			decodeSegment(strip, readSegment(stripOffsets[strip], stripByteCounts[strip]), rows, bytesPerRow, 0, first);
+			ImageData band = new ImageData(imageWidth, nRows, depth, image.palette, 1, rows);
+			for (int i = Math.max(y, first); i < Math.min(y + height, first + nRows); i++) {
+				reduction.add(band, null, x, i - first);
+			}
+		}
+		return;
+	}
+	int tilesAcross = (imageWidth + tileWidth - 1) / tileWidth;
+	int firstColumn = x / tileWidth, lastColumn = (x + width - 1) / tileWidth;
+	int bandWidth = (lastColumn - firstColumn + 1) * tileWidth, bandBytesPerRow = bandWidth * depth / 8;
+	byte[] rows = new byte[bandBytesPerRow * tileLength];
+	ImageData band = new ImageData(bandWidth, tileLength, depth, image.palette, 1, rows);
+	for (int tileRow = y / tileLength; tileRow * tileLength < y + height; tileRow++) {
+		int first = tileRow * tileLength;
+		for (int column = firstColumn; column <= lastColumn; column++) {
+			int index = tileRow * tilesAcross + column;
+			if (index >= tileOffsets.length) SWT.error(SWT.ERROR_INVALID_IMAGE);
+			decodeSegment(index, readSegment(tileOffsets[index], tileByteCounts[index]), rows, bandBytesPerRow, firstColumn * tileWidth * depth / 8, first);
+		}
+		for (int i = Math.max(y, first); i < Math.min(y + height, first + tileLength); i++) {
+			reduction.add(band, null, x - firstColumn * tileWidth, i - first);
+		}
+	}
+}
+
+byte[] readSegment(int offset, int byteCount) throws IOException {
+	byte[] data = new byte[byteCount];
+	file.seek(offset);
+	file.read(data);
+	return data;
+}
+
+/*
+* Decode the strip or tile at index into the image. A strip is decoded in
+* place, a tile is decoded into its own buffer and its rows are copied into
+* the part of the image it covers.
+*/
+void decodeSegment(int index, byte[] data, byte[] imageData, int bytesPerRow) {
+	decodeSegment(index, data, imageData, bytesPerRow, 0, 0);
+}
+
+/*
+* Decode the strip or tile at index into part of the image. The first row
+* of dest is row originY of the image, and each of its rows starts with
+* byte originX of the row of the image. Strips always cover whole rows.
+*/
+void decodeSegment(int index, byte[] data, byte[] dest, int bytesPerRow, int originX, int originY) {
+	if (tileOffsets == null) {
+		int y = (int)Math.min((long)index * rowsPerStrip, imageLength);
+		int nRows = Math.min(rowsPerStrip, imageLength - y);
+		if (nRows == 0) return;
+		int destIndex = (y - originY) * bytesPerRow;
+		decompress(data, dest, destIndex, imageWidth, bytesPerRow, nRows);
+		return;
+	}
+	int tilesAcross = (imageWidth + tileWidth - 1) / tileWidth;
+	int x = index % tilesAcross * tileWidth, y = index / tilesAcross * tileLength;
+	if (y >= imageLength) return;
+	int tileBytesPerRow = tileWidth * depth / 8;
+	byte[] tile = new byte[tileBytesPerRow * tileLength];
+	decompress(data, tile, 0, tileWidth, tileBytesPerRow, tileLength);
+	int xOffset = x * depth / 8 - originX;
+	int count = Math.min(tileBytesPerRow, bytesPerRow - xOffset);
+	int nRows = Math.min(tileLength, imageLength - y);
+	for (int row = 0; row < nRows; row++) {
+		System.arraycopy(tile, row * tileBytesPerRow, dest, (y - originY + row) * bytesPerRow + xOffset, count);
+	}
+}
+
+/*
+* Decompress the rows of a strip or tile into dest and undo the predictor.
+*/
+void decompress(byte[] data, byte[] dest, int destIndex, int width, int bytesPerRow, int nRows) {
+	int length = bytesPerRow * nRows;
+	switch (compression) {
+		case COMPRESSION_NONE: {
+			System.arraycopy(data, 0, dest, destIndex, Math.min(data.length, length));
+			break;
+		}
+		case COMPRESSION_PACKBITS: {
+			decodePackBits(data, dest, destIndex, length);
+			break;
+		}
+		case COMPRESSION_CCITT_3_1:
+		case 3: {
 			TIFFModifiedHuffmanCodec codec = new TIFFModifiedHuffmanCodec();
-			int nRows = rowsPerStrip;
-			if (i == length -1) {
-				int n = imageLength % rowsPerStrip;
-				if (n != 0) nRows = n;
+			codec.decode(data, dest, destIndex, width, nRows);
+			break;
+		}
+		case COMPRESSION_LZW: {
+			TIFFLZWCodec codec = new TIFFLZWCodec();
+			codec.decode(data, dest, destIndex, length);
+			break;
+		}
+		case COMPRESSION_DEFLATE:
+		case COMPRESSION_DEFLATE_OLD: {
+			Inflater inflater = new Inflater();
+			try {
+				inflater.setInput(data);
+				int count = 0;
+				while (count < length && !inflater.finished() && !inflater.needsInput() && !inflater.needsDictionary()) {
+					count += inflater.inflate(dest, destIndex + count, length - count);
+				}
+			} catch (DataFormatException e) {
+				SWT.error(SWT.ERROR_INVALID_IMAGE, e);
+			} finally {
+				inflater.end();
 			}
-			destIndex += codec.decode(data, imageData, destIndex, imageWidth, nRows);
+			break;
 		}
-		if (loader.hasListeners()) {
-			loader.notifyListeners(new ImageLoaderEvent(loader, image, i, i == length - 1));
+		default: SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
+	}
+	if (predictor == PREDICTOR_HORIZONTAL) {
+		/* Each sample is stored as the difference to the same sample of the previous pixel */
+		int rowEnd = destIndex + width * samplesPerPixel;
+		for (int row = 0; row < nRows; row++) {
+			for (int i = destIndex + samplesPerPixel; i < rowEnd; i++) {
+				dest[i] += dest[i - samplesPerPixel];
+			}
+			destIndex += bytesPerRow;
+			rowEnd += bytesPerRow;
 		}
 	}
 }
@@ -358,6 +586,7 @@ void parseEntries(byte[] buffer) throws IOException {
 				break;
 			}
 			case TAG_StripOffsets: {
+				if (describeOnly) break;
 				if (type != TYPE_LONG && type != TYPE_SHORT) SWT.error(SWT.ERROR_INVALID_IMAGE);
 				stripOffsets = new int[count];
 				getEntryValue(type, buffer, offset, stripOffsets);
@@ -379,6 +608,7 @@ void parseEntries(byte[] buffer) throws IOException {
 				break;
 			}
 			case TAG_StripByteCounts: {
+				if (describeOnly) break;
 				stripByteCounts = new int[count];
 				getEntryValue(type, buffer, offset, stripByteCounts);
 				break;
@@ -416,6 +646,31 @@ void parseEntries(byte[] buffer) throws IOException {
 				/* Ignored */
 				break;
 			}
+			case TAG_Predictor: {
+				predictor = getEntryValue(type, buffer, offset);
+				break;
+			}
+			case TAG_TileWidth: {
+				tileWidth = getEntryValue(type, buffer, offset);
+				break;
+			}
+			case TAG_TileLength: {
+				tileLength = getEntryValue(type, buffer, offset);
+				break;
+			}
+			case TAG_TileOffsets: {
+				if (describeOnly) break;
+				if (type != TYPE_LONG && type != TYPE_SHORT) SWT.error(SWT.ERROR_INVALID_IMAGE);
+				tileOffsets = new int[count];
+				getEntryValue(type, buffer, offset, tileOffsets);
+				break;
+			}
+			case TAG_TileByteCounts: {
+				if (describeOnly) break;
+				tileByteCounts = new int[count];
+				getEntryValue(type, buffer, offset, tileByteCounts);
+				break;
+			}
 			case TAG_ColorMap: {
 				if (type != TYPE_SHORT) SWT.error(SWT.ERROR_INVALID_IMAGE);
 				/* Get the offset of the colorMap (use TYPE_LONG) */
@@ -426,7 +681,10 @@ void parseEntries(byte[] buffer) throws IOException {
 	}
 }
 
-public ImageData read(int [] nextIFDOffset) throws IOException {
+/*
+* Read the entries of the directory and the offset of the next one.
+*/
+void readEntries(int [] nextIFDOffset) throws IOException {
 	/* Set TIFF default values */
 	bitsPerSample = new int[] {1};
 	colorMapOffset = NO_VALUE;
@@ -434,10 +692,13 @@ public ImageData read(int [] nextIFDOffset) throws IOException {
 	imageLength = NO_VALUE;
 	imageWidth = NO_VALUE;
 	photometricInterpretation = NO_VALUE;
+	predictor = PREDICTOR_NONE;
 	rowsPerStrip = Integer.MAX_VALUE;
 	samplesPerPixel = 1;
 	stripByteCounts = null;
 	stripOffsets = null;
+	tileByteCounts = null;
+	tileOffsets = null;
 
 	byte[] buffer = new byte[2];
 	file.read(buffer);
@@ -448,7 +709,45 @@ public ImageData read(int [] nextIFDOffset) throws IOException {
 	file.read(buffer2);
 	nextIFDOffset[0] = toInt(buffer2, 0, TYPE_LONG);
 	parseEntries(buffer);
+}
+
+/*
+* Skip the entries of the directory and read the offset of the next one.
+*/
+void skipEntries(int [] nextIFDOffset) throws IOException {
+	byte[] buffer = new byte[2];
+	file.read(buffer);
+	int numberEntries = toInt(buffer, 0, TYPE_SHORT);
+	file.skip(IFD_ENTRY_SIZE * numberEntries);
+	buffer = new byte[4];
+	file.read(buffer);
+	nextIFDOffset[0] = toInt(buffer, 0, TYPE_LONG);
+}
 
+/*
+* Return the depth of the image read() creates for the directory.
+*/
+int getDepth() {
+	if (photometricInterpretation == 2) {
+		if (bitsPerSample.length < 3) SWT.error(SWT.ERROR_INVALID_IMAGE);
+		return bitsPerSample[0] + bitsPerSample[1] + bitsPerSample[2];
+	}
+	if (photometricInterpretation < 0 || photometricInterpretation > 3) SWT.error(SWT.ERROR_INVALID_IMAGE);
+	return bitsPerSample[0];
+}
+
+public ImageData read(int [] nextIFDOffset) throws IOException {
+	readEntries(nextIFDOffset);
+	ImageData image = createImage();
+	decodePixels(image);
+	return image;
+}
+
+/*
+* Create the image described by the entries of the directory, without
+* its pixels.
+*/
+ImageData createImage() throws IOException {
 	PaletteData palette = null;
 	depth = 0;
 	switch (photometricInterpretation) {
@@ -496,7 +795,6 @@ public ImageData read(int [] nextIFDOffset) throws IOException {
 			0,
 			0,
 			0);
-	decodePixels(image);
 	return image;
 }
 
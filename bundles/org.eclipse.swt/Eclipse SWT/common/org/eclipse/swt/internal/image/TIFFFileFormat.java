@@ -17,12 +17,15 @@ package org.eclipse.swt.internal.image;
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 import java.io.*;
+import java.util.*;
 
 /**
  * Baseline TIFF decoder revision 6.0
  * Extension T4-encoding CCITT T.4 1D
+ * Extensions LZW and Deflate compression, horizontal predictor, tiles
  */
 public final class TIFFFileFormat extends FileFormat {
+	boolean isLittleEndian;
 
 @Override
 boolean isFileFormat(LEDataInputStream stream) {
@@ -41,24 +44,32 @@ boolean isFileFormat(LEDataInputStream stream) {
 	}
 }
 
+/**
+ * Read the header and return the offset of the first IFD.
+ */
+int readHeader(TIFFRandomFileAccess file) throws IOException {
+	byte[] header = new byte[8];
+	file.read(header);
+	if (header[0] != header[1]) SWT.error(SWT.ERROR_INVALID_IMAGE);
+	if (!(header[0] == 0x49 && header[2] == 42 && header[3] == 0) &&
+		!(header[0] == 0x4d && header[2] == 0 && header[3] == 42)) {
+		SWT.error(SWT.ERROR_INVALID_IMAGE);
+	}
+	isLittleEndian = header[0] == 0x49;
+	return isLittleEndian ?
+		(header[4] & 0xFF) | ((header[5] & 0xFF) << 8) | ((header[6] & 0xFF) << 16) | ((header[7] & 0xFF) << 24) :
+		(header[7] & 0xFF) | ((header[6] & 0xFF) << 8) | ((header[5] & 0xFF) << 16) | ((header[4] & 0xFF) << 24);
+}
+
 @Override
 ImageData[] loadFromByteStream() {
-	byte[] header = new byte[8];
-	boolean isLittleEndian;
 	ImageData[] images = new ImageData[0];
 	TIFFRandomFileAccess file = new TIFFRandomFileAccess(inputStream);
 	try {
-		file.read(header);
-		if (header[0] != header[1]) SWT.error(SWT.ERROR_INVALID_IMAGE);
-		if (!(header[0] == 0x49 && header[2] == 42 && header[3] == 0) &&
-			!(header[0] == 0x4d && header[2] == 0 && header[3] == 42)) {
-			SWT.error(SWT.ERROR_INVALID_IMAGE);
-		}
-		isLittleEndian = header[0] == 0x49;
-		int offset = isLittleEndian ?
-			(header[4] & 0xFF) | ((header[5] & 0xFF) << 8) | ((header[6] & 0xFF) << 16) | ((header[7] & 0xFF) << 24) :
-			(header[7] & 0xFF) | ((header[6] & 0xFF) << 8) | ((header[5] & 0xFF) << 16) | ((header[4] & 0xFF) << 24);
-		while (offset != 0) {
+		int offset = readHeader(file);
+		/* Every page of a multi-page file is read, a chain that loops back ends at the repeated page */
+		Set<Integer> visited = new HashSet<>();
+		while (offset != 0 && visited.add(offset)) {
 			file.seek(offset);
 			TIFFDirectory directory = new TIFFDirectory(file, isLittleEndian, loader);
 			int [] nextIFDOffset = new int[1];
@@ -75,6 +86,59 @@ ImageData[] loadFromByteStream() {
 	return images;
 }
 
+/**
+ * Read the directories of all pages, without their pixels.
+ */
+@Override
+ImageInfo probeFromByteStream() throws IOException {
+	/*
+	* The directories can be stored in any order, the bytes of the stream
+	* are kept until the last one is read.
+	*/
+	return probe(new TIFFRandomFileAccess(inputStream));
+}
+
+/**
+ * Read the directories of all pages of the file, without their pixels.
+ * Returns null when the file is not a TIFF file.
+ */
+static ImageInfo probe(RandomAccessFile file) throws IOException {
+	byte[] header = new byte[4];
+	if (file.read(header) != header.length) return null;
+	if (header[0] != header[1]) return null;
+	if (!(header[0] == 0x49 && header[2] == 42 && header[3] == 0) &&
+		!(header[0] == 0x4d && header[2] == 0 && header[3] == 42)) {
+		return null;
+	}
+	file.seek(0);
+	TIFFFileFormat format = new TIFFFileFormat();
+	format.loader = new ImageLoader();
+	return format.probe(new TIFFRandomFileAccess(file));
+}
+
+ImageInfo probe(TIFFRandomFileAccess file) throws IOException {
+	int offset = readHeader(file);
+	ImageInfo info = null;
+	Set<Integer> visited = new HashSet<>();
+	while (offset != 0 && visited.add(offset)) {
+		file.seek(offset);
+		TIFFDirectory directory = new TIFFDirectory(file, isLittleEndian, loader);
+		int [] nextIFDOffset = new int[1];
+		if (info == null) {
+			/* Only the first directory describes the image, the others are counted */
+			directory.describeOnly = true;
+			directory.readEntries(nextIFDOffset);
+			info = new ImageInfo(directory.imageWidth, directory.imageLength, directory.getDepth(), 0, SWT.IMAGE_TIFF);
+		} else {
+			directory.skipEntries(nextIFDOffset);
+		}
+		offset = nextIFDOffset[0];
+		info.imageCount++;
+	}
+	if (info == null) SWT.error(SWT.ERROR_INVALID_IMAGE);
+	return info;
+}
+
 @Override
 void unloadIntoByteStream(ImageLoader loader) {
 	/* We do not currently support writing multi-page tiff,
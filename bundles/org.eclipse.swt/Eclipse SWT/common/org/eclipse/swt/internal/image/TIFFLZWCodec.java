@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+/*
+* Decoder for
+* - LZW compression (TIFF compression type 5)
+*
+* Codes are stored most significant bit first and the code size grows
+* one code earlier than in GIF. Every string in the table is a prefix of
+* the output followed by one more byte, so the table only records where
+* the string was written and its length, and strings are copied from
+* the output.
+*/
+final class TIFFLZWCodec {
+	static final int CLEAR_CODE = 256;
+	static final int END_CODE = 257;
+	static final int FIRST_CODE = 258;
+	static final int MAX_CODES = 4096;
+
+	int[] stringStart = new int[MAX_CODES];
+	int[] stringLength = new int[MAX_CODES];
+
+/**
+ * Decodes the strip or tile in src into dest, writing at most
+ * length bytes from offsetDest. Returns the number of bytes written.
+ */
+public int decode(byte[] src, byte[] dest, int offsetDest, int length) {
+	int end = offsetDest + length;
+	int destIndex = offsetDest;
+	int srcIndex = 0;
+	int bitBuffer = 0, bitCount = 0;
+	int codeSize = 9, nextCode = FIRST_CODE;
+	int oldCode = -1, oldStart = 0;
+	for (int i = 0; i < CLEAR_CODE; i++) stringLength[i] = 1;
+	while (destIndex < end) {
+		while (bitCount < codeSize) {
+			if (srcIndex == src.length) return destIndex - offsetDest;
+			bitBuffer = (bitBuffer << 8) | (src[srcIndex++] & 0xFF);
+			bitCount += 8;
+		}
+		bitCount -= codeSize;
+		int code = (bitBuffer >>> bitCount) & ((1 << codeSize) - 1);
+		if (code == CLEAR_CODE) {
+			codeSize = 9;
+			nextCode = FIRST_CODE;
+			oldCode = -1;
+			continue;
+		}
+		if (code == END_CODE) break;
+		int start = destIndex;
+		if (code < CLEAR_CODE) {
+			dest[destIndex++] = (byte)code;
+		} else if (code < nextCode && oldCode != -1) {
+			int count = Math.min(stringLength[code], end - destIndex);
+			System.arraycopy(dest, stringStart[code], dest, destIndex, count);
+			destIndex += count;
+		} else if (code == nextCode && oldCode != -1) {
+			/* The string of the previous code followed by its first byte */
+			int count = Math.min(stringLength[oldCode], end - destIndex);
+			System.arraycopy(dest, oldStart, dest, destIndex, count);
+			destIndex += count;
+			if (destIndex < end) dest[destIndex++] = dest[oldStart];
+		} else {
+			/* Corrupt data */
+			break;
+		}
+		if (oldCode != -1 && nextCode < MAX_CODES) {
+			stringStart[nextCode] = oldStart;
+			stringLength[nextCode] = stringLength[oldCode] + 1;
+			nextCode++;
+			if (nextCode == (1 << codeSize) - 1 && codeSize < 12) codeSize++;
+		}
+		oldCode = code;
+		oldStart = start;
+	}
+	return destIndex - offsetDest;
+}
+
+}
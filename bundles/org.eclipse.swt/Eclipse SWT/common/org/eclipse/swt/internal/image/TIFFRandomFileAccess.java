@@ -20,6 +20,7 @@ final class TIFFRandomFileAccess {
 	LEDataInputStream inputStream;
 	int start, current, next;
 	byte[][] buffers;
+	RandomAccessFile randomFile;
 
 	static final int CHUNK_SIZE = 8192;
 	static final int LIST_SIZE = 128;
@@ -30,7 +31,18 @@ public TIFFRandomFileAccess(LEDataInputStream stream) {
 	buffers = new byte[LIST_SIZE][];
 }
 
+/*
+* Read the bytes directly from the file, without keeping them.
+*/
+public TIFFRandomFileAccess(RandomAccessFile file) {
+	randomFile = file;
+}
+
 void seek(int pos) throws IOException {
+	if (randomFile != null) {
+		randomFile.seek(pos);
+		return;
+	}
 	if (pos == current) return;
 	if (pos < start) throw new IOException();
 	current = pos;
@@ -47,6 +59,7 @@ void seek(int pos) throws IOException {
 			}
 			if (buffers[index] == null) buffers[index] = new byte[CHUNK_SIZE];
 			int cnt = inputStream.read(buffers[index], offset, Math.min(n, CHUNK_SIZE - offset));
+			if (cnt < 0) throw new EOFException();
 			n -= cnt;
 			next += cnt;
 			index++;
@@ -55,7 +68,18 @@ void seek(int pos) throws IOException {
 	}
 }
 
+/*
+* Move past the next bytes without reading them.
+*/
+void skip(int n) throws IOException {
+	seek(randomFile != null ? (int) randomFile.getFilePointer() + n : current + n);
+}
+
 void read(byte b[]) throws IOException {
+	if (randomFile != null) {
+		randomFile.readFully(b);
+		return;
+	}
 	int size = b.length;
 	int nCached = Math.min(size, next - current);
 	int nMissing = size - next + current;
@@ -85,6 +109,7 @@ void read(byte b[]) throws IOException {
 			}
 			if (buffers[index] == null) buffers[index] = new byte[CHUNK_SIZE];
 			int cnt = inputStream.read(buffers[index], offset, Math.min(nMissing, CHUNK_SIZE - offset));
+			if (cnt < 0) throw new EOFException();
 			System.arraycopy(buffers[index], offset, b, destNext, cnt);
 			nMissing -= cnt;
 			next += cnt;
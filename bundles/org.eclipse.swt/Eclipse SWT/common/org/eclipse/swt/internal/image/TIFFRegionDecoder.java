@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import java.io.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Decodes regions of the first page of TIFF files by reading only the
+ * strips or tiles that hold pixels of the region.
+ */
+final class TIFFRegionDecoder extends RegionDecoder {
+	RandomAccessFile file;
+	TIFFDirectory directory;
+	ImageData image;
+
+/*
+* Returns null when the file is not a TIFF file.
+*/
+static TIFFRegionDecoder load(String filename) throws IOException {
+	RandomAccessFile file = new RandomAccessFile(filename, "r"); //$NON-NLS-1$
+	try {
+		byte[] header = new byte[4];
+		if (file.read(header) != header.length) return null;
+		if (header[0] != header[1]) return null;
+		if (!(header[0] == 0x49 && header[2] == 42 && header[3] == 0) &&
+			!(header[0] == 0x4d && header[2] == 0 && header[3] == 42)) {
+			return null;
+		}
+		file.seek(0);
+		TIFFRandomFileAccess access = new TIFFRandomFileAccess(file);
+		TIFFFileFormat format = new TIFFFileFormat();
+		int offset = format.readHeader(access);
+		access.seek(offset);
+		TIFFRegionDecoder decoder = new TIFFRegionDecoder();
+		decoder.directory = new TIFFDirectory(access, format.isLittleEndian, null);
+		decoder.directory.readEntries(new int[1]);
+		decoder.image = decoder.directory.createImage();
+		decoder.directory.checkSegments();
+		decoder.width = decoder.image.width;
+		decoder.height = decoder.image.height;
+		decoder.file = file;
+		file = null;
+		return decoder;
+	} finally {
+		if (file != null) file.close();
+	}
+}
+
+@Override
+public ImageData decode(int x, int y, int width, int height, int step) {
+	Reduction reduction = new Reduction(width, height, step, image);
+	try {
+		directory.decodeRegion(image, x, y, width, height, reduction);
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+	return reduction.result;
+}
+
+@Override
+public void close() {
+	try {
+		file.close();
+	} catch (IOException e) {
+	}
+}
+}
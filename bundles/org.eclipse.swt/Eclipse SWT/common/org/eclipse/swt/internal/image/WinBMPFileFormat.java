@@ -542,6 +542,19 @@ ImageData[] loadFromByteStream() {
 			0)
 	};
 }
+@Override
+ImageInfo probeFromByteStream() throws IOException {
+	loadFileHeader();
+	byte[] infoHeader = new byte[BMPHeaderFixedSize];
+	inputStream.read(infoHeader);
+	int width = (infoHeader[4] & 0xFF) | ((infoHeader[5] & 0xFF) << 8) | ((infoHeader[6] & 0xFF) << 16) | ((infoHeader[7] & 0xFF) << 24);
+	int height = (infoHeader[8] & 0xFF) | ((infoHeader[9] & 0xFF) << 8) | ((infoHeader[10] & 0xFF) << 16) | ((infoHeader[11] & 0xFF) << 24);
+	if (height < 0) height = -height;
+	int bitCount = (infoHeader[14] & 0xFF) | ((infoHeader[15] & 0xFF) << 8);
+	int compression = (infoHeader[16] & 0xFF) | ((infoHeader[17] & 0xFF) << 8) | ((infoHeader[18] & 0xFF) << 16) | ((infoHeader[19] & 0xFF) << 24);
+	int type = (compression == 1 /*BMP_RLE8_COMPRESSION*/) || (compression == 2 /*BMP_RLE4_COMPRESSION*/) ? SWT.IMAGE_BMP_RLE : SWT.IMAGE_BMP;
+	return new ImageInfo(width, height, bitCount, 1, type);
+}
 PaletteData loadPalette(byte[] infoHeader) {
 	int depth = (infoHeader[14] & 0xFF) | ((infoHeader[15] & 0xFF) << 8);
 	if (depth <= 8) {
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import java.io.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Decodes regions of uncompressed Windows bitmap files by reading only
+ * the rows and the bytes of the rows that are needed.
+ */
+final class WinBMPRegionDecoder extends RegionDecoder {
+	RandomAccessFile file;
+	PaletteData palette;
+	int depth, stride, offset;
+	boolean bottomUp;
+
+/*
+* Returns null when the file is not an uncompressed bitmap.
+*/
+static WinBMPRegionDecoder load(String filename) throws IOException {
+	WinBMPFileFormat format = new WinBMPFileFormat();
+	byte[] infoHeader = new byte[WinBMPFileFormat.BMPHeaderFixedSize];
+	int[] fileHeader;
+	PaletteData palette;
+	try (InputStream stream = new BufferedInputStream(new FileInputStream(filename))) {
+		format.inputStream = new LEDataInputStream(stream);
+		if (!format.isFileFormat(format.inputStream)) return null;
+		fileHeader = format.loadFileHeader();
+		if (format.inputStream.read(infoHeader) != infoHeader.length) return null;
+		format.compression = (infoHeader[16] & 0xFF) | ((infoHeader[17] & 0xFF) << 8) | ((infoHeader[18] & 0xFF) << 16) | ((infoHeader[19] & 0xFF) << 24);
+		if (format.compression != WinBMPFileFormat.BI_RGB && format.compression != WinBMPFileFormat.BI_BITFIELDS) return null;
+		palette = format.loadPalette(infoHeader);
+	}
+	WinBMPRegionDecoder decoder = new WinBMPRegionDecoder();
+	decoder.width = (infoHeader[4] & 0xFF) | ((infoHeader[5] & 0xFF) << 8) | ((infoHeader[6] & 0xFF) << 16) | ((infoHeader[7] & 0xFF) << 24);
+	int height = (infoHeader[8] & 0xFF) | ((infoHeader[9] & 0xFF) << 8) | ((infoHeader[10] & 0xFF) << 16) | ((infoHeader[11] & 0xFF) << 24);
+	decoder.bottomUp = height > 0;
+	decoder.height = Math.abs(height);
+	decoder.depth = (infoHeader[14] & 0xFF) | ((infoHeader[15] & 0xFF) << 8);
+	decoder.palette = palette;
+	decoder.stride = ((decoder.width * decoder.depth + 7) / 8 + 3) / 4 * 4;
+	decoder.offset = fileHeader[4];
+	decoder.file = new RandomAccessFile(filename, "r"); //$NON-NLS-1$
+	return decoder;
+}
+
+@Override
+public ImageData decode(int x, int y, int width, int height, int step) {
+	/* Read the bytes that hold the pixels of the region, starting at a byte boundary */
+	int start = x * depth / 8, end = ((x + width) * depth + 7) / 8;
+	int shift = x - start * 8 / depth;
+	byte[] bytes = new byte[end - start];
+	ImageData row = new ImageData(bytes.length * 8 / depth, 1, depth, palette, 1, bytes);
+	Reduction reduction = new Reduction(width, height, step, row);
+	try {
+		for (int i = 0; i < height; i++) {
+			int line = bottomUp ? this.height - 1 - (y + i) : y + i;
+			file.seek(offset + (long) line * stride + start);
+			file.readFully(bytes);
+			reduction.add(row, null, shift, 0);
+		}
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+	return reduction.result;
+}
+
+@Override
+public void close() {
+	try {
+		file.close();
+	} catch (IOException e) {
+	}
+}
+}
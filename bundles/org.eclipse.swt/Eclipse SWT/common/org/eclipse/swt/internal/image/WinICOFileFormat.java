@@ -125,6 +125,34 @@ ImageData[] loadFromByteStream() {
 	}
 	return icons;
 }
+@Override
+ImageInfo probeFromByteStream() throws IOException {
+	int numIcons = loadFileHeader(inputStream);
+	int[][] headers = loadIconHeaders(numIcons);
+	/* The first icon is the first image loaded */
+	int[] iconHeader = headers[0];
+	if (inputStream.getPosition() < iconHeader[6]) {
+		inputStream.skip(iconHeader[6] - inputStream.getPosition());
+	}
+	FileFormat png = null;
+	try {
+		png = getFileFormat(inputStream, "PNG");
+	} catch (Exception e) {
+	}
+	if (png != null) {
+		png.inputStream = inputStream;
+		ImageInfo info = png.probeFromByteStream();
+		info.imageCount = numIcons;
+		info.type = SWT.IMAGE_ICO;
+		return info;
+	}
+	byte[] infoHeader = loadInfoHeader(iconHeader);
+	int width = (infoHeader[4] & 0xFF) | ((infoHeader[5] & 0xFF) << 8) | ((infoHeader[6] & 0xFF) << 16) | ((infoHeader[7] & 0xFF) << 24);
+	int height = (infoHeader[8] & 0xFF) | ((infoHeader[9] & 0xFF) << 8) | ((infoHeader[10] & 0xFF) << 16) | ((infoHeader[11] & 0xFF) << 24);
+	if (height < 0) height = -height;
+	int depth = (infoHeader[14] & 0xFF) | ((infoHeader[15] & 0xFF) << 8);
+	return new ImageInfo(width, height, depth, numIcons, SWT.IMAGE_ICO);
+}
 /**
  * Load one icon from the byte stream.
  */
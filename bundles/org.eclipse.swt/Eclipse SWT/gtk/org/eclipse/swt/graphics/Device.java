@@ -15,6 +15,7 @@ package org.eclipse.swt.graphics;
 
 
 import java.io.*;
+import java.util.*;
 import java.util.function.*;
 import java.util.stream.*;
 
@@ -70,6 +71,23 @@ public abstract class Device implements Drawable {
 	/* Disposed flag */
 	volatile boolean disposed;
 
+	/* Image surfaces at zoom levels other than the current one, least recently used first */
+	LinkedHashMap<Image.ZoomSurface, Image.ZoomSurface> imageCache = new LinkedHashMap<> (16, 0.75f, true);
+	long imageCacheSize, imageCacheLimit = IMAGE_CACHE_LIMIT;
+	int imageCacheHits, imageCacheMisses, imageCacheEvictions;
+	static final long IMAGE_CACHE_LIMIT = 64 * 1024 * 1024;
+
+	/* Paths whose rasterized result is kept, least recently used first */
+	LinkedHashMap<Path, Path> pathCache = new LinkedHashMap<> (16, 0.75f, true);
+	long pathCacheSize;
+	static final long PATH_CACHE_LIMIT = 16 * 1024 * 1024;
+
+	/* Measured string extents, least recently used first */
+	LinkedHashMap<TextExtentKey, Point> textExtentCache = new LinkedHashMap<> (16, 0.75f, true);
+	int textExtentHits, textExtentMisses;
+	static final int TEXT_EXTENT_CACHE_SIZE = 1024;
+	static final int TEXT_EXTENT_MAX_LENGTH = 256;
+
 	/* Warning and Error Handlers */
 	long logProc;
 	Callback logCallback;
@@ -95,6 +113,9 @@ public abstract class Device implements Drawable {
 	/* System Font */
 	Font systemFont;
 
+	/* Shared fonts and colors */
+	final SharedResources sharedResources = new SharedResources (this);
+
 	/* Device dpi */
 	Point dpi;
 
@@ -160,6 +181,7 @@ public Device(DeviceData data) {
 		if (data != null) {
 			debug = data.debug;
 			tracking = data.tracking;
+			if (data.imageCacheLimit != 0) imageCacheLimit = Math.max (0, data.imageCacheLimit);
 		}
 		if (tracking) {
 			startTracking();
@@ -215,6 +237,144 @@ private void stopTracking() {
 	}
 }
 
+/*
+* Adds the surface of an image at a zoom level other than the current one
+* to the image cache, and discards the least recently used surfaces until
+* the cache is within its limit again.
+*/
+void cacheSurface (Image.ZoomSurface entry) {
+	imageCache.put (entry, entry);
+	imageCacheSize += entry.size;
+	Iterator<Image.ZoomSurface> iterator = imageCache.keySet ().iterator ();
+	while (imageCacheSize > imageCacheLimit && iterator.hasNext ()) {
+		Image.ZoomSurface eldest = iterator.next ();
+		iterator.remove ();
+		imageCacheSize -= eldest.size;
+		imageCacheEvictions++;
+		eldest.image.releaseSurface (eldest);
+	}
+}
+
+void uncacheSurface (Image.ZoomSurface entry) {
+	if (imageCache.remove (entry) != null) imageCacheSize -= entry.size;
+}
+
+/*
+* Adds a path whose rasterized result is kept to the path cache, and
+* discards the results of the least recently drawn paths until the
+* cache is within its limit again.
+*/
+void cachePath (Path path) {
+	pathCache.put (path, path);
+	pathCacheSize += path.cacheSize;
+	Iterator<Path> iterator = pathCache.keySet ().iterator ();
+	while (pathCacheSize > PATH_CACHE_LIMIT && iterator.hasNext ()) {
+		Path eldest = iterator.next ();
+		if (eldest == path) continue;
+		iterator.remove ();
+		pathCacheSize -= eldest.cacheSize;
+		eldest.flushCache ();
+	}
+}
+
+/*
+* Marks a path as the most recently drawn one.
+*/
+void touchPath (Path path) {
+	pathCache.get (path);
+}
+
+void uncachePath (Path path) {
+	if (pathCache.remove (path) != null) pathCacheSize -= path.cacheSize;
+}
+
+/*
+* The key of a measured string extent. Fonts are identified by the string
+* form of their font description, so the key does not keep the font alive
+* and a font that reuses the handle of a disposed font does not match it.
+* The text state holds the settings of the GC that change how its Pango
+* context measures, and the zoom is the zoom of the drawable of the GC.
+*/
+static final class TextExtentKey {
+	final String font, string;
+	final int flags, textState, zoom, hash;
+
+	TextExtentKey (String font, String string, int flags, int textState, int zoom) {
+		this.font = font;
+		this.string = string;
+		this.flags = flags;
+		this.textState = textState;
+		this.zoom = zoom;
+		hash = (((font.hashCode () * 31 + string.hashCode ()) * 31 + flags) * 31 + textState) * 31 + zoom;
+	}
+
+	@Override
+	public boolean equals (Object object) {
+		if (this == object) return true;
+		if (!(object instanceof TextExtentKey)) return false;
+		TextExtentKey key = (TextExtentKey) object;
+		return flags == key.flags && textState == key.textState && zoom == key.zoom && font.equals (key.font) && string.equals (key.string);
+	}
+
+	@Override
+	public int hashCode () {
+		return hash;
+	}
+}
+
+/*
+* Returns the extent in pixels of a string measured before with the same
+* font, flags and zoom, or null. Long strings are not cached.
+*/
+Point getTextExtent (TextExtentKey key) {
+	synchronized (textExtentCache) {
+		Point extent = textExtentCache.get (key);
+		if (extent == null) {
+			textExtentMisses++;
+			return null;
+		}
+		textExtentHits++;
+		return new Point (extent.x, extent.y);
+	}
+}
+
+void putTextExtent (TextExtentKey key, Point extent) {
+	synchronized (textExtentCache) {
+		textExtentCache.put (key, new Point (extent.x, extent.y));
+		if (textExtentCache.size () > TEXT_EXTENT_CACHE_SIZE) {
+			Iterator<TextExtentKey> iterator = textExtentCache.keySet ().iterator ();
+			iterator.next ();
+			iterator.remove ();
+		}
+	}
+}
+
+/**
+ * Discards the sizes of strings that the receiver keeps to measure
+ * text faster. Subclasses call this method when the way text is
+ * measured changes without a change of font, for example when the
+ * resolution or the font rendering settings of the desktop change.
+ * On platforms where the receiver does not keep the sizes of
+ * strings, this method does nothing.
+ *
+ * @since 3.125
+ */
+protected void flushTextExtents () {
+	synchronized (textExtentCache) {
+		textExtentCache.clear ();
+	}
+}
+
+/*
+* Discards the measured string extents of a font, called when the font
+* is disposed.
+*/
+void flushTextExtents (String font) {
+	synchronized (textExtentCache) {
+		textExtentCache.keySet ().removeIf (key -> key.font.equals (font));
+	}
+}
+
 /**
  * Throws an <code>SWTException</code> if the receiver can not
  * be accessed by the caller. This may include both checks on
@@ -371,6 +531,15 @@ public DeviceData getDeviceData () {
 	DeviceData data = new DeviceData ();
 	data.debug = debug;
 	data.tracking = tracking;
+	data.imageCacheLimit = imageCacheLimit;
+	data.imageCacheSize = imageCacheSize;
+	data.imageCacheHits = imageCacheHits;
+	data.imageCacheMisses = imageCacheMisses;
+	data.imageCacheEvictions = imageCacheEvictions;
+	synchronized (textExtentCache) {
+		data.textExtentCacheHits = textExtentHits;
+		data.textExtentCacheMisses = textExtentMisses;
+	}
 	if (tracking) {
 		synchronized (trackingLock) {
 			int count = 0, length = objects.length;
@@ -444,6 +613,64 @@ public Point getDPI () {
 	return getScreenDPI();
 }
 
+/**
+ * Returns a color for the given RGBA value that is shared with the
+ * other callers of this method. Colors do not hold on to operating
+ * system resources, so the returned color does not need to be
+ * disposed and disposing it has no effect.
+ *
+ * @param rgba the RGBA values of the desired color
+ * @return a shared color
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the rgba argument is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the red, green, blue or alpha argument is not between 0 and 255</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #getFont(FontData)
+ *
+ * @since 3.125
+ */
+public Color getColor (RGBA rgba) {
+	checkDevice ();
+	if (rgba == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	return sharedResources.getColor (rgba);
+}
+
+/**
+ * Returns a font for the given font data that shares its operating
+ * system font with the other fonts returned by this method for the
+ * same font data. Every call returns a new font that must be disposed
+ * when it is no longer required; disposing it again has no effect.
+ * The operating system font is released when the last of the fonts
+ * that share it has been disposed, or when the receiver is disposed.
+ *
+ * @param fontData the font data of the desired font
+ * @return a shared font
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the fontData argument is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ * @exception SWTError <ul>
+ *    <li>ERROR_NO_HANDLES - if a font could not be created from the given font data</li>
+ * </ul>
+ *
+ * @see #getColor(RGBA)
+ *
+ * @since 3.125
+ */
+public Font getFont (FontData fontData) {
+	checkDevice ();
+	if (fontData == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	return sharedResources.getFont (fontData);
+}
+
 /**
  * Returns <code>FontData</code> objects which describe
  * the fonts that match the given arguments. If the
@@ -976,10 +1203,28 @@ protected void release () {
 	}
 	shellHandle = 0;
 
+	/* Dispose the shared fonts and colors */
+	sharedResources.dispose ();
+
 	/* Dispose the default font */
 	if (systemFont != null) systemFont.dispose ();
 	systemFont = null;
 
+	/* Discard the image cache */
+	for (Image.ZoomSurface entry : imageCache.keySet ().toArray (new Image.ZoomSurface [0])) {
+		entry.image.releaseSurface (entry);
+	}
+	imageCache.clear ();
+	imageCacheSize = 0;
+
+	/* Discard the kept path results */
+	for (Path path : pathCache.keySet ().toArray (new Path [0])) {
+		path.flushCache ();
+	}
+	pathCache.clear ();
+	pathCacheSize = 0;
+	flushTextExtents ();
+
 	COLOR_BLACK = COLOR_DARK_RED = COLOR_DARK_GREEN = COLOR_DARK_YELLOW = COLOR_DARK_BLUE =
 	COLOR_DARK_MAGENTA = COLOR_DARK_CYAN = COLOR_GRAY = COLOR_DARK_GRAY = COLOR_RED =
 	COLOR_GREEN = COLOR_YELLOW = COLOR_BLUE = COLOR_MAGENTA = COLOR_CYAN = COLOR_WHITE = null;
@@ -49,6 +49,11 @@ public final class Font extends Resource {
 	 */
 	public long handle;
 
+	/**
+	 * The string form of the font description, see description()
+	 */
+	String description;
+
 Font(Device device) {
 	super(device);
 }
@@ -155,10 +160,22 @@ public Font(Device device, String name, int height, int style) {
 
 @Override
 void destroy() {
+	if (description != null) device.flushTextExtents(description);
 	OS.pango_font_description_free(handle);
 	handle = 0;
 }
 
+/*
+ * Returns the string form of the font description, which identifies
+ * the font in the text extent cache of the device.
+ */
+String description() {
+	if (description == null) {
+		description = Converter.cCharPtrToJavaString(OS.pango_font_description_to_string(handle), true);
+	}
+	return description;
+}
+
 /**
  * Compares the argument to the receiver, and returns true
  * if they represent the <em>same</em> object using a class
@@ -299,6 +316,26 @@ public boolean isDisposed() {
 	return handle == 0;
 }
 
+/*
+ * Forgets the operating system font of a font returned by share()
+ * without destroying it, see Device.getFont(FontData).
+ */
+void releaseHandle() {
+	handle = 0;
+	description = null;
+}
+
+/*
+ * Returns a new font that shares the operating system font of the
+ * receiver, see Device.getFont(FontData).
+ */
+Font share() {
+	Font font = new Font(device);
+	font.handle = handle;
+	font.description = description;
+	return font;
+}
+
 /**
  * Returns a string containing a concise, human-readable
  * description of the receiver.
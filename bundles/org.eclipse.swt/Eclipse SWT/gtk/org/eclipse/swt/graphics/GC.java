@@ -751,6 +751,116 @@ void drawArcInPixels(int x, int y, int width, int height, int startAngle, int ar
 	Cairo.cairo_stroke(cairo);
 }
 
+/**
+ * Draws the operations recorded in the given display list, starting
+ * from the current attributes of the receiver. The attributes that the
+ * display list changes are restored afterwards.
+ * <p>
+ * Where the platform supports it, the rendered display list is kept and
+ * drawing it again with the same transformation and attributes copies
+ * the rendering instead of drawing each operation.
+ * </p>
+ *
+ * @param list the display list to draw
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the list is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the list has been disposed</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see DisplayList
+ *
+ * @since 3.125
+ */
+public void drawDisplayList(DisplayList list) {
+	if (handle == 0) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (list == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	if (list.isDisposed()) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	if (list.opCount == 0) return;
+	long cairo = data.cairo;
+	double[] matrix = new double[6];
+	Cairo.cairo_get_matrix(cairo, matrix);
+	/*
+	* XOR is drawn with the DIFFERENCE operator, which would combine the
+	* operations with the transparent group instead of the destination.
+	*/
+	if (data.xorMode) {
+		list.replay(this);
+		return;
+	}
+	long[] images = getImageState(list);
+	if (images == null) {
+		/* An image of the list is being drawn on, so its rendering can not be kept */
+		list.flushCache();
+		list.replay(this);
+		return;
+	}
+	double[] scaleX = new double[1], scaleY = new double[1];
+	Cairo.cairo_surface_get_device_scale(Cairo.cairo_get_target(cairo), scaleX, scaleY);
+	Object[] state = {list.getState(this), images, scaleX[0], scaleY[0]};
+	if (list.cache == null || !Arrays.equals(matrix, list.cacheMatrix) || !Arrays.deepEquals(state, list.cacheState)) {
+		list.flushCache();
+		/*
+		* The group only holds what is drawn inside the clipping. Only keep it
+		* when the clipping contains everything the list draws, otherwise a
+		* later paint of a larger area would miss parts of the list.
+		*/
+		Rectangle bounds = list.getBounds(this);
+		if (bounds == null) return;
+		bounds = DPIUtil.autoScaleUp(drawable, bounds);
+		double[] x1 = new double[1], y1 = new double[1], x2 = new double[1], y2 = new double[1];
+		Cairo.cairo_clip_extents(cairo, x1, y1, x2, y2);
+		if (bounds.x < x1[0] || bounds.y < y1[0] || bounds.x + bounds.width > x2[0] || bounds.y + bounds.height > y2[0]) {
+			list.replay(this);
+			return;
+		}
+		/* Clip to the bounds of the list, so that the group is no larger than what it holds */
+		Cairo.cairo_save(cairo);
+		Cairo.cairo_rectangle(cairo, bounds.x, bounds.y, bounds.width, bounds.height);
+		Cairo.cairo_clip(cairo);
+		Cairo.cairo_push_group(cairo);
+		try {
+			list.replay(this);
+		} finally {
+			long pattern = Cairo.cairo_pop_group(cairo);
+			Cairo.cairo_restore(cairo);
+			list.cache = new Pattern(data.device, pattern);
+			/* Popping the group restored the Cairo state that the operations changed */
+			data.state &= ~(DRAW | FILL | FONT | BACKGROUND_BG);
+		}
+		list.cacheMatrix = matrix;
+		list.cacheState = state;
+	}
+	Cairo.cairo_save(cairo);
+	Cairo.cairo_set_source(cairo, list.cache.handle);
+	Cairo.cairo_paint(cairo);
+	Cairo.cairo_restore(cairo);
+}
+
+/*
+* Returns the surface and the version of every image drawn by the list,
+* or null if a GC is drawing on one of the images.
+*/
+static long[] getImageState(DisplayList list) {
+	int count = 0;
+	for (int i = 0; i < list.objectCount; i++) {
+		if (list.objects[i] instanceof Image) count++;
+	}
+	long[] state = new long[count * 2];
+	for (int i = 0, j = 0; i < list.objectCount; i++) {
+		if (list.objects[i] instanceof Image) {
+			Image image = (Image) list.objects[i];
+			if (image.memGC != null) return null;
+			state[j++] = image.surface;
+			state[j++] = image.version;
+		}
+	}
+	return state;
+}
+
 /**
  * Draws a rectangle, based on the specified arguments, which has
  * the appearance of the platform's <em>focus rectangle</em> if the
@@ -853,13 +963,62 @@ public void drawImage(Image image, int srcX, int srcY, int srcWidth, int srcHeig
 	Rectangle destRect = DPIUtil.autoScaleUp(drawable, new Rectangle(destX, destY, destWidth, destHeight));
 	drawImage(image, srcX, srcY, srcWidth, srcHeight, destRect.x, destRect.y, destRect.width, destRect.height, false);
 }
+
+/**
+ * Copies a rectangular area from the source tiled image into a (potentially
+ * different sized) rectangular area in the receiver, in the same way as
+ * <code>drawImage(Image, int, int, int, int, int, int, int, int)</code>.
+ * Only the tiles of the image that intersect the source rectangle are
+ * decoded and drawn.
+ *
+ * @param image the source tiled image
+ * @param srcX the x coordinate in the source image to copy from
+ * @param srcY the y coordinate in the source image to copy from
+ * @param srcWidth the width in points to copy from the source
+ * @param srcHeight the height in points to copy from the source
+ * @param destX the x coordinate in the destination to copy to
+ * @param destY the y coordinate in the destination to copy to
+ * @param destWidth the width in points of the destination rectangle
+ * @param destHeight the height in points of the destination rectangle
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the image is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the image has been disposed</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if any of the width or height arguments are negative.
+ *    <li>ERROR_INVALID_ARGUMENT - if the source rectangle is not contained within the bounds of the source image</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ * @exception SWTError <ul>
+ *    <li>ERROR_NO_HANDLES - if no handles are available to perform the operation</li>
+ * </ul>
+ *
+ * @see TiledImage
+ *
+ * @since 3.125
+ */
+public void drawTiledImage(TiledImage image, int srcX, int srcY, int srcWidth, int srcHeight, int destX, int destY, int destWidth, int destHeight) {
+	if (handle == 0) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (srcWidth == 0 || srcHeight == 0 || destWidth == 0 || destHeight == 0) return;
+	if (srcX < 0 || srcY < 0 || srcWidth < 0 || srcHeight < 0 || destWidth < 0 || destHeight < 0) {
+		SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	}
+	if (image == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	if (image.isDisposed()) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	Rectangle bounds = image.getBounds();
+	if (srcX + srcWidth > bounds.width || srcY + srcHeight > bounds.height) {
+		SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	}
+	image.draw(this, srcX, srcY, srcWidth, srcHeight, destX, destY, destWidth, destHeight);
+}
 void drawImage(Image srcImage, int srcX, int srcY, int srcWidth, int srcHeight, int destX, int destY, int destWidth, int destHeight, boolean simple) {
 	/* Refresh Image as per zoom level, if required. */
 	srcImage.refreshImageForZoom ();
 
-	ImageData srcImageData = srcImage.getImageData();
-	int imgWidth = srcImageData.width;
-	int imgHeight = srcImageData.height;
+	Point imgSize = srcImage.getImageDataSize();
+	int imgWidth = imgSize.x;
+	int imgHeight = imgSize.y;
 	if (simple) {
 		srcWidth = destWidth = imgWidth;
 		srcHeight = destHeight = imgHeight;
@@ -1027,14 +1186,134 @@ public void drawPath(Path path) {
 	Cairo.cairo_save(cairo);
 	double xOffset = data.cairoXoffset, yOffset = data.cairoYoffset;
 	Cairo.cairo_translate(cairo, xOffset, yOffset);
-	long copy = Cairo.cairo_copy_path(path.handle);
-	if (copy == 0) SWT.error(SWT.ERROR_NO_HANDLES);
-	Cairo.cairo_append_path(cairo, copy);
-	Cairo.cairo_path_destroy(copy);
-	Cairo.cairo_stroke(cairo);
+	drawCairoPath(path, false);
+	Cairo.cairo_restore(cairo);
+}
+
+/*
+ * Strokes or fills the path. When a path is drawn again with the same
+ * transformation and attributes, the result is kept in a group and the
+ * following draws paint the group instead of rasterizing the path again.
+ * The groups of all paths share the memory limit of the path cache of
+ * the device.
+ */
+void drawCairoPath(Path path, boolean fill) {
+	long cairo = data.cairo;
+	Object[] state = getPathState(path, fill);
+	if (state != null && path.cache != null && Arrays.deepEquals(state, path.cacheState)) {
+		data.device.touchPath(path);
+		paintCairoPath(path);
+		return;
+	}
+	Cairo.cairo_append_path(cairo, path.copyPath());
+	if (state == null || !Arrays.deepEquals(state, path.cacheState)) {
+		path.flushCache();
+		path.cacheState = state;
+	} else {
+		/*
+		* The group only holds what is drawn inside the clipping. Only keep it
+		* when the clipping contains the whole path.
+		*/
+		double[] x1 = new double[1], y1 = new double[1], x2 = new double[1], y2 = new double[1];
+		double[] clipX1 = new double[1], clipY1 = new double[1], clipX2 = new double[1], clipY2 = new double[1];
+		if (fill) {
+			Cairo.cairo_fill_extents(cairo, x1, y1, x2, y2);
+		} else {
+			Cairo.cairo_stroke_extents(cairo, x1, y1, x2, y2);
+		}
+		Cairo.cairo_clip_extents(cairo, clipX1, clipY1, clipX2, clipY2);
+		long size = getGroupSize(x2[0] - x1[0], y2[0] - y1[0]);
+		if (x1[0] >= clipX1[0] && y1[0] >= clipY1[0] && x2[0] <= clipX2[0] && y2[0] <= clipY2[0] && size <= Device.PATH_CACHE_LIMIT) {
+			/*
+			* Clip to the extents of the path, so that the group is no larger than
+			* what it holds. The extents are rounded out so that the clipping does
+			* not blend the antialiased edges of the path.
+			*/
+			double x = Math.floor(x1[0]) - 1, y = Math.floor(y1[0]) - 1;
+			Cairo.cairo_new_path(cairo);
+			Cairo.cairo_save(cairo);
+			Cairo.cairo_rectangle(cairo, x, y, Math.ceil(x2[0]) + 1 - x, Math.ceil(y2[0]) + 1 - y);
+			Cairo.cairo_clip(cairo);
+			Cairo.cairo_push_group(cairo);
+			Cairo.cairo_append_path(cairo, path.copyPath());
+			if (fill) {
+				Cairo.cairo_fill(cairo);
+			} else {
+				Cairo.cairo_stroke(cairo);
+			}
+			path.cache = new Pattern(data.device, Cairo.cairo_pop_group(cairo));
+			Cairo.cairo_restore(cairo);
+			path.cacheSize = size;
+			data.device.cachePath(path);
+			paintCairoPath(path);
+			return;
+		}
+	}
+	if (fill) {
+		Cairo.cairo_fill(cairo);
+	} else {
+		Cairo.cairo_stroke(cairo);
+	}
+}
+
+void paintCairoPath(Path path) {
+	long cairo = data.cairo;
+	Cairo.cairo_save(cairo);
+	Cairo.cairo_set_source(cairo, path.cache.handle);
+	Cairo.cairo_paint(cairo);
 	Cairo.cairo_restore(cairo);
 }
 
+/*
+ * Returns the number of bytes of a group that holds an area of the
+ * given size in user space.
+ */
+long getGroupSize(double width, double height) {
+	long cairo = data.cairo;
+	double[] dx1 = {width}, dy1 = {0}, dx2 = {0}, dy2 = {height};
+	Cairo.cairo_user_to_device_distance(cairo, dx1, dy1);
+	Cairo.cairo_user_to_device_distance(cairo, dx2, dy2);
+	double[] scaleX = new double[1], scaleY = new double[1];
+	Cairo.cairo_surface_get_device_scale(Cairo.cairo_get_target(cairo), scaleX, scaleY);
+	double groupWidth = (Math.abs(dx1[0]) + Math.abs(dx2[0]) + 4) * scaleX[0];
+	double groupHeight = (Math.abs(dy1[0]) + Math.abs(dy2[0]) + 4) * scaleY[0];
+	return (long) Math.ceil(groupWidth) * (long) Math.ceil(groupHeight) * 4;
+}
+
+/*
+ * Returns the values that decide how the path is rasterized, or null
+ * when the result can change without any of them changing.
+ */
+Object[] getPathState(Path path, boolean fill) {
+	if (data.xorMode) return null;
+	if ((fill ? data.backgroundPattern : data.foregroundPattern) != null) return null;
+	GdkRGBA rgba = fill ? data.backgroundRGBA : data.foregroundRGBA;
+	if (rgba == null) return null;
+	long cairo = data.cairo;
+	double[] matrix = new double[6];
+	Cairo.cairo_get_matrix(cairo, matrix);
+	long surface = Cairo.cairo_get_target(cairo);
+	double[] scaleX = new double[1], scaleY = new double[1];
+	Cairo.cairo_surface_get_device_scale(surface, scaleX, scaleY);
+	return new Object[] {
+		path.version,
+		fill,
+		matrix,
+		Cairo.cairo_surface_get_type(surface),
+		scaleX[0], scaleY[0],
+		rgba.red, rgba.green, rgba.blue, rgba.alpha,
+		data.alpha,
+		Cairo.cairo_get_antialias(cairo),
+		fill ? Cairo.cairo_get_fill_rule(cairo) : data.lineWidth,
+		fill ? null : data.lineStyle,
+		fill ? null : data.lineDashes,
+		fill ? null : data.lineDashesOffset,
+		fill ? null : data.lineMiterLimit,
+		fill ? null : data.lineCap,
+		fill ? null : data.lineJoin,
+	};
+}
+
 /**
  * Draws an SWT logical point, using the foreground color, at the specified
  * point (<code>x</code>, <code>y</code>).
@@ -1064,6 +1343,42 @@ void drawPointInPixels (int x, int y) {
 	Cairo.cairo_fill(cairo);
 }
 
+/**
+ * Draws a pixel, using the foreground color, at each of the points
+ * which are defined by the specified array of integer coordinates.
+ * The array contains alternating x and y values. This is equivalent
+ * to calling <code>drawPoint()</code> for each point, but all the
+ * points are drawn in a single operation.
+ *
+ * @param pointArray an array of alternating x and y values
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the point array is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #drawPoint(int, int)
+ *
+ * @since 3.125
+ */
+public void drawPoints(int[] pointArray) {
+	if (handle == 0) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (pointArray == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	drawPointsInPixels(DPIUtil.autoScaleUp(drawable, pointArray));
+}
+void drawPointsInPixels(int[] pointArray) {
+	int count = pointArray.length / 2;
+	if (count == 0) return;
+	checkGC(DRAW);
+	long cairo = data.cairo;
+	for (int i = 0, j = 0; i < count; i++, j += 2) {
+		Cairo.cairo_rectangle(cairo, pointArray[j], pointArray[j + 1], 1, 1);
+	}
+	fillWinding(cairo);
+}
+
 /**
  * Draws the closed polygon which is defined by the specified array
  * of integer coordinates, using the receiver's foreground color. The array
@@ -1261,6 +1576,49 @@ void drawRoundRectangleInPixels(int x, int y, int width, int height, int arcWidt
 	Cairo.cairo_stroke(cairo);
 }
 
+/**
+ * Draws a line, using the foreground color, for each of the segments
+ * which are defined by the specified array of integer coordinates.
+ * The array contains the x and y coordinates of the first point
+ * followed by the x and y coordinates of the second point of each
+ * segment. This is equivalent to calling <code>drawLine()</code> for
+ * each segment, but all the segments are drawn in a single operation,
+ * so segments that overlap are only drawn once.
+ *
+ * @param segmentArray an array of x1, y1, x2 and y2 values for each segment
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the segment array is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #drawLine(int, int, int, int)
+ *
+ * @since 3.125
+ */
+public void drawSegments(int[] segmentArray) {
+	if (handle == 0) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (segmentArray == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	drawSegmentsInPixels(DPIUtil.autoScaleUp(drawable, segmentArray));
+}
+void drawSegmentsInPixels(int[] segmentArray) {
+	int count = segmentArray.length / 4;
+	if (count == 0) return;
+	checkGC(DRAW);
+	long cairo = data.cairo;
+	double xOffset = data.cairoXoffset, yOffset = data.cairoYoffset;
+	if (Cairo.cairo_version() >= Cairo.CAIRO_VERSION_ENCODE(1, 12, 0)) {
+		Cairo.cairo_set_antialias(cairo, Cairo.CAIRO_ANTIALIAS_BEST);
+	}
+	for (int i = 0, j = 0; i < count; i++, j += 4) {
+		Cairo.cairo_move_to(cairo, segmentArray[j] + xOffset, segmentArray[j + 1] + yOffset);
+		Cairo.cairo_line_to(cairo, segmentArray[j + 2] + xOffset, segmentArray[j + 3] + yOffset);
+	}
+	Cairo.cairo_stroke(cairo);
+}
+
 /**
  * Draws the given string, using the receiver's current font and
  * foreground color. No tab expansion or carriage return processing
@@ -1719,12 +2077,7 @@ public void fillPath (Path path) {
 	if (path.handle == 0) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 	initCairo();
 	checkGC(FILL);
-	long cairo = data.cairo;
-	long copy = Cairo.cairo_copy_path(path.handle);
-	if (copy == 0) SWT.error(SWT.ERROR_NO_HANDLES);
-	Cairo.cairo_append_path(cairo, copy);
-	Cairo.cairo_path_destroy(copy);
-	Cairo.cairo_fill(cairo);
+	drawCairoPath(path, true);
 }
 
 /**
@@ -1821,6 +2174,70 @@ void fillRectangleInPixels(Rectangle rect) {
 	fillRectangleInPixels(rect.x, rect.y, rect.width, rect.height);
 }
 
+/**
+ * Fills the interior of each of the rectangles which are defined by the
+ * specified array of integer coordinates, using the receiver's background
+ * color. The array contains the x, y, width and height values of each
+ * rectangle. This is equivalent to calling <code>fillRectangle()</code>
+ * for each rectangle, but all the rectangles are filled in a single
+ * operation.
+ *
+ * @param rectArray an array of x, y, width and height values for each rectangle
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the rectangle array is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #fillRectangle(int, int, int, int)
+ *
+ * @since 3.125
+ */
+public void fillRectangles(int[] rectArray) {
+	if (handle == 0) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (rectArray == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	fillRectanglesInPixels(DPIUtil.autoScaleUp(drawable, rectArray));
+}
+void fillRectanglesInPixels(int[] rectArray) {
+	int count = rectArray.length / 4;
+	if (count == 0) return;
+	if (data.regionSet != 0) {
+		for (int i = 0, j = 0; i < count; i++, j += 4) {
+			fillRectangleInPixels(rectArray[j], rectArray[j + 1], rectArray[j + 2], rectArray[j + 3]);
+		}
+		return;
+	}
+	checkGC(FILL);
+	long cairo = data.cairo;
+	for (int i = 0, j = 0; i < count; i++, j += 4) {
+		int x = rectArray[j], y = rectArray[j + 1], width = rectArray[j + 2], height = rectArray[j + 3];
+		if (width < 0) {
+			x = x + width;
+			width = -width;
+		}
+		if (height < 0) {
+			y = y + height;
+			height = -height;
+		}
+		Cairo.cairo_rectangle(cairo, x, y, width, height);
+	}
+	fillWinding(cairo);
+}
+
+/*
+* Fills the current path with the winding fill rule, so that overlapping
+* rectangles are filled like separate rectangles instead of cancelling
+* each other out with the even-odd rule of the GC.
+*/
+void fillWinding(long cairo) {
+	int fillRule = Cairo.cairo_get_fill_rule(cairo);
+	Cairo.cairo_set_fill_rule(cairo, Cairo.CAIRO_FILL_RULE_WINDING);
+	Cairo.cairo_fill(cairo);
+	Cairo.cairo_set_fill_rule(cairo, fillRule);
+}
+
 /**
  * Fills the interior of the round-cornered rectangle specified by
  * the arguments, using the receiver's background color.
@@ -2184,6 +2601,7 @@ public void getClipping(Region region) {
 	if (data.damageRgn != 0) {
 		Cairo.cairo_region_intersect(clipping, data.damageRgn);
 	}
+	region.handleChanged();
 }
 
 /**
@@ -2996,7 +3414,7 @@ private void limitClipping(long gcClipping) {
 	} else {
 		clippingRegion.add(clipping);
 	}
-	Cairo.cairo_region_intersect(gcClipping, clippingRegion.handle);
+	Cairo.cairo_region_intersect(gcClipping, Region.gtk_getHandle(clippingRegion));
 	clippingRegion.dispose();
 }
 
@@ -3158,10 +3576,7 @@ public void setClipping(Path path) {
 	if (path != null) {
 		initCairo();
 		long cairo = data.cairo;
-		long copy = Cairo.cairo_copy_path(path.handle);
-		if (copy == 0) SWT.error(SWT.ERROR_NO_HANDLES);
-		Cairo.cairo_append_path(cairo, copy);
-		Cairo.cairo_path_destroy(copy);
+		Cairo.cairo_append_path(cairo, path.copyPath());
 		Cairo.cairo_clip(cairo);
 	}
 }
@@ -3221,7 +3636,7 @@ public void setClipping(Region region) {
 	if (handle == 0) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
 	if (region != null && region.isDisposed()) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 	if (region != null) {
-		setClipping(region.handle);
+		setClipping(Region.gtk_getHandle(region));
 	} else {
 		resetClipping();
 	}
@@ -3756,6 +4171,7 @@ public void setTextAntialias(int antialias) {
 	if (data.context == 0) createLayout();
 	OS.pango_cairo_context_set_font_options(data.context, options);
 	Cairo.cairo_font_options_destroy(options);
+	data.textAntialias = antialias;
 }
 
 /**
@@ -3914,12 +4330,27 @@ public Point textExtent(String string, int flags) {
 	return DPIUtil.autoScaleDown(drawable, textExtentInPixels(string, flags));
 }
 Point textExtentInPixels(String string, int flags) {
+	/*
+	* Layout managers and custom widgets measure the same strings over and
+	* over. Look the extent up in the cache of the device before setting the
+	* string into the Pango layout, which converts it to UTF-8 each time.
+	*/
+	Device.TextExtentKey key = null;
+	if (string.length() <= Device.TEXT_EXTENT_MAX_LENGTH && data.font != null) {
+		int textState = data.textAntialias << 1 | ((data.style & SWT.MIRRORED) != 0 ? 1 : 0);
+		int zoom = drawable.isAutoScalable() ? DPIUtil.getDeviceZoom() : 100;
+		key = new Device.TextExtentKey(data.font.description(), string, flags & ~SWT.DRAW_TRANSPARENT, textState, zoom);
+		Point extent = data.device.getTextExtent(key);
+		if (extent != null) return extent;
+	}
 	setString(string, flags);
 	checkGC(FONT);
 	if (data.stringWidth == -1) {
 		computeStringSize();
 	}
-	return new Point(data.stringWidth, data.stringHeight);
+	Point extent = new Point(data.stringWidth, data.stringHeight);
+	if (key != null) data.device.putTextExtent(key, extent);
+	return extent;
 }
 
 /**
@@ -58,6 +58,7 @@ public final class GCData {
 	public boolean xorMode;
 	public int alpha = 0xFF;
 	public int interpolation = SWT.DEFAULT;
+	public int textAntialias = SWT.DEFAULT;
 	public Image image;
 
 	public long clipRgn, context, layout, damageRgn, cairo, regionSet;
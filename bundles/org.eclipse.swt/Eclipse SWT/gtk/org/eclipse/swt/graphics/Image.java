@@ -15,6 +15,7 @@ package org.eclipse.swt.graphics;
 
 
 import java.io.*;
+import java.util.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.*;
@@ -125,6 +126,12 @@ public final class Image extends Resource implements Drawable {
 	 */
 	GC memGC;
 
+	/**
+	 * The number of times a GC was created or disposed on the image.
+	 * Used to tell when a kept rendering of a display list is out of date.
+	 */
+	int version;
+
 	/**
 	 * The width of the image.
 	 */
@@ -135,6 +142,11 @@ public final class Image extends Resource implements Drawable {
 	 */
 	int height = -1;
 
+	/**
+	 * The size of the image data at 100% zoom, or -1 if it is not known yet.
+	 */
+	int dataWidth = -1, dataHeight = -1;
+
 	/**
 	 * Specifies the default scanline padding.
 	 */
@@ -162,6 +174,34 @@ public final class Image extends Resource implements Drawable {
 	 */
 	private int currentDeviceZoom = 100;
 
+	/**
+	 * The surfaces of the image at zoom levels other than the current one,
+	 * which are kept in the image cache of the device.
+	 */
+	Map<Integer, ZoomSurface> zoomSurfaces;
+
+	/**
+	 * The surface of an image at a zoom level other than the current one.
+	 */
+	static final class ZoomSurface {
+		final Image image;
+		final int zoom, width, height;
+		final long surface, size;
+
+		ZoomSurface (Image image, int zoom, long surface, int width, int height) {
+			this.image = image;
+			this.zoom = zoom;
+			this.surface = surface;
+			this.width = width;
+			this.height = height;
+			if (Cairo.cairo_surface_get_type (surface) == Cairo.CAIRO_SURFACE_TYPE_IMAGE) {
+				size = (long) Cairo.cairo_image_surface_get_stride (surface) * Cairo.cairo_image_surface_get_height (surface);
+			} else {
+				size = (long) width * height * 4;
+			}
+		}
+	}
+
 Image(Device device) {
 	super(device);
 	currentDeviceZoom = DPIUtil.getDeviceZoom();
@@ -419,6 +459,45 @@ public Image(Device device, ImageData data) {
 	init();
 }
 
+/**
+ * Constructs an instance of this class from the given
+ * <code>PreparedImage</code>.
+ * <p>
+ * The pixels of a prepared image are already converted to the format
+ * of the platform, which makes this constructor cheaper than creating
+ * the image from the <code>ImageData</code> directly.
+ * </p><p>
+ * You must dispose the image when it is no longer required.
+ * </p>
+ *
+ * @param device the device on which to create the image
+ * @param prepared the prepared image to create the image from (must not be null)
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if device is null and there is no current device</li>
+ *    <li>ERROR_NULL_ARGUMENT - if the prepared image is null</li>
+ * </ul>
+ * @exception SWTError <ul>
+ *    <li>ERROR_NO_HANDLES if a handle could not be obtained for image creation</li>
+ * </ul>
+ *
+ * @see PreparedImage
+ * @see #dispose()
+ *
+ * @since 3.125
+ */
+public Image(Device device, PreparedImage prepared) {
+	super(device);
+	if (prepared == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	currentDeviceZoom = DPIUtil.getDeviceZoom();
+	if (prepared.pixels != null && prepared.zoom == currentDeviceZoom) {
+		init(prepared);
+	} else {
+		init(DPIUtil.autoScaleUp(device, prepared.source));
+	}
+	init();
+}
+
 /**
  * Constructs an instance of this class, whose type is
  * <code>SWT.ICON</code>, from the two given <code>ImageData</code>
@@ -692,52 +771,44 @@ boolean refreshImageForZoom () {
 	if (imageFileNameProvider != null) {
 		int deviceZoomLevel = deviceZoom;
 		if (deviceZoomLevel != currentDeviceZoom) {
-			boolean[] found = new boolean[1];
-			String filename = DPIUtil.validateAndGetImagePathAtZoom (imageFileNameProvider, deviceZoomLevel, found);
-			/* Avoid re-creating the fall-back image, when current zoom is already 100% */
-			if (found[0] || currentDeviceZoom != 100) {
-				/* Release current native resources */
-				destroy ();
-				initNative(filename);
-				if (this.surface == 0) {
-					ImageData data = new ImageData(filename);
-					init(data);
+			if (!restoreSurface (deviceZoomLevel)) {
+				boolean[] found = new boolean[1];
+				String filename = DPIUtil.validateAndGetImagePathAtZoom (imageFileNameProvider, deviceZoomLevel, found);
+				/* Keep the current native resources in the image cache */
+				cacheSurface ();
+				if (found[0]) {
+					initNative(filename);
+					if (this.surface == 0) {
+						ImageData data = new ImageData(filename);
+						init(data);
+					}
+				} else {
+					ImageData imageData = new ImageData (filename);
+					ImageData resizedData = DPIUtil.autoScaleUp (device, imageData);
+					init(resizedData);
 				}
 				init ();
-				refreshed = true;
-			}
-			if (!found[0]) {
-				/* Release current native resources */
-				destroy ();
-				ImageData imageData = new ImageData (filename);
-				ImageData resizedData = DPIUtil.autoScaleUp (device, imageData);
-				init(resizedData);
-				init ();
-				refreshed = true;
 			}
+			refreshed = true;
 			currentDeviceZoom = deviceZoomLevel;
 		}
 	} else if (imageDataProvider != null) {
 		int deviceZoomLevel = deviceZoom;
 		if (deviceZoomLevel != currentDeviceZoom) {
-			boolean[] found = new boolean[1];
-			ImageData data = DPIUtil.validateAndGetImageDataAtZoom (imageDataProvider, deviceZoomLevel, found);
-			/* Avoid re-creating the fall-back image, when current zoom is already 100% */
-			if (found[0] || currentDeviceZoom != 100) {
-				/* Release current native resources */
-				destroy ();
-				init(data);
-				init();
-				refreshed = true;
-			}
-			if (!found[0]) {
-				/* Release current native resources */
-				destroy ();
-				ImageData resizedData = DPIUtil.autoScaleImageData(device, data, deviceZoomLevel, 100);
-				init(resizedData);
+			if (!restoreSurface (deviceZoomLevel)) {
+				boolean[] found = new boolean[1];
+				ImageData data = DPIUtil.validateAndGetImageDataAtZoom (imageDataProvider, deviceZoomLevel, found);
+				/* Keep the current native resources in the image cache */
+				cacheSurface ();
+				if (found[0]) {
+					init(data);
+				} else {
+					ImageData resizedData = DPIUtil.autoScaleImageData(device, data, deviceZoomLevel, 100);
+					init(resizedData);
+				}
 				init();
-				refreshed = true;
 			}
+			refreshed = true;
 			currentDeviceZoom = deviceZoomLevel;
 		}
 	} else {
@@ -757,6 +828,62 @@ boolean refreshImageForZoom () {
 	return refreshed;
 }
 
+/**
+ * Moves the surface of the receiver at the current zoom level to the image
+ * cache of the device, so that it can be used again when the zoom level
+ * changes back, and releases the other native resources of the receiver.
+ */
+void cacheSurface () {
+	boolean drawn = memGC != null;
+	if (memGC != null) memGC.dispose();
+	if (mask != 0) OS.g_object_unref(mask);
+	mask = 0;
+	memGC = null;
+	dataWidth = dataHeight = -1;
+	if (surface == 0) return;
+	/* A surface that was drawn on can not be created again from the provider */
+	if (drawn || device.imageCacheLimit == 0) {
+		Cairo.cairo_surface_destroy(surface);
+	} else {
+		ZoomSurface entry = new ZoomSurface (this, currentDeviceZoom, surface, width, height);
+		if (zoomSurfaces == null) zoomSurfaces = new HashMap<> ();
+		zoomSurfaces.put (currentDeviceZoom, entry);
+		device.cacheSurface (entry);
+	}
+	surface = 0;
+}
+
+/**
+ * Releases a surface of the receiver that the device removed from its
+ * image cache.
+ */
+void releaseSurface (ZoomSurface entry) {
+	if (zoomSurfaces != null && zoomSurfaces.remove (entry.zoom) == entry) {
+		Cairo.cairo_surface_destroy (entry.surface);
+	}
+}
+
+/**
+ * Replaces the surface of the receiver with the surface at the given zoom
+ * level from the image cache of the device, if there is one.
+ *
+ * @return true if the surface was found in the image cache
+ */
+boolean restoreSurface (int zoom) {
+	ZoomSurface entry = zoomSurfaces != null ? zoomSurfaces.remove (zoom) : null;
+	if (entry == null) {
+		if (device.imageCacheLimit != 0) device.imageCacheMisses++;
+		return false;
+	}
+	device.uncacheSurface (entry);
+	device.imageCacheHits++;
+	cacheSurface ();
+	surface = entry.surface;
+	width = entry.width;
+	height = entry.height;
+	return true;
+}
+
 void initNative(String filename) {
 	try {
 		byte[] fileNameBuffer = Converter.javaStringToCString(filename);
@@ -900,6 +1027,14 @@ void destroy() {
 	if (surface != 0) Cairo.cairo_surface_destroy(surface);
 	surface = mask = 0;
 	memGC = null;
+	dataWidth = dataHeight = -1;
+	if (zoomSurfaces != null) {
+		for (ZoomSurface entry : zoomSurfaces.values ()) {
+			device.uncacheSurface (entry);
+			Cairo.cairo_surface_destroy (entry.surface);
+		}
+		zoomSurfaces = null;
+	}
 }
 
 /**
@@ -1145,6 +1280,29 @@ public ImageData getImageData (int zoom) {
 	}
 }
 
+/**
+ * Returns the width and height of the image data returned by
+ * {@link #getImageData()}, without creating the image data, which
+ * copies and converts every pixel of the image.
+ */
+Point getImageDataSize () {
+	if (currentDeviceZoom == 100) {
+		if (Cairo.cairo_surface_get_type (surface) == Cairo.CAIRO_SURFACE_TYPE_IMAGE) {
+			return new Point (Cairo.cairo_image_surface_get_width (surface), Cairo.cairo_image_surface_get_height (surface));
+		}
+		/* ImageList.convertSurface() copies other surfaces to an image surface of this size */
+		Rectangle bounds = DPIUtil.useCairoAutoScale () ? getBounds () : getBoundsInPixels ();
+		return new Point (bounds.width, bounds.height);
+	}
+	/* The image data comes from the provider or is scaled, so compute it only once */
+	if (dataWidth == -1) {
+		ImageData data = getImageData (100);
+		dataWidth = data.width;
+		dataHeight = data.height;
+	}
+	return new Point (dataWidth, dataHeight);
+}
+
 /**
  * Invokes platform specific functionality to allocate a new image.
  * <p>
@@ -1247,31 +1405,61 @@ void init(int width, int height) {
 
 void init(ImageData image) {
 	if (image == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	PreparedImage prepared = new PreparedImage(image, DPIUtil.getDeviceZoom());
+	convert(prepared);
+	init(prepared);
+}
 
-	PaletteData palette = image.palette;
-	if (!(((image.depth == 1 || image.depth == 2 || image.depth == 4 || image.depth == 8) && !palette.isDirect) ||
-			((image.depth == 8) || (image.depth == 16 || image.depth == 24 || image.depth == 32) && palette.isDirect))) {
-		SWT.error (SWT.ERROR_UNSUPPORTED_DEPTH);
-	}
-
+void init(PreparedImage prepared) {
+	ImageData image = prepared.imageData;
 	int imageDataWidth = image.width;
 	int imageDataHeight = image.height;
 
 	// Scale dimensions of Image object to 100% scale factor
-	double scaleFactor = DPIUtil.getDeviceZoom() / 100f;
+	double scaleFactor = prepared.zoom / 100f;
 	this.width = (int) Math.round(imageDataWidth / scaleFactor);
 	this.height = (int) Math.round(imageDataHeight / scaleFactor);
-
-	boolean hasAlpha = image.transparentPixel != -1 || image.alpha != -1 || image.maskData != null || image.alphaData != null;
-	int format = hasAlpha ? Cairo.CAIRO_FORMAT_ARGB32 : Cairo.CAIRO_FORMAT_RGB24;
+	this.type = prepared.type;
+	this.transparentPixel = prepared.transparentPixel;
 
 	// Initialize surface with dimensions received from the ImageData and set device_scale appropriately
-	surface = Cairo.cairo_image_surface_create(format, imageDataWidth, imageDataHeight);
+	surface = Cairo.cairo_image_surface_create(prepared.format, imageDataWidth, imageDataHeight);
 	if (surface == 0) SWT.error(SWT.ERROR_NO_HANDLES);
 	if (DPIUtil.useCairoAutoScale()) Cairo.cairo_surface_set_device_scale(surface, scaleFactor, scaleFactor);
 
-	int stride = Cairo.cairo_image_surface_get_stride(surface);
+	/* The stride of a 32 bit surface is always four bytes per pixel, as computed by prepare() */
 	long data = Cairo.cairo_image_surface_get_data(surface);
+	C.memmove(data, prepared.pixels, imageDataWidth * 4 * imageDataHeight);
+	Cairo.cairo_surface_mark_dirty(surface);
+}
+
+static void prepare(Device device, PreparedImage prepared) {
+	/* Smooth scaling draws with a GC, leave it to the user-interface thread */
+	if (DPIUtil.autoScaleNeedsDevice()) return;
+	prepared.imageData = DPIUtil.autoScaleUp(device, prepared.source);
+	convert(prepared);
+}
+
+/*
+* Converts the image data of the prepared image to the pixels of a
+* Cairo image surface. This does not call the operating system and
+* can run in any thread.
+*/
+static void convert(PreparedImage prepared) {
+	ImageData image = prepared.imageData;
+	PaletteData palette = image.palette;
+	if (!(((image.depth == 1 || image.depth == 2 || image.depth == 4 || image.depth == 8) && !palette.isDirect) ||
+			((image.depth == 8) || (image.depth == 16 || image.depth == 24 || image.depth == 32) && palette.isDirect))) {
+		SWT.error (SWT.ERROR_UNSUPPORTED_DEPTH);
+	}
+
+	int imageDataWidth = image.width;
+	int imageDataHeight = image.height;
+
+	boolean hasAlpha = image.transparentPixel != -1 || image.alpha != -1 || image.maskData != null || image.alphaData != null;
+	prepared.format = hasAlpha ? Cairo.CAIRO_FORMAT_ARGB32 : Cairo.CAIRO_FORMAT_RGB24;
+
+	int stride = imageDataWidth * 4;
 	int oa = 0, or = 0, og = 0, ob = 0;
 	int redMask, greenMask, blueMask, destDepth = 32, destOrder;
 	if (OS.BIG_ENDIAN) {
@@ -1314,8 +1502,10 @@ void init(ImageData image) {
 				buffer, destDepth, stride, destOrder, redMask, greenMask, blueMask);
 		}
 	}
+	/* Do not premultiply the pixels of the caller's image data */
+	if (buffer == image.data && hasAlpha) buffer = buffer.clone();
 	boolean isIcon = image.getTransparencyType() == SWT.TRANSPARENCY_MASK;
-	this.type = isIcon ? SWT.ICON : SWT.BITMAP;
+	prepared.type = isIcon ? SWT.ICON : SWT.BITMAP;
 	if (isIcon || image.transparentPixel != -1) {
 		if (image.transparentPixel != -1) {
 			RGB rgb = null;
@@ -1327,7 +1517,7 @@ void init(ImageData image) {
 				}
 			}
 			if (rgb != null) {
-				transparentPixel = rgb.red << 16 | rgb.green << 8 | rgb.blue;
+				prepared.transparentPixel = rgb.red << 16 | rgb.green << 8 | rgb.blue;
 			}
 		}
 		ImageData mask = image.getTransparencyMask();
@@ -1385,8 +1575,7 @@ void init(ImageData image) {
 			}
 		}
 	}
-	C.memmove(data, buffer, stride * imageDataHeight);
-	Cairo.cairo_surface_mark_dirty(surface);
+	prepared.pixels = buffer;
 }
 
 /**
@@ -1411,6 +1600,7 @@ public long internal_new_GC (GCData data) {
 		SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 	}
 	long gc = Cairo.cairo_create(surface);
+	version++;
 	if (data != null) {
 		int mask = SWT.LEFT_TO_RIGHT | SWT.RIGHT_TO_LEFT;
 		if ((data.style & mask) == 0) {
@@ -1447,6 +1637,7 @@ public long internal_new_GC (GCData data) {
 @Override
 public void internal_dispose_GC (long hDC, GCData data) {
 	Cairo.cairo_destroy(hDC);
+	version++;
 }
 
 /**
@@ -47,6 +47,15 @@ public final class Region extends Resource {
 	 */
 	public long handle;
 
+	/*
+	* The region operations work on the rectangles of the region in Java
+	* and the handle is only updated when it is needed. The rectangles are
+	* null when they have to be read from the handle and dirty is true when
+	* the handle has to be updated from the rectangles.
+	*/
+	BandedRegion data;
+	boolean dirty;
+
 /**
  * Constructs a new empty region.
  * <p>
@@ -95,40 +104,38 @@ Region(Device device, long handle) {
 }
 
 static long gdk_region_polygon(int[] pointArray, int npoints, int fill_rule) {
-	//TODO this does not perform well and could fail if the polygon is too big
-	int minX = pointArray[0], maxX = minX;
-	int minY = pointArray[1], maxY = minY;
-	int count = npoints * 2;
-	for (int i=2; i<count; i+=2) {
-		int x = pointArray[i], y = pointArray[i + 1];
-		if (x < minX) minX = x;
-		if (x > maxX) maxX = x;
-		if (y < minY) minY = y;
-		if (y > maxY) maxY = y;
-	}
-	long surface = Cairo.cairo_image_surface_create(Cairo.CAIRO_FORMAT_ARGB32, maxX - minX, maxY - minY);
-	if (surface == 0) SWT.error(SWT.ERROR_NO_HANDLES);
-	long cairo = Cairo.cairo_create(surface);
-	if (cairo == 0) SWT.error(SWT.ERROR_NO_HANDLES);
-	Cairo.cairo_move_to(cairo, pointArray[0] - minX, pointArray[1] - minY);
-	for (int i=2; i<count; i+=2) {
-		Cairo.cairo_line_to(cairo, pointArray[i]- minX, pointArray[i+1] - minY);
-	}
-	Cairo.cairo_close_path(cairo);
-	Cairo.cairo_set_source_rgb(cairo, 1, 1, 1);
-	int cairo_rule = Cairo.CAIRO_FILL_RULE_WINDING;
-	if (fill_rule == GDK.GDK_EVEN_ODD_RULE) {
-		cairo_rule = Cairo.CAIRO_FILL_RULE_EVEN_ODD;
-	}
-	Cairo.cairo_set_fill_rule(cairo, cairo_rule);
-	Cairo.cairo_fill(cairo);
-	Cairo.cairo_destroy(cairo);
-	long polyRgn = GDK.gdk_cairo_region_create_from_surface(surface);
-	Cairo.cairo_region_translate (polyRgn, minX, minY);
-	Cairo.cairo_surface_destroy(surface);
+	BandedRegion polygon = BandedRegion.polygon(pointArray, npoints, fill_rule == GDK.GDK_EVEN_ODD_RULE);
+	long polyRgn = Cairo.cairo_region_create_rectangles(polygon.getRectangles(), polygon.getRectangleCount());
+	if (polyRgn == 0) SWT.error(SWT.ERROR_NO_HANDLES);
 	return polyRgn;
 }
 
+/*
+ * Returns the rectangles of the region, reading them from the handle
+ * when it has been changed by the operating system.
+ */
+BandedRegion data() {
+	if (data == null) {
+		long[] rects = new long[1];
+		int[] nRects = new int[1];
+		cairo_region_get_rectangles(handle, rects, nRects);
+		int[] rectangles = new int[nRects[0] * 4];
+		C.memmove(rectangles, rects[0], nRects[0] * cairo_rectangle_int_t.sizeof);
+		OS.g_free(rects[0]);
+		data = new BandedRegion();
+		data.setRectangles(rectangles, nRects[0]);
+	}
+	return data;
+}
+
+/*
+ * Called after the handle has been changed by the operating system.
+ */
+void handleChanged() {
+	data = null;
+	dirty = false;
+}
+
 static void cairo_region_get_rectangles(long region, long [] rectangles, int[] n_rectangles) {
 	int num = Cairo.cairo_region_num_rectangles (region);
 	if (n_rectangles != null) n_rectangles[0] = num;
@@ -166,9 +173,8 @@ void addInPixels (int[] pointArray) {
 	* with enough points for a polygon.
 	*/
 	if (pointArray.length < 6) return;
-	long polyRgn = gdk_region_polygon(pointArray, pointArray.length / 2, GDK.GDK_EVEN_ODD_RULE);
-	Cairo.cairo_region_union(handle, polyRgn);
-	Cairo.cairo_region_destroy(polyRgn);
+	data().union(BandedRegion.polygon(pointArray, pointArray.length / 2, true));
+	dirty = true;
 }
 
 /**
@@ -218,12 +224,8 @@ public void add(int x, int y, int width, int height) {
 	add(new Rectangle(x, y, width, height));
 }
 void addInPixels(int x, int y, int width, int height) {
-	cairo_rectangle_int_t rect = new cairo_rectangle_int_t();
-	rect.x = x;
-	rect.y = y;
-	rect.width = width;
-	rect.height = height;
-	Cairo.cairo_region_union_rectangle(handle, rect);
+	data().union(x, y, width, height);
+	dirty = true;
 }
 
 /**
@@ -245,7 +247,8 @@ public void add(Region region) {
 	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
 	if (region == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
 	if (region.isDisposed()) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
-	Cairo.cairo_region_union(handle, region.handle);
+	data().union(region.data());
+	dirty = true;
 }
 
 /**
@@ -266,7 +269,7 @@ public boolean contains(int x, int y) {
 	return contains(new Point(x, y));
 }
 boolean containsInPixels(int x, int y) {
-	return Cairo.cairo_region_contains_point(handle, x, y);
+	return data().contains(x, y);
 }
 
 /**
@@ -297,6 +300,7 @@ boolean containsInPixels(Point pt) {
 void destroy() {
 	Cairo.cairo_region_destroy(handle);
 	handle = 0;
+	data = null;
 }
 
 /**
@@ -335,9 +339,8 @@ public Rectangle getBounds() {
 	return DPIUtil.autoScaleDown(getBoundsInPixels());
 }
 Rectangle getBoundsInPixels() {
-	cairo_rectangle_int_t rect = new cairo_rectangle_int_t();
-	Cairo.cairo_region_get_extents(handle, rect);
-	return new Rectangle(rect.x, rect.y, rect.width, rect.height);
+	int[] bounds = data().getBounds();
+	return new Rectangle(bounds[0], bounds[1], bounds[2], bounds[3]);
 }
 
 /**
@@ -360,6 +363,36 @@ public static Region gtk_new(Device device, long handle) {
 	return new Region(device, handle);
 }
 
+/**
+ * Invokes platform specific functionality to get the Cairo region
+ * of a region, updating it from the rectangles of the region first
+ * when it is out of date. The Cairo region must not be changed.
+ * <p>
+ * <b>IMPORTANT:</b> This method is <em>not</em> part of the public
+ * API for <code>Region</code>. It is marked public only so that it
+ * can be shared within the packages provided by SWT. It is not
+ * available on all platforms, and should never be called from
+ * application code.
+ * </p>
+ *
+ * @param region the region
+ * @return the Cairo region of the region
+ *
+ * @noreference This method is not intended to be referenced by clients.
+ */
+public static long gtk_getHandle(Region region) {
+	if (region.dirty) {
+		/* Keep the same handle, it is used by equals() and hashCode() */
+		long newRgn = Cairo.cairo_region_create_rectangles(region.data.getRectangles(), region.data.getRectangleCount());
+		if (newRgn == 0) SWT.error(SWT.ERROR_NO_HANDLES);
+		Cairo.cairo_region_subtract(region.handle, region.handle);
+		Cairo.cairo_region_union(region.handle, newRgn);
+		Cairo.cairo_region_destroy(newRgn);
+		region.dirty = false;
+	}
+	return region.handle;
+}
+
 /**
  * Returns an integer hash code for the receiver. Any two
  * objects that return <code>true</code> when passed to
@@ -426,14 +459,8 @@ public void intersect(int x, int y, int width, int height) {
 }
 
 void intersectInPixels(int x, int y, int width, int height) {
-	cairo_rectangle_int_t rect = new cairo_rectangle_int_t();
-	rect.x = x;
-	rect.y = y;
-	rect.width = width;
-	rect.height = height;
-	long rectRgn = Cairo.cairo_region_create_rectangle(rect);
-	Cairo.cairo_region_intersect(handle, rectRgn);
-	Cairo.cairo_region_destroy(rectRgn);
+	data().intersect(x, y, width, height);
+	dirty = true;
 }
 
 /**
@@ -457,7 +484,8 @@ public void intersect(Region region) {
 	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
 	if (region == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
 	if (region.isDisposed()) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
-	Cairo.cairo_region_intersect(handle, region.handle);
+	data().intersect(region.data());
+	dirty = true;
 }
 
 /**
@@ -483,12 +511,7 @@ public boolean intersects (int x, int y, int width, int height) {
 }
 
 boolean intersectsInPixels (int x, int y, int width, int height) {
-	cairo_rectangle_int_t rect = new cairo_rectangle_int_t();
-	rect.x = x;
-	rect.y = y;
-	rect.width = width;
-	rect.height = height;
-	return Cairo.cairo_region_contains_rectangle(handle, rect) != Cairo.CAIRO_REGION_OVERLAP_OUT;
+	return data().intersects(x, y, width, height);
 }
 /**
  * Returns <code>true</code> if the given rectangle intersects
@@ -545,7 +568,7 @@ public boolean isDisposed() {
  */
 public boolean isEmpty() {
 	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
-	return Cairo.cairo_region_is_empty(handle);
+	return data().isEmpty();
 }
 
 /**
@@ -576,9 +599,8 @@ void subtractInPixels (int[] pointArray) {
 	* with enough points for a polygon.
 	*/
 	if (pointArray.length < 6) return;
-	long polyRgn = gdk_region_polygon(pointArray, pointArray.length / 2, GDK.GDK_EVEN_ODD_RULE);
-	Cairo.cairo_region_subtract(handle, polyRgn);
-	Cairo.cairo_region_destroy(polyRgn);
+	data().subtract(BandedRegion.polygon(pointArray, pointArray.length / 2, true));
+	dirty = true;
 }
 /**
  * Subtracts the given rectangle from the collection of polygons
@@ -631,14 +653,8 @@ public void subtract(int x, int y, int width, int height) {
 }
 
 void subtractInPixels(int x, int y, int width, int height) {
-	cairo_rectangle_int_t rect = new cairo_rectangle_int_t ();
-	rect.x = x;
-	rect.y = y;
-	rect.width = width;
-	rect.height = height;
-	long rectRgn = Cairo.cairo_region_create_rectangle(rect);
-	Cairo.cairo_region_subtract(handle, rectRgn);
-	Cairo.cairo_region_destroy(rectRgn);
+	data().subtract(x, y, width, height);
+	dirty = true;
 }
 
 /**
@@ -662,7 +678,8 @@ public void subtract(Region region) {
 	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
 	if (region == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
 	if (region.isDisposed()) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
-	Cairo.cairo_region_subtract(handle, region.handle);
+	data().subtract(region.data());
+	dirty = true;
 }
 
 /**
@@ -684,7 +701,8 @@ public void translate (int x, int y) {
 }
 
 void translateInPixels (int x, int y) {
-	Cairo.cairo_region_translate (handle, x, y);
+	data().translate(x, y);
+	dirty = true;
 }
 
 /**
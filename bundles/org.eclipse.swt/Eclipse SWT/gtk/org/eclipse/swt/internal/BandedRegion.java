@@ -0,0 +1,569 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.internal;
+
+import java.util.*;
+
+/**
+ * Instances of this class are sets of pixels represented as lists of
+ * rectangles, in the same banded form as <code>cairo_region_t</code>.
+ * <p>
+ * The rectangles are sorted by their top edge and then by their left
+ * edge. Rectangles with the same top edge form a band and have the same
+ * bottom edge. The rectangles of a band do not overlap or touch, bands do
+ * not overlap and two touching bands never have the same horizontal spans.
+ * This form is unique, so two regions cover the same pixels if and only
+ * if they have the same rectangles.
+ * </p>
+ * <p>
+ * The region operations do not call the operating system, so a region can
+ * be changed many times before it is converted to a Cairo region.
+ * </p>
+ */
+public final class BandedRegion {
+	/* The left, top, right and bottom edges of each rectangle */
+	int[] rects;
+	int count;
+
+	static final int[] EMPTY = new int[0];
+	static final int UNION = 0, INTERSECT = 1, SUBTRACT = 2;
+
+/**
+ * Constructs a new empty region.
+ */
+public BandedRegion() {
+	rects = EMPTY;
+}
+
+/**
+ * Constructs a new region that covers the same pixels as the argument.
+ *
+ * @param region the region to copy
+ */
+public BandedRegion(BandedRegion region) {
+	rects = Arrays.copyOf(region.rects, region.count * 4);
+	count = region.count;
+}
+
+/**
+ * Constructs a new region that covers the given rectangle.
+ *
+ * @param x the x coordinate of the rectangle
+ * @param y the y coordinate of the rectangle
+ * @param width the width of the rectangle
+ * @param height the height of the rectangle
+ */
+public BandedRegion(int x, int y, int width, int height) {
+	if (width <= 0 || height <= 0) {
+		rects = EMPTY;
+	} else {
+		rects = new int[] {x, y, x + width, y + height};
+		count = 1;
+	}
+}
+
+/**
+ * Returns a region that covers the pixels whose centers are inside the
+ * polygon defined by the array of alternating x and y values.
+ *
+ * @param pointArray the vertices of the polygon
+ * @param npoints the number of vertices to use
+ * @param evenOdd <code>true</code> for the even-odd fill rule and
+ *   <code>false</code> for the winding fill rule
+ * @return the region of the polygon
+ */
+public static BandedRegion polygon(int[] pointArray, int npoints, boolean evenOdd) {
+	BandedRegion region = new BandedRegion();
+	if (npoints < 3) return region;
+	int length = npoints * 2;
+	int minY = pointArray[1], maxY = minY;
+	for (int i = 3; i < length; i += 2) {
+		minY = Math.min(minY, pointArray[i]);
+		maxY = Math.max(maxY, pointArray[i]);
+	}
+	double[] crossings = new double[npoints];
+	int[] directions = new int[npoints];
+	int[] spans = new int[npoints + 1];
+	for (int y = minY; y < maxY; y++) {
+		double center = y + 0.5;
+		int n = 0;
+		for (int i = 0; i < length; i += 2) {
+			int j = (i + 2) % length;
+			int x0 = pointArray[i], y0 = pointArray[i + 1];
+			int x1 = pointArray[j], y1 = pointArray[j + 1];
+			if (y0 == y1) continue;
+			if (center < Math.min(y0, y1) || center >= Math.max(y0, y1)) continue;
+			double x = x0 + (center - y0) * (x1 - x0) / (y1 - y0);
+			/* Insertion sort, polygons usually cross a row only a few times */
+			int k = n++;
+			while (k > 0 && crossings[k - 1] > x) {
+				crossings[k] = crossings[k - 1];
+				directions[k] = directions[k - 1];
+				k--;
+			}
+			crossings[k] = x;
+			directions[k] = y1 > y0 ? 1 : -1;
+		}
+		/* A pixel is inside when its center is, which rounds both edges of a span the same way */
+		int spanCount = 0, winding = 0;
+		for (int k = 0; k < n; k++) {
+			boolean wasInside = evenOdd ? (k & 1) == 1 : winding != 0;
+			winding += directions[k];
+			boolean inside = evenOdd ? (k & 1) == 0 : winding != 0;
+			if (wasInside == inside) continue;
+			int x = (int) Math.ceil(crossings[k] - 0.5);
+			if (inside) {
+				spans[spanCount++] = x;
+			} else if (x > spans[spanCount - 1]) {
+				spans[spanCount++] = x;
+			} else {
+				spanCount--;
+			}
+		}
+		region.appendRow(y, spans, spanCount);
+	}
+	return region;
+}
+
+void appendRow(int y, int[] spans, int spanCount) {
+	/* Merge the spans that touch after rounding */
+	int start = count;
+	for (int k = 0; k + 1 < spanCount; k += 2) {
+		int x1 = spans[k], x2 = spans[k + 1];
+		if (count > start && rects[(count - 1) * 4 + 2] >= x1) {
+			rects[(count - 1) * 4 + 2] = Math.max(x2, rects[(count - 1) * 4 + 2]);
+		} else {
+			ensureCapacity(count + 1);
+			int index = count * 4;
+			rects[index] = x1;
+			rects[index + 1] = y;
+			rects[index + 2] = x2;
+			rects[index + 3] = y + 1;
+			count++;
+		}
+	}
+	coalesce(start);
+}
+
+void ensureCapacity(int size) {
+	if (rects.length < size * 4) {
+		rects = Arrays.copyOf(rects, Math.max(size * 4, rects.length * 2));
+	}
+}
+
+/*
+ * Merges the band starting at the given rectangle into the band above it
+ * when they touch and have the same spans.
+ */
+void coalesce(int start) {
+	if (start == 0 || start == count) return;
+	int bandSize = count - start;
+	int previous = start - bandSize;
+	if (previous < 0) return;
+	if (rects[previous * 4 + 3] != rects[start * 4 + 1]) return;
+	/* The previous band must start exactly bandSize rectangles back */
+	if (previous > 0 && rects[(previous - 1) * 4 + 1] == rects[previous * 4 + 1]) return;
+	if (rects[(start - 1) * 4 + 1] != rects[previous * 4 + 1]) return;
+	for (int i = 0; i < bandSize; i++) {
+		int a = (previous + i) * 4, b = (start + i) * 4;
+		if (rects[a] != rects[b] || rects[a + 2] != rects[b + 2]) return;
+	}
+	int bottom = rects[start * 4 + 3];
+	for (int i = previous; i < start; i++) {
+		rects[i * 4 + 3] = bottom;
+	}
+	count = start;
+}
+
+/**
+ * Returns <code>true</code> if the region covers the pixel at the
+ * given point and <code>false</code> otherwise.
+ *
+ * @param x the x coordinate of the point
+ * @param y the y coordinate of the point
+ * @return <code>true</code> if the region contains the point
+ */
+public boolean contains(int x, int y) {
+	int low = 0, high = count - 1;
+	while (low <= high) {
+		int mid = (low + high) >>> 1, index = mid * 4;
+		if (y < rects[index + 1] || (y < rects[index + 3] && x < rects[index])) {
+			high = mid - 1;
+		} else if (y >= rects[index + 3] || x >= rects[index + 2]) {
+			low = mid + 1;
+		} else {
+			return true;
+		}
+	}
+	return false;
+}
+
+/**
+ * Returns <code>true</code> if the region covers any pixel of the
+ * given rectangle and <code>false</code> otherwise.
+ *
+ * @param x the x coordinate of the rectangle
+ * @param y the y coordinate of the rectangle
+ * @param width the width of the rectangle
+ * @param height the height of the rectangle
+ * @return <code>true</code> if the region intersects the rectangle
+ */
+public boolean intersects(int x, int y, int width, int height) {
+	if (width <= 0 || height <= 0) return false;
+	int right = x + width, bottom = y + height;
+	for (int i = search(3, y); i < count; i++) {
+		int index = i * 4;
+		if (rects[index + 1] >= bottom) break;
+		if (rects[index] < right && rects[index + 2] > x) return true;
+	}
+	return false;
+}
+
+/**
+ * Returns <code>true</code> if the region does not cover any pixel
+ * and <code>false</code> otherwise.
+ *
+ * @return <code>true</code> if the region is empty
+ */
+public boolean isEmpty() {
+	return count == 0;
+}
+
+/**
+ * Returns the smallest rectangle that contains the region as an array
+ * holding its x, y, width and height. The result is all zeros when
+ * the region is empty.
+ *
+ * @return the bounds of the region
+ */
+public int[] getBounds() {
+	if (count == 0) return new int[4];
+	int left = Integer.MAX_VALUE, right = Integer.MIN_VALUE;
+	for (int i = 0; i < count; i++) {
+		left = Math.min(left, rects[i * 4]);
+		right = Math.max(right, rects[i * 4 + 2]);
+	}
+	int top = rects[1], bottom = rects[count * 4 - 1];
+	return new int[] {left, top, right - left, bottom - top};
+}
+
+/**
+ * Returns the number of rectangles of the region.
+ *
+ * @return the number of rectangles
+ */
+public int getRectangleCount() {
+	return count;
+}
+
+/**
+ * Returns the rectangles of the region as an array holding the x, y,
+ * width and height of each rectangle. This is the memory layout of
+ * an array of <code>cairo_rectangle_int_t</code>.
+ *
+ * @return the rectangles of the region
+ */
+public int[] getRectangles() {
+	int[] result = new int[count * 4];
+	for (int i = 0; i < result.length; i += 4) {
+		result[i] = rects[i];
+		result[i + 1] = rects[i + 1];
+		result[i + 2] = rects[i + 2] - rects[i];
+		result[i + 3] = rects[i + 3] - rects[i + 1];
+	}
+	return result;
+}
+
+/**
+ * Replaces the rectangles of the region with the given rectangles, which
+ * must already be in banded form, such as the rectangles of a Cairo region.
+ * The array holds the x, y, width and height of each rectangle.
+ *
+ * @param rectangles the rectangles of the region
+ * @param count the number of rectangles
+ */
+public void setRectangles(int[] rectangles, int count) {
+	rects = new int[count * 4];
+	for (int i = 0; i < rects.length; i += 4) {
+		rects[i] = rectangles[i];
+		rects[i + 1] = rectangles[i + 1];
+		rects[i + 2] = rectangles[i] + rectangles[i + 2];
+		rects[i + 3] = rectangles[i + 1] + rectangles[i + 3];
+	}
+	this.count = count;
+}
+
+/**
+ * Moves the region by the given offsets.
+ *
+ * @param dx the horizontal offset
+ * @param dy the vertical offset
+ */
+public void translate(int dx, int dy) {
+	for (int i = 0; i < count * 4; i += 2) {
+		rects[i] += dx;
+		rects[i + 1] += dy;
+	}
+}
+
+/**
+ * Adds the given rectangle to the region.
+ *
+ * @param x the x coordinate of the rectangle
+ * @param y the y coordinate of the rectangle
+ * @param width the width of the rectangle
+ * @param height the height of the rectangle
+ */
+public void union(int x, int y, int width, int height) {
+	if (width <= 0 || height <= 0) return;
+	if (count == 0) {
+		rects = new int[] {x, y, x + width, y + height};
+		count = 1;
+		return;
+	}
+	union(new BandedRegion(x, y, width, height));
+}
+
+/**
+ * Adds the pixels of the given region to the region.
+ *
+ * @param region the region to add
+ */
+public void union(BandedRegion region) {
+	if (region == this || region.count == 0) return;
+	if (count == 0) {
+		rects = Arrays.copyOf(region.rects, region.count * 4);
+		count = region.count;
+		return;
+	}
+	combine(region, UNION);
+}
+
+/**
+ * Removes from the region the pixels outside of the given rectangle.
+ *
+ * @param x the x coordinate of the rectangle
+ * @param y the y coordinate of the rectangle
+ * @param width the width of the rectangle
+ * @param height the height of the rectangle
+ */
+public void intersect(int x, int y, int width, int height) {
+	intersect(new BandedRegion(x, y, width, height));
+}
+
+/**
+ * Removes from the region the pixels that are not in the given region.
+ *
+ * @param region the region to intersect with
+ */
+public void intersect(BandedRegion region) {
+	if (region == this || count == 0) return;
+	if (region.count == 0) {
+		rects = EMPTY;
+		count = 0;
+		return;
+	}
+	combine(region, INTERSECT);
+}
+
+/**
+ * Removes the given rectangle from the region.
+ *
+ * @param x the x coordinate of the rectangle
+ * @param y the y coordinate of the rectangle
+ * @param width the width of the rectangle
+ * @param height the height of the rectangle
+ */
+public void subtract(int x, int y, int width, int height) {
+	if (width <= 0 || height <= 0 || count == 0) return;
+	subtract(new BandedRegion(x, y, width, height));
+}
+
+/**
+ * Removes the pixels of the given region from the region.
+ *
+ * @param region the region to remove
+ */
+public void subtract(BandedRegion region) {
+	if (region == this) {
+		rects = EMPTY;
+		count = 0;
+		return;
+	}
+	if (count == 0 || region.count == 0) return;
+	combine(region, SUBTRACT);
+}
+
+/*
+ * Only the bands of the receiver that overlap the other region vertically
+ * can change. They are combined with the other region and the result
+ * replaces them, the bands above and below are kept as they are.
+ */
+void combine(BandedRegion region, int operation) {
+	int top = region.rects[1], bottom = region.rects[region.count * 4 - 1];
+	int first = search(3, top), last = search(1, bottom - 1);
+	BandedRegion result = new BandedRegion();
+	result.rects = new int[(last - first + region.count + 2) * 4];
+	if (operation == INTERSECT) {
+		result.sweep(rects, first, last, region.rects, region.count, operation);
+		rects = result.rects;
+		count = result.count;
+		return;
+	}
+	if (first == last && operation == SUBTRACT) return;
+	/* Include the bands next to the changed bands, they may merge with them */
+	int start = first, end = bandEnd(rects, count, last);
+	if (start > 0) {
+		start--;
+		while (start > 0 && rects[(start - 1) * 4 + 1] == rects[start * 4 + 1]) start--;
+	}
+	result.ensureCapacity(end - start + region.count);
+	System.arraycopy(rects, start * 4, result.rects, 0, (first - start) * 4);
+	result.count = first - start;
+	result.sweep(rects, first, last, region.rects, region.count, operation);
+	if (last < end) {
+		int index = result.count;
+		result.ensureCapacity(index + end - last);
+		System.arraycopy(rects, last * 4, result.rects, index * 4, (end - last) * 4);
+		result.count += end - last;
+		result.coalesce(index);
+	}
+	int newCount = count - (end - start) + result.count;
+	ensureCapacity(newCount);
+	System.arraycopy(rects, end * 4, rects, (start + result.count) * 4, (count - end) * 4);
+	System.arraycopy(result.rects, 0, rects, start * 4, result.count * 4);
+	count = newCount;
+}
+
+/*
+ * Returns the index of the first rectangle whose top (offset 1) or
+ * bottom (offset 3) edge is greater than the given value.
+ */
+int search(int offset, int value) {
+	int low = 0, high = count;
+	while (low < high) {
+		int mid = (low + high) >>> 1;
+		if (rects[mid * 4 + offset] <= value) {
+			low = mid + 1;
+		} else {
+			high = mid;
+		}
+	}
+	return low;
+}
+
+/*
+ * Sweeps the bands of both regions from top to bottom. Between two
+ * consecutive band edges of either region, the spans of both regions
+ * do not change and the spans of the result are computed from them.
+ */
+void sweep(int[] a, int ia, int na, int[] b, int nb, int operation) {
+	int ib = 0;
+	int y = ia < na ? Math.min(a[ia * 4 + 1], b[1]) : b[1];
+	while (ia < na || ib < nb) {
+		boolean aActive = ia < na && a[ia * 4 + 1] <= y;
+		boolean bActive = ib < nb && b[ib * 4 + 1] <= y;
+		int aEnd = bandEnd(a, na, ia), bEnd = bandEnd(b, nb, ib);
+		int aNext = ia >= na ? Integer.MAX_VALUE : aActive ? a[ia * 4 + 3] : a[ia * 4 + 1];
+		int bNext = ib >= nb ? Integer.MAX_VALUE : bActive ? b[ib * 4 + 3] : b[ib * 4 + 1];
+		int next = Math.min(aNext, bNext);
+		if (aActive || bActive) {
+			combineSpans(y, next, a, aActive ? ia : 0, aActive ? aEnd : 0, b, bActive ? ib : 0, bActive ? bEnd : 0, operation);
+		}
+		y = next;
+		if (aActive && a[ia * 4 + 3] == y) ia = aEnd;
+		if (bActive && b[ib * 4 + 3] == y) ib = bEnd;
+		if (operation == INTERSECT && (ia >= na || ib >= nb)) break;
+		if (operation == SUBTRACT && ia >= na) break;
+	}
+}
+
+static int bandEnd(int[] rects, int count, int start) {
+	if (start >= count) return start;
+	int top = rects[start * 4 + 1];
+	int end = start + 1;
+	while (end < count && rects[end * 4 + 1] == top) end++;
+	return end;
+}
+
+void combineSpans(int top, int bottom, int[] a, int aStart, int aEnd, int[] b, int bStart, int bEnd, int operation) {
+	int start = count;
+	/* Each rectangle has two edges, the left edge enters it and the right edge leaves it */
+	int ea = aStart * 2, eb = bStart * 2, na = aEnd * 2, nb = bEnd * 2;
+	boolean inA = false, inB = false, inside = false;
+	int left = 0;
+	while (ea < na || eb < nb) {
+		int xa = ea < na ? a[ea * 2] : Integer.MAX_VALUE;
+		int xb = eb < nb ? b[eb * 2] : Integer.MAX_VALUE;
+		int x = Math.min(xa, xb);
+		while (ea < na && a[ea * 2] == x) {
+			inA = !inA;
+			ea++;
+		}
+		while (eb < nb && b[eb * 2] == x) {
+			inB = !inB;
+			eb++;
+		}
+		boolean now;
+		switch (operation) {
+			case UNION: now = inA || inB; break;
+			case INTERSECT: now = inA && inB; break;
+			default: now = inA && !inB; break;
+		}
+		if (now == inside) continue;
+		inside = now;
+		if (inside) {
+			left = x;
+		} else {
+			ensureCapacity(count + 1);
+			int index = count * 4;
+			rects[index] = left;
+			rects[index + 1] = top;
+			rects[index + 2] = x;
+			rects[index + 3] = bottom;
+			count++;
+		}
+	}
+	coalesce(start);
+}
+
+@Override
+public boolean equals(Object object) {
+	if (this == object) return true;
+	if (!(object instanceof BandedRegion)) return false;
+	BandedRegion region = (BandedRegion) object;
+	return Arrays.equals(rects, 0, count * 4, region.rects, 0, region.count * 4);
+}
+
+@Override
+public int hashCode() {
+	int hash = 1;
+	for (int i = 0; i < count * 4; i++) {
+		hash = 31 * hash + rects[i];
+	}
+	return hash;
+}
+
+@Override
+public String toString() {
+	StringBuilder buffer = new StringBuilder("BandedRegion {");
+	for (int i = 0; i < count; i++) {
+		int index = i * 4;
+		if (i > 0) buffer.append(", ");
+		buffer.append(rects[index]).append(' ').append(rects[index + 1]).append(' ');
+		buffer.append(rects[index + 2] - rects[index]).append(' ').append(rects[index + 3] - rects[index + 1]);
+	}
+	return buffer.append('}').toString();
+}
+}
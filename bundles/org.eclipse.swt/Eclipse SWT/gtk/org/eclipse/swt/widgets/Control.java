@@ -1384,7 +1384,7 @@ void setSizeInPixels (Point size) {
 public void setRegion (Region region) {
 	checkWidget ();
 	if (region != null && region.isDisposed()) error (SWT.ERROR_INVALID_ARGUMENT);
-	long shape_region = (region == null) ? 0 : region.handle;
+	long shape_region = (region == null) ? 0 : Region.gtk_getHandle(region);
 	this.region = region;
 	long topHandle = topHandle ();
 
@@ -3813,7 +3813,7 @@ long gtk_event_after (long widget, long gdkEvent) {
  */
 void cairoCopyRegion (Region region) {
 	if (region == null || region.isDisposed() || region.handle == 0) return;
-	regionHandle = Cairo.cairo_region_copy(region.handle);
+	regionHandle = Cairo.cairo_region_copy(Region.gtk_getHandle(region));
 	return;
 }
 
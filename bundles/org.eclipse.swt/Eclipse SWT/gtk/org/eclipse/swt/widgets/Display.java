@@ -5010,6 +5010,7 @@ String debugInfoForIndex(long index) {
 
 void dpiChanged(int newScaleFactor) {
 	DPIUtil.setDeviceZoom (DPIUtil.mapDPIToZoom(getDPI().x * newScaleFactor));
+	flushTextExtents ();
 	Shell[] shells = getShells();
 	for (int i = 0; i < shells.length; i++) {
 		shells[i].layout(true, true);
@@ -5116,6 +5117,7 @@ boolean runSettings () {
 	runSettings = false;
 	saveResources ();
 	initializeSystemColors ();
+	flushTextExtents ();
 	sendEvent (SWT.Settings, null);
 	Shell [] shells = getShells ();
 	for (int i=0; i<shells.length; i++) {
@@ -2837,7 +2837,7 @@ static Region mirrorRegion (Region region) {
 
 	Region mirrored = new Region (region.getDevice ());
 
-	long rgn = region.handle;
+	long rgn = Region.gtk_getHandle (region);
 	int [] nRects = new int [1];
 	long [] rects = new long [1];
 	gdk_region_get_rectangles (rgn, rects, nRects);
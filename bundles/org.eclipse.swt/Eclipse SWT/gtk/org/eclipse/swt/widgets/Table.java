@@ -15,6 +15,9 @@
 package org.eclipse.swt.widgets;
 
 
+import java.util.*;
+import java.util.function.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.*;
@@ -91,6 +94,8 @@ public class Table extends Composite {
 	GdkRGBA background, foreground, drawForegroundRGBA;
 	Color headerBackground, headerForeground;
 	boolean ownerDraw, ignoreSize, pixbufSizeSet, hasChildren;
+	/** Changed when the measured sizes of all cells become invalid, see sendMeasureEvent() */
+	int measureStamp;
 	int maxWidth = 0;
 	int topIndex;
 	double cachedAdjustment, currentAdjustment;
@@ -156,6 +161,7 @@ public Table (Composite parent, int style) {
 @Override
 void _addListener (int eventType, Listener listener) {
 	super._addListener (eventType, listener);
+	if (eventType == SWT.MeasureItem) measureStamp++;
 	if (!ownerDraw) {
 		switch (eventType) {
 			case SWT.MeasureItem:
@@ -590,6 +596,8 @@ void copyModel(long oldModel, int oldStart, long newModel, int newStart, int mod
 }
 
 void createColumn (TableColumn column, int index) {
+	/* Column indices change, so measured cell sizes must not be reused */
+	measureStamp++;
 	int modelIndex = FIRST_COLUMN;
 	if (columnCount != 0) {
 		int modelLength = GTK.gtk_tree_model_get_n_columns (modelHandle);
@@ -988,13 +996,13 @@ public void deselect (int index) {
  */
 public void deselect (int start, int end) {
 	checkWidget();
+	start = Math.max (0, start);
+	end = Math.min (end, itemCount - 1);
+	if (start > end) return;
 	boolean fixColumn = showFirstColumn ();
 	long selection = GTK.gtk_tree_view_get_selection (handle);
 	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
-	for (int index=start; index<=end; index++) {
-		if (index < 0 || index >= itemCount) continue;
-		GTK.gtk_tree_selection_unselect_iter (selection, _getItem (index).handle);
-	}
+	selectRange (selection, start, end, false);
 	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 	if (fixColumn) hideFirstColumn ();
 }
@@ -1022,11 +1030,7 @@ public void deselect (int [] indices) {
 	boolean fixColumn = showFirstColumn ();
 	long selection = GTK.gtk_tree_view_get_selection (handle);
 	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
-	for (int i=0; i<indices.length; i++) {
-		int index = indices[i];
-		if (index < 0 || index >= itemCount) continue;
-		GTK.gtk_tree_selection_unselect_iter (selection, _getItem (index).handle);
-	}
+	selectIndices (selection, indices, false);
 	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 	if (fixColumn) hideFirstColumn ();
 }
@@ -1050,6 +1054,7 @@ public void deselectAll () {
 }
 
 void destroyItem (TableColumn column) {
+	measureStamp++;
 	int index = 0;
 	while (index < columnCount) {
 		if (columns [index] == column) break;
@@ -1797,31 +1802,10 @@ long getPixbufRenderer (long column) {
  */
 public TableItem [] getSelection () {
 	checkWidget();
-	long selection = GTK.gtk_tree_view_get_selection (handle);
-	long list = GTK.gtk_tree_selection_get_selected_rows (selection, null);
-	long originalList = list;
-	if (list != 0) {
-		int count = OS.g_list_length (list);
-		int [] treeSelection = new int [count];
-		int length = 0;
-		for (int i=0; i<count; i++) {
-			long data = OS.g_list_data (list);
-			long indices = GTK.gtk_tree_path_get_indices (data);
-			if (indices != 0) {
-				int [] index = new int [1];
-				C.memmove (index, indices, 4);
-				treeSelection [length] = index [0];
-				length++;
-			}
-			GTK.gtk_tree_path_free (data);
-			list = OS.g_list_next (list);
-		}
-		OS.g_list_free (originalList);
-		TableItem [] result = new TableItem [length];
-		for (int i=0; i<result.length; i++) result [i] = _getItem (treeSelection [i]);
-		return result;
-	}
-	return new TableItem [0];
+	int [] indices = getSelectedRows ();
+	TableItem [] result = new TableItem [indices.length];
+	for (int i=0; i<result.length; i++) result [i] = _getItem (indices [i]);
+	return result;
 }
 
 /**
@@ -1895,31 +1879,86 @@ public int getSelectionIndex () {
  */
 public int [] getSelectionIndices () {
 	checkWidget();
+	return getSelectedRows ();
+}
+
+/**
+ * Returns the ranges of the items which are currently selected in
+ * the receiver. Each range is stored as a pair of consecutive elements:
+ * the zero-relative index of the first selected item of the range,
+ * followed by the index after the last selected item of the range.
+ * The ranges are in ascending order and do not overlap. The array is
+ * empty if no items are selected.
+ * <p>
+ * For large selections of adjacent items this is considerably more
+ * compact than {@link #getSelectionIndices()}.
+ * </p>
+ *
+ * @return the array of selected ranges
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #select(int, int)
+ * @see #getSelectionIndices()
+ *
+ * @since 3.125
+ */
+public int [] getSelectionRanges () {
+	checkWidget();
+	int [] indices = getSelectedRows ();
+	int length = indices.length;
+	if (length == 0) return indices;
+	int count = 1;
+	for (int i=1; i<length; i++) {
+		if (indices [i] != indices [i - 1] + 1) count++;
+	}
+	int [] result = new int [count * 2];
+	int start = indices [0], j = 0;
+	for (int i=1; i<length; i++) {
+		if (indices [i] != indices [i - 1] + 1) {
+			result [j++] = start;
+			result [j++] = indices [i - 1] + 1;
+			start = indices [i];
+		}
+	}
+	result [j++] = start;
+	result [j] = indices [length - 1] + 1;
+	return result;
+}
+
+/*
+ * Returns the indices of the selected rows. GTK returns the rows
+ * in model order, so the indices are in ascending order.
+ */
+int [] getSelectedRows () {
 	long selection = GTK.gtk_tree_view_get_selection (handle);
 	long list = GTK.gtk_tree_selection_get_selected_rows (selection, null);
+	if (list == 0) return new int [0];
 	long originalList = list;
-	if (list != 0) {
-		int count = OS.g_list_length (list);
-		int [] treeSelection = new int [count];
-		int length = 0;
-		for (int i=0; i<count; i++) {
-			long data = OS.g_list_data (list);
-			long indices = GTK.gtk_tree_path_get_indices (data);
-			if (indices != 0) {
-				int [] index = new int [1];
-				C.memmove (index, indices, 4);
-				treeSelection [length] = index [0];
-				length++;
-			}
-			list = OS.g_list_next (list);
-			GTK.gtk_tree_path_free (data);
+	int count = OS.g_list_length (list);
+	int [] result = new int [count];
+	int [] index = new int [1];
+	int length = 0;
+	while (list != 0) {
+		long data = OS.g_list_data (list);
+		long indices = GTK.gtk_tree_path_get_indices (data);
+		if (indices != 0) {
+			C.memmove (index, indices, 4);
+			result [length++] = index [0];
 		}
-		OS.g_list_free (originalList);
-		int [] result = new int [length];
-		System.arraycopy (treeSelection, 0, result, 0, length);
-		return result;
+		GTK.gtk_tree_path_free (data);
+		list = OS.g_list_next (list);
+	}
+	OS.g_list_free (originalList);
+	if (length < count) {
+		int [] temp = new int [length];
+		System.arraycopy (result, 0, temp, 0, length);
+		result = temp;
 	}
-	return new int [0];
+	return result;
 }
 
 /**
@@ -2585,6 +2624,16 @@ void recreateRenderers () {
 	}
 }
 
+@Override
+void redraw (boolean all) {
+	/*
+	* Measure the cells again, as applications may redraw the receiver
+	* because the result of their SWT.MeasureItem listeners changed.
+	*/
+	measureStamp++;
+	super.redraw (all);
+}
+
 @Override
 void redrawBackgroundImage () {
 	Control control = findBackgroundControl ();
@@ -2891,6 +2940,18 @@ void sendMeasureEvent (long cell, long width, long height) {
 				imageWidth = bounds.width;
 			}
 			contentWidth [0] += imageWidth;
+			/*
+			* The size of a cell is measured again whenever it is painted.
+			* Skip the SWT.MeasureItem event for cells that did not change
+			* since they were last measured.
+			*/
+			int measureWidth = contentWidth [0], measureHeight = contentHeight [0];
+			if (item.getMeasuredSize (columnIndex, isSelected, contentWidth, contentHeight)) {
+				if (width != 0) C.memmove (width, contentWidth, 4);
+				if (height != 0) C.memmove (height, contentHeight, 4);
+				GTK.gtk_cell_renderer_set_fixed_size (cell, -1, contentHeight [0]);
+				return;
+			}
 			GC gc = new GC (this);
 			gc.setFont (item.getFont (columnIndex));
 			Event event = new Event ();
@@ -2905,6 +2966,7 @@ void sendMeasureEvent (long cell, long width, long height) {
 			Rectangle rect = DPIUtil.autoScaleUp (event.getBounds ());
 			contentWidth [0] = rect.width - imageWidth;
 			if (contentHeight [0] < rect.height) contentHeight [0] = rect.height;
+			if (!item.isDisposed ()) item.setMeasuredSize (columnIndex, isSelected, measureWidth, measureHeight, contentWidth [0], contentHeight [0]);
 			if (width != 0) C.memmove (width, contentWidth, 4);
 			if (height != 0) C.memmove (height, contentHeight, 4);
 			GTK.gtk_cell_renderer_set_fixed_size (cell, -1, contentHeight [0]);
@@ -3312,10 +3374,7 @@ public void select (int start, int end) {
 	boolean fixColumn = showFirstColumn ();
 	long selection = GTK.gtk_tree_view_get_selection (handle);
 	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
-	for (int index=start; index<=end; index++) {
-		TableItem item = _getItem (index);
-		GTK.gtk_tree_selection_select_iter (selection, item.handle);
-	}
+	selectRange (selection, start, end, true);
 	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 	if (fixColumn) hideFirstColumn ();
 }
@@ -3351,12 +3410,7 @@ public void select (int [] indices) {
 	boolean fixColumn = showFirstColumn ();
 	long selection = GTK.gtk_tree_view_get_selection (handle);
 	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
-	for (int i=0; i<length; i++) {
-		int index = indices [i];
-		if (!(0 <= index && index < itemCount)) continue;
-		TableItem item = _getItem (index);
-		GTK.gtk_tree_selection_select_iter (selection, item.handle);
-	}
+	selectIndices (selection, indices, true);
 	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 	if (fixColumn) hideFirstColumn ();
 }
@@ -3383,6 +3437,64 @@ public void selectAll () {
 	if (fixColumn) hideFirstColumn ();
 }
 
+/*
+ * Selects or deselects the indices as runs of consecutive rows, so that
+ * each run costs a single call into GTK regardless of its length.
+ */
+void selectIndices (long selection, int [] indices, boolean select) {
+	int length = indices.length;
+	if (length == 0) return;
+	int [] sorted = indices;
+	for (int i=1; i<length; i++) {
+		if (indices [i] < indices [i - 1]) {
+			sorted = indices.clone ();
+			Arrays.sort (sorted);
+			break;
+		}
+	}
+	int i = 0;
+	while (i < length) {
+		int start = sorted [i], end = start;
+		while (++i < length && sorted [i] <= end + 1) {
+			end = Math.max (end, sorted [i]);
+		}
+		start = Math.max (0, start);
+		end = Math.min (end, itemCount - 1);
+		if (start <= end) selectRange (selection, start, end, select);
+	}
+}
+
+/*
+ * Selects or deselects the rows from start to end (inclusive) without
+ * creating items for them.
+ */
+void selectRange (long selection, int start, int end, boolean select) {
+	if (start == end || (style & SWT.MULTI) == 0) {
+		long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
+		for (int index=start; index<=end; index++) {
+			GTK.gtk_tree_model_iter_nth_child (modelHandle, iter, 0, index);
+			if (select) {
+				GTK.gtk_tree_selection_select_iter (selection, iter);
+			} else {
+				GTK.gtk_tree_selection_unselect_iter (selection, iter);
+			}
+		}
+		OS.g_free (iter);
+		return;
+	}
+	long startPath = GTK.gtk_tree_path_new ();
+	GTK.gtk_tree_path_append_index (startPath, start);
+	long endPath = GTK.gtk_tree_path_new ();
+	GTK.gtk_tree_path_append_index (endPath, end);
+	if (select) {
+		GTK.gtk_tree_selection_select_range (selection, startPath, endPath);
+	} else {
+		GTK.gtk_tree_selection_unselect_range (selection, startPath, endPath);
+	}
+	GTK.gtk_tree_path_free (startPath);
+	GTK.gtk_tree_path_free (endPath);
+}
+
 void selectFocusIndex (int index) {
 	/*
 	* Note that this method both selects and sets the focus to the
@@ -3496,6 +3608,7 @@ public void setColumnOrder (int [] order) {
 @Override
 void setFontDescription (long font) {
 	super.setFontDescription (font);
+	measureStamp++;
 	TableColumn[] columns = getColumns ();
 	for (int i = 0; i < columns.length; i++) {
 		if (columns[i] != null) {
@@ -4122,6 +4235,113 @@ public void showSelection () {
 	showItem (item.handle);
 }
 
+void reorder (Integer [] order) {
+	int count = order.length;
+	int [] newOrder = new int [count];
+	boolean changed = false;
+	for (int i=0; i<count; i++) {
+		newOrder [i] = order [i];
+		if (newOrder [i] != i) changed = true;
+	}
+	if (!changed) return;
+	TableItem [] oldItems = new TableItem [count];
+	System.arraycopy (items, 0, oldItems, 0, count);
+	for (int i=0; i<count; i++) items [i] = oldItems [newOrder [i]];
+	/*
+	* Rows of a GtkListStore keep their selection and their iterators
+	* when the store is reordered, so there is no need to update the
+	* selection or the handles of the items.
+	*/
+	GTK.gtk_list_store_reorder (modelHandle, newOrder);
+}
+
+/**
+ * Sorts the items of the receiver using the given comparator. The sort
+ * is stable, so items that compare as equal keep their relative order.
+ * The items are moved in place: they are not disposed or re-created,
+ * and the selection stays with the items that were selected.
+ * <p>
+ * The comparator is called on the user-interface thread and may query
+ * the items. Note that for a table created with the <code>SWT.VIRTUAL</code>
+ * style, querying an item may cause an <code>SWT.SetData</code> event to
+ * be sent for it. To sort very large tables, consider
+ * {@link #sort(Function, Comparator)}, which queries every item only once.
+ * </p>
+ *
+ * @param comparator the comparator that defines the new order of the items
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the comparator is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setSortColumn(TableColumn)
+ * @see #setSortDirection(int)
+ *
+ * @since 3.125
+ */
+public void sort (Comparator<? super TableItem> comparator) {
+	checkWidget ();
+	if (comparator == null) error (SWT.ERROR_NULL_ARGUMENT);
+	int count = getItemCount ();
+	if (count < 2) return;
+	TableItem [] sortItems = new TableItem [count];
+	Integer [] order = new Integer [count];
+	for (int i=0; i<count; i++) {
+		sortItems [i] = _getItem (i);
+		order [i] = i;
+	}
+	Arrays.sort (order, (a, b) -> comparator.compare (sortItems [a], sortItems [b]));
+	reorder (order);
+}
+
+/**
+ * Sorts the items of the receiver by the keys that are extracted from
+ * them. The sort is stable, so items with equal keys keep their relative
+ * order. The items are moved in place: they are not disposed or re-created,
+ * and the selection stays with the items that were selected.
+ * <p>
+ * The key extractor is called exactly once for every item, on the
+ * user-interface thread. The comparator must not access any widget, as
+ * it may be called from other threads to sort large tables in parallel.
+ * </p>
+ *
+ * @param <K> the type of the sort keys
+ * @param keyExtractor the function that returns the sort key of an item
+ * @param comparator the comparator that defines the order of the keys
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the key extractor or the comparator is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setSortColumn(TableColumn)
+ * @see #setSortDirection(int)
+ *
+ * @since 3.125
+ */
+public <K> void sort (Function<? super TableItem, ? extends K> keyExtractor, Comparator<? super K> comparator) {
+	checkWidget ();
+	if (keyExtractor == null || comparator == null) error (SWT.ERROR_NULL_ARGUMENT);
+	int count = getItemCount ();
+	if (count < 2) return;
+	java.util.List<K> sortKeys = new ArrayList<> (count);
+	Integer [] order = new Integer [count];
+	for (int i=0; i<count; i++) {
+		sortKeys.add (keyExtractor.apply (_getItem (i)));
+		order [i] = i;
+	}
+	/* Arrays.parallelSort() only forks for arrays that are large enough to benefit */
+	Arrays.parallelSort (order, (a, b) -> comparator.compare (sortKeys.get (a), sortKeys.get (b)));
+	reorder (order);
+}
+
 @Override
 void updateScrollBarValue (ScrollBar bar) {
 	super.updateScrollBarValue (bar);
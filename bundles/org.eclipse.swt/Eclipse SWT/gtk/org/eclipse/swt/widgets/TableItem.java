@@ -45,6 +45,10 @@ public class TableItem extends Item {
 	Font[] cellFont;
 	String [] strings;
 	boolean cached, grayed, settingData;
+	/** The last measured sizes of the cells, see getMeasuredSize(int, boolean, int[], int[]) */
+	int [] measureCache;
+	int measureStamp;
+	static final int MEASURE_SIZE = 5;
 
 /**
  * Constructs a new instance of this class given its parent
@@ -234,11 +238,46 @@ void clear () {
 		}
 	}
 	cached = false;
+	measureCache = null;
 	font = null;
 	cellFont = null;
 	strings = null;
 }
 
+/*
+* Returns whether the SWT.MeasureItem listeners have already measured the
+* cell at the given column for the size in the width and height arrays.
+* In that case, the measured size is stored in the arrays.  Every cell uses
+* MEASURE_SIZE entries of the cache: the size that was passed to the
+* listeners, the selection state, and the size that the listeners returned.
+*/
+boolean getMeasuredSize (int columnIndex, boolean selected, int [] width, int [] height) {
+	if (measureCache == null || measureStamp != parent.measureStamp) return false;
+	int offset = columnIndex * MEASURE_SIZE;
+	if (offset + MEASURE_SIZE > measureCache.length) return false;
+	if (measureCache [offset + 4] == 0) return false;
+	if (measureCache [offset] != width [0] || measureCache [offset + 1] != height [0]) return false;
+	if ((measureCache [offset + 4] == 2) != selected) return false;
+	width [0] = measureCache [offset + 2];
+	height [0] = measureCache [offset + 3];
+	return true;
+}
+
+void setMeasuredSize (int columnIndex, boolean selected, int width, int height, int measuredWidth, int measuredHeight) {
+	int length = Math.max (1, parent.columnCount) * MEASURE_SIZE;
+	if (measureCache == null || measureStamp != parent.measureStamp || measureCache.length != length) {
+		measureCache = new int [length];
+		measureStamp = parent.measureStamp;
+	}
+	int offset = columnIndex * MEASURE_SIZE;
+	if (offset + MEASURE_SIZE > length) return;
+	measureCache [offset] = width;
+	measureCache [offset + 1] = height;
+	measureCache [offset + 2] = measuredWidth;
+	measureCache [offset + 3] = measuredHeight;
+	measureCache [offset + 4] = selected ? 2 : 1;
+}
+
 @Override
 void destroyWidget () {
 	parent.destroyItem (this);
@@ -870,6 +909,7 @@ public void setBackground (Color color) {
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
 	GTK.gtk_list_store_set (parent.modelHandle, handle, Table.BACKGROUND_COLUMN, gdkRGBA, -1);
 	cached = true;
+	measureCache = null;
 }
 
 /**
@@ -902,6 +942,7 @@ public void setBackground (int index, Color color) {
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
 	GTK.gtk_list_store_set (parent.modelHandle, handle, modelIndex + Table.CELL_BACKGROUND, gdkRGBA, -1);
 	cached = true;
+	measureCache = null;
 
 	if (color != null) {
 		boolean customDraw = (parent.columnCount == 0)  ? parent.firstCustomDraw : parent.columns [index].customDraw;
@@ -952,6 +993,7 @@ public void setChecked (boolean checked) {
 	*/
 	GTK.gtk_list_store_set (parent.modelHandle, handle, Table.GRAYED_COLUMN, !checked ? false : grayed, -1);
 	cached = true;
+	measureCache = null;
 }
 
 /**
@@ -983,6 +1025,7 @@ public void setFont (Font font){
 	long fontHandle = font != null ? font.handle : 0;
 	GTK.gtk_list_store_set (parent.modelHandle, handle, Table.FONT_COLUMN, fontHandle, -1);
 	cached = true;
+	measureCache = null;
 }
 
 /**
@@ -1024,6 +1067,7 @@ public void setFont (int index, Font font) {
 	long fontHandle  = font != null ? font.handle : 0;
 	GTK.gtk_list_store_set (parent.modelHandle, handle, modelIndex + Table.CELL_FONT, fontHandle, -1);
 	cached = true;
+	measureCache = null;
 
 	if (font != null) {
 		boolean customDraw = (parent.columnCount == 0)  ? parent.firstCustomDraw : parent.columns [index].customDraw;
@@ -1077,6 +1121,7 @@ public void setForeground (Color color){
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
 	GTK.gtk_list_store_set (parent.modelHandle, handle, Table.FOREGROUND_COLUMN, gdkRGBA, -1);
 	cached = true;
+	measureCache = null;
 }
 
 /**
@@ -1109,6 +1154,7 @@ public void setForeground (int index, Color color){
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
 	GTK.gtk_list_store_set (parent.modelHandle, handle, modelIndex + Table.CELL_FOREGROUND, gdkRGBA, -1);
 	cached = true;
+	measureCache = null;
 
 	if (color != null) {
 		boolean customDraw = (parent.columnCount == 0)  ? parent.firstCustomDraw : parent.columns [index].customDraw;
@@ -1160,6 +1206,7 @@ public void setGrayed (boolean grayed) {
 	GTK.gtk_tree_model_get (parent.modelHandle, handle, Table.CHECKED_COLUMN, ptr, -1);
 	GTK.gtk_list_store_set (parent.modelHandle, handle, Table.GRAYED_COLUMN, ptr [0] == 0 ? false : grayed, -1);
 	cached = true;
+	measureCache = null;
 }
 
 /**
@@ -1248,6 +1295,7 @@ public void setImage(int index, Image image) {
 	}
 	GTK.gtk_list_store_set (parent.modelHandle, handle, modelIndex + Table.CELL_SURFACE, surface, -1);
 	cached = true;
+	measureCache = null;
 	/*
 	 * Bug 465056: single column Tables have a very small initial width.
 	 * Fix: when text or an image is set for a Table, compute its
@@ -1305,6 +1353,7 @@ public void setImageIndent (int indent) {
 	if (indent < 0) return;
 	/* Image indent is not supported on GTK */
 	cached = true;
+	measureCache = null;
 }
 
 /**
@@ -1346,6 +1395,7 @@ public void setText (int index, String string) {
 	int modelIndex = parent.columnCount == 0 ? Table.FIRST_COLUMN : parent.columns [index].modelIndex;
 	GTK.gtk_list_store_set (parent.modelHandle, handle, modelIndex + Table.CELL_TEXT, buffer, -1);
 	cached = true;
+	measureCache = null;
 	/*
 	 * Bug 465056: single column Tables have a very small initial width.
 	 * Fix: when text or an image is set for a Table, compute its
@@ -291,7 +291,7 @@ void configure () {
 	GTK.gtk_widget_realize(handle);
 	Region region = new Region (display);
 	region.add(DPIUtil.autoScaleDown(polyline));
-	GTK3.gtk_widget_shape_combine_region (handle, region.handle);
+	GTK3.gtk_widget_shape_combine_region (handle, Region.gtk_getHandle (region));
 	region.dispose ();
 }
 
@@ -95,12 +95,18 @@ public class Tree extends Composite {
 	/** True iff computeSize has never been called on this Tree */
 	boolean firstCompute = true;
 	boolean modelChanged;
-	boolean expandAll;
+	boolean expandAll, lazyItems;
+	/** The number of nested batches, see beginBatch() */
+	int batchCount;
+	TreeItem [] batchSelection;
+	double batchScroll;
 	int drawState, drawFlags;
 	GdkRGBA background, foreground, drawForegroundRGBA;
 	/** The owner of the widget is responsible for drawing */
 	boolean isOwnerDrawn;
 	boolean ignoreSize, pixbufSizeSet, hasChildren;
+	/** Changed when the measured sizes of all cells become invalid, see sendMeasureEvent() */
+	int measureStamp;
 	int pixbufHeight, pixbufWidth, headerHeight;
 	boolean headerVisible;
 	TreeItem topItem;
@@ -111,6 +117,8 @@ public class Tree extends Composite {
 
 	private long headerCSSProvider;
 
+	/* The number of rows that an operation must change to detach the model from the view */
+	static final int BATCH_THRESHOLD = 256;
 	static final int ID_COLUMN = 0;
 	static final int CHECKED_COLUMN = 1;
 	static final int GRAYED_COLUMN = 2;
@@ -166,6 +174,7 @@ public Tree (Composite parent, int style) {
 @Override
 void _addListener (int eventType, Listener listener) {
 	super._addListener (eventType, listener);
+	if (eventType == SWT.MeasureItem) measureStamp++;
 	if (!isOwnerDrawn) {
 		switch (eventType) {
 			case SWT.MeasureItem:
@@ -448,6 +457,24 @@ public void addTreeListener(TreeListener listener) {
 	addListener (SWT.Collapse, typedListener);
 }
 
+/*
+* Starts a batch of changes to the model.  The model is detached from the
+* view until the outermost batch ends, so the view does not handle each
+* inserted or deleted row.  The selection, the expanded rows and the
+* scroll position are restored by endBatch().
+*/
+void beginBatch () {
+	if (batchCount++ != 0) return;
+	setRedraw (false);
+	updateExpanded (0);
+	batchSelection = getSelection ();
+	batchScroll = GTK.gtk_adjustment_get_value (GTK.gtk_scrollable_get_vadjustment (handle));
+	long selection = GTK.gtk_tree_view_get_selection (handle);
+	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+	OS.g_object_ref (modelHandle);
+	GTK.gtk_tree_view_set_model (handle, 0);
+}
+
 int calculateWidth (long column, long iter, boolean recurse) {
 	GTK.gtk_tree_view_column_cell_set_cell_data (column, modelHandle, iter, false, false);
 	/*
@@ -748,6 +775,8 @@ void copyModel (long oldModel, int oldStart, long newModel, int newStart, long o
 }
 
 void createColumn (TreeColumn column, int index) {
+	/* Column indices change, so measured cell sizes must not be reused */
+	measureStamp++;
 /*
 * Bug in ATK. For some reason, ATK segments fault if
 * the GtkTreeView has a column and does not have items.
@@ -998,6 +1027,7 @@ void createItem (TreeItem item, long parentIter, int index) {
 	 * Even a single call to 'gtk_tree_model_iter_n_children' already
 	 * reduces performance 3x, so try to avoid any unneeded API calls.
 	 */
+	if (lazyItems && parentIter != 0) materializeItems (parentIter);
 	if (index == 0) {
 		item.handle = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
 		if (item.handle == 0) error(SWT.ERROR_NO_HANDLES);
@@ -1221,6 +1251,7 @@ public void deselectAll() {
 }
 
 void destroyItem (TreeColumn column) {
+	measureStamp++;
 	int index = 0;
 	while (index < columnCount) {
 		if (columns [index] == column) break;
@@ -1346,6 +1377,53 @@ boolean dragDetect (int x, int y, boolean filter, boolean dragOnTimeout, boolean
 }
 
 
+void endBatch () {
+	if (--batchCount != 0) return;
+	GTK.gtk_tree_view_set_model (handle, modelHandle);
+	OS.g_object_unref (modelHandle);
+	expandItems (0);
+	long selection = GTK.gtk_tree_view_get_selection (handle);
+	for (TreeItem item : batchSelection) {
+		if (!item.isDisposed ()) GTK.gtk_tree_selection_select_iter (selection, item.handle);
+	}
+	batchSelection = null;
+	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+	if (!searchEnabled ()) {
+		GTK.gtk_tree_view_set_search_column (handle, -1);
+	} else {
+		/* Set the search column whenever the model changes */
+		int firstColumn = columnCount == 0 ? FIRST_COLUMN : columns [0].modelIndex;
+		GTK.gtk_tree_view_set_search_column (handle, firstColumn + CELL_TEXT);
+	}
+	setRedraw (true);
+	GTK.gtk_adjustment_set_value (GTK.gtk_scrollable_get_vadjustment (handle), batchScroll);
+}
+
+/*
+* Expands the rows of the expanded items below the given row.  Used to
+* restore the expanded rows after the model was attached to the view.
+*/
+void expandItems (long parentIter) {
+	long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
+	if (iter == 0) error (SWT.ERROR_NO_HANDLES);
+	if (GTK.gtk_tree_model_iter_children (modelHandle, iter, parentIter)) {
+		int [] index = new int [1];
+		do {
+			GTK.gtk_tree_model_get (modelHandle, iter, ID_COLUMN, index, -1);
+			TreeItem item = index [0] != -1 && index [0] < items.length ? items [index [0]] : null;
+			if (item != null && item.isExpanded && GTK.gtk_tree_model_iter_n_children (modelHandle, iter) != 0) {
+				long path = GTK.gtk_tree_model_get_path (modelHandle, iter);
+				OS.g_signal_handlers_block_matched (handle, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, TEST_EXPAND_ROW);
+				GTK.gtk_tree_view_expand_row (handle, path, false);
+				OS.g_signal_handlers_unblock_matched (handle, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, TEST_EXPAND_ROW);
+				GTK.gtk_tree_path_free (path);
+				expandItems (iter);
+			}
+		} while (GTK.gtk_tree_model_iter_next (modelHandle, iter));
+	}
+	OS.g_free (iter);
+}
+
 @Override
 long eventWindow () {
 	return paintWindow ();
@@ -1946,6 +2024,27 @@ TreeItem [] getItems (long parent) {
 	return result;
 }
 
+/**
+ * Returns <code>true</code> if the children of collapsed items of a
+ * tree created with the <code>SWT.VIRTUAL</code> style are only kept
+ * as a count until the item is expanded, and <code>false</code> otherwise.
+ *
+ * @return the lazy items state
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setLazyItems(boolean)
+ *
+ * @since 3.125
+ */
+public boolean getLazyItems () {
+	checkWidget ();
+	return lazyItems;
+}
+
 /**
  * Returns <code>true</code> if the receiver's lines are visible,
  * and <code>false</code> otherwise. Note that some platforms draw
@@ -2030,17 +2129,17 @@ public TreeItem[] getSelection () {
 		int count = OS.g_list_length (list);
 		TreeItem [] treeSelection = new TreeItem [count];
 		int length = 0;
+		long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
 		for (int i=0; i<count; i++) {
 			long data = OS.g_list_data (list);
-			long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
 			if (GTK.gtk_tree_model_get_iter (modelHandle, iter, data)) {
 				treeSelection [length] = _getItem (iter);
 				length++;
 			}
 			list = OS.g_list_next (list);
-			OS.g_free (iter);
 			GTK.gtk_tree_path_free (data);
 		}
+		OS.g_free (iter);
 		OS.g_list_free (originalList);
 		if (length < count) {
 			TreeItem [] temp = new TreeItem [length];
@@ -2551,6 +2650,8 @@ long gtk_row_has_child_toggled (long model, long path, long iter) {
 	* and use this callback, as it is invoked when a row has
 	* gotten the first child row or lost its last child row.
 	*/
+	/* The expanded rows are restored when the batch ends */
+	if (batchCount > 0) return 0;
 	int [] index = new int [1];
 	GTK.gtk_tree_model_get (modelHandle, iter, ID_COLUMN, index, -1);
 	if (index [0] >= items.length) return 0;
@@ -2602,6 +2703,13 @@ long gtk_test_collapse_row (long tree, long iter, long path) {
 	if (isDisposed () || item.isDisposed ()) return 1;
 	item.isExpanded = false;
 	/*
+	* When the tree keeps the children of collapsed items lazily, the
+	* child rows are released once the row is collapsed.  The model must
+	* not change while GTK is collapsing the row, so the row is collapsed
+	* here as well.
+	*/
+	if (lazyItems && (style & SWT.VIRTUAL) != 0) changed = true;
+	/*
 	* Bug in GTK.  Expanding or collapsing a row which has no more
 	* children causes the model state to become invalid, causing
 	* GTK to give warnings and behave strangely.  Other changes to
@@ -2616,6 +2724,7 @@ long gtk_test_collapse_row (long tree, long iter, long path) {
 		OS.g_signal_handlers_block_matched (handle, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, TEST_COLLAPSE_ROW);
 		GTK.gtk_tree_view_collapse_row (handle, path);
 		OS.g_signal_handlers_unblock_matched (handle, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, TEST_COLLAPSE_ROW);
+		compactItems (item);
 		return 1;
 	}
 	return 0;
@@ -2631,6 +2740,7 @@ long gtk_test_expand_row (long tree, long iter, long path) {
 	boolean oldModelChanged = modelChanged;
 	modelChanged = false;
 	sendEvent (SWT.Expand, event);
+	if (!isDisposed () && !item.isDisposed ()) materializeItems (item);
 	/*
 	* Bug in GTK.  Expanding the target row during the test_expand_row
 	* handler will cause a segmentation fault if the animation code is allowed
@@ -2870,6 +2980,16 @@ void recreateRenderers () {
 	}
 }
 
+@Override
+void redraw (boolean all) {
+	/*
+	* Measure the cells again, as applications may redraw the receiver
+	* because the result of their SWT.MeasureItem listeners changed.
+	*/
+	measureStamp++;
+	super.redraw (all);
+}
+
 @Override
 void redrawBackgroundImage () {
 	Control control = findBackgroundControl ();
@@ -2938,6 +3058,10 @@ void releaseChildren (boolean destroy) {
 @Override
 void releaseWidget () {
 	super.releaseWidget ();
+	/* Release the reference that replaced the one of the view during a batch */
+	if (batchCount > 0 && modelHandle != 0) OS.g_object_unref (modelHandle);
+	batchCount = 0;
+	batchSelection = null;
 	if (modelHandle != 0) OS.g_object_unref (modelHandle);
 	modelHandle = 0;
 	if (checkRenderer != 0) OS.g_object_unref (checkRenderer);
@@ -2996,25 +3120,44 @@ public void removeAll () {
 	checkWidget ();
 	checkSetDataInProcessBeforeRemoval();
 
+	/*
+	* Clearing the model while it is attached to the view makes the
+	* view handle every deleted row.  Detach the model while the rows
+	* of a large tree are deleted.  The search column is set again when
+	* the batch ends.  The model is not detached from inside SWT.SetData,
+	* which is sent while the view renders its cells.
+	*/
+	boolean batch = currentItem == null && GTK.gtk_tree_model_iter_n_children (modelHandle, 0) >= BATCH_THRESHOLD;
+	for (int i=0, count=0; i<items.length && !batch; i++) {
+		if (items [i] != null && ++count >= BATCH_THRESHOLD) batch = true;
+	}
 	long selection = GTK.gtk_tree_view_get_selection (handle);
-	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
-
-	GTK.gtk_tree_store_clear (modelHandle);
-
-	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
-
-	for (int i=0; i<items.length; i++) {
-		TreeItem item = items [i];
-		if (item != null && !item.isDisposed ()) item.release (false);
+	if (batch) {
+		beginBatch ();
+	} else {
+		OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 	}
-	items = new TreeItem[4];
+	try {
+		GTK.gtk_tree_store_clear (modelHandle);
+		if (!batch) OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 
-	if (!searchEnabled ()) {
-		GTK.gtk_tree_view_set_search_column (handle, -1);
-	} else {
-		/* Set the search column whenever the model changes */
-		int firstColumn = columnCount == 0 ? FIRST_COLUMN : columns [0].modelIndex;
-		GTK.gtk_tree_view_set_search_column (handle, firstColumn + CELL_TEXT);
+		for (int i=0; i<items.length; i++) {
+			TreeItem item = items [i];
+			if (item != null && !item.isDisposed ()) item.release (false);
+		}
+		items = new TreeItem[4];
+	} finally {
+		if (batch) {
+			if (!isDisposed ()) endBatch ();
+		} else if (!isDisposed ()) {
+			if (!searchEnabled ()) {
+				GTK.gtk_tree_view_set_search_column (handle, -1);
+			} else {
+				/* Set the search column whenever the model changes */
+				int firstColumn = columnCount == 0 ? FIRST_COLUMN : columns [0].modelIndex;
+				GTK.gtk_tree_view_set_search_column (handle, firstColumn + CELL_TEXT);
+			}
+		}
 	}
 }
 
@@ -3100,6 +3243,22 @@ void sendMeasureEvent (long cell, long width, long height) {
 				imageWidth = bounds.width;
 			}
 			contentWidth [0] += imageWidth;
+			long path = GTK.gtk_tree_model_get_path (modelHandle, iter);
+			long selection = GTK.gtk_tree_view_get_selection (handle);
+			boolean isSelected = GTK.gtk_tree_selection_path_is_selected (selection, path);
+			GTK.gtk_tree_path_free (path);
+			/*
+			* The size of a cell is measured again whenever it is painted.
+			* Skip the SWT.MeasureItem event for cells that did not change
+			* since they were last measured.
+			*/
+			int measureWidth = contentWidth [0], measureHeight = contentHeight [0];
+			if (item.getMeasuredSize (columnIndex, isSelected, contentWidth, contentHeight)) {
+				if (width != 0) C.memmove (width, contentWidth, 4);
+				if (height != 0) C.memmove (height, contentHeight, 4);
+				GTK.gtk_cell_renderer_set_fixed_size (cell, -1, contentHeight [0]);
+				return;
+			}
 			GC gc = new GC (this);
 			gc.setFont (item.getFont (columnIndex));
 			Event event = new Event ();
@@ -3108,17 +3267,13 @@ void sendMeasureEvent (long cell, long width, long height) {
 			event.gc = gc;
 			Rectangle eventRect = new Rectangle (0, 0, contentWidth [0], contentHeight [0]);
 			event.setBounds (DPIUtil.autoScaleDown (eventRect));
-			long path = GTK.gtk_tree_model_get_path (modelHandle, iter);
-			long selection = GTK.gtk_tree_view_get_selection (handle);
-			if (GTK.gtk_tree_selection_path_is_selected (selection, path)) {
-				event.detail = SWT.SELECTED;
-			}
-			GTK.gtk_tree_path_free (path);
+			if (isSelected) event.detail = SWT.SELECTED;
 			sendEvent (SWT.MeasureItem, event);
 			gc.dispose ();
 			Rectangle rect = DPIUtil.autoScaleUp (event.getBounds ());
 			contentWidth [0] = rect.width - imageWidth;
 			if (contentHeight [0] < rect.height) contentHeight [0] = rect.height;
+			if (!item.isDisposed ()) item.setMeasuredSize (columnIndex, isSelected, measureWidth, measureHeight, contentWidth [0], contentHeight [0]);
 			if (width != 0) C.memmove (width, contentWidth, 4);
 			if (height != 0) C.memmove (height, contentHeight, 4);
 			GTK.gtk_cell_renderer_set_fixed_size (cell, -1, contentHeight [0]);
@@ -3461,6 +3616,49 @@ void reskinChildren (int flags) {
 	}
 	super.reskinChildren (flags);
 }
+/**
+ * Runs the given runnable as a single batch of changes to the items of
+ * the receiver. Creating, removing and changing many items, for example
+ * to rebuild a tree with many thousands of nodes, is much faster in a batch,
+ * because the receiver is updated once when the runnable returns instead
+ * of once for every item.
+ * <p>
+ * The runnable should only create, dispose and change items. The selection,
+ * the expanded items and the scroll position are restored when the runnable
+ * returns, and selected items that were disposed are no longer selected.
+ * Methods that depend on the visible state of the receiver, such as
+ * <code>showItem()</code>, <code>getTopItem()</code>, <code>getItem(Point)</code>
+ * or <code>getSelection()</code>, should not be called by the runnable,
+ * as the result is not defined on all platforms.
+ * </p><p>
+ * Batches may be nested; only the outermost batch updates the receiver.
+ * </p>
+ *
+ * @param runnable the code that changes the items of the receiver
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the runnable is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setRedraw(boolean)
+ *
+ * @since 3.125
+ */
+public void runBatch (Runnable runnable) {
+	checkWidget ();
+	if (runnable == null) error (SWT.ERROR_NULL_ARGUMENT);
+	beginBatch ();
+	try {
+		runnable.run ();
+	} finally {
+		if (!isDisposed ()) endBatch ();
+	}
+}
+
 boolean searchEnabled () {
 	/* Disable searching when using VIRTUAL */
 	if ((style & SWT.VIRTUAL) != 0) return false;
@@ -3501,41 +3699,131 @@ public void setInsertMark (TreeItem item, boolean before) {
 	GTK.gtk_tree_path_free (path [0]);
 }
 
+/*
+ * Returns whether the children of the item are kept as a count
+ * instead of rows in the model.
+ */
+boolean isLazy (TreeItem item) {
+	if (item.lazyCount != -1) return true;
+	if (!lazyItems || (style & SWT.VIRTUAL) == 0 || item.isExpanded) return false;
+	return GTK.gtk_tree_model_iter_n_children (modelHandle, item.handle) == 0;
+}
+
+/*
+ * Replaces the child rows of a collapsed item by their count. A single
+ * placeholder row is kept so that GTK continues to show the expander.
+ */
+void compactItems (TreeItem item) {
+	if (!lazyItems || (style & SWT.VIRTUAL) == 0 || item.lazyCount != -1) return;
+	int count = GTK.gtk_tree_model_iter_n_children (modelHandle, item.handle);
+	if (count == 0) return;
+	remove (item.handle, 0, count - 1);
+	if (isDisposed () || item.isDisposed ()) return;
+	item.lazyCount = 0;
+	setLazyItemCount (item, count);
+}
+
+/*
+ * Creates the child rows of an item whose children are only kept as
+ * a count. The rows are left without items, as they are for any other
+ * virtual row, until SWT.SetData is sent for them.
+ */
+void materializeItems (TreeItem item) {
+	if (item.lazyCount == -1) return;
+	int count = item.lazyCount;
+	if (count != 0) {
+		long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
+		if (iter == 0) error (SWT.ERROR_NO_HANDLES);
+		long selection = GTK.gtk_tree_view_get_selection (handle);
+		OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+		while (GTK.gtk_tree_model_iter_children (modelHandle, iter, item.handle)) {
+			GTK.gtk_tree_store_remove (modelHandle, iter);
+		}
+		OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+		OS.g_free (iter);
+	}
+	item.lazyCount = -1;
+	setItemCount (item.handle, count);
+}
+
+void materializeItems (long parentIter) {
+	if (parentIter == 0) return;
+	int [] index = new int [1];
+	GTK.gtk_tree_model_get (modelHandle, parentIter, ID_COLUMN, index, -1);
+	if (index [0] == -1 || index [0] >= items.length) return;
+	TreeItem item = items [index [0]];
+	if (item != null) materializeItems (item);
+}
+
+void setLazyItemCount (TreeItem item, int count) {
+	if (item.lazyCount == -1) {
+		int itemCount = GTK.gtk_tree_model_iter_n_children (modelHandle, item.handle);
+		if (itemCount != 0) remove (item.handle, 0, itemCount - 1);
+		item.lazyCount = 0;
+	}
+	if (count == item.lazyCount) return;
+	long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
+	if (iter == 0) error (SWT.ERROR_NO_HANDLES);
+	if (item.lazyCount == 0) {
+		GTK.gtk_tree_store_append (modelHandle, iter, item.handle);
+		GTK.gtk_tree_store_set (modelHandle, iter, ID_COLUMN, -1, -1);
+	} else if (count == 0) {
+		if (GTK.gtk_tree_model_iter_children (modelHandle, iter, item.handle)) {
+			GTK.gtk_tree_store_remove (modelHandle, iter);
+		}
+	}
+	OS.g_free (iter);
+	item.lazyCount = count;
+	modelChanged = true;
+}
+
 void setItemCount (long parentIter, int count) {
 	int itemCount = GTK.gtk_tree_model_iter_n_children (modelHandle, parentIter);
 	if (count == itemCount) return;
 	boolean isVirtual = (style & SWT.VIRTUAL) != 0;
+	/*
+	* Detach the model while many rows are inserted or deleted, except from
+	* inside SWT.SetData, which is sent while the view renders its cells.
+	*/
+	boolean batch = currentItem == null && Math.abs (count - itemCount) >= BATCH_THRESHOLD;
+	if (batch) beginBatch ();
 	if (!isVirtual) setRedraw (false);
-	if(parentIter == 0 && count == 0) {
-		removeAll();
-	} else {
-		remove (parentIter, count, itemCount - 1);
-	}
-	if (isVirtual) {
-		long iters = OS.g_malloc (2 * GTK.GtkTreeIter_sizeof ());
-		if (iters == 0) error (SWT.ERROR_NO_HANDLES);
-
-		long iterResult = iters;
-		long iterInsertAfter;
-		if (itemCount != 0) {
-			iterInsertAfter = iters + GTK.GtkTreeIter_sizeof ();
-			GTK.gtk_tree_model_iter_nth_child(modelHandle, iterInsertAfter, parentIter, itemCount - 1);
+	try {
+		if(parentIter == 0 && count == 0) {
+			removeAll();
 		} else {
-			iterInsertAfter = 0;
+			remove (parentIter, count, itemCount - 1);
 		}
+		if (isVirtual) {
+			long iters = OS.g_malloc (2 * GTK.GtkTreeIter_sizeof ());
+			if (iters == 0) error (SWT.ERROR_NO_HANDLES);
+
+			long iterResult = iters;
+			long iterInsertAfter;
+			if (itemCount != 0) {
+				iterInsertAfter = iters + GTK.GtkTreeIter_sizeof ();
+				GTK.gtk_tree_model_iter_nth_child(modelHandle, iterInsertAfter, parentIter, itemCount - 1);
+			} else {
+				iterInsertAfter = 0;
+			}
 
-		for (int i=itemCount; i<count; i++) {
-			GTK.gtk_tree_store_insert_after (modelHandle, iterResult, parentIter, iterInsertAfter);
-			GTK.gtk_tree_store_set (modelHandle, iterResult, ID_COLUMN, -1, -1);
-		}
+			for (int i=itemCount; i<count; i++) {
+				GTK.gtk_tree_store_insert_after (modelHandle, iterResult, parentIter, iterInsertAfter);
+				GTK.gtk_tree_store_set (modelHandle, iterResult, ID_COLUMN, -1, -1);
+			}
 
-		OS.g_free (iters);
-	} else {
-		for (int i=itemCount; i<count; i++) {
-			new TreeItem (this, parentIter, SWT.NONE, itemCount, true);
+			OS.g_free (iters);
+		} else {
+			for (int i=itemCount; i<count; i++) {
+				new TreeItem (this, parentIter, SWT.NONE, itemCount, true);
+			}
+		}
+	} finally {
+		if (!isDisposed ()) {
+			if (!isVirtual) setRedraw (true);
+			if (batch) endBatch ();
 		}
 	}
-	if (!isVirtual) setRedraw (true);
 	modelChanged = true;
 }
 
@@ -3709,6 +3997,7 @@ public void setColumnOrder (int [] order) {
 @Override
 void setFontDescription (long font) {
 	super.setFontDescription (font);
+	measureStamp++;
 	TreeColumn[] columns = getColumns ();
 	for (int i = 0; i < columns.length; i++) {
 		if (columns[i] != null) {
@@ -3846,6 +4135,47 @@ public void setHeaderVisible (boolean show) {
 	this.headerVisible = show;
 }
 
+/**
+ * Sets whether the children of collapsed items are materialized lazily.
+ * <p>
+ * When enabled on a tree created with the <code>SWT.VIRTUAL</code> style,
+ * {@link TreeItem#setItemCount(int)} on a collapsed item only records the
+ * number of children. The child items are created when the item is expanded
+ * or when they are explicitly requested, for example by
+ * {@link TreeItem#getItems()}. When an item is collapsed, its child items
+ * are disposed and replaced by their count again, so that memory use scales
+ * with the part of the tree that is actually expanded. Child items are
+ * requested again using <code>SWT.SetData</code> the next time they are needed.
+ * </p><p>
+ * <b>Note:</b> This is a hint that has no effect on trees that do not have
+ * the <code>SWT.VIRTUAL</code> style, and may be ignored on platforms where
+ * the native tree does not keep a row for every item.
+ * </p>
+ *
+ * @param lazy the new lazy items state
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see SWT#VIRTUAL
+ * @see SWT#SetData
+ *
+ * @since 3.125
+ */
+public void setLazyItems (boolean lazy) {
+	checkWidget ();
+	if (lazyItems == lazy) return;
+	lazyItems = lazy;
+	if (!lazy) {
+		for (int i = 0; i < items.length; i++) {
+			TreeItem item = items [i];
+			if (item != null && !item.isDisposed ()) materializeItems (item);
+		}
+	}
+}
+
 /**
  * Marks the receiver's lines as visible if the argument is <code>true</code>,
  * and marks it invisible otherwise. Note that some platforms draw
@@ -4213,6 +4543,30 @@ public void showItem (TreeItem item) {
 	GTK.gtk_tree_path_free (path);
 }
 
+/*
+* Updates the expanded state of the items below the given row from the view.
+* Items keep their expanded state when an ancestor is collapsed, but the view
+* does not, so the state must be updated before the view forgets it.
+*/
+void updateExpanded (long parentIter) {
+	long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
+	if (iter == 0) error (SWT.ERROR_NO_HANDLES);
+	if (GTK.gtk_tree_model_iter_children (modelHandle, iter, parentIter)) {
+		int [] index = new int [1];
+		do {
+			if (GTK.gtk_tree_model_iter_n_children (modelHandle, iter) == 0) continue;
+			GTK.gtk_tree_model_get (modelHandle, iter, ID_COLUMN, index, -1);
+			TreeItem item = index [0] != -1 && index [0] < items.length ? items [index [0]] : null;
+			if (item == null) continue;
+			long path = GTK.gtk_tree_model_get_path (modelHandle, iter);
+			item.isExpanded = GTK.gtk_tree_view_row_expanded (handle, path);
+			GTK.gtk_tree_path_free (path);
+			if (item.isExpanded) updateExpanded (iter);
+		} while (GTK.gtk_tree_model_iter_next (modelHandle, iter));
+	}
+	OS.g_free (iter);
+}
+
 @Override
 void updateScrollBarValue (ScrollBar bar) {
 	super.updateScrollBarValue (bar);
@@ -45,6 +45,12 @@ public class TreeItem extends Item {
 	Font[] cellFont;
 	String [] strings;
 	boolean cached, grayed, isExpanded, updated, settingData;
+	/** The number of children kept without rows while collapsed, or -1 if the child rows exist */
+	int lazyCount = -1;
+	/** The last measured sizes of the cells, see getMeasuredSize(int, boolean, int[], int[]) */
+	int [] measureCache;
+	int measureStamp;
+	static final int MEASURE_SIZE = 5;
 	static final int EXPANDER_EXTRA_PADDING = 4;
 
 /**
@@ -288,11 +294,46 @@ void clear () {
 		}
 	}
 	cached = false;
+	measureCache = null;
 	font = null;
 	strings = null;
 	cellFont = null;
 }
 
+/*
+* Returns whether the SWT.MeasureItem listeners have already measured the
+* cell at the given column for the size in the width and height arrays.
+* In that case, the measured size is stored in the arrays.  Every cell uses
+* MEASURE_SIZE entries of the cache: the size that was passed to the
+* listeners, the selection state, and the size that the listeners returned.
+*/
+boolean getMeasuredSize (int columnIndex, boolean selected, int [] width, int [] height) {
+	if (measureCache == null || measureStamp != parent.measureStamp) return false;
+	int offset = columnIndex * MEASURE_SIZE;
+	if (offset + MEASURE_SIZE > measureCache.length) return false;
+	if (measureCache [offset + 4] == 0) return false;
+	if (measureCache [offset] != width [0] || measureCache [offset + 1] != height [0]) return false;
+	if ((measureCache [offset + 4] == 2) != selected) return false;
+	width [0] = measureCache [offset + 2];
+	height [0] = measureCache [offset + 3];
+	return true;
+}
+
+void setMeasuredSize (int columnIndex, boolean selected, int width, int height, int measuredWidth, int measuredHeight) {
+	int length = Math.max (1, parent.columnCount) * MEASURE_SIZE;
+	if (measureCache == null || measureStamp != parent.measureStamp || measureCache.length != length) {
+		measureCache = new int [length];
+		measureStamp = parent.measureStamp;
+	}
+	int offset = columnIndex * MEASURE_SIZE;
+	if (offset + MEASURE_SIZE > length) return;
+	measureCache [offset] = width;
+	measureCache [offset + 1] = height;
+	measureCache [offset + 2] = measuredWidth;
+	measureCache [offset + 3] = measuredHeight;
+	measureCache [offset + 4] = selected ? 2 : 1;
+}
+
 /**
  * Clears the item at the given zero-relative index in the receiver.
  * The text, icon and other attributes of the item are set to the default
@@ -318,6 +359,10 @@ void clear () {
  */
 public void clear (int index, boolean all) {
 	checkWidget ();
+	if (lazyCount != -1) {
+		if (!(0 <= index && index < lazyCount)) error (SWT.ERROR_INVALID_RANGE);
+		return;
+	}
 	parent.clear (handle, index, all);
 }
 
@@ -544,6 +589,8 @@ public boolean getChecked () {
  */
 public boolean getExpanded () {
 	checkWidget();
+	/* The model is not attached to the view during a batch */
+	if (parent.batchCount > 0) return isExpanded;
 	long path = GTK.gtk_tree_model_get_path (parent.modelHandle, handle);
 	boolean answer = GTK.gtk_tree_view_row_expanded (parent.handle, path);
 	GTK.gtk_tree_path_free (path);
@@ -770,6 +817,7 @@ Rectangle getImageBoundsInPixels (int index) {
 public int getItemCount () {
 	checkWidget();
 	if (!parent.checkData (this)) error (SWT.ERROR_WIDGET_DISPOSED);
+	if (lazyCount != -1) return lazyCount;
 	return GTK.gtk_tree_model_iter_n_children (parent.modelHandle, handle);
 }
 
@@ -794,6 +842,8 @@ public TreeItem getItem (int index) {
 	checkWidget();
 	if (index < 0) error (SWT.ERROR_INVALID_RANGE);
 	if (!parent.checkData (this)) error (SWT.ERROR_WIDGET_DISPOSED);
+	if (lazyCount != -1 && index >= lazyCount) error (SWT.ERROR_INVALID_RANGE);
+	parent.materializeItems (this);
 	int itemCount = GTK.gtk_tree_model_iter_n_children (parent.modelHandle, handle);
 	if (index >= itemCount)  error (SWT.ERROR_INVALID_RANGE);
 	return  parent._getItem (handle, index);
@@ -818,6 +868,7 @@ public TreeItem getItem (int index) {
 public TreeItem [] getItems () {
 	checkWidget();
 	if (!parent.checkData (this)) error (SWT.ERROR_WIDGET_DISPOSED);
+	parent.materializeItems (this);
 	return parent.getItems (handle);
 }
 
@@ -1101,25 +1152,36 @@ public void dispose () {
  */
 public void removeAll () {
 	checkWidget ();
+	if (lazyCount != -1) {
+		parent.setLazyItemCount (this, 0);
+		return;
+	}
 	long modelHandle = parent.modelHandle;
 	int length = GTK.gtk_tree_model_iter_n_children (modelHandle, handle);
 	if (length == 0) return;
 	long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
 	if (iter == 0) error (SWT.ERROR_NO_HANDLES);
-	long selection = GTK.gtk_tree_view_get_selection (parent.handle);
-	int [] value = new int [1];
-	while (GTK.gtk_tree_model_iter_children (modelHandle, iter, handle)) {
-		GTK.gtk_tree_model_get (modelHandle, iter, Tree.ID_COLUMN, value, -1);
-		TreeItem item = value [0] != -1 ? parent.items [value [0]] : null;
-		if (item != null && !item.isDisposed ()) {
-			item.dispose ();
-		} else {
-			OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
-			GTK.gtk_tree_store_remove (modelHandle, iter);
-			OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+	/* The model is not detached from inside SWT.SetData, which is sent while the view renders */
+	boolean batch = parent.currentItem == null && length >= Tree.BATCH_THRESHOLD;
+	if (batch) parent.beginBatch ();
+	try {
+		long selection = GTK.gtk_tree_view_get_selection (parent.handle);
+		int [] value = new int [1];
+		while (GTK.gtk_tree_model_iter_children (modelHandle, iter, handle)) {
+			GTK.gtk_tree_model_get (modelHandle, iter, Tree.ID_COLUMN, value, -1);
+			TreeItem item = value [0] != -1 ? parent.items [value [0]] : null;
+			if (item != null && !item.isDisposed ()) {
+				item.dispose ();
+			} else {
+				OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+				GTK.gtk_tree_store_remove (modelHandle, iter);
+				OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+			}
 		}
+	} finally {
+		if (batch && !parent.isDisposed ()) parent.endBatch ();
+		OS.g_free (iter);
 	}
-	OS.g_free (iter);
 }
 
 /**
@@ -1149,6 +1211,7 @@ public void setBackground (Color color) {
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
 	GTK.gtk_tree_store_set (parent.modelHandle, handle, Tree.BACKGROUND_COLUMN, gdkRGBA, -1);
 	cached = true;
+	measureCache = null;
 }
 
 /**
@@ -1182,6 +1245,7 @@ public void setBackground (int index, Color color) {
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
 	GTK.gtk_tree_store_set (parent.modelHandle, handle, modelIndex + Tree.CELL_BACKGROUND, gdkRGBA, -1);
 	cached = true;
+	measureCache = null;
 	updated = true;
 
 	if (color != null) {
@@ -1232,6 +1296,7 @@ public void setChecked (boolean checked) {
 	*/
 	GTK.gtk_tree_store_set (parent.modelHandle, handle, Tree.GRAYED_COLUMN, !checked ? false : grayed, -1);
 	cached = true;
+	measureCache = null;
 }
 
 /**
@@ -1246,9 +1311,17 @@ public void setChecked (boolean checked) {
  */
 public void setExpanded (boolean expanded) {
 	checkWidget();
+	/* The expanded rows are restored when the batch ends */
+	if (parent.batchCount > 0) {
+		if (expanded) parent.materializeItems (this);
+		isExpanded = expanded;
+		if (!expanded) parent.compactItems (this);
+		return;
+	}
 	long path = GTK.gtk_tree_model_get_path (parent.modelHandle, handle);
 	if (expanded != GTK.gtk_tree_view_row_expanded (parent.handle, path)) {
 		if (expanded) {
+			parent.materializeItems (this);
 			OS.g_signal_handlers_block_matched (parent.handle, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, TEST_EXPAND_ROW);
 			GTK.gtk_tree_view_expand_row (parent.handle, path, false);
 			OS.g_signal_handlers_unblock_matched (parent.handle, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, TEST_EXPAND_ROW);
@@ -1257,6 +1330,8 @@ public void setExpanded (boolean expanded) {
 			GTK.gtk_widget_realize (parent.handle);
 			GTK.gtk_tree_view_collapse_row (parent.handle, path);
 			OS.g_signal_handlers_unblock_matched (parent.handle, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, TEST_COLLAPSE_ROW);
+			isExpanded = false;
+			parent.compactItems (this);
 		}
 	}
 	GTK.gtk_tree_path_free (path);
@@ -1293,6 +1368,7 @@ public void setFont (Font font){
 	long fontHandle = font != null ? font.handle : 0;
 	GTK.gtk_tree_store_set (parent.modelHandle, handle, Tree.FONT_COLUMN, fontHandle, -1);
 	cached = true;
+	measureCache = null;
 }
 
 /**
@@ -1334,6 +1410,7 @@ public void setFont (int index, Font font) {
 	long fontHandle  = font != null ? font.handle : 0;
 	GTK.gtk_tree_store_set (parent.modelHandle, handle, modelIndex + Tree.CELL_FONT, fontHandle, -1);
 	cached = true;
+	measureCache = null;
 
 	if (font != null) {
 		boolean customDraw = (parent.columnCount == 0)  ? parent.firstCustomDraw : parent.columns [index].customDraw;
@@ -1388,6 +1465,7 @@ public void setForeground (Color color){
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
 	GTK.gtk_tree_store_set (parent.modelHandle, handle, Tree.FOREGROUND_COLUMN, gdkRGBA, -1);
 	cached = true;
+	measureCache = null;
 }
 
 /**
@@ -1421,6 +1499,7 @@ public void setForeground (int index, Color color){
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
 	GTK.gtk_tree_store_set (parent.modelHandle, handle, modelIndex + Tree.CELL_FOREGROUND, gdkRGBA, -1);
 	cached = true;
+	measureCache = null;
 	updated = true;
 
 	if (color != null) {
@@ -1473,6 +1552,7 @@ public void setGrayed (boolean grayed) {
 	GTK.gtk_tree_model_get (parent.modelHandle, handle, Tree.CHECKED_COLUMN, ptr, -1);
 	GTK.gtk_tree_store_set (parent.modelHandle, handle, Tree.GRAYED_COLUMN, ptr [0] == 0 ? false : grayed, -1);
 	cached = true;
+	measureCache = null;
 }
 
 /**
@@ -1581,6 +1661,7 @@ public void setImage(int index, Image image) {
 	}
 	GTK.gtk_tree_store_set(parent.modelHandle, handle, modelIndex + Tree.CELL_SURFACE, surface, -1);
 	cached = true;
+	measureCache = null;
 	updated = true;
 }
 
@@ -1635,6 +1716,10 @@ public void setImage (Image [] images) {
 public void setItemCount (int count) {
 	checkWidget ();
 	count = Math.max (0, count);
+	if (parent.isLazy (this)) {
+		parent.setLazyItemCount (this, count);
+		return;
+	}
 	parent.setItemCount (handle, count);
 }
 
@@ -1679,6 +1764,7 @@ public void setText (int index, String string) {
 	int modelIndex = parent.columnCount == 0 ? Tree.FIRST_COLUMN : parent.columns [index].modelIndex;
 	GTK.gtk_tree_store_set (parent.modelHandle, handle, modelIndex + Tree.CELL_TEXT, buffer, -1);
 	cached = true;
+	measureCache = null;
 	updated = true;
 }
 
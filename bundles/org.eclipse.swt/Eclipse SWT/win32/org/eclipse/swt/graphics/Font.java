@@ -238,6 +238,24 @@ public boolean isDisposed() {
 	return handle == 0;
 }
 
+/*
+ * Forgets the operating system font of a font returned by share()
+ * without destroying it, see Device.getFont(FontData).
+ */
+void releaseHandle() {
+	handle = 0;
+}
+
+/*
+ * Returns a new font that shares the operating system font of the
+ * receiver, see Device.getFont(FontData).
+ */
+Font share() {
+	Font font = new Font(device);
+	font.handle = handle;
+	return font;
+}
+
 /**
  * Returns a string containing a concise, human-readable
  * description of the receiver.
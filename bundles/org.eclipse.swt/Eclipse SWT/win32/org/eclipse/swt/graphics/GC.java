@@ -821,6 +821,37 @@ void drawArcInPixels (int x, int y, int width, int height, int startAngle, int a
 	OS.Arc(handle, x, y, x + width + 1, y + height + 1, x1, y1, x2, y2);
 }
 
+/**
+ * Draws the operations recorded in the given display list, starting
+ * from the current attributes of the receiver. The attributes that the
+ * display list changes are restored afterwards.
+ * <p>
+ * Where the platform supports it, the rendered display list is kept and
+ * drawing it again with the same transformation and attributes copies
+ * the rendering instead of drawing each operation.
+ * </p>
+ *
+ * @param list the display list to draw
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the list is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the list has been disposed</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see DisplayList
+ *
+ * @since 3.125
+ */
+public void drawDisplayList (DisplayList list) {
+	if (handle == 0) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (list == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	if (list.isDisposed ()) SWT.error (SWT.ERROR_INVALID_ARGUMENT);
+	list.replay (this);
+}
+
 /**
  * Draws a rectangle, based on the specified arguments, which has
  * the appearance of the platform's <em>focus rectangle</em> if the
@@ -993,6 +1024,55 @@ public void drawImage (Image image, int srcX, int srcY, int srcWidth, int srcHei
 	drawImage(image, src.x, src.y, src.width, src.height, dest.x, dest.y, dest.width, dest.height, false);
 }
 
+/**
+ * Copies a rectangular area from the source tiled image into a (potentially
+ * different sized) rectangular area in the receiver, in the same way as
+ * <code>drawImage(Image, int, int, int, int, int, int, int, int)</code>.
+ * Only the tiles of the image that intersect the source rectangle are
+ * decoded and drawn.
+ *
+ * @param image the source tiled image
+ * @param srcX the x coordinate in the source image to copy from
+ * @param srcY the y coordinate in the source image to copy from
+ * @param srcWidth the width in points to copy from the source
+ * @param srcHeight the height in points to copy from the source
+ * @param destX the x coordinate in the destination to copy to
+ * @param destY the y coordinate in the destination to copy to
+ * @param destWidth the width in points of the destination rectangle
+ * @param destHeight the height in points of the destination rectangle
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the image is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the image has been disposed</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if any of the width or height arguments are negative.
+ *    <li>ERROR_INVALID_ARGUMENT - if the source rectangle is not contained within the bounds of the source image</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ * @exception SWTError <ul>
+ *    <li>ERROR_NO_HANDLES - if no handles are available to perform the operation</li>
+ * </ul>
+ *
+ * @see TiledImage
+ *
+ * @since 3.125
+ */
+public void drawTiledImage (TiledImage image, int srcX, int srcY, int srcWidth, int srcHeight, int destX, int destY, int destWidth, int destHeight) {
+	if (handle == 0) SWT.error (SWT.ERROR_GRAPHIC_DISPOSED);
+	if (srcWidth == 0 || srcHeight == 0 || destWidth == 0 || destHeight == 0) return;
+	if (srcX < 0 || srcY < 0 || srcWidth < 0 || srcHeight < 0 || destWidth < 0 || destHeight < 0) {
+		SWT.error (SWT.ERROR_INVALID_ARGUMENT);
+	}
+	if (image == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	if (image.isDisposed ()) SWT.error (SWT.ERROR_INVALID_ARGUMENT);
+	Rectangle bounds = image.getBounds ();
+	if (srcX + srcWidth > bounds.width || srcY + srcHeight > bounds.height) {
+		SWT.error (SWT.ERROR_INVALID_ARGUMENT);
+	}
+	image.draw (this, srcX, srcY, srcWidth, srcHeight, destX, destY, destWidth, destHeight);
+}
+
 void drawImage(Image srcImage, int srcX, int srcY, int srcWidth, int srcHeight, int destX, int destY, int destWidth, int destHeight, boolean simple) {
 	/* Refresh Image as per zoom level, if required. */
 	srcImage.refreshImageForZoom ();
@@ -1783,6 +1863,49 @@ void drawPointInPixels (int x, int y) {
 	OS.SetPixel (handle, x, y, data.foreground);
 }
 
+/**
+ * Draws a pixel, using the foreground color, at each of the points
+ * which are defined by the specified array of integer coordinates.
+ * The array contains alternating x and y values. This is equivalent
+ * to calling <code>drawPoint()</code> for each point, but all the
+ * points are drawn in a single operation.
+ *
+ * @param pointArray an array of alternating x and y values
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the point array is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #drawPoint(int, int)
+ *
+ * @since 3.125
+ */
+public void drawPoints (int[] pointArray) {
+	if (pointArray == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	drawPointsInPixels(DPIUtil.autoScaleUp(drawable, pointArray));
+}
+
+void drawPointsInPixels (int[] pointArray) {
+	if (handle == 0) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	int count = pointArray.length / 2;
+	if (count == 0) return;
+	if (data.gdipGraphics != 0) {
+		checkGC(DRAW);
+		long brush = getFgBrush();
+		for (int i = 0, j = 0; i < count; i++, j += 2) {
+			Gdip.Graphics_FillRectangle(data.gdipGraphics, brush, pointArray[j], pointArray[j + 1], 1, 1);
+		}
+		return;
+	}
+	int foreground = data.foreground;
+	for (int i = 0, j = 0; i < count; i++, j += 2) {
+		OS.SetPixel (handle, pointArray[j], pointArray[j + 1], foreground);
+	}
+}
+
 /**
  * Draws the closed polygon which is defined by the specified array
  * of integer coordinates, using the receiver's foreground color. The array
@@ -2062,6 +2185,60 @@ void drawRoundRectangleGdip (long gdipGraphics, long pen, int x, int y, int widt
 	Gdip.Graphics_TranslateTransform(gdipGraphics, -data.gdipXOffset, -data.gdipYOffset, Gdip.MatrixOrderPrepend);
 }
 
+/**
+ * Draws a line, using the foreground color, for each of the segments
+ * which are defined by the specified array of integer coordinates.
+ * The array contains the x and y coordinates of the first point
+ * followed by the x and y coordinates of the second point of each
+ * segment. This is equivalent to calling <code>drawLine()</code> for
+ * each segment, but all the segments are drawn in a single operation,
+ * so segments that overlap are only drawn once.
+ *
+ * @param segmentArray an array of x1, y1, x2 and y2 values for each segment
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the segment array is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #drawLine(int, int, int, int)
+ *
+ * @since 3.125
+ */
+public void drawSegments (int[] segmentArray) {
+	if (segmentArray == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	drawSegmentsInPixels(DPIUtil.autoScaleUp(drawable, segmentArray));
+}
+
+void drawSegmentsInPixels (int[] segmentArray) {
+	if (handle == 0) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	int count = segmentArray.length / 4;
+	if (count == 0) return;
+	checkGC(DRAW);
+	long gdipGraphics = data.gdipGraphics;
+	if (gdipGraphics != 0) {
+		Gdip.Graphics_TranslateTransform(gdipGraphics, data.gdipXOffset, data.gdipYOffset, Gdip.MatrixOrderPrepend);
+		for (int i = 0, j = 0; i < count; i++, j += 4) {
+			Gdip.Graphics_DrawLine(gdipGraphics, data.gdipPen, segmentArray[j], segmentArray[j + 1], segmentArray[j + 2], segmentArray[j + 3]);
+		}
+		Gdip.Graphics_TranslateTransform(gdipGraphics, -data.gdipXOffset, -data.gdipYOffset, Gdip.MatrixOrderPrepend);
+		return;
+	}
+	int dx = 0;
+	if ((data.style & SWT.MIRRORED) != 0) {
+		if (data.lineWidth != 0 && data.lineWidth % 2 == 0) dx = -1;
+	}
+	boolean lastPixel = data.lineWidth <= 1;
+	for (int i = 0, j = 0; i < count; i++, j += 4) {
+		int x2 = segmentArray[j + 2] + dx, y2 = segmentArray[j + 3];
+		OS.MoveToEx (handle, segmentArray[j] + dx, segmentArray[j + 1], 0);
+		OS.LineTo (handle, x2, y2);
+		if (lastPixel) OS.SetPixel (handle, x2, y2, data.foreground);
+	}
+}
+
 /**
  * Draws the given string, using the receiver's current font and
  * foreground color. No tab expansion or carriage return processing
@@ -3039,6 +3216,58 @@ public void fillRectangle (Rectangle rect) {
 	fillRectangleInPixels(rect.x, rect.y, rect.width, rect.height);
 }
 
+/**
+ * Fills the interior of each of the rectangles which are defined by the
+ * specified array of integer coordinates, using the receiver's background
+ * color. The array contains the x, y, width and height values of each
+ * rectangle. This is equivalent to calling <code>fillRectangle()</code>
+ * for each rectangle, but all the rectangles are filled in a single
+ * operation.
+ *
+ * @param rectArray an array of x, y, width and height values for each rectangle
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the rectangle array is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #fillRectangle(int, int, int, int)
+ *
+ * @since 3.125
+ */
+public void fillRectangles (int[] rectArray) {
+	if (rectArray == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	fillRectanglesInPixels(DPIUtil.autoScaleUp(drawable, rectArray));
+}
+
+void fillRectanglesInPixels (int[] rectArray) {
+	if (handle == 0) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	int count = rectArray.length / 4;
+	if (count == 0) return;
+	checkGC(FILL);
+	if (data.gdipGraphics != 0) {
+		for (int i = 0, j = 0; i < count; i++, j += 4) {
+			int x = rectArray[j], y = rectArray[j + 1], width = rectArray[j + 2], height = rectArray[j + 3];
+			if (width < 0) {
+				x = x + width;
+				width = -width;
+			}
+			if (height < 0) {
+				y = y + height;
+				height = -height;
+			}
+			Gdip.Graphics_FillRectangle(data.gdipGraphics, data.gdipBrush, x, y, width, height);
+		}
+		return;
+	}
+	int dwRop = OS.GetROP2(handle) == OS.R2_XORPEN ? OS.PATINVERT : OS.PATCOPY;
+	for (int i = 0, j = 0; i < count; i++, j += 4) {
+		OS.PatBlt(handle, rectArray[j], rectArray[j + 1], rectArray[j + 2], rectArray[j + 3], dwRop);
+	}
+}
+
 /**
  * Fills the interior of the round-cornered rectangle specified by
  * the arguments, using the receiver's background color.
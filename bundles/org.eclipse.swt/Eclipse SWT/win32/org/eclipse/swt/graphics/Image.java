@@ -488,6 +488,43 @@ public Image(Device device, ImageData data) {
 	init();
 }
 
+/**
+ * Constructs an instance of this class from the given
+ * <code>PreparedImage</code>.
+ * <p>
+ * The pixels of a prepared image are already converted to the format
+ * of the platform, which makes this constructor cheaper than creating
+ * the image from the <code>ImageData</code> directly.
+ * </p><p>
+ * You must dispose the image when it is no longer required.
+ * </p>
+ *
+ * @param device the device on which to create the image
+ * @param prepared the prepared image to create the image from (must not be null)
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if device is null and there is no current device</li>
+ *    <li>ERROR_NULL_ARGUMENT - if the prepared image is null</li>
+ * </ul>
+ * @exception SWTError <ul>
+ *    <li>ERROR_NO_HANDLES if a handle could not be obtained for image creation</li>
+ * </ul>
+ *
+ * @see PreparedImage
+ * @see #dispose()
+ *
+ * @since 3.125
+ */
+public Image(Device device, PreparedImage prepared) {
+	super(device);
+	if (prepared == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	currentDeviceZoom = DPIUtil.getDeviceZoom ();
+	ImageData data = prepared.imageData;
+	if (data == null || prepared.zoom != currentDeviceZoom) data = DPIUtil.autoScaleUp (device, prepared.source);
+	init(data);
+	init();
+}
+
 /**
  * Constructs an instance of this class, whose type is
  * <code>SWT.ICON</code>, from the two given <code>ImageData</code>
@@ -2086,6 +2123,16 @@ void init(ImageData i) {
 	init(device, this, i);
 }
 
+/*
+* Scales the image data of the prepared image to the zoom. The pixels are
+* converted when the bitmap is created.
+*/
+static void prepare(Device device, PreparedImage prepared) {
+	/* Smooth scaling draws with a GC, leave it to the user-interface thread */
+	if (DPIUtil.autoScaleNeedsDevice ()) return;
+	prepared.imageData = DPIUtil.autoScaleUp (device, prepared.source);
+}
+
 /**
  * Invokes platform specific functionality to allocate a new GC handle.
  * <p>
@@ -257,6 +257,45 @@ public void addPath(Path path) {
 	currentPoint.Y = path.currentPoint.Y;
 }
 
+/**
+ * Adds to the receiver the polyline which is defined by the specified
+ * array of alternating x and y values. A new sub path is started at the
+ * first point and a line is added from each point to the next one. This
+ * is equivalent to calling <code>moveTo</code> with the first point and
+ * <code>lineTo</code> with each of the following points.
+ *
+ * @param pointArray an array of alternating x and y values which are the vertices of the polyline
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the point array is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @since 3.125
+ */
+public void addPolyline (float[] pointArray) {
+	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (pointArray == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	Drawable drawable = getDevice();
+	float[] points = new float[pointArray.length & ~1];
+	for (int i = 0; i < points.length; i++) {
+		points[i] = DPIUtil.autoScaleUp(drawable, pointArray[i]);
+	}
+	addPolylineInPixels(points);
+}
+
+void addPolylineInPixels(float[] pointArray) {
+	if (pointArray.length < 2) return;
+	moveToInPixels(pointArray[0], pointArray[1]);
+	for (int i = 2; i + 1 < pointArray.length; i += 2) {
+		Gdip.GraphicsPath_AddLine(handle, currentPoint.X, currentPoint.Y, pointArray[i], pointArray[i + 1]);
+		currentPoint.X = pointArray[i];
+		currentPoint.Y = pointArray[i + 1];
+	}
+}
+
 /**
  * Adds to the receiver the rectangle specified by x, y, width and height.
  *
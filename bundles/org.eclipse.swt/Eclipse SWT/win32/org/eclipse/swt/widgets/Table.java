@@ -16,7 +16,8 @@
 package org.eclipse.swt.widgets;
 
 
-//import java.util.*;
+import java.util.*;
+import java.util.function.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.events.*;
@@ -115,6 +116,7 @@ public class Table extends Composite {
 		HeaderProc = lpWndClass.lpfnWndProc;
 	}
 
+
 /**
  * Constructs a new instance of this class given its parent
  * and a style value describing its behavior and appearance.
@@ -2743,6 +2745,53 @@ public int [] getSelectionIndices () {
 	return result;
 }
 
+/**
+ * Returns the ranges of the items which are currently selected in
+ * the receiver. Each range is stored as a pair of consecutive elements:
+ * the zero-relative index of the first selected item of the range,
+ * followed by the index after the last selected item of the range.
+ * The ranges are in ascending order and do not overlap. The array is
+ * empty if no items are selected.
+ * <p>
+ * For large selections of adjacent items this is considerably more
+ * compact than {@link #getSelectionIndices()}.
+ * </p>
+ *
+ * @return the array of selected ranges
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #select(int, int)
+ * @see #getSelectionIndices()
+ *
+ * @since 3.125
+ */
+public int [] getSelectionRanges () {
+	checkWidget ();
+	int [] indices = getSelectionIndices ();
+	int length = indices.length;
+	if (length == 0) return indices;
+	int count = 1;
+	for (int i=1; i<length; i++) {
+		if (indices [i] != indices [i - 1] + 1) count++;
+	}
+	int [] result = new int [count * 2];
+	int start = indices [0], j = 0;
+	for (int i=1; i<length; i++) {
+		if (indices [i] != indices [i - 1] + 1) {
+			result [j++] = start;
+			result [j++] = indices [i - 1] + 1;
+			start = indices [i];
+		}
+	}
+	result [j++] = start;
+	result [j] = indices [length - 1] + 1;
+	return result;
+}
+
 /**
  * Returns the column which shows the sort indicator for
  * the receiver. The value may be null if no column shows
@@ -5417,6 +5466,124 @@ public void showSelection () {
 	}
 }
 
+void reorder (Integer [] order) {
+	int count = order.length;
+	int [] newIndex = new int [count];
+	boolean changed = false;
+	for (int i=0; i<count; i++) {
+		newIndex [order [i]] = i;
+		if (order [i] != i) changed = true;
+	}
+	if (!changed) return;
+	int [] selection = getSelectionIndices ();
+	for (int i=0; i<selection.length; i++) selection [i] = newIndex [selection [i]];
+	/*
+	* The rows of the list view query their text, image and check
+	* state from the items, so reordering the items and moving the
+	* selection is enough to reorder the rows.  Every item has been
+	* created while the sort keys were computed, so the items can be
+	* stored without keys.
+	*/
+	TableItem [] newItems = new TableItem [Math.max (4, (count + 3) / 4 * 4)];
+	for (int i=0; i<count; i++) newItems [i] = _getItem (order [i]);
+	items = newItems;
+	keys = null;
+	keyCount = 0;
+	boolean oldIgnore = ignoreSelect;
+	ignoreSelect = true;
+	deselectAll ();
+	select (selection);
+	ignoreSelect = oldIgnore;
+	OS.InvalidateRect (handle, null, true);
+}
+
+/**
+ * Sorts the items of the receiver using the given comparator. The sort
+ * is stable, so items that compare as equal keep their relative order.
+ * The items are moved in place: they are not disposed or re-created,
+ * and the selection stays with the items that were selected.
+ * <p>
+ * The comparator is called on the user-interface thread and may query
+ * the items. Note that for a table created with the <code>SWT.VIRTUAL</code>
+ * style, querying an item may cause an <code>SWT.SetData</code> event to
+ * be sent for it. To sort very large tables, consider
+ * {@link #sort(Function, Comparator)}, which queries every item only once.
+ * </p>
+ *
+ * @param comparator the comparator that defines the new order of the items
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the comparator is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setSortColumn(TableColumn)
+ * @see #setSortDirection(int)
+ *
+ * @since 3.125
+ */
+public void sort (Comparator<? super TableItem> comparator) {
+	checkWidget ();
+	if (comparator == null) error (SWT.ERROR_NULL_ARGUMENT);
+	int count = getItemCount ();
+	if (count < 2) return;
+	TableItem [] sortItems = new TableItem [count];
+	Integer [] order = new Integer [count];
+	for (int i=0; i<count; i++) {
+		sortItems [i] = _getItem (i);
+		order [i] = i;
+	}
+	Arrays.sort (order, (a, b) -> comparator.compare (sortItems [a], sortItems [b]));
+	reorder (order);
+}
+
+/**
+ * Sorts the items of the receiver by the keys that are extracted from
+ * them. The sort is stable, so items with equal keys keep their relative
+ * order. The items are moved in place: they are not disposed or re-created,
+ * and the selection stays with the items that were selected.
+ * <p>
+ * The key extractor is called exactly once for every item, on the
+ * user-interface thread. The comparator must not access any widget, as
+ * it may be called from other threads to sort large tables in parallel.
+ * </p>
+ *
+ * @param <K> the type of the sort keys
+ * @param keyExtractor the function that returns the sort key of an item
+ * @param comparator the comparator that defines the order of the keys
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the key extractor or the comparator is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setSortColumn(TableColumn)
+ * @see #setSortDirection(int)
+ *
+ * @since 3.125
+ */
+public <K> void sort (Function<? super TableItem, ? extends K> keyExtractor, Comparator<? super K> comparator) {
+	checkWidget ();
+	if (keyExtractor == null || comparator == null) error (SWT.ERROR_NULL_ARGUMENT);
+	int count = getItemCount ();
+	if (count < 2) return;
+	java.util.List<K> sortKeys = new ArrayList<> (count);
+	Integer [] order = new Integer [count];
+	for (int i=0; i<count; i++) {
+		sortKeys.add (keyExtractor.apply (_getItem (i)));
+		order [i] = i;
+	}
+	/* Arrays.parallelSort() only forks for arrays that are large enough to benefit */
+	Arrays.parallelSort (order, (a, b) -> comparator.compare (sortKeys.get (a), sortKeys.get (b)));
+	reorder (order);
+}
+
 /*public*/ void sort () {
 	checkWidget ();
 //	if ((style & SWT.VIRTUAL) != 0) return;
@@ -94,7 +94,7 @@ public class Tree extends Composite {
 	boolean linesVisible, customDraw, painted, ignoreItemHeight;
 	boolean ignoreCustomDraw, ignoreDrawForeground, ignoreDrawBackground, ignoreDrawFocus;
 	boolean ignoreDrawSelection, ignoreDrawHot, ignoreFullSelection, explorerTheme;
-	boolean createdAsRTL;
+	boolean createdAsRTL, lazyItems;
 	boolean headerItemDragging;
 	int scrollWidth, selectionForeground;
 	long headerToolTipHandle, itemToolTipHandle;
@@ -3427,6 +3427,27 @@ TreeItem [] getItems (long hTreeItem) {
 	return result;
 }
 
+/**
+ * Returns <code>true</code> if the children of collapsed items of a
+ * tree created with the <code>SWT.VIRTUAL</code> style are only kept
+ * as a count until the item is expanded, and <code>false</code> otherwise.
+ *
+ * @return the lazy items state
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setLazyItems(boolean)
+ *
+ * @since 3.125
+ */
+public boolean getLazyItems () {
+	checkWidget ();
+	return lazyItems;
+}
+
 /**
  * Returns <code>true</code> if the receiver's lines are visible,
  * and <code>false</code> otherwise. Note that some platforms draw
@@ -4158,6 +4179,49 @@ void reskinChildren (int flags) {
 	super.reskinChildren (flags);
 }
 
+/**
+ * Runs the given runnable as a single batch of changes to the items of
+ * the receiver. Creating, removing and changing many items, for example
+ * to rebuild a tree with many thousands of nodes, is much faster in a batch,
+ * because the receiver is updated once when the runnable returns instead
+ * of once for every item.
+ * <p>
+ * The runnable should only create, dispose and change items. The selection,
+ * the expanded items and the scroll position are restored when the runnable
+ * returns, and selected items that were disposed are no longer selected.
+ * Methods that depend on the visible state of the receiver, such as
+ * <code>showItem()</code>, <code>getTopItem()</code>, <code>getItem(Point)</code>
+ * or <code>getSelection()</code>, should not be called by the runnable,
+ * as the result is not defined on all platforms.
+ * </p><p>
+ * Batches may be nested; only the outermost batch updates the receiver.
+ * </p>
+ *
+ * @param runnable the code that changes the items of the receiver
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the runnable is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setRedraw(boolean)
+ *
+ * @since 3.125
+ */
+public void runBatch (Runnable runnable) {
+	checkWidget ();
+	if (runnable == null) error (SWT.ERROR_NULL_ARGUMENT);
+	setRedraw (false);
+	try {
+		runnable.run ();
+	} finally {
+		if (!isDisposed ()) setRedraw (true);
+	}
+}
+
 
 /**
  * Display a mark indicating the point at which an item will be inserted.
@@ -4353,6 +4417,40 @@ void setItemCount (int count, long hParent) {
 	OS.SendMessage (handle, OS.TVM_SETITEMHEIGHT, itemHeight, 0);
 }
 
+/**
+ * Sets whether the children of collapsed items are materialized lazily.
+ * <p>
+ * When enabled on a tree created with the <code>SWT.VIRTUAL</code> style,
+ * {@link TreeItem#setItemCount(int)} on a collapsed item only records the
+ * number of children. The child items are created when the item is expanded
+ * or when they are explicitly requested, for example by
+ * {@link TreeItem#getItems()}. When an item is collapsed, its child items
+ * are disposed and replaced by their count again, so that memory use scales
+ * with the part of the tree that is actually expanded. Child items are
+ * requested again using <code>SWT.SetData</code> the next time they are needed.
+ * </p><p>
+ * <b>Note:</b> This is a hint that has no effect on trees that do not have
+ * the <code>SWT.VIRTUAL</code> style, and may be ignored on platforms where
+ * the native tree does not keep a row for every item.
+ * </p>
+ *
+ * @param lazy the new lazy items state
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see SWT#VIRTUAL
+ * @see SWT#SetData
+ *
+ * @since 3.125
+ */
+public void setLazyItems (boolean lazy) {
+	checkWidget ();
+	lazyItems = lazy;
+}
+
 /**
  * Marks the receiver's lines as visible if the argument is <code>true</code>,
  * and marks it invisible otherwise. Note that some platforms draw
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.tests.gtk;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.eclipse.swt.internal.BandedRegion;
+import org.junit.Test;
+
+/**
+ * The region engine does not need a display, the operations are checked
+ * against a bitmap of the covered pixels.
+ */
+public class Test_GtkBandedRegion {
+
+	static final int SIZE = 40;
+
+	@Test
+	public void test_union() {
+		BandedRegion region = new BandedRegion();
+		region.union(0, 0, 10, 10);
+		region.union(10, 0, 10, 10);
+		assertArrayEquals(new int[] {0, 0, 20, 10}, region.getRectangles());
+		region.union(0, 10, 20, 5);
+		assertArrayEquals(new int[] {0, 0, 20, 15}, region.getRectangles());
+		region.union(30, 5, 5, 5);
+		assertArrayEquals(new int[] {0, 0, 20, 5, 0, 5, 20, 5, 30, 5, 5, 5, 0, 10, 20, 5}, region.getRectangles());
+		region.union(0, 0, 0, 10);
+		assertEquals(4, region.getRectangleCount());
+	}
+
+	@Test
+	public void test_intersect() {
+		BandedRegion region = new BandedRegion(0, 0, 20, 20);
+		region.intersect(10, 10, 20, 20);
+		assertArrayEquals(new int[] {10, 10, 10, 10}, region.getRectangles());
+		region.intersect(40, 40, 10, 10);
+		assertTrue(region.isEmpty());
+	}
+
+	@Test
+	public void test_subtract() {
+		BandedRegion region = new BandedRegion(0, 0, 30, 30);
+		region.subtract(10, 10, 10, 10);
+		assertArrayEquals(new int[] {0, 0, 30, 10, 0, 10, 10, 10, 20, 10, 10, 10, 0, 20, 30, 10}, region.getRectangles());
+		assertFalse(region.contains(15, 15));
+		assertTrue(region.contains(5, 15));
+		assertFalse(region.intersects(10, 10, 10, 10));
+		assertTrue(region.intersects(19, 19, 2, 2));
+		region.subtract(region);
+		assertTrue(region.isEmpty());
+	}
+
+	@Test
+	public void test_boundsAndTranslate() {
+		BandedRegion region = new BandedRegion();
+		assertArrayEquals(new int[4], region.getBounds());
+		region.union(5, 5, 10, 10);
+		region.union(20, 30, 5, 5);
+		assertArrayEquals(new int[] {5, 5, 20, 30}, region.getBounds());
+		region.translate(-5, 10);
+		assertArrayEquals(new int[] {0, 15, 20, 30}, region.getBounds());
+		assertTrue(region.contains(0, 15));
+		assertFalse(region.contains(0, 14));
+	}
+
+	@Test
+	public void test_polygon() {
+		BandedRegion rectangle = BandedRegion.polygon(new int[] {0,0, 50,0, 50,25, 0,25}, 4, true);
+		assertArrayEquals(new int[] {0, 0, 50, 25}, rectangle.getRectangles());
+		/* A pixel is inside when its center is inside the triangle */
+		BandedRegion triangle = BandedRegion.polygon(new int[] {0,0, 10,0, 0,10}, 3, true);
+		assertTrue(triangle.contains(0, 8));
+		assertFalse(triangle.contains(0, 9));
+		assertTrue(triangle.contains(4, 4));
+		assertFalse(triangle.contains(5, 5));
+		assertFalse(triangle.contains(9, 9));
+		/* The center of a self intersecting star is only filled with the winding rule */
+		int[] star = {20,0, 32,38, 0,14, 40,14, 8,38};
+		assertFalse(BandedRegion.polygon(star, 5, true).contains(20, 20));
+		assertTrue(BandedRegion.polygon(star, 5, false).contains(20, 20));
+		assertTrue(BandedRegion.polygon(new int[] {0,0, 10,10}, 2, true).isEmpty());
+	}
+
+	@Test
+	public void test_randomOperations() {
+		Random random = new Random(0);
+		for (int iteration = 0; iteration < 500; iteration++) {
+			BandedRegion region = new BandedRegion();
+			boolean[][] pixels = new boolean[SIZE][SIZE];
+			for (int step = 0; step < 8; step++) {
+				BandedRegion other = new BandedRegion();
+				for (int i = random.nextInt(3); i >= 0; i--) {
+					int x = random.nextInt(SIZE), y = random.nextInt(SIZE);
+					other.union(x, y, Math.min(SIZE - x, random.nextInt(12)), Math.min(SIZE - y, random.nextInt(12)));
+				}
+				boolean[][] otherPixels = getPixels(other);
+				int operation = random.nextInt(3);
+				switch (operation) {
+					case 0: region.union(other); break;
+					case 1: region.intersect(other); break;
+					default: region.subtract(other); break;
+				}
+				BandedRegion expected = new BandedRegion();
+				for (int y = 0; y < SIZE; y++) {
+					for (int x = 0; x < SIZE; x++) {
+						boolean a = pixels[y][x], b = otherPixels[y][x];
+						pixels[y][x] = operation == 0 ? a || b : operation == 1 ? a && b : a && !b;
+						if (pixels[y][x]) expected.union(x, y, 1, 1);
+					}
+				}
+				/* The banded form is unique, so building the same pixels in any order gives the same rectangles */
+				assertEquals(expected, region);
+				assertArrayEquals(pixels, getPixels(region));
+			}
+		}
+	}
+
+	static boolean[][] getPixels(BandedRegion region) {
+		boolean[][] pixels = new boolean[SIZE][SIZE];
+		for (int y = 0; y < SIZE; y++) {
+			for (int x = 0; x < SIZE; x++) {
+				pixels[y][x] = region.contains(x, y);
+			}
+		}
+		return pixels;
+	}
+}
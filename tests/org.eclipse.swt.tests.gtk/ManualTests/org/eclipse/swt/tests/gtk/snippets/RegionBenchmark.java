@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.swt.tests.gtk.snippets;
+
+import java.util.Random;
+
+import org.eclipse.swt.graphics.Region;
+import org.eclipse.swt.internal.BandedRegion;
+import org.eclipse.swt.internal.cairo.Cairo;
+import org.eclipse.swt.internal.cairo.cairo_rectangle_int_t;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Compares the Java region engine used by Region with the Cairo region
+ * functions for a damage tracking workload: many small rectangles are
+ * added and removed, the result is clipped to the window and queried.
+ */
+public class RegionBenchmark {
+	static final int FRAMES = 50;
+	static final int ADDS = 2000;
+	static final int SUBTRACTS = 200;
+	static final int QUERIES = 2000;
+	static final int WIDTH = 1920, HEIGHT = 1080;
+
+	public static void main(String[] args) {
+		Display display = new Display();
+		for (int run = 0; run < 5; run++) {
+			long java = runJava();
+			long region = runRegion(display);
+			long cairo = runCairo();
+			System.out.println(String.format("BandedRegion: %,12d ns  Region: %,12d ns  cairo_region_t: %,12d ns", java, region, cairo));
+		}
+		display.dispose();
+	}
+
+	static long runJava() {
+		Random random = new Random(0);
+		long start = System.nanoTime();
+		int hits = 0;
+		for (int frame = 0; frame < FRAMES; frame++) {
+			BandedRegion damage = new BandedRegion();
+			for (int i = 0; i < ADDS; i++) {
+				damage.union(random.nextInt(WIDTH), random.nextInt(HEIGHT), 1 + random.nextInt(32), 1 + random.nextInt(32));
+			}
+			for (int i = 0; i < SUBTRACTS; i++) {
+				damage.subtract(random.nextInt(WIDTH), random.nextInt(HEIGHT), 1 + random.nextInt(64), 1 + random.nextInt(64));
+			}
+			damage.intersect(0, 0, WIDTH - 100, HEIGHT - 100);
+			for (int i = 0; i < QUERIES; i++) {
+				if (damage.contains(random.nextInt(WIDTH), random.nextInt(HEIGHT))) hits++;
+			}
+		}
+		long time = System.nanoTime() - start;
+		if (hits < 0) System.out.println(hits);
+		return time;
+	}
+
+	static long runRegion(Display display) {
+		Random random = new Random(0);
+		long start = System.nanoTime();
+		int hits = 0;
+		for (int frame = 0; frame < FRAMES; frame++) {
+			Region damage = new Region(display);
+			for (int i = 0; i < ADDS; i++) {
+				damage.add(random.nextInt(WIDTH), random.nextInt(HEIGHT), 1 + random.nextInt(32), 1 + random.nextInt(32));
+			}
+			for (int i = 0; i < SUBTRACTS; i++) {
+				damage.subtract(random.nextInt(WIDTH), random.nextInt(HEIGHT), 1 + random.nextInt(64), 1 + random.nextInt(64));
+			}
+			damage.intersect(0, 0, WIDTH - 100, HEIGHT - 100);
+			for (int i = 0; i < QUERIES; i++) {
+				if (damage.contains(random.nextInt(WIDTH), random.nextInt(HEIGHT))) hits++;
+			}
+			/* Hand the region to GTK once per frame */
+			Region.gtk_getHandle(damage);
+			damage.dispose();
+		}
+		long time = System.nanoTime() - start;
+		if (hits < 0) System.out.println(hits);
+		return time;
+	}
+
+	static long runCairo() {
+		Random random = new Random(0);
+		long start = System.nanoTime();
+		int hits = 0;
+		cairo_rectangle_int_t rect = new cairo_rectangle_int_t();
+		for (int frame = 0; frame < FRAMES; frame++) {
+			long damage = Cairo.cairo_region_create();
+			for (int i = 0; i < ADDS; i++) {
+				rect.x = random.nextInt(WIDTH);
+				rect.y = random.nextInt(HEIGHT);
+				rect.width = 1 + random.nextInt(32);
+				rect.height = 1 + random.nextInt(32);
+				Cairo.cairo_region_union_rectangle(damage, rect);
+			}
+			for (int i = 0; i < SUBTRACTS; i++) {
+				rect.x = random.nextInt(WIDTH);
+				rect.y = random.nextInt(HEIGHT);
+				rect.width = 1 + random.nextInt(64);
+				rect.height = 1 + random.nextInt(64);
+				long rectRgn = Cairo.cairo_region_create_rectangle(rect);
+				Cairo.cairo_region_subtract(damage, rectRgn);
+				Cairo.cairo_region_destroy(rectRgn);
+			}
+			rect.x = rect.y = 0;
+			rect.width = WIDTH - 100;
+			rect.height = HEIGHT - 100;
+			long clipRgn = Cairo.cairo_region_create_rectangle(rect);
+			Cairo.cairo_region_intersect(damage, clipRgn);
+			Cairo.cairo_region_destroy(clipRgn);
+			for (int i = 0; i < QUERIES; i++) {
+				if (Cairo.cairo_region_contains_point(damage, random.nextInt(WIDTH), random.nextInt(HEIGHT))) hits++;
+			}
+			Cairo.cairo_region_destroy(damage);
+		}
+		long time = System.nanoTime() - start;
+		if (hits < 0) System.out.println(hits);
+		return time;
+	}
+}
@@ -609,6 +609,23 @@ public void test_getDevice_with_device() {
 	assertEquals("Color should have thrown device disposed on getDevice", SWT.ERROR_GRAPHIC_DISPOSED, e.code);
 }
 
+@Test
+public void test_sharedColor() {
+	Color color = display.getColor(new RGBA(10, 20, 30, 255));
+	assertTrue("shared colors should be identical", color == display.getColor(new RGBA(10, 20, 30, 255)));
+	color.dispose();
+	assertFalse("shared colors stay valid when disposed", color.isDisposed());
+
+	// colors that dropped out of the shared table stay valid as well
+	for (int i = 0; i < 2048; i++) {
+		display.getColor(new RGBA(i & 0xFF, i >> 8, 0, 255));
+	}
+	assertFalse(color == display.getColor(new RGBA(10, 20, 30, 255)));
+	color.dispose();
+	assertFalse(color.isDisposed());
+	assertEquals(new RGB(10, 20, 30), color.getRGB());
+}
+
 /* custom */
 Display display;
 }
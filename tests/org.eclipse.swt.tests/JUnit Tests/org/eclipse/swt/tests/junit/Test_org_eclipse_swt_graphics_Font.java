@@ -349,6 +349,52 @@ public void test_isDisposed() {
 	}
 }
 
+@Test
+public void test_sharedFont() {
+	FontData data = new FontData(SwtTestUtil.testFontName, 10, SWT.NORMAL);
+	Font font = display.getFont(data);
+	Font otherFont = display.getFont(new FontData(SwtTestUtil.testFontName, 10, SWT.NORMAL));
+	assertEquals("shared fonts should have the same handle", font, otherFont);
+	Font biggerFont = display.getFont(new FontData(SwtTestUtil.testFontName, 12, SWT.NORMAL));
+	assertFalse("fonts with different data should not be shared", font == biggerFont);
+	biggerFont.dispose();
+	assertTrue(biggerFont.isDisposed());
+
+	// the font stays valid until every reference has been disposed
+	font.dispose();
+	assertFalse(otherFont.isDisposed());
+	otherFont.dispose();
+	assertTrue(font.isDisposed());
+	Font newFont = display.getFont(data);
+	assertFalse(newFont == font);
+	newFont.dispose();
+
+	try {
+		display.getFont(null);
+		fail("No exception thrown for null font data");
+	} catch (IllegalArgumentException e) {
+	}
+}
+
+@Test
+public void test_sharedFontDisposedTwice() {
+	FontData data = new FontData(SwtTestUtil.testFontName, 10, SWT.NORMAL);
+	Font font = display.getFont(data);
+	Font otherFont = display.getFont(data);
+	Font thirdFont = display.getFont(data);
+
+	// disposing a font again does not release the other references
+	font.dispose();
+	font.dispose();
+	assertTrue(font.isDisposed());
+	otherFont.dispose();
+	otherFont.dispose();
+	assertFalse(thirdFont.isDisposed());
+	assertEquals(1, thirdFont.getFontData().length);
+	thirdFont.dispose();
+	assertTrue(thirdFont.isDisposed());
+}
+
 @Test
 public void test_toString() {
 	Font font = new Font(display, SwtTestUtil.testFontName, 10, SWT.NORMAL);
@@ -20,21 +20,35 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.DeviceData;
+import org.eclipse.swt.graphics.DisplayList;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.FontMetrics;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.graphics.LineAttributes;
 import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.Path;
+import org.eclipse.swt.graphics.PathData;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.graphics.TiledImage;
 import org.eclipse.swt.internal.DPIUtil;
 import org.eclipse.swt.widgets.Canvas;
 import org.eclipse.swt.widgets.Display;
@@ -210,6 +224,204 @@ public void test_drawArcIIIIII() {
 	gc.drawArc(10, 20, 50, 25, 90, 90);
 }
 
+@Test
+public void test_drawDisplayListLorg_eclipse_swt_graphics_DisplayList() {
+	Color white = display.getSystemColor(SWT.COLOR_WHITE);
+	Color blue = display.getSystemColor(SWT.COLOR_BLUE);
+	Color red = display.getSystemColor(SWT.COLOR_RED);
+	RGB whiteRGB = getRealRGB(white);
+	RGB blueRGB = getRealRGB(blue);
+	RGB redRGB = getRealRGB(red);
+	DisplayList list = new DisplayList(display);
+	try {
+		assertTrue(list.isEmpty());
+		list.setBackground(blue);
+		list.fillRectangle(10, 10, 20, 20);
+		list.drawLine(0, 50, 100, 50);
+		assertFalse(list.isEmpty());
+
+		gc.setBackground(white);
+		gc.setForeground(red);
+		gc.fillRectangle(image.getBounds());
+		// draw twice to use the kept rendering where the platform supports it
+		gc.drawDisplayList(list);
+		gc.drawDisplayList(list);
+
+		// the attributes changed by the list are restored
+		assertEquals(white, gc.getBackground());
+
+		if (DPIUtil.getDeviceZoom() == 100) {
+			ImageData imageData = image.getImageData();
+			PaletteData palette = imageData.palette;
+			assertEquals(blueRGB, palette.getRGB(imageData.getPixel(15, 15)));
+			assertEquals(whiteRGB, palette.getRGB(imageData.getPixel(35, 15)));
+			assertEquals(redRGB, palette.getRGB(imageData.getPixel(60, 50)));
+		}
+
+		// a changed list is drawn again
+		list.reset();
+		list.fillRectangle(10, 10, 20, 20);
+		gc.drawDisplayList(list);
+		if (DPIUtil.getDeviceZoom() == 100) {
+			ImageData imageData = image.getImageData();
+			assertEquals(whiteRGB, imageData.palette.getRGB(imageData.getPixel(15, 15)));
+		}
+
+		try {
+			gc.drawDisplayList(null);
+			fail("No exception thrown for null display list");
+		} catch (IllegalArgumentException e) {
+			assertSWTProblem("Incorrect exception thrown for null display list", SWT.ERROR_NULL_ARGUMENT, e);
+		}
+	} finally {
+		list.dispose();
+	}
+	assertTrue(list.isDisposed());
+	try {
+		gc.drawDisplayList(list);
+		fail("No exception thrown for disposed display list");
+	} catch (IllegalArgumentException e) {
+		assertSWTProblem("Incorrect exception thrown for disposed display list", SWT.ERROR_INVALID_ARGUMENT, e);
+	}
+}
+
+@Test
+public void test_drawDisplayList_changedImage() {
+	Color blue = display.getSystemColor(SWT.COLOR_BLUE);
+	Color red = display.getSystemColor(SWT.COLOR_RED);
+	Image source = new Image(display, 20, 20);
+	DisplayList list = new DisplayList(display);
+	try {
+		GC sourceGC = new GC(source);
+		sourceGC.setBackground(red);
+		sourceGC.fillRectangle(0, 0, 20, 20);
+		sourceGC.dispose();
+		list.drawImage(source, 10, 10);
+		gc.drawDisplayList(list);
+		gc.drawDisplayList(list);
+		if (DPIUtil.getDeviceZoom() == 100) {
+			ImageData imageData = image.getImageData();
+			assertEquals(getRealRGB(red), imageData.palette.getRGB(imageData.getPixel(15, 15)));
+		}
+
+		// drawing on a recorded image shows in the next drawing of the list
+		sourceGC = new GC(source);
+		sourceGC.setBackground(blue);
+		sourceGC.fillRectangle(0, 0, 20, 20);
+		sourceGC.dispose();
+		gc.drawDisplayList(list);
+		if (DPIUtil.getDeviceZoom() == 100) {
+			ImageData imageData = image.getImageData();
+			assertEquals(getRealRGB(blue), imageData.palette.getRGB(imageData.getPixel(15, 15)));
+		}
+	} finally {
+		list.dispose();
+		source.dispose();
+	}
+}
+
+@Test
+public void test_drawTiledImageLorg_eclipse_swt_graphics_TiledImageIIIIIIII() throws IOException {
+	RGB[] colors = {new RGB(255, 0, 0), new RGB(0, 255, 0), new RGB(0, 0, 255), new RGB(255, 255, 0)};
+	// the quadrants do not line up with the tiles
+	ImageData data = new ImageData(600, 400, 24, new PaletteData(0xFF, 0xFF00, 0xFF0000));
+	for (int y = 0; y < data.height; y++) {
+		for (int x = 0; x < data.width; x++) {
+			data.setPixel(x, y, data.palette.getPixel(colors[(y < 200 ? 0 : 2) + (x < 300 ? 0 : 1)]));
+		}
+	}
+	File file = File.createTempFile("tiled", ".bmp");
+	TiledImage tiledImage = null;
+	try {
+		ImageLoader loader = new ImageLoader();
+		loader.data = new ImageData[] {data};
+		loader.save(file.getPath(), SWT.IMAGE_BMP);
+		tiledImage = new TiledImage(display, file.getPath());
+		assertEquals(new Rectangle(0, 0, 600, 400), tiledImage.getBounds());
+
+		gc.drawTiledImage(tiledImage, 290, 190, 20, 20, 0, 0, 100, 100);
+		gc.drawTiledImage(tiledImage, 0, 0, 600, 400, 0, 100, 150, 100);
+		if (DPIUtil.getDeviceZoom() == 100) {
+			ImageData imageData = image.getImageData();
+			PaletteData palette = imageData.palette;
+			assertEquals(colors[0], palette.getRGB(imageData.getPixel(25, 25)));
+			assertEquals(colors[1], palette.getRGB(imageData.getPixel(75, 25)));
+			assertEquals(colors[2], palette.getRGB(imageData.getPixel(25, 75)));
+			assertEquals(colors[3], palette.getRGB(imageData.getPixel(75, 75)));
+			assertEquals(colors[0], palette.getRGB(imageData.getPixel(35, 125)));
+			assertEquals(colors[1], palette.getRGB(imageData.getPixel(110, 125)));
+			assertEquals(colors[2], palette.getRGB(imageData.getPixel(35, 175)));
+			assertEquals(colors[3], palette.getRGB(imageData.getPixel(110, 175)));
+		}
+
+		try {
+			gc.drawTiledImage(tiledImage, 500, 0, 200, 100, 0, 0, 200, 100);
+			fail("No exception thrown for source rectangle outside of the image");
+		} catch (IllegalArgumentException e) {
+			assertSWTProblem("Incorrect exception thrown for source rectangle outside of the image", SWT.ERROR_INVALID_ARGUMENT, e);
+		}
+		try {
+			gc.drawTiledImage(null, 0, 0, 10, 10, 0, 0, 10, 10);
+			fail("No exception thrown for null image");
+		} catch (IllegalArgumentException e) {
+			assertSWTProblem("Incorrect exception thrown for null image", SWT.ERROR_NULL_ARGUMENT, e);
+		}
+	} finally {
+		if (tiledImage != null) tiledImage.dispose();
+		file.delete();
+	}
+	assertTrue(tiledImage.isDisposed());
+}
+
+@Test
+public void test_drawTiledImage_largeTiff() throws IOException {
+	// a 65536 x 65536 gray image, whose pixels do not fit into one array, with all strips sharing the same data
+	int size = 65536, rowsPerStrip = 16, strips = size / rowsPerStrip;
+	byte[] row = new byte[size / 128 * 2];
+	for (int i = 0; i < row.length; i += 2) {
+		// PackBits run of 128 bytes of 0x80
+		row[i] = -127;
+		row[i + 1] = (byte) 0x80;
+	}
+	int offsets = 8 + 2 + 9 * 12 + 4, counts = offsets + strips * 4, data = counts + strips * 4;
+	ByteBuffer buffer = ByteBuffer.allocate(data + row.length * rowsPerStrip).order(ByteOrder.LITTLE_ENDIAN);
+	buffer.put(new byte[] {'I', 'I', 42, 0}).putInt(8).putShort((short) 9);
+	addTiffEntry(buffer, 256, 4, 1, size);
+	addTiffEntry(buffer, 257, 4, 1, size);
+	addTiffEntry(buffer, 258, 3, 1, 8);
+	addTiffEntry(buffer, 259, 3, 1, 32773);
+	addTiffEntry(buffer, 262, 3, 1, 1);
+	addTiffEntry(buffer, 273, 4, strips, offsets);
+	addTiffEntry(buffer, 277, 3, 1, 1);
+	addTiffEntry(buffer, 278, 4, 1, rowsPerStrip);
+	addTiffEntry(buffer, 279, 4, strips, counts);
+	buffer.putInt(0);
+	for (int i = 0; i < strips; i++) buffer.putInt(data);
+	for (int i = 0; i < strips; i++) buffer.putInt(row.length * rowsPerStrip);
+	for (int i = 0; i < rowsPerStrip; i++) buffer.put(row);
+	File file = File.createTempFile("tiled", ".tif");
+	TiledImage tiledImage = null;
+	try {
+		try (OutputStream stream = new FileOutputStream(file)) {
+			stream.write(buffer.array());
+		}
+		// only the strips of the drawn regions are decoded
+		tiledImage = new TiledImage(display, file.getPath());
+		assertEquals(new Rectangle(0, 0, size, size), tiledImage.getBounds());
+		gc.drawTiledImage(tiledImage, 0, 0, 2048, 2048, 0, 0, 100, 100);
+		gc.drawTiledImage(tiledImage, size - 100, size - 100, 100, 100, 100, 100, 100, 100);
+		if (DPIUtil.getDeviceZoom() == 100) {
+			ImageData imageData = image.getImageData();
+			RGB gray = new RGB(0x80, 0x80, 0x80);
+			assertEquals(gray, imageData.palette.getRGB(imageData.getPixel(50, 50)));
+			assertEquals(gray, imageData.palette.getRGB(imageData.getPixel(150, 150)));
+		}
+	} finally {
+		if (tiledImage != null) tiledImage.dispose();
+		file.delete();
+	}
+}
+
 @Test
 public void test_drawFocusIIII() {
 	gc.drawFocus(1, 1, 50, 25);
@@ -312,6 +524,26 @@ public void test_drawPointII() {
 	gc.drawPoint(10, 10);
 }
 
+@Test
+public void test_drawPoints$I() {
+	Color white = display.getSystemColor(SWT.COLOR_WHITE);
+	Color blue = display.getSystemColor(SWT.COLOR_BLUE);
+	gc.setBackground(white);
+	gc.fillRectangle(image.getBounds());
+	gc.setForeground(blue);
+	// the duplicate point must not cancel itself out
+	gc.drawPoints(new int[] {10,10, 20,20, 20,20, 30});
+	gc.drawPoints(new int[0]);
+	if (DPIUtil.getDeviceZoom() == 100) {
+		ImageData imageData = image.getImageData();
+		PaletteData palette = imageData.palette;
+		assertEquals(getRealRGB(blue), palette.getRGB(imageData.getPixel(10, 10)));
+		assertEquals(getRealRGB(blue), palette.getRGB(imageData.getPixel(20, 20)));
+		assertEquals(getRealRGB(white), palette.getRGB(imageData.getPixel(15, 15)));
+	}
+	assertThrows(IllegalArgumentException.class, () -> gc.drawPoints(null));
+}
+
 @Test
 public void test_drawPolygon$I() {
 	gc.drawPolygon(new int[] {0,0, 5,10, 0,20});
@@ -342,6 +574,25 @@ public void test_drawRoundRectangleIIIIII() {
 	gc.drawRoundRectangle(0, 0, 0, 0, 0, 0);
 }
 
+@Test
+public void test_drawSegments$I() {
+	Color white = display.getSystemColor(SWT.COLOR_WHITE);
+	Color blue = display.getSystemColor(SWT.COLOR_BLUE);
+	gc.setBackground(white);
+	gc.fillRectangle(image.getBounds());
+	gc.setForeground(blue);
+	gc.drawSegments(new int[] {0,10, 50,10, 20,0, 20,50});
+	gc.drawSegments(new int[] {0,0, 5});
+	if (DPIUtil.getDeviceZoom() == 100) {
+		ImageData imageData = image.getImageData();
+		PaletteData palette = imageData.palette;
+		assertEquals(getRealRGB(blue), palette.getRGB(imageData.getPixel(40, 10)));
+		assertEquals(getRealRGB(blue), palette.getRGB(imageData.getPixel(20, 40)));
+		assertEquals(getRealRGB(white), palette.getRGB(imageData.getPixel(40, 40)));
+	}
+	assertThrows(IllegalArgumentException.class, () -> gc.drawSegments(null));
+}
+
 @Test
 public void test_drawStringLjava_lang_StringII() {
 	gc.drawString("test", 5, 5);
@@ -419,6 +670,40 @@ public void test_fillOvalIIII() {
 	gc.fillOval(-1, -1, -1, -1);
 }
 
+@Test
+public void test_fillPathLorg_eclipse_swt_graphics_Path() {
+	Color white = display.getSystemColor(SWT.COLOR_WHITE);
+	Color blue = display.getSystemColor(SWT.COLOR_BLUE);
+	Color red = display.getSystemColor(SWT.COLOR_RED);
+	gc.setBackground(white);
+	gc.fillRectangle(image.getBounds());
+	Path path = new Path(display);
+	try {
+		path.addPolyline(new float[] {10,10, 50,10, 50,50, 10,50});
+		path.close();
+		PathData data = path.getPathData();
+		assertArrayEquals(new byte[] {SWT.PATH_MOVE_TO, SWT.PATH_LINE_TO, SWT.PATH_LINE_TO, SWT.PATH_LINE_TO, SWT.PATH_CLOSE}, data.types);
+		data.points[0] = -1;
+		assertEquals(10, path.getPathData().points[0], 0);
+		/* Filling the same path repeatedly must follow the attributes and the changes of the path */
+		gc.setBackground(blue);
+		for (int i = 0; i < 3; i++) gc.fillPath(path);
+		gc.setBackground(red);
+		gc.fillPath(path);
+		path.addRectangle(100, 100, 20, 20);
+		gc.fillPath(path);
+		if (DPIUtil.getDeviceZoom() == 100) {
+			ImageData imageData = image.getImageData();
+			PaletteData palette = imageData.palette;
+			assertEquals(getRealRGB(red), palette.getRGB(imageData.getPixel(30, 30)));
+			assertEquals(getRealRGB(red), palette.getRGB(imageData.getPixel(110, 110)));
+			assertEquals(getRealRGB(white), palette.getRGB(imageData.getPixel(80, 80)));
+		}
+	} finally {
+		path.dispose();
+	}
+}
+
 @Test
 public void test_fillPolygon$I() {
 	gc.fillPolygon(new int[] {0,0, 5,10, 0,20});
@@ -439,6 +724,28 @@ public void test_fillRectangleLorg_eclipse_swt_graphics_Rectangle() {
 	gc.fillRectangle(0, 0, 0, 0);
 }
 
+@Test
+public void test_fillRectangles$I() {
+	Color white = display.getSystemColor(SWT.COLOR_WHITE);
+	Color blue = display.getSystemColor(SWT.COLOR_BLUE);
+	gc.setBackground(white);
+	gc.fillRectangle(image.getBounds());
+	gc.setBackground(blue);
+	// the rectangles overlap and the last one has a negative size
+	gc.fillRectangles(new int[] {0,0, 20,20, 10,10, 20,20, 60,60, -10,-10});
+	gc.fillRectangles(new int[] {0,0});
+	if (DPIUtil.getDeviceZoom() == 100) {
+		ImageData imageData = image.getImageData();
+		PaletteData palette = imageData.palette;
+		assertEquals(getRealRGB(blue), palette.getRGB(imageData.getPixel(5, 5)));
+		assertEquals(getRealRGB(blue), palette.getRGB(imageData.getPixel(15, 15)));
+		assertEquals(getRealRGB(blue), palette.getRGB(imageData.getPixel(25, 25)));
+		assertEquals(getRealRGB(blue), palette.getRGB(imageData.getPixel(55, 55)));
+		assertEquals(getRealRGB(white), palette.getRGB(imageData.getPixel(40, 40)));
+	}
+	assertThrows(IllegalArgumentException.class, () -> gc.fillRectangles(null));
+}
+
 @Test
 public void test_fillRoundRectangleIIIIII() {
 	gc.fillRoundRectangle(10, 0, 20, 30, 3, 3);
@@ -682,6 +989,51 @@ public void test_textExtentLjava_lang_StringI() {
 	assertTrue(pt.y > 0);
 }
 
+@Test
+public void test_textExtentCache() {
+	Assume.assumeTrue("the text extent cache is only implemented on GTK", SwtTestUtil.isGTK);
+	String string = "text extent cache";
+	Point extent = gc.textExtent(string, SWT.DRAW_MNEMONIC);
+	DeviceData data = display.getDeviceData();
+	int hits = data.textExtentCacheHits;
+	int misses = data.textExtentCacheMisses;
+
+	// measuring the same string again with the same font and flags is a hit
+	assertEquals(extent, gc.textExtent(string, SWT.DRAW_MNEMONIC));
+	data = display.getDeviceData();
+	assertEquals(hits + 1, data.textExtentCacheHits);
+	assertEquals(misses, data.textExtentCacheMisses);
+
+	// the cached extent is a copy
+	gc.textExtent(string, SWT.DRAW_MNEMONIC).x = -1;
+	assertEquals(extent, gc.textExtent(string, SWT.DRAW_MNEMONIC));
+
+	// a different font is measured again
+	Font font = new Font(display, SwtTestUtil.testFontName, 40, SWT.BOLD);
+	Point bigExtent;
+	try {
+		gc.setFont(font);
+		bigExtent = gc.textExtent(string, SWT.DRAW_MNEMONIC);
+		assertTrue(bigExtent.x > extent.x);
+		assertTrue(bigExtent.y > extent.y);
+	} finally {
+		gc.setFont(null);
+		font.dispose();
+	}
+
+	// disposing a font discards its extents
+	font = new Font(display, SwtTestUtil.testFontName, 40, SWT.BOLD);
+	try {
+		gc.setFont(font);
+		misses = display.getDeviceData().textExtentCacheMisses;
+		assertEquals(bigExtent, gc.textExtent(string, SWT.DRAW_MNEMONIC));
+		assertEquals(misses + 1, display.getDeviceData().textExtentCacheMisses);
+	} finally {
+		gc.setFont(null);
+		font.dispose();
+	}
+}
+
 @Test
 public void test_toString() {
 	String s = gc.toString();
@@ -771,4 +1123,14 @@ private void executeWithNonDefaultDeviceZoom(Runnable executable) {
 		DPIUtil.setDeviceZoom(previousDeviceZoom);
 	}
 }
+
+/* Writes a TIFF directory entry holding a single value or the offset of its values */
+private static void addTiffEntry(ByteBuffer buffer, int tag, int type, int count, int value) {
+	buffer.putShort((short) tag).putShort((short) type).putInt(count);
+	if (type == 3 && count == 1) {
+		buffer.putShort((short) value).putShort((short) 0);
+	} else {
+		buffer.putInt(value);
+	}
+}
 }
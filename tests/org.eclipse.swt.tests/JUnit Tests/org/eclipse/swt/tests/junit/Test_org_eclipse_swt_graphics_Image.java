@@ -22,22 +22,26 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.function.Consumer;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.DeviceData;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.ImageDataProvider;
 import org.eclipse.swt.graphics.ImageFileNameProvider;
 import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.PreparedImage;
 import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.DPIUtil;
@@ -252,6 +256,46 @@ public void test_ConstructorLorg_eclipse_swt_graphics_DeviceLorg_eclipse_swt_gra
 	image.dispose();
 }
 
+@Test
+public void test_ConstructorLorg_eclipse_swt_graphics_DeviceLorg_eclipse_swt_graphics_PreparedImage() throws InterruptedException {
+	try {
+		Image image = new Image(display, (PreparedImage) null);
+		image.dispose();
+		fail("No exception thrown for PreparedImage == null");
+	} catch (IllegalArgumentException e) {
+		assertSWTProblem("Incorrect exception thrown for PreparedImage == null", SWT.ERROR_NULL_ARGUMENT, e);
+	}
+
+	ImageData data = new ImageData(10, 10, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	data.setPixel(9, 9, 0xFF0000);
+	data.setAlpha(9, 9, 0x80);
+	data.setAlpha(0, 0, 0xFF);
+	byte[] pixels = data.data.clone();
+	PreparedImage[] prepared = new PreparedImage[1];
+	Thread thread = new Thread(() -> prepared[0] = new PreparedImage(display, data));
+	thread.start();
+	thread.join();
+	assertEquals(new Rectangle(0, 0, 10, 10), prepared[0].getBounds());
+	assertTrue("Preparing changed the image data", Arrays.equals(pixels, data.data));
+
+	Image image = new Image(display, prepared[0]);
+	Image expected = new Image(display, data);
+	try {
+		assertEquals(expected.getBounds(), image.getBounds());
+		ImageData imageData = image.getImageData();
+		ImageData expectedData = expected.getImageData();
+		for (int y = 0; y < 10; y++) {
+			for (int x = 0; x < 10; x++) {
+				assertEquals(expectedData.palette.getRGB(expectedData.getPixel(x, y)), imageData.palette.getRGB(imageData.getPixel(x, y)));
+				assertEquals(expectedData.getAlpha(x, y), imageData.getAlpha(x, y));
+			}
+		}
+	} finally {
+		image.dispose();
+		expected.dispose();
+	}
+}
+
 @Test
 public void test_ConstructorLorg_eclipse_swt_graphics_DeviceLorg_eclipse_swt_graphics_ImageDataLorg_eclipse_swt_graphics_ImageData() {
 	ImageData data = null;
@@ -918,6 +962,44 @@ public static Rectangle scaleBounds (Rectangle rect, int targetZoom, int current
 	return returnRect;
 }
 
+@Test
+public void test_imageCacheAcrossZoomLevels() {
+	assumeTrue("Only GTK keeps the images at other zoom levels", SwtTestUtil.isGTK);
+	int zoom = DPIUtil.getDeviceZoom();
+	int[] calls = new int[1];
+	ImageDataProvider provider = z -> {
+		calls[0]++;
+		return imageDataProvider.getImageData(z);
+	};
+	Image target = new Image(display, 10, 10);
+	GC gc = new GC(target);
+	try {
+		DPIUtil.setDeviceZoom(100);
+		Image image = new Image(display, provider);
+		DPIUtil.setDeviceZoom(200);
+		gc.drawImage(image, 0, 0);
+		int hits = display.getDeviceData().imageCacheHits;
+		int created = calls[0];
+
+		// switching back and forth uses the kept surfaces
+		DPIUtil.setDeviceZoom(100);
+		gc.drawImage(image, 0, 0);
+		DPIUtil.setDeviceZoom(200);
+		gc.drawImage(image, 0, 0);
+		assertEquals(created, calls[0]);
+		DeviceData data = display.getDeviceData();
+		assertEquals(hits + 2, data.imageCacheHits);
+		assertTrue(data.imageCacheSize > 0);
+
+		image.dispose();
+		assertTrue(display.getDeviceData().imageCacheSize < data.imageCacheSize);
+	} finally {
+		gc.dispose();
+		target.dispose();
+		DPIUtil.setDeviceZoom(zoom);
+	}
+}
+
 @Test
 public void test_hashCode() {
 	Image image = null;
@@ -18,21 +18,35 @@ package org.eclipse.swt.tests.junit;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
+import org.eclipse.swt.graphics.AnimatedImageReader;
 import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageInfo;
 import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.graphics.ImageLoaderEvent;
 import org.eclipse.swt.graphics.ImageLoaderListener;
 import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.widgets.Display;
 import org.junit.Test;
 
@@ -242,6 +256,577 @@ public void test_bug547529() {
 	}
 }
 
+/**
+ * Save an image that is compressed in several blocks and filtered with
+ * all the PNG filter types, and check that it loads unchanged.
+ */
+@Test
+public void test_savePngLarge() {
+	// an indexed image is saved by the SWT encoder on all platforms, GTK saves direct images with GdkPixbuf
+	// the image is large enough to be filtered and compressed in several blocks
+	int width = 1000, height = 600;
+	RGB[] rgbs = new RGB[256];
+	for (int i = 0; i < rgbs.length; i++) {
+		rgbs[i] = new RGB(i, (i * 7) & 0xFF, 0xFF - i);
+	}
+	ImageData imageData = new ImageData(width, height, 8, new PaletteData(rgbs));
+	imageData.alphaData = new byte[width * height];
+	for (int y = 0; y < height; y++) {
+		for (int x = 0; x < width; x++) {
+			// gradients, edges and noise make different filters the best for different rows
+			int noise = (x * 31 + y * 17) % 7;
+			int pixel = (x < width / 2 ? x + noise : x ^ y) & 0xFF;
+			imageData.setPixel(x, y, pixel);
+			// the alpha of an indexed image is saved per palette entry
+			imageData.alphaData[y * width + x] = (byte) (pixel < 128 ? 0xFF : 0x80 + (pixel & 0x7F));
+		}
+	}
+	ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+	ImageLoader saver = new ImageLoader();
+	saver.data = new ImageData[] { imageData };
+	saver.save(outputStream, SWT.IMAGE_PNG);
+
+	ImageLoader loader = new ImageLoader();
+	loader.load(new ByteArrayInputStream(outputStream.toByteArray()));
+	ImageData loadedData = loader.data[0];
+	assertEquals(width, loadedData.width);
+	assertEquals(height, loadedData.height);
+	for (int y = 0; y < height; y++) {
+		for (int x = 0; x < width; x++) {
+			assertEquals(imageData.palette.getRGB(imageData.getPixel(x, y)), loadedData.palette.getRGB(loadedData.getPixel(x, y)));
+			assertEquals(imageData.getAlpha(x, y), loadedData.getAlpha(x, y));
+		}
+	}
+}
+
+/**
+ * Load a PNG with 16-bit samples and alpha, and check that it is reduced
+ * to the same pixels and alpha values as the 8-bit version of the image.
+ */
+@Test
+public void test_loadPng16Bit() throws IOException {
+	ImageData expected, actual;
+	try (InputStream stream = SwtTestUtil.class.getResourceAsStream("collapseall.png")) {
+		expected = new ImageLoader().load(stream)[0];
+	}
+	try (InputStream stream = SwtTestUtil.class.getResourceAsStream("collapseall_16bit.png")) {
+		actual = new ImageLoader().load(stream)[0];
+	}
+	assertEquals(expected.width, actual.width);
+	assertEquals(expected.height, actual.height);
+	for (int y = 0; y < expected.height; y++) {
+		for (int x = 0; x < expected.width; x++) {
+			assertEquals(expected.palette.getRGB(expected.getPixel(x, y)), actual.palette.getRGB(actual.getPixel(x, y)));
+			assertEquals(expected.getAlpha(x, y), actual.getAlpha(x, y));
+		}
+	}
+}
+
+/**
+ * Load a JPEG with a target size and check that the reduced decode picks
+ * the right scale and matches a box filtered full size decode.
+ */
+@Test
+public void test_loadJpegTargetSize() {
+	int width = 200, height = 120;
+	ImageData imageData = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	for (int y = 0; y < height; y++) {
+		for (int x = 0; x < width; x++) {
+			imageData.setPixel(x, y, (x + y) / 2 << 16 | (y * 2) << 8 | (255 - x));
+		}
+	}
+	ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+	ImageLoader saver = new ImageLoader();
+	saver.data = new ImageData[] { imageData };
+	saver.save(outputStream, SWT.IMAGE_JPEG);
+	byte[] bytes = outputStream.toByteArray();
+
+	ImageLoader loader = new ImageLoader();
+	ImageData full = loader.load(new ByteArrayInputStream(bytes))[0];
+	assertEquals(width, full.width);
+	int[][] sizes = {{25, 15, 8}, {50, 30, 4}, {60, 30, 2}, {0, 40, 2}, {150, 10, 1}, {400, 400, 1}};
+	for (int[] size : sizes) {
+		loader.targetWidth = size[0];
+		loader.targetHeight = size[1];
+		int scale = size[2];
+		ImageData scaled = loader.load(new ByteArrayInputStream(bytes))[0];
+		assertEquals(width / scale, scaled.width);
+		assertEquals(height / scale, scaled.height);
+		for (int y = 0; y < scaled.height; y++) {
+			for (int x = 0; x < scaled.width; x++) {
+				int red = 0, green = 0, blue = 0;
+				for (int dy = 0; dy < scale; dy++) {
+					for (int dx = 0; dx < scale; dx++) {
+						RGB rgb = full.palette.getRGB(full.getPixel(x * scale + dx, y * scale + dy));
+						red += rgb.red;
+						green += rgb.green;
+						blue += rgb.blue;
+					}
+				}
+				int n = scale * scale;
+				RGB rgb = scaled.palette.getRGB(scaled.getPixel(x, y));
+				assertTrue(Math.abs(rgb.red - red / n) <= 8);
+				assertTrue(Math.abs(rgb.green - green / n) <= 8);
+				assertTrue(Math.abs(rgb.blue - blue / n) <= 8);
+			}
+		}
+	}
+}
+
+@Test
+public void test_loadJpegRestartIntervals() throws IOException {
+	/* Every MCU of the image is a restart interval, these are decoded in parallel */
+	byte[] bytes;
+	try (InputStream stream = SwtTestUtil.class.getResourceAsStream("restart.jpg")) {
+		bytes = stream.readAllBytes();
+	}
+	/* The size hint makes every platform use the Java decoder */
+	ImageLoader loader = new ImageLoader();
+	loader.targetWidth = 100;
+	ImageData parallel = loader.load(new ByteArrayInputStream(bytes))[0];
+	String property = "org.eclipse.swt.internal.image.JPEGDecoder.sequential";
+	System.setProperty(property, "true");
+	ImageData sequential;
+	try {
+		sequential = loader.load(new ByteArrayInputStream(bytes))[0];
+	} finally {
+		System.clearProperty(property);
+	}
+	assertEquals(100, parallel.width);
+	assertEquals(70, parallel.height);
+	assertArrayEquals(sequential.data, parallel.data);
+}
+
+@Test
+public void test_loadJpegFastIDCT() throws IOException {
+	/* A 4:2:0 image, whose chroma is upsampled and converted in one pass */
+	byte[] bytes;
+	try (InputStream stream = SwtTestUtil.class.getResourceAsStream("restart.jpg")) {
+		bytes = stream.readAllBytes();
+	}
+	/* The size hint makes every platform use the Java decoder */
+	ImageLoader loader = new ImageLoader();
+	loader.targetWidth = 100;
+	ImageData accurate = loader.load(new ByteArrayInputStream(bytes))[0];
+	String property = "org.eclipse.swt.internal.image.JPEGDecoder.fastIDCT";
+	System.setProperty(property, "true");
+	ImageData fast;
+	try {
+		fast = loader.load(new ByteArrayInputStream(bytes))[0];
+	} finally {
+		System.clearProperty(property);
+	}
+	assertEquals(accurate.width, fast.width);
+	assertEquals(accurate.height, fast.height);
+	/* The fast IDCT rounds differently, every sample stays close to the accurate one */
+	long sum = 0;
+	int count = 0;
+	for (int y = 0; y < fast.height; y++) {
+		for (int x = 0; x < fast.width; x++) {
+			RGB expected = accurate.palette.getRGB(accurate.getPixel(x, y));
+			RGB actual = fast.palette.getRGB(fast.getPixel(x, y));
+			int[] errors = {expected.red - actual.red, expected.green - actual.green, expected.blue - actual.blue};
+			for (int error : errors) {
+				assertTrue("sample error " + error + " at " + x + "," + y, Math.abs(error) <= 8);
+				sum += Math.abs(error);
+				count++;
+			}
+		}
+	}
+	assertTrue("mean sample error " + (double) sum / count, sum <= 2 * count);
+}
+
+@Test
+public void test_probeLjava_io_InputStream() throws IOException {
+	try {
+		ImageLoader.probe((InputStream) null);
+		fail("No exception thrown for probe inputStream == null");
+	} catch (IllegalArgumentException e) {
+	}
+
+	String[] formats = {"bmp", "jpg", "gif", "png"};
+	int[] types = {SWT.IMAGE_BMP, SWT.IMAGE_JPEG, SWT.IMAGE_GIF, SWT.IMAGE_PNG};
+	for (String name : SwtTestUtil.imageFilenames) {
+		for (int i = 0; i < formats.length; i++) {
+			String fileName = name + "." + formats[i];
+			ImageData data;
+			try (InputStream stream = SwtTestUtil.class.getResourceAsStream(fileName)) {
+				data = new ImageLoader().load(stream)[0];
+			}
+			ImageInfo info;
+			try (InputStream stream = SwtTestUtil.class.getResourceAsStream(fileName)) {
+				info = ImageLoader.probe(stream);
+			}
+			assertEquals(fileName, data.width, info.width);
+			assertEquals(fileName, data.height, info.height);
+			assertEquals(fileName, 1, info.imageCount);
+			assertEquals(fileName, types[i], info.type);
+		}
+	}
+
+	/* The pages of a TIFF and the frames of a GIF are counted */
+	ImageInfo info;
+	try (InputStream stream = SwtTestUtil.class.getResourceAsStream("pages.tif")) {
+		info = ImageLoader.probe(stream);
+	}
+	assertEquals(40, info.width);
+	assertEquals(36, info.height);
+	assertEquals(24, info.depth);
+	assertEquals(3, info.imageCount);
+	assertEquals(SWT.IMAGE_TIFF, info.type);
+	try (InputStream stream = SwtTestUtil.class.getResourceAsStream("lzw8.gif")) {
+		info = ImageLoader.probe(stream);
+	}
+	assertEquals(160, info.width);
+	assertEquals(120, info.height);
+	assertEquals(8, info.depth);
+	assertEquals(2, info.imageCount);
+	assertEquals(SWT.IMAGE_GIF, info.type);
+}
+
+@Test
+public void test_probeTiffBackwardChain() throws IOException {
+	/* The directory of the second page is stored before the one of the first page, which is valid */
+	byte[] bytes = tiffPages(2, 1, 1);
+	ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+	int first = 8, second = buffer.getInt(first + 2 + 9 * 12);
+	buffer.putInt(4, second);
+	buffer.putInt(second + 2 + 9 * 12, first);
+	buffer.putInt(first + 2 + 9 * 12, 0);
+	File file = File.createTempFile("backward", ".tif");
+	try {
+		Files.write(file.toPath(), bytes);
+		ImageInfo[] infos = {ImageLoader.probe(new ByteArrayInputStream(bytes)), ImageLoader.probe(file.getPath())};
+		for (ImageInfo info : infos) {
+			assertEquals(4, info.width);
+			assertEquals(3, info.height);
+			assertEquals(8, info.depth);
+			assertEquals(2, info.imageCount);
+			assertEquals(SWT.IMAGE_TIFF, info.type);
+		}
+	} finally {
+		file.delete();
+	}
+}
+
+@Test
+public void test_loadAllLjava_util_ListLjava_util_concurrent_Executor() throws Exception {
+	try {
+		ImageLoader.loadAll(null, ForkJoinPool.commonPool());
+		fail("No exception thrown for loadAll filenames == null");
+	} catch (IllegalArgumentException e) {
+	}
+	try {
+		ImageLoader.loadAll(new ArrayList<>(), null);
+		fail("No exception thrown for loadAll executor == null");
+	} catch (IllegalArgumentException e) {
+	}
+
+	List<File> files = new ArrayList<>();
+	try {
+		List<String> filenames = new ArrayList<>();
+		for (String name : SwtTestUtil.imageFilenames) {
+			for (String format : new String[] {"bmp", "gif", "png"}) {
+				File file = File.createTempFile(name, "." + format);
+				files.add(file);
+				try (InputStream stream = SwtTestUtil.class.getResourceAsStream(name + "." + format)) {
+					Files.copy(stream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+				filenames.add(file.getPath());
+			}
+		}
+		/* The same file twice and a file that does not exist */
+		filenames.add(files.get(0).getPath());
+		File missing = new File(files.get(0).getPath() + ".missing");
+		filenames.add(missing.getPath());
+
+		List<CompletableFuture<ImageData[]>> futures = ImageLoader.loadAll(filenames, ForkJoinPool.commonPool());
+		assertEquals(filenames.size(), futures.size());
+		assertTrue(futures.get(0) == futures.get(files.size()));
+		for (int i = 0; i < files.size(); i++) {
+			ImageData expected = new ImageLoader().load(filenames.get(i))[0];
+			ImageData data = futures.get(i).get()[0];
+			assertEquals(filenames.get(i), expected.width, data.width);
+			assertEquals(filenames.get(i), expected.height, data.height);
+			/* GTK loads files with GdkPixbuf, loadAll with SWT's own decoders */
+			if (!SwtTestUtil.isGTK) {
+				assertEquals(filenames.get(i), expected.depth, data.depth);
+				assertArrayEquals(filenames.get(i), expected.data, data.data);
+			}
+		}
+		try {
+			futures.get(files.size() + 1).get();
+			fail("No exception thrown for loadAll of a missing file");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof SWTException);
+			assertEquals(SWT.ERROR_IO, ((SWTException) e.getCause()).code);
+		}
+	} finally {
+		for (File file : files) file.delete();
+	}
+}
+
+@Test
+public void test_loadTiffPages() throws IOException {
+	/*
+	 * Three pages: deflated RGB tiles that overlap the image edges, gray
+	 * strips with PackBits compression and gray strips with LZW compression
+	 * and the horizontal predictor.
+	 */
+	byte[] bytes;
+	try (InputStream stream = SwtTestUtil.class.getResourceAsStream("pages.tif")) {
+		bytes = stream.readAllBytes();
+	}
+	ImageData[] parallel = new ImageLoader().load(new ByteArrayInputStream(bytes));
+	String property = "org.eclipse.swt.internal.image.TIFFDirectory.sequential";
+	System.setProperty(property, "true");
+	ImageData[] sequential;
+	try {
+		sequential = new ImageLoader().load(new ByteArrayInputStream(bytes));
+	} finally {
+		System.clearProperty(property);
+	}
+	assertEquals(3, parallel.length);
+	assertEquals(3, sequential.length);
+	int[][] sizes = {{40, 36}, {33, 20}, {64, 48}};
+	for (int page = 0; page < parallel.length; page++) {
+		ImageData data = parallel[page];
+		assertEquals(sizes[page][0], data.width);
+		assertEquals(sizes[page][1], data.height);
+		assertArrayEquals(sequential[page].data, data.data);
+		for (int y = 0; y < data.height; y++) {
+			for (int x = 0; x < data.width; x++) {
+				int gray = (x * 3 + y * 5) & 0xFF;
+				RGB expected = page == 0 ? new RGB(x * 6 & 0xFF, y * 7 & 0xFF, (x ^ y) * 5 & 0xFF) : new RGB(gray, gray, gray);
+				assertEquals("page " + page + " at " + x + "," + y, expected, data.palette.getRGB(data.getPixel(x, y)));
+			}
+		}
+	}
+}
+
+/**
+ * GdkPixbuf still reads the first page of the TIFF files the SWT decoder does
+ * not support, and the SWT decoder reports compressions it does not implement
+ * instead of returning blank images.
+ */
+@Test
+public void test_loadTiffUnsupported() {
+	if (SwtTestUtil.isGTK) {
+		/* RGB with an alpha sample, in a file of one and of two pages */
+		for (int pages = 1; pages <= 2; pages++) {
+			ImageData[] images = new ImageLoader().load(new ByteArrayInputStream(tiffPages(pages, 1, 4)));
+			assertEquals(1, images.length);
+			ImageData data = images[0];
+			assertEquals(4, data.width);
+			assertEquals(3, data.height);
+			assertEquals(new RGB(0x20, 0x40, 0x60), data.palette.getRGB(data.getPixel(3, 2)));
+			assertEquals(0xFF, data.getAlpha(3, 2));
+		}
+	} else {
+		try {
+			new ImageLoader().load(new ByteArrayInputStream(tiffPages(1, 4, 1)));
+			fail("No exception thrown for a CCITT T.6 compressed TIFF");
+		} catch (SWTException e) {
+			assertEquals(SWT.ERROR_UNSUPPORTED_FORMAT, e.code);
+		}
+	}
+}
+
+/**
+ * Read an animation frame by frame and check that the disposal methods,
+ * transparency and rewinding are applied to the composited frames.
+ */
+@Test
+public void test_AnimatedImageReader() {
+	PaletteData palette = new PaletteData(new RGB(255, 0, 0), new RGB(0, 255, 0), new RGB(0, 0, 255), new RGB(0, 0, 0));
+	ImageData[] frames = {
+		gifFrame(palette, 0, 0, 20, 10, 0, -1, SWT.DM_FILL_NONE),
+		gifFrame(palette, 5, 2, 4, 4, 1, 3, SWT.DM_FILL_PREVIOUS),
+		gifFrame(palette, 0, 0, 2, 2, 2, -1, SWT.DM_FILL_BACKGROUND),
+		gifFrame(palette, 10, 5, 2, 2, 2, -1, SWT.DM_FILL_NONE),
+	};
+	ImageLoader saver = new ImageLoader();
+	saver.data = frames;
+	saver.logicalScreenWidth = 20;
+	saver.logicalScreenHeight = 10;
+	saver.repeatCount = 0;
+	ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+	saver.save(outputStream, SWT.IMAGE_GIF);
+	byte[] bytes = outputStream.toByteArray();
+
+	RGB red = palette.colors[0], green = palette.colors[1], blue = palette.colors[2];
+	try (AnimatedImageReader reader = new AnimatedImageReader(new ByteArrayInputStream(bytes), true)) {
+		assertEquals(20, reader.getWidth());
+		assertEquals(10, reader.getHeight());
+		assertEquals(0, reader.getRepeatCount());
+		for (int pass = 0; pass < 2; pass++) {
+			ImageData frame = reader.next();
+			assertEquals(20, frame.width);
+			assertEquals(red, frame.palette.getRGB(frame.getPixel(7, 3)));
+			/* The transparent half of the frame shows the previous frame */
+			frame = reader.next();
+			assertEquals(red, frame.palette.getRGB(frame.getPixel(5, 3)));
+			assertEquals(green, frame.palette.getRGB(frame.getPixel(7, 3)));
+			/* The previous frame is restored */
+			frame = reader.next();
+			assertEquals(red, frame.palette.getRGB(frame.getPixel(7, 3)));
+			assertEquals(blue, frame.palette.getRGB(frame.getPixel(1, 1)));
+			/* The background is cleared to transparent */
+			frame = reader.next();
+			assertEquals(0, frame.getAlpha(1, 1));
+			assertEquals(255, frame.getAlpha(2, 1));
+			assertEquals(blue, frame.palette.getRGB(frame.getPixel(10, 5)));
+			assertFalse(reader.hasNext());
+			reader.rewind();
+		}
+	}
+
+	/* Animations with many small frames are played again from the cache */
+	ImageData[] many = new ImageData[40];
+	for (int i = 0; i < many.length; i++) {
+		many[i] = gifFrame(palette, i % 18, i % 8, 2, 2, i % 3, -1, i % 2 == 0 ? SWT.DM_FILL_PREVIOUS : SWT.DM_FILL_NONE);
+	}
+	saver.data = many;
+	outputStream.reset();
+	saver.save(outputStream, SWT.IMAGE_GIF);
+	try (AnimatedImageReader reader = new AnimatedImageReader(new ByteArrayInputStream(outputStream.toByteArray()), true)) {
+		ImageData[] composited = new ImageData[many.length];
+		for (int i = 0; i < many.length; i++) {
+			composited[i] = reader.next();
+		}
+		assertFalse(reader.hasNext());
+		reader.rewind();
+		for (int i = 0; i < many.length; i++) {
+			assertSame(composited[i], reader.next());
+		}
+	}
+}
+
+ImageData gifFrame(PaletteData palette, int x, int y, int width, int height, int pixel, int transparentPixel, int disposalMethod) {
+	ImageData data = new ImageData(width, height, 4, palette);
+	for (int j = 0; j < height; j++) {
+		for (int i = 0; i < width; i++) {
+			data.setPixel(i, j, transparentPixel != -1 && i < width / 2 ? transparentPixel : pixel);
+		}
+	}
+	data.x = x;
+	data.y = y;
+	data.transparentPixel = transparentPixel;
+	data.disposalMethod = disposalMethod;
+	data.delayTime = 5;
+	return data;
+}
+
+/**
+ * Check that GIFs are encoded exactly like the previous LZW encoder did,
+ * using files it wrote, and that images of every GIF depth and of many
+ * sizes decode to the pixels they were saved with.
+ */
+@Test
+public void test_gifLzwCodec() throws IOException {
+	for (int depth : new int[] {4, 8}) {
+		ImageLoader saver = new ImageLoader();
+		saver.data = new ImageData[] { lzwFrame(depth, 160, 120, true), lzwFrame(depth, 160, 120, false) };
+		saver.logicalScreenWidth = 160;
+		saver.logicalScreenHeight = 120;
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		saver.save(outputStream, SWT.IMAGE_GIF);
+		byte[] expected;
+		try (InputStream stream = SwtTestUtil.class.getResourceAsStream("lzw" + depth + ".gif")) {
+			expected = stream.readAllBytes();
+		}
+		assertArrayEquals(expected, outputStream.toByteArray());
+		assertGifFrames(expected, saver.data);
+	}
+	for (int depth : new int[] {1, 4, 8}) {
+		for (int size : new int[] {1, 2, 7, 8, 9, 63, 200}) {
+			for (boolean noise : new boolean[] {false, true}) {
+				ImageData[] frames = { lzwFrame(depth, size, 211 - size, noise) };
+				ImageLoader saver = new ImageLoader();
+				saver.data = frames;
+				ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+				saver.save(outputStream, SWT.IMAGE_GIF);
+				assertGifFrames(outputStream.toByteArray(), frames);
+			}
+		}
+	}
+}
+
+ImageData lzwFrame(int depth, int width, int height, boolean noise) {
+	RGB[] rgbs = new RGB[1 << depth];
+	for (int i = 0; i < rgbs.length; i++) {
+		int gray = i * 255 / (rgbs.length - 1);
+		rgbs[i] = new RGB(gray, gray, gray);
+	}
+	ImageData data = new ImageData(width, height, depth, new PaletteData(rgbs));
+	int seed = 1;
+	for (int y = 0; y < height; y++) {
+		for (int x = 0; x < width; x++) {
+			seed = seed * 1103515245 + 12345;
+			int pixel = noise ? (seed >>> 16) : (y / 5 + (x > width / 2 ? 3 : 0));
+			data.setPixel(x, y, pixel & (rgbs.length - 1));
+		}
+	}
+	return data;
+}
+
+void assertGifFrames(byte[] bytes, ImageData[] expected) {
+	/* The reader always uses the Java GIF decoder */
+	try (AnimatedImageReader reader = new AnimatedImageReader(new ByteArrayInputStream(bytes), false)) {
+		for (ImageData frame : expected) {
+			ImageData actual = reader.next();
+			assertEquals(frame.width, actual.width);
+			assertEquals(frame.height, actual.height);
+			for (int y = 0; y < frame.height; y++) {
+				for (int x = 0; x < frame.width; x++) {
+					assertEquals(frame.getPixel(x, y), actual.getPixel(x, y));
+				}
+			}
+		}
+		assertFalse(reader.hasNext());
+	}
+}
+
+/* Writes a TIFF of 4 x 3 pixel pages with 8 bit samples, the last one of four being an unassociated alpha */
+byte[] tiffPages(int pages, int compression, int samplesPerPixel) {
+	int entries = samplesPerPixel == 4 ? 10 : 9;
+	int bitsPerSample = 8 + 2 + entries * 12 + 4, strip = bitsPerSample + 2 * samplesPerPixel;
+	int stripLength = 4 * 3 * samplesPerPixel, pageLength = strip + stripLength;
+	ByteBuffer buffer = ByteBuffer.allocate(pageLength * pages).order(ByteOrder.LITTLE_ENDIAN);
+	buffer.put(new byte[] {'I', 'I', 42, 0}).putInt(8);
+	for (int page = 0; page < pages; page++) {
+		/* Each page starts with 8 unused bytes, the header of the first one */
+		int start = page * pageLength;
+		buffer.position(start + 8);
+		buffer.putShort((short) entries);
+		addTiffEntry(buffer, 256, 3, 1, 4);
+		addTiffEntry(buffer, 257, 3, 1, 3);
+		addTiffEntry(buffer, 258, 3, samplesPerPixel, samplesPerPixel == 1 ? 8 : start + bitsPerSample);
+		addTiffEntry(buffer, 259, 3, 1, compression);
+		addTiffEntry(buffer, 262, 3, 1, samplesPerPixel == 1 ? 1 : 2);
+		addTiffEntry(buffer, 273, 4, 1, start + strip);
+		addTiffEntry(buffer, 277, 3, 1, samplesPerPixel);
+		addTiffEntry(buffer, 278, 3, 1, 3);
+		addTiffEntry(buffer, 279, 4, 1, stripLength);
+		if (samplesPerPixel == 4) addTiffEntry(buffer, 338, 3, 1, 2);
+		buffer.putInt(page == pages - 1 ? 0 : start + pageLength + 8);
+		for (int i = 0; i < samplesPerPixel; i++) buffer.putShort((short) 8);
+		byte[] pixel = {0x20, 0x40, 0x60, (byte) 0xFF};
+		for (int i = 0; i < 4 * 3; i++) buffer.put(pixel, 0, samplesPerPixel);
+	}
+	return buffer.array();
+}
+
+/* Writes a TIFF directory entry holding a single value or the offset of its values */
+void addTiffEntry(ByteBuffer buffer, int tag, int type, int count, int value) {
+	buffer.putShort((short) tag).putShort((short) type).putInt(count);
+	if (type == 3 && count == 1) {
+		buffer.putShort((short) value).putShort((short) 0);
+	} else {
+		buffer.putInt(value);
+	}
+}
+
 /* custom */
 boolean loaderListenerCalled;
 }
@@ -22,15 +22,20 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.swt.widgets.TableItem;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -625,6 +630,43 @@ public void test_getSelectionIndices() {
 	assertArrayEquals(new int[]{}, table.getSelectionIndices());
 }
 
+@Test
+public void test_getSelectionRanges() {
+	int number = 15;
+	for (int i = 0; i < number; i++)
+		new TableItem(table, 0);
+
+	assertArrayEquals(new int[]{}, table.getSelectionRanges());
+	table.setSelection(new int[]{2, 3, 4, 10, number-1});
+	assertArrayEquals(new int[]{2, 5, 10, 11, number-1, number}, table.getSelectionRanges());
+
+	table.deselect(3);
+	assertArrayEquals(new int[]{2, 3, 4, 5, 10, 11, number-1, number}, table.getSelectionRanges());
+
+	table.select(0, number-1);
+	assertArrayEquals(new int[]{0, number}, table.getSelectionRanges());
+
+	table.deselect(5, 9);
+	assertArrayEquals(new int[]{0, 5, 10, number}, table.getSelectionRanges());
+
+	table.deselect(new int[]{12, 0, 11, 1});
+	assertArrayEquals(new int[]{2, 5, 10, 11, 13, number}, table.getSelectionRanges());
+
+	table.deselectAll();
+	table.select(new int[]{7, 6, -1, number, 5, 9});
+	assertArrayEquals(new int[]{5, 8, 9, 10}, table.getSelectionRanges());
+
+	// note: SWT.SINGLE
+	makeCleanEnvironment(true);
+	for (int i = 0; i < number; i++)
+		new TableItem(table, 0);
+
+	table.select(0, 2);
+	assertArrayEquals(new int[]{}, table.getSelectionRanges());
+	table.select(4);
+	assertArrayEquals(new int[]{4, 5}, table.getSelectionRanges());
+}
+
 @Test
 public void test_indexOfLorg_eclipse_swt_widgets_TableItem() {
 	int number = 20;
@@ -1787,6 +1829,32 @@ public void test_showSelection() {
 	table.showSelection();
 }
 
+@Test
+public void test_sortLjava_util_Comparator() {
+	String[] texts = {"d", "b", "e", "a", "c", "b"};
+	TableItem[] items = new TableItem[texts.length];
+	for (int i = 0; i < texts.length; i++) {
+		items[i] = new TableItem(table, 0);
+		items[i].setText(texts[i]);
+	}
+	table.setSelection(new TableItem[] {items[0], items[3]});
+	table.sort((a, b) -> a.getText().compareTo(b.getText()));
+	// the sort is stable and keeps the items and their selection
+	assertArrayEquals(new TableItem[] {items[3], items[1], items[5], items[4], items[0], items[2]}, table.getItems());
+	assertArrayEquals(new int[] {0, 4}, table.getSelectionIndices());
+
+	table.sort(TableItem::getText, Comparator.reverseOrder());
+	assertArrayEquals(new TableItem[] {items[2], items[0], items[4], items[1], items[5], items[3]}, table.getItems());
+	assertArrayEquals(new int[] {1, 5}, table.getSelectionIndices());
+	assertEquals("e", table.getItem(0).getText());
+
+	try {
+		table.sort(null);
+		fail("No exception thrown for comparator == null");
+	} catch (IllegalArgumentException e) {
+	}
+}
+
 /* custom */
 protected Table table;
 
@@ -1897,6 +1965,50 @@ public void test_Virtual() {
 			dataCounter[0] > visibleCount / 2 && dataCounter[0] <= visibleCount * 3);
 }
 
+@Test
+public void test_measureItemCache() throws InterruptedException {
+	Assume.assumeTrue("the measured cell sizes are only cached on GTK", SwtTestUtil.isGTK);
+	int[] measured = new int[1];
+	table.addListener(SWT.MeasureItem, event -> {
+		measured[0]++;
+		event.height = 30;
+	});
+	TableItem item = new TableItem(table, SWT.NONE);
+	item.setText("item");
+	shell.setLayout(new FillLayout());
+	shell.setSize(200, 200);
+	shell.open();
+	SwtTestUtil.processEvents(1000, () -> measured[0] > 0);
+	assertTrue(measured[0] > 0);
+
+	/* Painting the cell again uses the size it was measured with */
+	SwtTestUtil.processEvents();
+	measured[0] = 0;
+	Rectangle area = shell.getClientArea();
+	shell.redraw(area.x, area.y, area.width, area.height, true);
+	shell.update();
+	SwtTestUtil.processEvents(500, null);
+	assertEquals(0, measured[0]);
+
+	/* Changing the text of the item measures the cell again */
+	item.setText("changed");
+	SwtTestUtil.processEvents(1000, () -> measured[0] > 0);
+	assertTrue(measured[0] > 0);
+
+	/* Changing the font of the item measures the cell again */
+	SwtTestUtil.processEvents();
+	measured[0] = 0;
+	FontData fontData = table.getFont().getFontData()[0];
+	Font font = new Font(shell.getDisplay(), fontData.getName(), fontData.getHeight() + 4, SWT.BOLD);
+	try {
+		item.setFont(font);
+		SwtTestUtil.processEvents(1000, () -> measured[0] > 0);
+		assertTrue(measured[0] > 0);
+	} finally {
+		font.dispose();
+	}
+}
+
 @Test
 public void test_setTopIndex() {
 	for (int i = 0; i < 10; i++) {
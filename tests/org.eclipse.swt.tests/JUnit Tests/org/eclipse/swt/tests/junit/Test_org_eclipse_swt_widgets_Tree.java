@@ -27,6 +27,9 @@ import java.util.List;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.TreeListener;
 import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Event;
@@ -34,6 +37,7 @@ import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.TreeColumn;
 import org.eclipse.swt.widgets.TreeItem;
 import org.eclipse.test.Screenshots;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -334,6 +338,50 @@ public void test_getSelectionCount() {
 	assertEquals(0, tree.getSelectionCount());
 }
 
+@Test
+public void test_measureItemCache() throws InterruptedException {
+	Assume.assumeTrue("the measured cell sizes are only cached on GTK", SwtTestUtil.isGTK);
+	int[] measured = new int[1];
+	tree.addListener(SWT.MeasureItem, event -> {
+		measured[0]++;
+		event.height = 30;
+	});
+	TreeItem item = new TreeItem(tree, SWT.NONE);
+	item.setText("item");
+	shell.setLayout(new FillLayout());
+	shell.setSize(200, 200);
+	shell.open();
+	SwtTestUtil.processEvents(1000, () -> measured[0] > 0);
+	assertTrue(measured[0] > 0);
+
+	/* Painting the cell again uses the size it was measured with */
+	SwtTestUtil.processEvents();
+	measured[0] = 0;
+	Rectangle area = shell.getClientArea();
+	shell.redraw(area.x, area.y, area.width, area.height, true);
+	shell.update();
+	SwtTestUtil.processEvents(500, null);
+	assertEquals(0, measured[0]);
+
+	/* Changing the text of the item measures the cell again */
+	item.setText("changed");
+	SwtTestUtil.processEvents(1000, () -> measured[0] > 0);
+	assertTrue(measured[0] > 0);
+
+	/* Changing the font of the item measures the cell again */
+	SwtTestUtil.processEvents();
+	measured[0] = 0;
+	FontData fontData = tree.getFont().getFontData()[0];
+	Font font = new Font(shell.getDisplay(), fontData.getName(), fontData.getHeight() + 4, SWT.BOLD);
+	try {
+		item.setFont(font);
+		SwtTestUtil.processEvents(1000, () -> measured[0] > 0);
+		assertTrue(measured[0] > 0);
+	} finally {
+		font.dispose();
+	}
+}
+
 @Test
 public void test_removeAll() {
 	tree.removeAll();
@@ -350,6 +398,60 @@ public void test_removeAll() {
 	assertEquals(0, tree.getItemCount());
 }
 
+@Test
+public void test_runBatchLjava_lang_Runnable() {
+	TreeItem root = new TreeItem(tree, 0);
+	TreeItem selected = new TreeItem(tree, 0);
+	TreeItem removed = new TreeItem(tree, 0);
+	new TreeItem(root, 0);
+	root.setExpanded(true);
+	tree.setSelection(new TreeItem[] {selected, removed});
+
+	tree.runBatch(() -> {
+		root.removeAll();
+		root.setItemCount(1000);
+		removed.dispose();
+		TreeItem added = new TreeItem(tree, 0);
+		new TreeItem(added, 0);
+		added.setExpanded(true);
+	});
+	assertEquals(3, tree.getItemCount());
+	assertEquals(1000, root.getItemCount());
+	assertTrue(root.getExpanded());
+	assertTrue(tree.getItem(2).getExpanded());
+	assertArrayEquals(new TreeItem[] {selected}, tree.getSelection());
+
+	// batches can be nested, and the items can be removed in a batch
+	tree.runBatch(() -> tree.runBatch(tree::removeAll));
+	assertEquals(0, tree.getItemCount());
+
+	try {
+		tree.runBatch(null);
+		fail("No exception thrown for runnable == null");
+	} catch (IllegalArgumentException e) {
+	}
+}
+
+@Test
+public void test_setItemCountInSetData() throws InterruptedException {
+	tree.dispose();
+	tree = new Tree(shell, SWT.VIRTUAL);
+	setWidget(tree);
+	/* Large counts set while the tree renders its rows do not detach the model */
+	tree.addListener(SWT.SetData, event -> {
+		TreeItem item = (TreeItem) event.item;
+		item.setText("item");
+		if (item.getParentItem() == null) item.setItemCount(1000);
+	});
+	shell.setLayout(new FillLayout());
+	shell.setSize(200, 200);
+	shell.open();
+	tree.setItemCount(10);
+	SwtTestUtil.processEvents(1000, () -> tree.getItem(0).getItemCount() == 1000);
+	assertEquals(10, tree.getItemCount());
+	assertEquals(1000, tree.getItem(0).getItemCount());
+}
+
 @Test
 public void test_selectAll() {
 	int number = 5;
@@ -448,6 +550,54 @@ public void test_setItemCountI() {
 	}
 }
 
+@Test
+public void test_setLazyItemsZ() {
+	tree.dispose();
+	tree = new Tree(shell, SWT.VIRTUAL);
+	setWidget(tree);
+	assertFalse(tree.getLazyItems());
+	tree.setLazyItems(true);
+	assertTrue(tree.getLazyItems());
+
+	tree.setItemCount(2);
+	TreeItem item0 = tree.getItem(0);
+	item0.setItemCount(1000);
+	assertEquals(1000, item0.getItemCount());
+	item0.setItemCount(500);
+	assertEquals(500, item0.getItemCount());
+	try {
+		item0.getItem(500);
+		fail("No exception thrown for illegal index argument");
+	}
+	catch (IllegalArgumentException e) {
+	}
+
+	TreeItem child = item0.getItem(499);
+	assertEquals(item0, child.getParentItem());
+	assertEquals(500, item0.getItems().length);
+	assertEquals(499, item0.indexOf(child));
+
+	item0.setExpanded(true);
+	assertEquals(500, item0.getItemCount());
+	item0.setExpanded(false);
+	assertEquals(500, item0.getItemCount());
+	if (SwtTestUtil.isGTK) {
+		assertTrue(child.isDisposed());
+	}
+
+	new TreeItem(item0, SWT.NONE, 0);
+	assertEquals(501, item0.getItemCount());
+	item0.removeAll();
+	assertEquals(0, item0.getItemCount());
+
+	TreeItem item1 = tree.getItem(1);
+	item1.setItemCount(10);
+	tree.setLazyItems(false);
+	assertFalse(tree.getLazyItems());
+	assertEquals(10, item1.getItemCount());
+	assertEquals(10, item1.getItems().length);
+}
+
 @Test
 public void test_setLinesVisibleZ() {
 	assertFalse(tree.getLinesVisible());
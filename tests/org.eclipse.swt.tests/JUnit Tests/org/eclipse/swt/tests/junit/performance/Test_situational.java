@@ -13,6 +13,10 @@
  *******************************************************************************/
 package org.eclipse.swt.tests.junit.performance;
 
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
@@ -250,6 +254,52 @@ public void test_imageDrawing() {
 	disposeMeter(meter);
 }
 
+@Test
+public void test_imageCopying() {
+	PerformanceMeter meter = createMeter("Draw images on an image");
+	int samples;
+
+	for(samples = 0; samples < 10; samples++) {
+		int width = 640;
+		int height = 480;
+		Image image = new Image(display, width, height);
+		Image icon = new Image(display, 16, 16);
+		Image picture = new Image(display, 2048, 2048);
+		meter.start();
+		GC gc = new GC(image);
+		long allocated = allocatedBytes();
+		for(int i = 0; i < 1000; i++) {
+			gc.drawImage(icon, (i * 5) % width, (i * 3) % height);
+			gc.drawImage(picture, -(i % 1024), -(i % 1024));
+		}
+		allocated = allocatedBytes() - allocated;
+		gc.dispose();
+		meter.stop();
+		// drawing must not copy the pixels of the images
+		if (allocated >= 0) assertTrue("Allocated " + allocated + " bytes", allocated < 2048 * 2048 * 4);
+		picture.dispose();
+		icon.dispose();
+		image.dispose();
+		while(display.readAndDispatch()){/*empty*/}
+	}
+	disposeMeter(meter);
+}
+
+/**
+ * Returns the number of bytes allocated by the current thread, or -1
+ * if the JVM does not report it.
+ */
+private static long allocatedBytes() {
+	try {
+		Class<?> beanClass = Class.forName("com.sun.management.ThreadMXBean");
+		Object bean = ManagementFactory.getThreadMXBean();
+		if (!beanClass.isInstance(bean)) return -1;
+		return (Long) beanClass.getMethod("getCurrentThreadAllocatedBytes").invoke(bean);
+	} catch (ReflectiveOperationException | LinkageError e) {
+		return -1;
+	}
+}
+
 @Test
 public void test_windowDrawing() {
 	PerformanceMeter meter = createMeter("Draw on a window");